@@ -0,0 +1,103 @@
+package net.stefancbauer.galactora;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import net.stefancbauer.galactora.Controller.AndroidPlatform;
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Engine.Viewport;
+import net.stefancbauer.galactora.Model.Render.CanvasRenderTarget;
+import net.stefancbauer.galactora.Model.Sprite;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Microbenchmark comparing Sprite.draw, through a non-batching CanvasRenderTarget, against the old allocating Matrix path, for rotated and unrotated sprites. Results are logged under the PERF tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SpriteDrawBenchmark {
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 20000;
+
+    private Canvas m_canvas;
+    private final Paint m_paint = new Paint();
+    private final CanvasRenderTarget m_target = new CanvasRenderTarget();
+    private Bitmap m_texture; //!< Same size as the sprite's generated texture, as the sprite maps it 1:1.
+    private Sprite m_sprite;
+
+    @Before
+    public void setUp() {
+        Platform.createInstance(new AndroidPlatform(InstrumentationRegistry.getTargetContext()));
+        new Viewport(1080, 1920).makeCurrent();
+
+        m_canvas = new Canvas(Bitmap.createBitmap(1080, 1920, Bitmap.Config.ARGB_8888));
+        m_target.setBatching(false); // One drawBitmap per sprite, as legacyDraw.
+        m_texture = Bitmap.createBitmap(64, 64, Bitmap.Config.ARGB_8888);
+        m_sprite = new Sprite(m_texture);
+        m_sprite.setPosition(new Vector2f(0.0f, 5.0f));
+    }
+
+    @Test
+    public void unrotated() {
+        m_sprite.setRotation(0.0f);
+        compare("Unrotated");
+    }
+
+    @Test
+    public void rotated() {
+        m_sprite.setRotation(30.0f);
+        compare("Rotated");
+    }
+
+    private void compare(String name) {
+        long legacy = time(true);
+        long current = time(false);
+        Log.d("PERF", name + ": legacy " + (legacy / ITERATIONS) + "ns/draw, current " + (current / ITERATIONS) + "ns/draw.");
+        assertTrue(current > 0 && legacy > 0);
+    }
+
+    private long time(boolean legacy) {
+        for (int i = 0; i < WARMUP; i++) { drawOnce(legacy); }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) { drawOnce(legacy); }
+        return System.nanoTime() - start;
+    }
+
+    private void drawOnce(boolean legacy) {
+        if (legacy) { legacyDraw(m_canvas, m_paint); }
+        else {
+            m_target.begin(m_canvas, m_paint);
+            m_sprite.draw(m_target);
+            m_target.end();
+        }
+    }
+
+    private void legacyDraw(Canvas c, Paint p) //!< Sprite.draw as it was before the fast path: a new Matrix and screen position per call.
+    {
+        p.setAlpha(m_sprite.getAlpha());
+
+        Vector2f size = m_sprite.getSize();
+        Vector2f origin = m_sprite.getOrigin();
+        float width = m_texture.getWidth();
+        float height = m_texture.getHeight();
+
+        Matrix matrix = new Matrix();
+        matrix.setTranslate((origin.x / size.x) * -width, ((size.y - origin.y) / size.y) * -height);
+        matrix.postRotate(-m_sprite.getRotation());
+        Vector2f screenPosition = Viewport.getCurrent().GUtoDP(m_sprite.getPosition()).toFloat();
+        matrix.postTranslate(screenPosition.x, screenPosition.y);
+
+        c.drawBitmap(m_texture, matrix, p);
+    }
+}
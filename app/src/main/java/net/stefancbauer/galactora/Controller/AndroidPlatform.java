@@ -0,0 +1,108 @@
+package net.stefancbauer.galactora.Controller;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.util.Log;
+
+import net.stefancbauer.galactora.Model.Background.LayerCompositor;
+import net.stefancbauer.galactora.Model.Background.ParticleLayer;
+import net.stefancbauer.galactora.Model.Button;
+import net.stefancbauer.galactora.Model.Render.Compositor;
+import net.stefancbauer.galactora.Model.Sprite;
+import net.stefancbauer.galactora.Model.UICompositor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Android Platform. Textures are Bitmaps, assets come from the APK, and compositors cache into offscreen Bitmaps.
+ * Needs the BitmapManager to have been created.
+ */
+
+public class AndroidPlatform extends Platform {
+    private final Context m_context;
+    private final Map<String, Typeface> m_typefaces = new HashMap<String, Typeface>(); //!< Loaded fonts, by asset path.
+    private boolean m_showUIDirtyRegions = false; //!< Passed on to UICompositors, see UICompositor.setShowDirtyRegions().
+
+    public AndroidPlatform(Context context) { m_context = context; }
+
+    public void setShowUIDirtyRegions(boolean show) { m_showUIDirtyRegions = show; } //!< Debug view, outlining UI regions as they're redrawn. Only affects compositors created afterwards.
+
+    @Override
+    public InputStream openAsset(String path) throws IOException { return m_context.getAssets().open(path); }
+
+    @Override
+    public Object getTexture(String name) { return BitmapManager.getInstance().getBitmap(name); }
+
+    @Override
+    public int getTextureWidth(Object texture) { return ((Bitmap)texture).getWidth(); }
+
+    @Override
+    public int getTextureHeight(Object texture) { return ((Bitmap)texture).getHeight(); }
+
+    @Override
+    public Object createFrame(Object sheet, int left, int top, int width, int height, float xScale, float yScale) {
+        if (xScale == 1.0f && yScale == 1.0f) { return Bitmap.createBitmap((Bitmap)sheet, left, top, width, height); }
+
+        Matrix matrix = new Matrix();
+        matrix.setScale(xScale, yScale);
+        return Bitmap.createBitmap((Bitmap)sheet, left, top, width, height, matrix, false);
+    }
+
+    @Override
+    public Object createText(String text, String font, float textSize, int argb, int width, int height) {
+        // Many thanks to android--examples.blogspot.co.uk
+        // Referenced heavily: https://android--examples.blogspot.co.uk/2015/11/android-how-to-draw-text-on-canvas.html
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        Paint paint = new Paint();
+
+        canvas.drawColor(Color.TRANSPARENT);
+
+        paint.setStyle(Paint.Style.FILL);
+        paint.setColor(argb);
+        paint.setAntiAlias(true);
+
+        paint.setTextSize(textSize);
+        paint.setTextAlign(Paint.Align.CENTER);
+        paint.setTypeface(getTypeface(font));
+
+        Rect rectangle = new Rect();
+        paint.getTextBounds(text, 0, text.length(), rectangle);
+        canvas.drawText(text, canvas.getWidth()/2, canvas.getHeight()/2 + Math.abs(rectangle.height())/2, paint);
+
+        return bitmap;
+    }
+
+    private synchronized Typeface getTypeface(String font) //!< Synchronized, as level text may be rendered on the LevelPrefetch thread.
+    {
+        Typeface typeface = m_typefaces.get(font);
+        if (typeface == null) {
+            typeface = Typeface.createFromAsset(m_context.getAssets(), font);
+            m_typefaces.put(font, typeface);
+        }
+        return typeface;
+    }
+
+    @Override
+    public void log(String tag, String message) { Log.d(tag, message); }
+
+    @Override
+    public Compositor createLayerCompositor(ParticleLayer layer, float margin) { return new LayerCompositor(layer, margin); }
+
+    @Override
+    public Compositor createUICompositor(Sprite panel, Collection<Button> buttons) {
+        UICompositor compositor = new UICompositor(panel, buttons);
+        compositor.setShowDirtyRegions(m_showUIDirtyRegions);
+        return compositor;
+    }
+}
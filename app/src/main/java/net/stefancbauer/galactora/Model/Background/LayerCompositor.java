@@ -0,0 +1,136 @@
+package net.stefancbauer.galactora.Model.Background;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import net.stefancbauer.galactora.Model.Engine.Viewport;
+import net.stefancbauer.galactora.Model.Render.CanvasRenderTarget;
+import net.stefancbauer.galactora.Model.Render.Compositor;
+import net.stefancbauer.galactora.Model.Render.RenderTarget;
+
+/**
+ * Caches a slow-moving ParticleLayer in an offscreen bitmap, and blits that bitmap each frame, scrolled by the distance the layer has moved since it was rendered.
+ * The cache covers the view plus a margin above it, and is only re-rendered when particles are added or removed, when particles drift too far from the cached image, or when the scroll uses up the margin.
+ */
+
+public class LayerCompositor implements Compositor {
+    private final ParticleLayer p_layer; //!< The layer being cached.
+    private final float m_margin; //!< Extra space cached above the top of the view, in GU. Content scrolls down into view from here.
+    private final float m_driftThreshold = 0.5f; //!< MAGIC: How far, in pixels, any particle may drift from its cached image before re-rendering.
+
+    private boolean m_enabled = true; //!< If false, the layer is drawn directly every frame.
+
+    private Bitmap m_cache = null;
+    private final Canvas m_cacheCanvas = new Canvas();
+    private final Paint m_cachePaint = new Paint();
+    private final CanvasRenderTarget m_cacheTarget = new CanvasRenderTarget(); //!< Draws the layer into m_cacheCanvas, one sprite at a time.
+
+    // State at the time the cache was last rendered.
+    private boolean m_valid = false;
+    private int m_cachedModCount;
+    private int m_cachedTick;
+    private float m_cachedScale;
+    private float m_cachedViewX; //!< viewOrigin at render time, in GU.
+    private float m_cachedViewY;
+    private float m_scrollY; //!< The velocity the cached image is scrolled at, in GU per tick.
+    private float m_driftRate; //!< The furthest any particle drifts from the cached image per tick, in GU.
+
+    private int m_drawCalls = 0; //!< Canvas draw calls made into the cache by the last draw().
+    private int m_renderCount = 0; //!< Total number of times the cache has been re-rendered.
+
+    public LayerCompositor(ParticleLayer layer, float margin) {
+        p_layer = layer;
+        m_margin = margin;
+        m_cacheTarget.setBatching(false);
+    }
+
+    @Override
+    public boolean isEnabled() { return m_enabled; }
+    @Override
+    public void setEnabled(boolean enabled) {
+        m_enabled = enabled;
+        m_valid = false;
+    }
+
+    @Override
+    public int getCacheDrawCalls() { return m_drawCalls; }
+    public int getRenderCount() { return m_renderCount; }
+
+    public void invalidate() { m_valid = false; } //!< Forces a re-render on the next draw().
+
+    @Override
+    public void draw(RenderTarget target) {
+        m_drawCalls = 0;
+        if (!m_enabled || !target.isOffscreenCachingSupported()) {
+            p_layer.draw(target);
+            return;
+        }
+
+        Viewport view = Viewport.getCurrent();
+        float scale = view.m_GUtoDP;
+        int elapsed = p_layer.getTick() - m_cachedTick;
+
+        if (needsRender(view, elapsed, scale)) {
+            render(view, scale);
+            elapsed = 0;
+        }
+
+        // The cache's top-left corner sits m_margin above the view it was rendered from, and has since scrolled with the layer.
+        float screenX = (m_cachedViewX - view.mv_viewOrigin.x) * scale;
+        float screenY = ((m_cachedViewY + m_margin + (m_scrollY * elapsed)) - view.mv_viewOrigin.y) * -scale;
+
+        target.drawImage(m_cache, screenX, screenY, m_cache.getWidth(), m_cache.getHeight());
+    }
+
+    private boolean needsRender(Viewport view, int elapsed, float scale) {
+        if (!m_valid || m_cache == null) { return true; }
+        if (p_layer.getModCount() != m_cachedModCount) { return true; }
+        if (scale != m_cachedScale ||
+                view.mv_viewOrigin.x != m_cachedViewX ||
+                view.mv_viewOrigin.y != m_cachedViewY) { return true; }
+        if (Math.abs(m_scrollY * elapsed) >= m_margin) { return true; } // Scrolled past the cached margin.
+        return m_driftRate * elapsed * scale > m_driftThreshold;
+    }
+
+    private void render(Viewport view, float scale) {
+        float viewWidth = view.mv_viewSize.x;
+        float viewHeight = view.mv_viewSize.y + m_margin;
+        int width = Math.max((int)Math.ceil(viewWidth * scale), 1);
+        int height = Math.max((int)Math.ceil(viewHeight * scale), 1);
+
+        if (m_cache == null || m_cache.getWidth() != width || m_cache.getHeight() != height) {
+            if (m_cache != null) { m_cache.recycle(); }
+            m_cache = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            m_cacheCanvas.setBitmap(m_cache);
+        }
+        m_cache.eraseColor(Color.TRANSPARENT);
+
+        m_cachedViewX = view.mv_viewOrigin.x;
+        m_cachedViewY = view.mv_viewOrigin.y;
+        m_cacheTarget.begin(m_cacheCanvas, m_cachePaint);
+        p_layer.draw(m_cacheTarget, m_cachedViewX, m_cachedViewY + m_margin, viewWidth, viewHeight);
+        m_cacheTarget.end();
+
+        m_scrollY = p_layer.getMeanYVelocity();
+        m_driftRate = p_layer.getMaxDriftRate(0.0f, m_scrollY);
+        m_cachedModCount = p_layer.getModCount();
+        m_cachedTick = p_layer.getTick();
+        m_cachedScale = scale;
+        m_valid = true;
+
+        m_drawCalls += p_layer.getStats().getDrawn();
+        m_renderCount++;
+    }
+
+    @Override
+    public void release() //!< Frees the cached bitmap.
+    {
+        if (m_cache != null) {
+            m_cache.recycle();
+            m_cache = null;
+        }
+        m_valid = false;
+    }
+}
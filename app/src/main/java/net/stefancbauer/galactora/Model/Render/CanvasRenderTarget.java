@@ -0,0 +1,115 @@
+package net.stefancbauer.galactora.Model.Render;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+
+/**
+ * The production RenderTarget, drawing onto an Android Canvas. Sprites are either batched per spritesheet through a SpriteBatch, or drawn one at a time from their frame bitmaps.
+ */
+
+public class CanvasRenderTarget implements RenderTarget {
+    private Canvas p_canvas = null;
+    private Paint p_paint = null;
+
+    private final SpriteBatch m_batch = new SpriteBatch();
+    private boolean m_batching = true; //!< Whether to draw sprites through m_batch, rather than one drawBitmap() per sprite.
+
+    private final Matrix m_matrix = new Matrix(); //!< Reused for every rotated or scaled sprite.
+    private final Paint m_debugPaint = new Paint();
+
+    private int m_directDrawCalls = 0; //!< Draw calls made outside m_batch since begin().
+
+    private Paint p_alphaPaint = null; //!< The paint last passed to applyAlpha() this frame.
+    private int m_alphaValue = -1; //!< The alpha last set on p_alphaPaint.
+
+    public CanvasRenderTarget() {
+        m_debugPaint.setStyle(Paint.Style.STROKE);
+        m_debugPaint.setStrokeWidth(3.0f);
+    }
+
+    public boolean isBatching() { return m_batching; }
+    public void setBatching(boolean batching) { m_batching = batching; } //!< Should only be changed between frames.
+
+    public void begin(Canvas c, Paint p) //!< Starts a frame, drawing onto c with p.
+    {
+        p_canvas = c;
+        p_paint = p;
+        m_directDrawCalls = 0;
+        p_alphaPaint = null; // Anything may have changed the paint's alpha since the last frame.
+        m_alphaValue = -1;
+        m_batch.begin(c);
+    }
+
+    public void end() //!< Finishes the frame, drawing anything still batched.
+    {
+        m_batch.end();
+        p_canvas = null;
+        p_paint = null;
+    }
+
+    public int getDrawCalls() { return m_batch.getDrawCalls() + m_directDrawCalls; } //!< Canvas draw calls made since begin().
+    public SpriteBatch getBatch() { return m_batch; }
+
+    @Override
+    public void drawSprite(Object sheet, int srcLeft, int srcTop, int srcRight, int srcBottom, Object frame, float x, float y, float width, float height, float originX, float originY, float rotation, int alpha) {
+        if (m_batching || frame == null) {
+            m_batch.addQuad((Bitmap)sheet, srcLeft, srcTop, srcRight, srcBottom, x, y, width, height, originX, originY, rotation, alpha);
+            if (!m_batching) { m_batch.flush(); } // Keep draw order when mixed with direct draws.
+            return;
+        }
+
+        Bitmap texture = (Bitmap)frame;
+        float textureWidth = texture.getWidth();
+        float textureHeight = texture.getHeight();
+        applyAlpha(p_paint, alpha);
+
+        // Positions are truncated to whole pixels, as Sprite.draw always has.
+        float screenX = (int)x;
+        float screenY = (int)y;
+
+        if (rotation == 0.0f && Math.abs(textureWidth - width) < 1.0f && Math.abs(textureHeight - height) < 1.0f) {
+            // Pre-scaled and axis-aligned, so no transform needed.
+            p_canvas.drawBitmap(texture, screenX - ((originX / width) * textureWidth), screenY - ((originY / height) * textureHeight), p_paint);
+        } else {
+            m_matrix.setScale(width / textureWidth, height / textureHeight);
+            m_matrix.postTranslate(-originX, -originY);
+            m_matrix.postRotate(rotation);
+            m_matrix.postTranslate(screenX, screenY);
+            p_canvas.drawBitmap(texture, m_matrix, p_paint);
+        }
+        m_directDrawCalls++;
+    }
+
+    @Override
+    public void drawImage(Object image, float x, float y, float width, float height) {
+        m_batch.flush();
+        applyAlpha(p_paint, 255);
+        p_canvas.drawBitmap((Bitmap)image, x, y, p_paint);
+        m_directDrawCalls++;
+    }
+
+    @Override
+    public void drawDebugRect(float left, float top, float right, float bottom, int argb) {
+        m_batch.flush();
+        m_debugPaint.setColor(argb);
+        p_canvas.drawRect(left, top, right, bottom, m_debugPaint);
+        m_directDrawCalls++;
+    }
+
+    @Override
+    public void endLayer(String name) { m_batch.endLayer(); }
+
+    @Override
+    public boolean isOffscreenCachingSupported() { return true; }
+
+    private void applyAlpha(Paint p, int alpha) //!< Sets the alpha of p, skipping the call if this target last set p to that alpha this frame. Only this target should change its paint's alpha between begin() and end().
+    {
+        if (p != p_alphaPaint || alpha != m_alphaValue) {
+            p.setAlpha(alpha);
+            p_alphaPaint = p;
+            m_alphaValue = alpha;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package net.stefancbauer.galactora.Model.Render;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Shader;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Collects textured quads and submits them with a single Canvas.drawVertices() call per run of quads sharing a spritesheet.
+ * Quads are drawn in the order they're added, so the batch is flushed whenever the sheet changes, when it fills up, and at the end of each layer.
+ */
+
+public class SpriteBatch {
+    private final int m_capacity; //!< Maximum quads per draw call.
+    private final float[] m_verts; //!< Screen-space corners, 4 per quad, in pixels.
+    private final float[] m_texs; //!< Sheet-space corners, 4 per quad, in pixels.
+    private final int[] m_colors; //!< Per-vertex colour, white with the quad's alpha, which modulates the sheet.
+    private final short[] m_indices; //!< Two triangles per quad. Never changes.
+    private int m_count = 0; //!< Quads currently waiting to be drawn.
+
+    private Canvas p_canvas = null;
+    private Bitmap p_sheet = null; //!< The sheet all waiting quads are drawn from.
+    private final Paint m_paint = new Paint();
+    private final Map<Bitmap, BitmapShader> m_shaders = new WeakHashMap<Bitmap, BitmapShader>(); //!< Weak, so shaders for one-off bitmaps (eg. level text) don't outlive them.
+
+    // Stats for the current frame, reset by begin().
+    private int m_drawCalls = 0;
+    private int m_quads = 0;
+    private int m_textureFlushes = 0; //!< Flushes caused by a change of sheet.
+    private int m_layerFlushes = 0; //!< Flushes caused by the end of a layer.
+
+    public SpriteBatch() { this(1024); }
+
+    public SpriteBatch(int capacity) {
+        m_capacity = Math.min(Math.max(capacity, 1), 16383); // Index values must fit in a short.
+        m_verts = new float[m_capacity * 8];
+        m_texs = new float[m_capacity * 8];
+        m_colors = new int[m_capacity * 4];
+        m_indices = new short[m_capacity * 6];
+
+        for (int i = 0; i < m_capacity; i++) {
+            short base = (short)(i * 4);
+            m_indices[(i * 6)] = base;
+            m_indices[(i * 6) + 1] = (short)(base + 1);
+            m_indices[(i * 6) + 2] = (short)(base + 2);
+            m_indices[(i * 6) + 3] = base;
+            m_indices[(i * 6) + 4] = (short)(base + 2);
+            m_indices[(i * 6) + 5] = (short)(base + 3);
+        }
+    }
+
+    public void begin(Canvas c) //!< Starts a frame, drawing onto c.
+    {
+        p_canvas = c;
+        m_count = 0;
+        p_sheet = null;
+        m_drawCalls = 0;
+        m_quads = 0;
+        m_textureFlushes = 0;
+        m_layerFlushes = 0;
+    }
+
+    public void addQuad(Bitmap sheet, int srcLeft, int srcTop, int srcRight, int srcBottom, float x, float y, float width, float height, float originX, float originY, float rotation, int alpha) //!< Adds a quad drawn from the given section of sheet. (x, y) is the screen position of the quad's origin, which is (originX, originY) from its top-left corner. Rotation is clockwise, in degrees. All in pixels.
+    {
+        if (sheet == null) { return; }
+        if (sheet != p_sheet) {
+            if (m_count > 0) {
+                flush();
+                m_textureFlushes++;
+            }
+            p_sheet = sheet;
+        }
+        if (m_count == m_capacity) { flush(); }
+
+        float left = -originX;
+        float top = -originY;
+        float right = width - originX;
+        float bottom = height - originY;
+
+        int v = m_count * 8;
+        if (rotation == 0.0f) {
+            m_verts[v] = x + left;      m_verts[v + 1] = y + top;
+            m_verts[v + 2] = x + right; m_verts[v + 3] = y + top;
+            m_verts[v + 4] = x + right; m_verts[v + 5] = y + bottom;
+            m_verts[v + 6] = x + left;  m_verts[v + 7] = y + bottom;
+        } else {
+            double radians = Math.toRadians(rotation);
+            float cos = (float)Math.cos(radians);
+            float sin = (float)Math.sin(radians);
+            m_verts[v] = x + (left * cos) - (top * sin);      m_verts[v + 1] = y + (left * sin) + (top * cos);
+            m_verts[v + 2] = x + (right * cos) - (top * sin); m_verts[v + 3] = y + (right * sin) + (top * cos);
+            m_verts[v + 4] = x + (right * cos) - (bottom * sin); m_verts[v + 5] = y + (right * sin) + (bottom * cos);
+            m_verts[v + 6] = x + (left * cos) - (bottom * sin);  m_verts[v + 7] = y + (left * sin) + (bottom * cos);
+        }
+
+        m_texs[v] = srcLeft;      m_texs[v + 1] = srcTop;
+        m_texs[v + 2] = srcRight; m_texs[v + 3] = srcTop;
+        m_texs[v + 4] = srcRight; m_texs[v + 5] = srcBottom;
+        m_texs[v + 6] = srcLeft;  m_texs[v + 7] = srcBottom;
+
+        int color = (Math.min(Math.max(alpha, 0), 255) << 24) | 0x00FFFFFF;
+        int col = m_count * 4;
+        m_colors[col] = color;
+        m_colors[col + 1] = color;
+        m_colors[col + 2] = color;
+        m_colors[col + 3] = color;
+
+        m_count++;
+        m_quads++;
+    }
+
+    public void endLayer() //!< Flushes at a layer boundary, so stats reflect per-layer batches.
+    {
+        if (m_count > 0) {
+            flush();
+            m_layerFlushes++;
+        }
+    }
+
+    public void flush() //!< Draws all waiting quads. Must be called before drawing anything to the canvas directly.
+    {
+        if (m_count == 0 || p_canvas == null) { return; }
+
+        BitmapShader shader = m_shaders.get(p_sheet);
+        if (shader == null) {
+            shader = new BitmapShader(p_sheet, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+            m_shaders.put(p_sheet, shader);
+        }
+        m_paint.setShader(shader);
+
+        p_canvas.drawVertices(Canvas.VertexMode.TRIANGLES, m_count * 8, m_verts, 0, m_texs, 0, m_colors, 0, m_indices, 0, m_count * 6, m_paint);
+
+        m_drawCalls++;
+        m_count = 0;
+    }
+
+    public void end() //!< Finishes the frame.
+    {
+        flush();
+        m_paint.setShader(null);
+        p_canvas = null;
+    }
+
+    public int getDrawCalls() { return m_drawCalls; }
+    public int getQuads() { return m_quads; }
+    public int getTextureFlushes() { return m_textureFlushes; }
+    public int getLayerFlushes() { return m_layerFlushes; }
+}
@@ -0,0 +1,188 @@
+package net.stefancbauer.galactora.Model;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.LocalMaths.Vector2i;
+import net.stefancbauer.galactora.Model.Engine.Viewport;
+import net.stefancbauer.galactora.Model.Render.CanvasRenderTarget;
+import net.stefancbauer.galactora.Model.Render.Compositor;
+import net.stefancbauer.galactora.Model.Render.RenderTarget;
+
+import java.util.Collection;
+import java.util.Vector;
+
+/**
+ * Caches the UI panel and its buttons in an offscreen bitmap. The panel is rendered once, and only the regions of buttons whose appearance has changed are redrawn into the cache.
+ * The screen isn't preserved between frames, so the whole cache is still blitted once per frame, but that's a single draw call rather than one per sprite.
+ */
+
+public class UICompositor implements Compositor {
+    private final Sprite p_panel; //!< The static background of the UI.
+    private final Vector<Button> mv_buttons = new Vector<Button>(); //!< All buttons drawn over the panel.
+
+    private Bitmap m_cache = null;
+    private final Canvas m_cacheCanvas = new Canvas();
+    private final Paint m_cachePaint = new Paint();
+    private final CanvasRenderTarget m_cacheTarget = new CanvasRenderTarget(); //!< Draws sprites into m_cacheCanvas, one at a time.
+    private final Rect m_cacheRect = new Rect(); //!< The screen-space area covered by the cache, in pixels.
+    private boolean m_enabled = true; //!< If false, the UI is drawn directly every frame.
+    private float m_cachedScale = 0.0f;
+    private final Vector2f m_cachedViewOrigin = new Vector2f();
+
+    private int m_drawCalls = 0; //!< Canvas draw calls made into the cache by the last draw().
+    private int m_redrawCount = 0; //!< Total number of button regions redrawn into the cache.
+
+    // Debug view
+    private boolean m_showDirtyRegions = false; //!< If true, outlines each region redrawn into the cache for a short while afterwards.
+    private final int m_debugLifespan = 15; //!< MAGIC: Number of frames a redrawn region stays outlined.
+    private final Vector<Rect> mv_debugRects = new Vector<Rect>();
+    private final Vector<Integer> mv_debugAges = new Vector<Integer>();
+
+    public UICompositor(Sprite panel, Collection<Button> buttons) {
+        p_panel = panel;
+        mv_buttons.addAll(buttons);
+        m_cacheTarget.setBatching(false);
+    }
+
+    @Override
+    public boolean isEnabled() { return m_enabled; }
+    @Override
+    public void setEnabled(boolean enabled) {
+        m_enabled = enabled;
+        if (!enabled) { release(); } // Forces a full render if re-enabled.
+    }
+
+    public boolean isShowingDirtyRegions() { return m_showDirtyRegions; }
+    public void setShowDirtyRegions(boolean show) {
+        m_showDirtyRegions = show;
+        mv_debugRects.clear();
+        mv_debugAges.clear();
+    }
+
+    @Override
+    public int getCacheDrawCalls() { return m_drawCalls; }
+    public int getRedrawCount() { return m_redrawCount; }
+
+    @Override
+    public void draw(RenderTarget target) {
+        m_drawCalls = 0;
+        if (!m_enabled || !target.isOffscreenCachingSupported()) {
+            p_panel.draw(target);
+            for (Button button : mv_buttons) {
+                button.draw(target);
+                button.markDrawn();
+            }
+            return;
+        }
+
+        if (needsFullRender()) { renderAll(); }
+        else {
+            for (Button button : mv_buttons) {
+                if (button.isDirty()) { redrawRegion(getScreenRect(button.getBottomLeft(), button.getTopRight())); }
+            }
+        }
+
+        target.drawImage(m_cache, m_cacheRect.left, m_cacheRect.top, m_cache.getWidth(), m_cache.getHeight());
+
+        if (m_showDirtyRegions) { drawDebug(target); }
+    }
+
+    private boolean needsFullRender() {
+        Viewport view = Viewport.getCurrent();
+        return m_cache == null ||
+                m_cachedScale != view.m_GUtoDP ||
+                !Vector2f.areEqual(m_cachedViewOrigin, view.mv_viewOrigin);
+    }
+
+    private void renderAll() //!< Re-renders the whole cache, eg. on first use or when the view changes.
+    {
+        // The cache covers the panel and all buttons, clipped to the view.
+        Vector2f bottomLeft = Vector2f.subtract(p_panel.getPosition(), p_panel.getOrigin());
+        Vector2f topRight = Vector2f.add(bottomLeft, p_panel.getSize());
+        for (Button button : mv_buttons) {
+            bottomLeft.set(Math.min(bottomLeft.x, button.getBottomLeft().x), Math.min(bottomLeft.y, button.getBottomLeft().y));
+            topRight.set(Math.max(topRight.x, button.getTopRight().x), Math.max(topRight.y, button.getTopRight().y));
+        }
+        Viewport view = Viewport.getCurrent();
+        bottomLeft.set(Math.max(bottomLeft.x, view.getLeft()), Math.max(bottomLeft.y, view.getBottom()));
+        topRight.set(Math.min(topRight.x, view.getRight()), Math.min(topRight.y, view.getTop()));
+        m_cacheRect.set(getScreenRect(bottomLeft, topRight));
+
+        int width = Math.max(m_cacheRect.width(), 1);
+        int height = Math.max(m_cacheRect.height(), 1);
+        if (m_cache == null || m_cache.getWidth() != width || m_cache.getHeight() != height) {
+            if (m_cache != null) { m_cache.recycle(); }
+            m_cache = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            m_cacheCanvas.setBitmap(m_cache);
+        }
+        m_cachedScale = view.m_GUtoDP;
+        m_cachedViewOrigin.set(view.mv_viewOrigin);
+
+        m_cache.eraseColor(Color.TRANSPARENT);
+        redrawRegion(m_cacheRect);
+    }
+
+    private void redrawRegion(Rect screenRect) //!< Redraws the panel and any buttons within a screen-space rect into the cache.
+    {
+        m_cacheCanvas.save();
+        m_cacheCanvas.translate(-m_cacheRect.left, -m_cacheRect.top); // Sprites draw in screen-space.
+        m_cacheCanvas.clipRect(screenRect);
+        m_cacheCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+
+        m_cacheTarget.begin(m_cacheCanvas, m_cachePaint);
+        p_panel.draw(m_cacheTarget);
+        for (Button button : mv_buttons) {
+            if (Rect.intersects(screenRect, getScreenRect(button.getBottomLeft(), button.getTopRight()))) {
+                button.draw(m_cacheTarget);
+                button.markDrawn();
+            }
+        }
+        m_drawCalls += m_cacheTarget.getDrawCalls();
+        m_cacheTarget.end();
+        m_cacheCanvas.restore();
+
+        m_redrawCount++;
+        if (m_showDirtyRegions) {
+            mv_debugRects.addElement(new Rect(screenRect));
+            mv_debugAges.addElement(0);
+        }
+    }
+
+    private void drawDebug(RenderTarget target) //!< Outlines recently redrawn regions, fading them out as they age.
+    {
+        for (int i = mv_debugRects.size() - 1; i >= 0; i--) {
+            int age = mv_debugAges.get(i);
+            int alpha = 255 - ((255 * age) / m_debugLifespan);
+            Rect rect = mv_debugRects.get(i);
+            target.drawDebugRect(rect.left, rect.top, rect.right, rect.bottom, (alpha << 24) | (Color.RED & 0x00FFFFFF));
+
+            if (age + 1 >= m_debugLifespan) {
+                mv_debugRects.remove(i);
+                mv_debugAges.remove(i);
+            } else { mv_debugAges.set(i, age + 1); }
+        }
+    }
+
+    private static Rect getScreenRect(Vector2f bottomLeft, Vector2f topRight) //!< Converts a game-space box to a screen-space rect, rounded outwards to whole pixels.
+    {
+        Viewport view = Viewport.getCurrent();
+        Vector2i screenBottomLeft = view.GUtoDP(bottomLeft);
+        Vector2i screenTopRight = view.GUtoDP(topRight);
+        return new Rect(screenBottomLeft.x - 1, screenTopRight.y - 1, screenTopRight.x + 1, screenBottomLeft.y + 1);
+    }
+
+    @Override
+    public void release() //!< Frees the cached bitmap.
+    {
+        if (m_cache != null) {
+            m_cache.recycle();
+            m_cache = null;
+        }
+    }
+}
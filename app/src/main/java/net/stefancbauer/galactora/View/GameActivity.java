@@ -7,7 +7,7 @@ import android.os.Bundle;
 import android.view.MotionEvent;
 import android.view.View;
 
-import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Controller.InputRingBuffer;
 
 public class GameActivity extends AppCompatActivity {
 
@@ -64,18 +64,40 @@ public class GameActivity extends AppCompatActivity {
     }
 
     public boolean onTouchEvent(MotionEvent event) {
-        int eventAction = event.getAction();
-        Vector2f cursorPos = new Vector2f(event.getX(), event.getY());
+        int actionIndex = event.getActionIndex();
 
-        switch (eventAction) {
+        switch (event.getActionMasked()) {
             case MotionEvent.ACTION_DOWN:
+                // Deliver moves as soon as they arrive, rather than batched up once per display frame.
+                gsv.requestUnbufferedDispatch(event);
+                addPointer(event, actionIndex, InputRingBuffer.DOWN);
+                break;
+            case MotionEvent.ACTION_POINTER_DOWN:
+                addPointer(event, actionIndex, InputRingBuffer.DOWN);
+                break;
             case MotionEvent.ACTION_MOVE:
-                gsv.game.addEvent(cursorPos, true);
+                // Moves are batched: replay every historical sample of every pointer, oldest first, then the current positions.
+                int pointerCount = event.getPointerCount();
+                for (int h = 0; h < event.getHistorySize(); h++) {
+                    long timeNanos = event.getHistoricalEventTime(h) * 1000000L;
+                    for (int p = 0; p < pointerCount; p++) {
+                        gsv.game.addEvent(event.getHistoricalX(p, h), event.getHistoricalY(p, h), InputRingBuffer.MOVE, event.getPointerId(p), timeNanos);
+                    }
+                }
+                for (int p = 0; p < pointerCount; p++) { addPointer(event, p, InputRingBuffer.MOVE); }
                 break;
+            case MotionEvent.ACTION_POINTER_UP:
             case MotionEvent.ACTION_UP:
-                gsv.game.addEvent(cursorPos, false);
+                addPointer(event, actionIndex, InputRingBuffer.UP);
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                for (int p = 0; p < event.getPointerCount(); p++) { addPointer(event, p, InputRingBuffer.UP); }
                 break;
         }
+        gsv.wake(); // The game thread may be parked waiting for input.
         return true;
     }
+
+    private void addPointer(MotionEvent event, int index, int action) //!< Queues the current position of one pointer. Event times are on the uptime clock, which shares its base with System.nanoTime().
+    { gsv.game.addEvent(event.getX(index), event.getY(index), action, event.getPointerId(index), event.getEventTime() * 1000000L); }
 }
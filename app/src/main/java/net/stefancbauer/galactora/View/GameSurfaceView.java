@@ -8,88 +8,89 @@ import android.util.Log;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 
+import net.stefancbauer.galactora.Controller.AndroidPlatform;
 import net.stefancbauer.galactora.Controller.BitmapManager;
-import net.stefancbauer.galactora.Model.Game;
-import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Controller.Platform;
 import net.stefancbauer.galactora.LocalMaths.Vector2i;
+import net.stefancbauer.galactora.Model.Engine.LatencyHistogram;
+import net.stefancbauer.galactora.Model.Engine.QualityGovernor;
+import net.stefancbauer.galactora.Model.Game;
+import net.stefancbauer.galactora.Model.Render.CanvasRenderTarget;
+
+import java.io.File;
+import java.io.IOException;
 
 /**
  * Created by P13186907 on 23/02/2018.
  */
 
 public class GameSurfaceView extends SurfaceView implements Runnable {
-    public static float GUtoDP; //!< The factor by which a game unit measure must be multiplied to get the same quantity in dp.
-    public static float DPtoGU; //!< The factor by which a dp measure must be multiplied to get the same quantity in GU.
-    public static Vector2f viewOrigin = new Vector2f(); //!< The current 0,0 point of the view, in Game Units. Game Unit origin is in the centre of the screen, at the top of the UI, just below the player's ship.
+    private final static int    TICK_RATE = 60;                 // simulation ticks per second, whatever the frame rate
+    private final static long   TICK_PERIOD = 1000000000L / TICK_RATE; // the tick period, in ns
+    private final static int    MAX_FRAME_SKIPS = 5;            // maximum number of ticks to catch up on without rendering
+    private long beginTime;                                     // the time when the cycle began, in ns
+    private long lastTime;                                      // the time when the previous cycle began, in ns
+    private long tickAccumulator;                               // simulation time due but not yet ticked, in ns
+    private long deltaTime = TICK_PERIOD / 1000000;             // the simulated time per tick, in ms, useful for updating.
+    private int targetFps = 0;                                  // frames per second currently being rendered at
 
-    public static Vector2i GUtoDP(Vector2f gameUnits) //!< Translates a point in Game-Space to a point in screenspace, correctly translating the origin and scale.
-    {
-        Vector2f fromScreenOrigin = Vector2f.subtract(gameUnits, viewOrigin);
-        fromScreenOrigin.x *= GUtoDP;
-        fromScreenOrigin.y *= -GUtoDP;
-        return fromScreenOrigin.toInteger();
-    }
+    private final Object parkLock = new Object();               // the game thread waits on this while there's nothing new to show
+    private boolean wakeRequested = false;                      // set by wake(), so a wake-up just before parking isn't missed
+    private final static long   IDLE_REPORT_PERIOD = 5000000000L; // ns between logs of the frame rate presented while idle
+    private boolean wasIdle = false;
+    private long idleStart;                                     // when the current idle report period began, in ns
+    private int idleFrames = 0;                                 // frames presented in the current idle report period
+    private float idlePresentedFps = 0.0f;                      // frames presented per second over the last idle report period
+    private final LatencyHistogram touchToPhoton = new LatencyHistogram("Touch to photon"); // from the newest touch each frame reflects to that frame being posted
 
-    public static Vector2f DPtoGU(Vector2i screenPoint) //!< Translates a point in screenspace to a point in Game-Space, correctly translating the origin and scale.
-    {
-        Vector2f fromScreenOrigin = screenPoint.toFloat();
-        fromScreenOrigin.x *= DPtoGU;
-        fromScreenOrigin.y *= -DPtoGU;
-        return Vector2f.add(fromScreenOrigin, viewOrigin);
-    }
+    private final static boolean PROFILE_RENDERING = false;     // if true, cycles background compositing and sprite batching on and off, logging draw calls and draw time for each combination
+    private final static int    PROFILE_WINDOW = 300;           // frames per profiling window
+    private final static boolean SHOW_UI_DIRTY_REGIONS = false; // if true, outlines UI regions as they're redrawn into the UI cache
+    private final static boolean RECORD_INPUT = false;          // if true, records the seed and every touch, saving them when paused for replaying with ReplayHarness
+    private int profileFrames = 0;
+    private long profileDrawNanos = 0;
+    private long profileDrawCalls = 0;
+    private int profileMode = 0;                                // bit 0 clear: compositing on, bit 1 clear: batching on
 
-    private final static int    MAX_FPS = 60;                   // desired fps
-    private final static int    MAX_FRAME_SKIPS = 5;            // maximum number of frames to be skipped
-    private final static int    FRAME_PERIOD = 1000 / MAX_FPS;  // the frame period
-    private long beginTime;                                     // the time when the cycle began
-    private long timeDiff;                                      // the time it took for the cycle to execute
-    private long deltaTime = 0;                                 // the time taken by the whole of the last cycle, including sleep, useful for updating.
-    private long timeDiffCanvas;
-    private int sleepTime;                                      // ms to sleep
-    private int framesSkipped;                                  // number of frames being skipped
+    private final static float  WORK_BUDGET = 0.8f;             // MAGIC: fraction of the frame period update and draw may take, leaving slack for posting the frame
+    private final QualityGovernor governor = new QualityGovernor(WORK_BUDGET * 1000.0f / PowerPolicy.FULL_FPS); //!< Sheds cosmetic effects when frames run long, rather than relying on frame skips.
+    private final PowerPolicy powerPolicy; //!< Picks the frame rate from thermal and battery state.
 
     Paint paint = new Paint();
-    Point screenSize; //!< Holds the dimensions, in dp, of the screen.
+    private final CanvasRenderTarget target = new CanvasRenderTarget(); //!< Draws the game onto the locked canvas.
+    Point screenSize; //!< Holds the dimensions, in pixels, of the surface buffer. Smaller than the display when renderScale is below 1.
+    private final float renderScale; //!< The fraction of the display's resolution being rendered at.
     SurfaceHolder holder; //!< Holds the canvas.
     private boolean paused = false; //!< Toggled to determine paused/playing.
     Thread t = null; //!< Thread being used for game logic.
 
     Game game; //!< Game object, holding as much model content as possible.
 
-    public GameSurfaceView(Context context, Point screenSize) {
+    public GameSurfaceView(Context context, Point displaySize) {
         super(context);
         holder = getHolder();
-        this.screenSize = screenSize;
+
+        // Render at a fraction of the display's resolution, letting the display hardware upscale the buffer.
+        renderScale = RenderScale.resolve(context, displaySize);
+        this.screenSize = new Point(Math.max((int)(displaySize.x * renderScale), 1), Math.max((int)(displaySize.y * renderScale), 1));
+        if (renderScale < 1.0f) { holder.setFixedSize(screenSize.x, screenSize.y); }
+        powerPolicy = new PowerPolicy(context);
 
         if (!BitmapManager.createInstance(context)) {
             Log.d("ERROR", "Attempted to call BitmapManager.createInstance() with an instance already created!");
         }
+        AndroidPlatform platform = new AndroidPlatform(context.getApplicationContext());
+        platform.setShowUIDirtyRegions(SHOW_UI_DIRTY_REGIONS);
+        Platform.createInstance(platform); // Already installed if the activity has been recreated.
 
-        // Time to work out the dp to gu ratio.
-        // Desired horizontal span is 14gu.
-        // Minimum vertical span is 21gu.
-        // 5gu of that vertical span are UI
-        // Game Unit origin is in the x-Axis centre of the screen, at the top of the UI, just below the player's ship at start.
-        // All game action will take place within the bounds of -7 to 7 x, 0 to 16 y, even if the available playing field is larger.
-        if ((float)screenSize.y < (float)screenSize.x * 1.5) {
-            // Screen is somehow not able to achieve a 2:3 aspect ratio.
-            GUtoDP = (float)screenSize.y / 21.0f; // MAGIC
-            DPtoGU = 1 / GUtoDP;
-
-            float screenWidthGU = screenSize.x * DPtoGU;
-            viewOrigin = new Vector2f((screenWidthGU * -0.5f), 16.0f); // MAGIC
-        } else {
-            // Screen is a sensible aspect ratio.
-            GUtoDP = (float)screenSize.x / 14.0f; // MAGIC
-            DPtoGU = 1 / GUtoDP;
-
-            float screenHeightGU = screenSize.y * DPtoGU;
-            viewOrigin.set(-7.0f, (screenHeightGU - 5f)); // MAGIC
-        }
-
-        this.game = new Game(screenSize, context);
+        this.game = new Game(new Vector2i(screenSize.x, screenSize.y));
+        game.setInputScale(renderScale);
+        if (RECORD_INPUT) { game.startRecording(); }
     }
 
+    public float getRenderScale() { return renderScale; }
+    public QualityGovernor getQualityGovernor() { return governor; } //!< Exposes the current tier, percentiles and recent tier changes.
+
     private void updateCanvas (){
         //Update the items in the canvas
         game.update(deltaTime);
@@ -99,12 +100,16 @@ public class GameSurfaceView extends SurfaceView implements Runnable {
         //Draw the items to the canvas
         canvas.drawARGB(255, 0, 0, 0);
 
-        game.draw(canvas, paint);
+        target.begin(canvas, paint);
+        game.draw(target);
+        target.end();
     }
 
     public void run() {
         //Remove conflict between the UI thread and the game thread.
         android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+        lastTime = System.nanoTime();
+        tickAccumulator = TICK_PERIOD; // tick once before the first draw
 
         while (!this.paused) {
             //Release all of the sounds
@@ -113,53 +118,147 @@ public class GameSurfaceView extends SurfaceView implements Runnable {
             if (!holder.getSurface().isValid()) {//if surface is not valid
                 continue;//skip anything below it
             }
+
+            boolean idle = game.m_paused || game.m_gameOver;
+            trackIdle(idle);
+
+            // while paused, nothing on screen changes until input arrives, so stop presenting frames until then
+            if (game.m_paused && !game.hasUndrawnChanges()) {
+                park(0);
+                if (this.paused) { break; }
+
+                // don't try to catch up on the time spent parked
+                lastTime = System.nanoTime();
+                tickAccumulator = TICK_PERIOD;
+            }
+
+            // pick the frame rate; the simulation keeps ticking at TICK_RATE regardless
+            int fps = powerPolicy.update(idle);
+            if (fps != targetFps) {
+                targetFps = fps;
+                governor.setBudgetMs(WORK_BUDGET * 1000.0f / fps);
+            }
+            long framePeriod = 1000000000L / targetFps;
+
             Canvas c = holder.lockCanvas(); //Lock canvas, paint canvas, unlock canvas
             synchronized (holder) {
-                beginTime = System.currentTimeMillis();
-                framesSkipped = 0;  // resetting the frames skipped
+                beginTime = System.nanoTime();
+                tickAccumulator += beginTime - lastTime;
+                lastTime = beginTime;
 
-                // update game state
-                this.updateCanvas();
-                timeDiffCanvas = System.currentTimeMillis() - beginTime;
+                // run every tick that has come due since the last frame
+                // if we've fallen too far behind, drop the excess rather than spiralling
+                tickAccumulator = Math.min(tickAccumulator, TICK_PERIOD * (MAX_FRAME_SKIPS + 1));
+                while (tickAccumulator >= TICK_PERIOD) {
+                    this.updateCanvas();
+                    tickAccumulator -= TICK_PERIOD;
+                }
 
                 // render state to the screen
                 // draws the canvas on the panel
+                boolean showsInput = game.hasNewInput();
+                long inputTime = game.takeNewestInputTime();
+                long drawStart = System.nanoTime();
                 this.drawCanvas(c);
+                if (PROFILE_RENDERING) { profileFrame(System.nanoTime() - drawStart); }
+                if (governor.addFrame(System.nanoTime() - beginTime)) {
+                    game.setQualityTier(governor.getTier());
+                    Log.d("PERF", "Quality governor: " + governor.getLastDecision());
+                }
 
-                // calculate how long did the cycle take
-                timeDiff = System.currentTimeMillis() - beginTime;
+                holder.unlockCanvasAndPost(c);
+                if (showsInput) { touchToPhoton.record(System.nanoTime() - inputTime); }
+                if (idle) { idleFrames++; }
+            }
 
-                // calculate sleep time
-                sleepTime = (int) (FRAME_PERIOD - timeDiff);
-                if (sleepTime > 0) {
-                    // if sleepTime > 0 put to sleep for short period of time
+            // sleep until the next frame is due
+            // very useful for battery saving
+            long sleepTime = framePeriod - (System.nanoTime() - beginTime);
+            if (sleepTime > 0) {
+                if (idle) {
+                    // idle frames are timed animation steps; input cuts the wait short so the game responds at once
+                    park(sleepTime);
+                } else {
                     try {
-                        // send the thread to sleep for a short period
-                        // very useful for battery saving
-                        Thread.sleep(sleepTime);
+                        Thread.sleep(sleepTime / 1000000, (int)(sleepTime % 1000000));
                     } catch (InterruptedException e) {
                     }
                 }
+            }
+        }
+    }
 
-                //ADD THIS IF WE ARE DOING LOTS OF WORK
-                //If sleeptime is greater than a frame length, skip a number of frames
-                while (sleepTime < 0 && framesSkipped < MAX_FRAME_SKIPS) {
-                    // we need to catch up
-                    // update without rendering
-                    this.updateCanvas();
-                    // add frame period to check if in next frame
-                    sleepTime += FRAME_PERIOD;
-                    framesSkipped++;
-                }
+    public void wake() //!< Wakes the game thread if it's parked, eg. because input has arrived.
+    {
+        synchronized (parkLock) {
+            wakeRequested = true;
+            parkLock.notifyAll();
+        }
+    }
 
-                holder.unlockCanvasAndPost(c);
-                deltaTime = System.currentTimeMillis() - beginTime;
+    private void park(long timeoutNanos) //!< Waits until wake() is called, or the timeout passes. A timeout of 0 waits indefinitely.
+    {
+        synchronized (parkLock) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (!wakeRequested && !this.paused) {
+                long remaining = deadline - System.nanoTime();
+                if (timeoutNanos > 0 && remaining <= 0) { break; }
+                try {
+                    if (timeoutNanos > 0) { parkLock.wait(remaining / 1000000, (int)(remaining % 1000000)); }
+                    else { parkLock.wait(); }
+                } catch (InterruptedException e) {
+                    break;
+                }
             }
+            wakeRequested = false;
+        }
+    }
+
+    private void trackIdle(boolean idle) //!< Measures the frame rate actually presented while paused or on the victory screen, logging it every IDLE_REPORT_PERIOD and when play resumes.
+    {
+        long now = System.nanoTime();
+        if (idle && !wasIdle) {
+            idleStart = now;
+            idleFrames = 0;
+        } else if (wasIdle && (!idle || now - idleStart >= IDLE_REPORT_PERIOD)) {
+            idlePresentedFps = idleFrames * 1000000000.0f / Math.max(now - idleStart, 1L);
+            Log.d("PERF", "Idle: " + idleFrames + " frames presented in " + ((now - idleStart) / 1000000) + "ms, " + String.format("%.1f", idlePresentedFps) + " fps.");
+            idleStart = now;
+            idleFrames = 0;
+        }
+        wasIdle = idle;
+    }
+
+    public LatencyHistogram getTouchToPhoton() { return touchToPhoton; } //!< Doesn't include display scan-out, which we can't see.
+    public float getIdlePresentedFps() { return idlePresentedFps; } //!< Frames presented per second while idle, over the last full report period.
+
+    private void profileFrame(long drawNanos) //!< Accumulates draw stats, logging and moving on to the next combination of render modes at the end of each window.
+    {
+        profileFrames++;
+        profileDrawNanos += drawNanos;
+        profileDrawCalls += target.getDrawCalls() + game.getCacheDrawCalls();
+
+        if (profileFrames >= PROFILE_WINDOW) {
+            Log.d("PERF", "Compositing " + (game.isBackgroundCompositing() ? "on" : "off") +
+                    ", batching " + (target.isBatching() ? "on" : "off") + ": " + (profileDrawCalls / profileFrames) + " draw calls/frame, " +
+                    ((profileDrawNanos / profileFrames) / 1000) + "us draw time/frame.");
+            Log.d("PERF", game.getInputLatency().toString());
+            game.getInputLatency().reset();
+            Log.d("PERF", touchToPhoton.toString());
+            touchToPhoton.reset();
+
+            profileMode = (profileMode + 1) % 4;
+            game.setBackgroundCompositing((profileMode & 1) == 0);
+            target.setBatching((profileMode & 2) == 0);
+            profileFrames = 0;
+            profileDrawNanos = 0;
+            profileDrawCalls = 0;
         }
     }
 
     public void pause(){
         paused = true;
+        wake();
         while(true){
             try{
                 t.join();
@@ -169,6 +268,19 @@ public class GameSurfaceView extends SurfaceView implements Runnable {
             break;
         }
         t = null;
+
+        if (RECORD_INPUT) { saveRecording(); }
+    }
+
+    private void saveRecording() //!< Writes the recording so far to the app's files directory, named by seed. Pull it with adb to replay it.
+    {
+        File file = new File(getContext().getFilesDir(), "input_" + game.getSeed() + ".rec");
+        try {
+            game.getRecording().write(file);
+            Log.d("PERF", "Saved " + game.getRecording().getTicks() + " ticks of input to " + file + ".");
+        } catch (IOException e) {
+            Log.d("ERROR", "Couldn't save input recording: " + e.getMessage());
+        }
     }
 
     public void resume(){
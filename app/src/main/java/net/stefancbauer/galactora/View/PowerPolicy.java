@@ -0,0 +1,142 @@
+package net.stefancbauer.galactora.View;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.lang.reflect.Method;
+
+/**
+ * Picks the frame rate to render at from the device's thermal state and battery saver setting, stepping down from 60 to 45 or 30 fps before the OS throttles us harder.
+ * Only the rendering rate changes; the simulation still ticks at its own fixed rate. Idle screens, such as the pause menu, are redrawn at a trickle.
+ */
+
+public class PowerPolicy {
+    public static final int FULL_FPS = 60;
+    public static final int WARM_FPS = 45;
+    public static final int HOT_FPS = 30;
+    public static final int IDLE_FPS = 10; //!< MAGIC: Enough to keep background motion and button feedback visible while nothing is being played.
+
+    // Thermal status values, from PowerManager on API 29+. Read via reflection, as we compile against an older SDK.
+    private static final int THERMAL_STATUS_NONE = 0;
+    private static final int THERMAL_STATUS_MODERATE = 2;
+    private static final int THERMAL_STATUS_SEVERE = 3;
+
+    private static final float WARM_TEMPERATURE = 40.0f; //!< MAGIC: Battery temperature, in degrees C, above which to step down to WARM_FPS. Used where thermal status isn't available.
+    private static final float HOT_TEMPERATURE = 44.0f; //!< MAGIC: Battery temperature above which to step down to HOT_FPS.
+    private static final float COOLING_MARGIN = 2.0f; //!< MAGIC: How far below a threshold the battery must cool before stepping back up, so we don't flip-flop at the boundary.
+    private static final long POLL_PERIOD_MS = 5000; //!< MAGIC: How often to re-read the power state. The sticky battery broadcast is too slow to read every frame.
+
+    private final Context p_context;
+    private final PowerManager m_powerManager;
+    private Method m_thermalStatusMethod = null; //!< PowerManager.getCurrentThermalStatus, or null if unavailable.
+
+    private long m_lastPoll = -POLL_PERIOD_MS;
+    private int m_thermalStatus = THERMAL_STATUS_NONE;
+    private float m_batteryTemperature = Float.NaN; //!< In degrees C, or NaN if unknown.
+    private boolean m_powerSave = false;
+
+    private int m_activeFps = FULL_FPS; //!< The target while playing, from the last poll.
+    private int m_targetFps = FULL_FPS; //!< The target actually in use, which may be the idle rate.
+    private String m_reason = "startup";
+
+    public PowerPolicy(Context context) {
+        p_context = context.getApplicationContext();
+        m_powerManager = (PowerManager)p_context.getSystemService(Context.POWER_SERVICE);
+
+        if (Build.VERSION.SDK_INT >= 29 && m_powerManager != null) {
+            try {
+                m_thermalStatusMethod = PowerManager.class.getMethod("getCurrentThermalStatus");
+            } catch (NoSuchMethodException e) {
+                m_thermalStatusMethod = null;
+            }
+        }
+    }
+
+    public int update(boolean idle) //!< Returns the frame rate to render at. Re-reads the power state every POLL_PERIOD_MS.
+    {
+        long now = SystemClock.elapsedRealtime();
+        if (now - m_lastPoll >= POLL_PERIOD_MS) {
+            m_lastPoll = now;
+            poll();
+        }
+
+        int target = idle ? Math.min(IDLE_FPS, m_activeFps) : m_activeFps;
+        if (target != m_targetFps) {
+            Log.d("POWER", "Target frame rate " + m_targetFps + " -> " + target + " fps (" + (idle ? "idle" : m_reason) + ").");
+            m_targetFps = target;
+        }
+        return m_targetFps;
+    }
+
+    private void poll() {
+        m_powerSave = m_powerManager != null && m_powerManager.isPowerSaveMode();
+        m_thermalStatus = readThermalStatus();
+        m_batteryTemperature = readBatteryTemperature();
+
+        int fps;
+        String reason;
+        if (m_thermalStatus >= THERMAL_STATUS_SEVERE) {
+            fps = HOT_FPS;
+            reason = "thermal status " + m_thermalStatus;
+        } else if (m_powerSave) {
+            fps = HOT_FPS;
+            reason = "battery saver";
+        } else if (m_thermalStatus >= THERMAL_STATUS_MODERATE) {
+            fps = WARM_FPS;
+            reason = "thermal status " + m_thermalStatus;
+        } else {
+            fps = fpsForTemperature(m_batteryTemperature);
+            reason = Float.isNaN(m_batteryTemperature) ? "nominal" : "battery at " + m_batteryTemperature + "C";
+        }
+
+        if (fps != m_activeFps) {
+            Log.d("POWER", "Playing frame rate " + m_activeFps + " -> " + fps + " fps (" + reason + ", thermal status " + m_thermalStatus + ", battery saver " + (m_powerSave ? "on" : "off") + ").");
+            m_activeFps = fps;
+            m_reason = reason;
+        }
+    }
+
+    private int fpsForTemperature(float temperature) //!< Steps by battery temperature, with a cooling margin before stepping back up.
+    {
+        if (Float.isNaN(temperature)) { return FULL_FPS; }
+
+        float hot = HOT_TEMPERATURE;
+        float warm = WARM_TEMPERATURE;
+        if (m_activeFps == HOT_FPS) { hot -= COOLING_MARGIN; }
+        if (m_activeFps <= WARM_FPS) { warm -= COOLING_MARGIN; }
+
+        if (temperature >= hot) { return HOT_FPS; }
+        if (temperature >= warm) { return WARM_FPS; }
+        return FULL_FPS;
+    }
+
+    private int readThermalStatus() {
+        if (m_thermalStatusMethod == null) { return THERMAL_STATUS_NONE; }
+        try {
+            return (Integer)m_thermalStatusMethod.invoke(m_powerManager);
+        } catch (Exception e) {
+            m_thermalStatusMethod = null;
+            return THERMAL_STATUS_NONE;
+        }
+    }
+
+    private float readBatteryTemperature() {
+        // Registering a null receiver just returns the sticky broadcast.
+        Intent battery = p_context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery == null) { return Float.NaN; }
+
+        int tenths = battery.getIntExtra(BatteryManager.EXTRA_TEMPERATURE, Integer.MIN_VALUE);
+        return tenths == Integer.MIN_VALUE ? Float.NaN : tenths / 10.0f;
+    }
+
+    public int getTargetFps() { return m_targetFps; }
+    public int getThermalStatus() { return m_thermalStatus; }
+    public float getBatteryTemperature() { return m_batteryTemperature; }
+    public boolean isPowerSave() { return m_powerSave; }
+}
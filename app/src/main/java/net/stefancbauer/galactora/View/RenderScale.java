@@ -0,0 +1,87 @@
+package net.stefancbauer.galactora.View;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Point;
+import android.util.Log;
+
+/**
+ * The fraction of the display's resolution the game renders at. The surface buffer is sized to match, and the display hardware upscales it to fill the screen.
+ * Stored as a setting, where 0 means automatic: the scale is picked from a quick fill-rate probe, which is run once and remembered.
+ */
+
+public class RenderScale {
+    public static final float AUTO = 0.0f;
+    private static final float[] SCALES = { 1.0f, 0.75f, 0.5f }; //!< MAGIC: The scales automatic mode may choose, best first. Quarter steps keep upscaling reasonably even.
+
+    private static final String PREFS_NAME = "galactora_settings";
+    private static final String KEY_SCALE = "render_scale"; //!< The chosen setting, or AUTO.
+    private static final String KEY_PROBED_SCALE = "render_scale_probed"; //!< The scale picked by the last probe, or 0 if never probed.
+
+    // Probe settings.
+    private static final int PROBE_SIZE = 512; //!< Width and height of the probe bitmaps, in pixels.
+    private static final int PROBE_WARMUP = 4;
+    private static final int PROBE_FILLS = 24;
+    private static final float FILLS_PER_FRAME = 6.0f; //!< MAGIC: Roughly how many times each pixel is drawn per frame: the clear, the cached background layers, loose particles, gameplay and the UI.
+    private static final float FILL_BUDGET_MS = 8.0f; //!< MAGIC: How much of each 16.6ms frame filling pixels may take, leaving the rest for game logic and everything else.
+
+    private RenderScale() {}
+
+    public static float getSetting(Context context) { return getPrefs(context).getFloat(KEY_SCALE, AUTO); }
+
+    public static void setSetting(Context context, float scale) //!< Sets the scale to use from the next game onwards. Use AUTO to pick one automatically.
+    { getPrefs(context).edit().putFloat(KEY_SCALE, scale == AUTO ? AUTO : Math.min(Math.max(scale, 0.25f), 1.0f)).apply(); }
+
+    public static float resolve(Context context, Point displaySize) //!< Returns the scale to render at, running the fill-rate probe if automatic mode has never been resolved on this device.
+    {
+        float setting = getSetting(context);
+        if (setting != AUTO) { return setting; }
+
+        SharedPreferences prefs = getPrefs(context);
+        float probed = prefs.getFloat(KEY_PROBED_SCALE, 0.0f);
+        if (probed == 0.0f) {
+            probed = probe(displaySize);
+            prefs.edit().putFloat(KEY_PROBED_SCALE, probed).apply();
+        }
+        return probed;
+    }
+
+    public static void clearProbe(Context context) { getPrefs(context).edit().putFloat(KEY_PROBED_SCALE, 0.0f).apply(); } //!< Forces automatic mode to re-probe next time.
+
+    public static float probe(Point displaySize) //!< Times alpha-blended full-bitmap draws, and picks the largest scale whose estimated per-frame fill time fits within budget.
+    {
+        Bitmap source = Bitmap.createBitmap(PROBE_SIZE, PROBE_SIZE, Bitmap.Config.ARGB_8888);
+        Bitmap dest = Bitmap.createBitmap(PROBE_SIZE, PROBE_SIZE, Bitmap.Config.ARGB_8888);
+        source.eraseColor(Color.argb(200, 128, 64, 255)); // Translucent, so every draw blends rather than just copying.
+        Canvas canvas = new Canvas(dest);
+        Paint paint = new Paint();
+
+        for (int i = 0; i < PROBE_WARMUP; i++) { canvas.drawBitmap(source, 0.0f, 0.0f, paint); }
+        long start = System.nanoTime();
+        for (int i = 0; i < PROBE_FILLS; i++) { canvas.drawBitmap(source, 0.0f, 0.0f, paint); }
+        long elapsed = System.nanoTime() - start;
+
+        source.recycle();
+        dest.recycle();
+
+        double nsPerPixel = (double)elapsed / ((double)PROBE_FILLS * PROBE_SIZE * PROBE_SIZE);
+        double fullFrameMs = (nsPerPixel * displaySize.x * displaySize.y * FILLS_PER_FRAME) / 1000000.0;
+
+        float chosen = SCALES[SCALES.length - 1];
+        for (float scale : SCALES) {
+            if (fullFrameMs * scale * scale <= FILL_BUDGET_MS) {
+                chosen = scale;
+                break;
+            }
+        }
+
+        Log.d("PERF", "Fill-rate probe: " + String.format("%.3f", nsPerPixel) + "ns/pixel, estimated " + String.format("%.1f", fullFrameMs) + "ms/frame at full resolution, chose render scale " + chosen + ".");
+        return chosen;
+    }
+
+    private static SharedPreferences getPrefs(Context context) { return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE); }
+}
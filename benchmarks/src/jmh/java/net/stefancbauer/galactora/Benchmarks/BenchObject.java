@@ -0,0 +1,15 @@
+package net.stefancbauer.galactora.Benchmarks;
+
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.GameObject;
+
+/**
+ * A GameObject with no sprite, so engine benchmarks need neither a Game nor a Platform.
+ */
+
+class BenchObject extends GameObject {
+    @Override
+    public void update() {}
+
+    Vector2f getCollisionablePosition(int index) { return new Vector2f(m_collisionables.get(index).first.m_position); } //!< In world space.
+}
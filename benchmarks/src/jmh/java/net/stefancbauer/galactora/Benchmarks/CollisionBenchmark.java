@@ -0,0 +1,66 @@
+package net.stefancbauer.galactora.Benchmarks;
+
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Engine.CollisionCircle;
+import net.stefancbauer.galactora.Model.Engine.CollisionRectangle;
+import net.stefancbauer.galactora.Model.Engine.Collisionable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single Collisionable pairs, at a range of rotations. Separation is either touching, so the full test runs, or just outside the check radius, so only the early-out runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+    @Param({"0", "30", "45", "90"})
+    public float rotation; //!< Applied to the rectangles, in degrees.
+
+    @Param({"true", "false"})
+    public boolean touching;
+
+    private final CollisionCircle m_circleA = new CollisionCircle(0.5f);
+    private final CollisionCircle m_circleB = new CollisionCircle(0.5f);
+    private final CollisionRectangle m_rectA = new CollisionRectangle(0.75f, 0.25f);
+    private final CollisionRectangle m_rectB = new CollisionRectangle(0.75f, 0.25f);
+    private Collisionable m_abstractCircleB; //!< m_circleB, through the abstract type, as GameObject.checkCollision sees it.
+    private final Vector2f m_normal = new Vector2f();
+
+    @Setup
+    public void setUp() {
+        float gap = touching ? 0.7f : 5.0f; // Centre-to-centre distance, in GU.
+
+        m_circleA.m_position.set(0.0f, 0.0f);
+        m_circleB.m_position.set(gap, 0.1f);
+        m_rectA.m_position.set(0.0f, 0.0f);
+        m_rectA.m_rotation = rotation;
+        m_rectB.m_position.set(gap, 0.1f);
+        m_rectB.m_rotation = -rotation;
+        m_abstractCircleB = m_circleB;
+    }
+
+    @Benchmark
+    public boolean circleCircle() { return m_circleA.checkCollision(m_circleB, m_normal); }
+
+    @Benchmark
+    public boolean circleRectangle() { return m_circleA.checkCollision(m_rectB, m_normal); }
+
+    @Benchmark
+    public boolean rectangleCircle() { return m_rectA.checkCollision(m_circleB, m_normal); }
+
+    @Benchmark
+    public boolean rectangleRectangle() { return m_rectA.checkCollision(m_rectB, m_normal); }
+
+    @Benchmark
+    public boolean doubleDispatch() { return m_rectA.checkCollision(m_abstractCircleB, m_normal); }
+}
@@ -0,0 +1,64 @@
+package net.stefancbauer.galactora.Benchmarks;
+
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Engine.CollisionCircle;
+import net.stefancbauer.galactora.Model.Engine.CollisionRectangle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameObject.checkCollision between two compound colliders, each made of alternating circles and rectangles spread along the object, like an armoured enemy.
+ * Either way every pair is tested, as the only overlapping pair is the last one checked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GameObjectCollisionBenchmark {
+    @Param({"1", "4", "8"})
+    public int colliders; //!< Collisionables per object.
+
+    @Param({"0", "45"})
+    public float rotation; //!< Of the second object, in degrees.
+
+    @Param({"true", "false"})
+    public boolean overlapping;
+
+    private BenchObject m_a;
+    private BenchObject m_b;
+    private final Vector2f m_normal = new Vector2f();
+
+    @Setup
+    public void setUp() {
+        m_a = build(colliders);
+        m_b = build(colliders);
+
+        // End to end, so that only the last collider of the first can meet the first collider of the second.
+        m_a.setPosition(new Vector2f(0.0f, 0.0f));
+        m_b.setRotation(rotation);
+        Vector2f target = m_a.getCollisionablePosition(colliders - 1);
+        target.x += overlapping ? 0.3f : 1.0f; // MAGIC: Inside the closest any pair can reach, 0.25 + 0.25, and beyond the furthest, two rectangle corners.
+        m_b.setPosition(Vector2f.subtract(target, m_b.getCollisionablePosition(0)));
+    }
+
+    private static BenchObject build(int count) {
+        BenchObject obj = new BenchObject();
+        for (int i = 0; i < count; i++) {
+            Vector2f offset = new Vector2f((i - ((count - 1) * 0.5f)) * 0.5f, 0.0f);
+            if (i % 2 == 0) { obj.addCollisionable(new CollisionCircle(0.25f), offset, 0.0f); }
+            else { obj.addCollisionable(new CollisionRectangle(0.25f, 0.25f), offset, 15.0f); }
+        }
+        return obj;
+    }
+
+    @Benchmark
+    public boolean checkCollision() { return m_a.checkCollision(m_b, m_normal); }
+}
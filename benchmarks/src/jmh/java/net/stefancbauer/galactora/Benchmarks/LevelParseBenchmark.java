@@ -0,0 +1,99 @@
+package net.stefancbauer.galactora.Benchmarks;
+
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.Headless.HeadlessGame;
+import net.stefancbauer.galactora.Headless.HeadlessPlatform;
+import net.stefancbauer.galactora.LocalMaths.Vector2i;
+import net.stefancbauer.galactora.Model.Background.BackgroundManager;
+import net.stefancbauer.galactora.Model.Game;
+import net.stefancbauer.galactora.Model.Level.Level;
+import net.stefancbauer.galactora.Model.Level.LevelFile;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a level file into a Level, as happens between levels, from XML and from the compiled binary form. Assets are served from memory, so only loading is measured, not disk.
+ * Needs the project root, passed in by the build as the galactora.root property.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class LevelParseBenchmark {
+    @Param({"Levels/level_01", "Levels/level_02", "Levels/level_03"})
+    public String level;
+
+    @Param({"xml", "binary"})
+    public String format;
+
+    private Game m_game;
+    private BackgroundManager m_backgroundManager;
+
+    private static class CachedPlatform extends HeadlessPlatform //!< Reads each asset from disk once, then serves it from memory.
+    {
+        private final Map<String, byte[]> m_assets = new HashMap<String, byte[]>();
+
+        CachedPlatform(File assetsDir, File resDir) { super(assetsDir, resDir); }
+
+        void put(String path, byte[] bytes) { m_assets.put(path, bytes); }
+        void remove(String path) { m_assets.remove(path); }
+
+        @Override
+        public InputStream openAsset(String path) throws IOException {
+            byte[] bytes = m_assets.get(path);
+            if (bytes == null) {
+                InputStream in = super.openAsset(path);
+                try {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) { out.write(buffer, 0, read); }
+                    bytes = out.toByteArray();
+                } finally { in.close(); }
+                m_assets.put(path, bytes);
+            }
+            return new ByteArrayInputStream(bytes);
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException, XmlPullParserException {
+        if (!Platform.hasInstance()) {
+            File main = new File(System.getProperty("galactora.root", ".."), "app/src/main");
+            CachedPlatform platform = new CachedPlatform(new File(main, "assets"), new File(main, "res"));
+            platform.setLogging(false);
+            Platform.createInstance(platform);
+        }
+
+        // The compiled level is made here, as compileLevels would, and withheld to measure XML.
+        CachedPlatform platform = (CachedPlatform)Platform.getInstance();
+        platform.remove(level + LevelFile.COMPILED_SUFFIX);
+        if (format.equals("binary")) {
+            InputStream xml = platform.openAsset(level);
+            try { platform.put(level + LevelFile.COMPILED_SUFFIX, LevelFile.parse(xml).toBytes()); }
+            finally { xml.close(); }
+        }
+
+        m_game = new Game(new Vector2i(HeadlessGame.SCREEN_WIDTH, HeadlessGame.SCREEN_HEIGHT), 0L);
+        m_backgroundManager = new BackgroundManager(m_game.getSeed());
+    }
+
+    @Benchmark
+    public Level parse() { return new Level(level, m_game, m_backgroundManager); }
+}
@@ -0,0 +1,59 @@
+package net.stefancbauer.galactora.Benchmarks;
+
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Pathing.Path;
+import net.stefancbauer.galactora.Model.Pathing.PathFactory;
+import net.stefancbauer.galactora.Model.Pathing.PathGroup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path generation, done for every enemy as it enters, flies by and exits, and PathGroup.balancePaths, done whenever a formation changes.
+ * Balancing is idempotent, so repeated calls do the same work as the first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PathBenchmark {
+    @Param({"4", "16", "64"})
+    public int groupSize; //!< Paths in the balanced group.
+
+    private final Vector2f m_gridPos = new Vector2f(-2.5f, 12.0f);
+    private PathGroup m_group;
+
+    @Setup
+    public void setUp() {
+        m_group = new PathGroup();
+        for (int i = 0; i < groupSize; i++) {
+            // Same shape, so the same node count, at different offsets and stack depths, as a wave's spawns are.
+            m_group.add(PathFactory.getEntrance(PathFactory.direction.TOPLEFT, (i / 4) * 1.5f, (i % 4) * 0.75f), null);
+        }
+    }
+
+    @Benchmark
+    public Path entranceLeft() { return PathFactory.getEntrance(PathFactory.direction.LEFT, 1.5f, 0.5f); }
+
+    @Benchmark
+    public Path entranceTopRight() { return PathFactory.getEntrance(PathFactory.direction.TOPRIGHT, 1.5f, 0.5f); }
+
+    @Benchmark
+    public Path flybyTrombone() { return PathFactory.getFlyby(PathFactory.flybyType.TROMBONE, m_gridPos, 1.0f); }
+
+    @Benchmark
+    public Path flybyBicycle() { return PathFactory.getFlyby(PathFactory.flybyType.BICYCLE, m_gridPos, 1.0f); }
+
+    @Benchmark
+    public Path exitDrift() { return PathFactory.getExit(PathFactory.exitType.DRIFT, m_gridPos); }
+
+    @Benchmark
+    public boolean balancePaths() { return m_group.balancePaths(); }
+}
@@ -0,0 +1,86 @@
+package net.stefancbauer.galactora.Benchmarks;
+
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vector2f arithmetic, as used throughout movement, pathing and collision. The allocating static operations are measured alongside the in-place ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class VectorBenchmark {
+    private static final int COUNT = 1024; // Enough operands that the JIT can't fold them into constants.
+
+    private final Vector2f[] m_a = new Vector2f[COUNT];
+    private final Vector2f[] m_b = new Vector2f[COUNT];
+    private final Vector2f m_scratch = new Vector2f();
+    private int m_index = 0;
+
+    @Setup
+    public void setUp() {
+        Random rand = new Random(0);
+        for (int i = 0; i < COUNT; i++) {
+            m_a[i] = new Vector2f((rand.nextFloat() * 20.0f) - 10.0f, (rand.nextFloat() * 20.0f) - 10.0f);
+            m_b[i] = new Vector2f((rand.nextFloat() * 20.0f) - 10.0f, (rand.nextFloat() * 20.0f) - 10.0f);
+        }
+    }
+
+    private int next() {
+        m_index = (m_index + 1) & (COUNT - 1);
+        return m_index;
+    }
+
+    @Benchmark
+    public Vector2f add() {
+        int i = next();
+        return Vector2f.add(m_a[i], m_b[i]);
+    }
+
+    @Benchmark
+    public Vector2f subtract() {
+        int i = next();
+        return Vector2f.subtract(m_a[i], m_b[i]);
+    }
+
+    @Benchmark
+    public Vector2f multiplyInPlace() {
+        m_scratch.set(m_a[next()]);
+        return m_scratch.multiply(0.5f);
+    }
+
+    @Benchmark
+    public float dotProduct() {
+        int i = next();
+        return Vector2f.dotProduct(m_a[i], m_b[i]);
+    }
+
+    @Benchmark
+    public float magnitude() { return m_a[next()].getMagnitude(); }
+
+    @Benchmark
+    public Vector2f unitVector() { return m_a[next()].getUnitVector(); }
+
+    @Benchmark
+    public Vector2f setMagnitude() {
+        m_scratch.set(m_a[next()]);
+        m_scratch.setMagnitude(3.0f);
+        return m_scratch;
+    }
+
+    @Benchmark
+    public Vector2f midpoint() {
+        int i = next();
+        return Vector2f.getMidpoint(m_a[i], m_b[i]);
+    }
+}
@@ -0,0 +1,67 @@
+package net.stefancbauer.galactora.Benchmarks;
+
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Engine.CollisionCircle;
+import net.stefancbauer.galactora.Model.Engine.Weld;
+import net.stefancbauer.galactora.Model.GameObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weld.chainUpdate moving a welded structure, as happens every tick for every armoured enemy. Each object reached scans its own welds.
+ * A chain welds each object to the next; a star welds every object to the root, as Armour is to its Enemy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class WeldBenchmark {
+    @Param({"1", "4", "16", "64"})
+    public int welds;
+
+    @Param({"chain", "star"})
+    public String shape;
+
+    private GameObject m_root;
+    private final Vector<GameObject> m_exceptions = new Vector<GameObject>();
+    private final Vector2f m_position = new Vector2f();
+    private float m_rotation = 0.0f;
+
+    @Setup
+    public void setUp() {
+        m_root = build();
+        GameObject last = m_root;
+        for (int i = 0; i < welds; i++) {
+            GameObject obj = build();
+            Weld.weldObjects(shape.equals("star") ? m_root : last, obj);
+            last = obj;
+        }
+    }
+
+    private static GameObject build() {
+        BenchObject obj = new BenchObject();
+        obj.addCollisionable(new CollisionCircle(0.5f), new Vector2f(0.0f, 0.5f), 0.0f);
+        return obj;
+    }
+
+    @Benchmark
+    public Vector<GameObject> chainUpdate() {
+        m_rotation = (m_rotation + 1.0f) % 360.0f;
+        m_position.set(m_rotation * 0.01f, 5.0f);
+
+        // As GameObject.updateState calls it, with the root already visited.
+        m_exceptions.clear();
+        m_exceptions.addElement(m_root);
+        Weld.chainUpdate(m_root, m_exceptions, m_position, m_rotation);
+        return m_exceptions;
+    }
+}
@@ -0,0 +1,148 @@
+package net.stefancbauer.galactora.Controller;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Everything needed to play a game again exactly: the random seed, the surface size, and every touch the game handled, keyed by the tick that handled it.
+ * Touches are stored as InputRingBuffer holds them, in surface pixels with their original timestamps, in primitive arrays that grow as needed.
+ */
+
+public class InputRecording {
+    private static final int MAGIC = 0x47414C52; //!< "GALR", at the start of every recording file.
+    private static final int VERSION = 2; //!< 2 added the score.
+
+    private final long m_seed; //!< Seed of the recorded Game's Random.
+    private final int m_screenWidth; //!< Size of the recorded Game's surface buffer, in pixels. Touches are clamped and converted to GU against it, so a replay must match.
+    private final int m_screenHeight;
+    private int m_ticks = 0; //!< How many ticks the recorded game ran for, which may be well past the last touch.
+    private int m_score = 0; //!< The recorded game's score after its last tick. What a replay should reproduce.
+
+    private int m_size = 0;
+    private int[] m_tick; //!< Update, counted from 0, that handled each touch. Never decreases.
+    private float[] m_x;
+    private float[] m_y;
+    private int[] m_action;
+    private int[] m_pointer;
+    private long[] m_timeNanos;
+
+    public InputRecording(long seed, int screenWidth, int screenHeight) { this(seed, screenWidth, screenHeight, 256); }
+
+    private InputRecording(long seed, int screenWidth, int screenHeight, int capacity) {
+        m_seed = seed;
+        m_screenWidth = screenWidth;
+        m_screenHeight = screenHeight;
+
+        capacity = Math.max(capacity, 1);
+        m_tick = new int[capacity];
+        m_x = new float[capacity];
+        m_y = new float[capacity];
+        m_action = new int[capacity];
+        m_pointer = new int[capacity];
+        m_timeNanos = new long[capacity];
+    }
+
+    public long getSeed() { return m_seed; }
+    public int getScreenWidth() { return m_screenWidth; }
+    public int getScreenHeight() { return m_screenHeight; }
+    public int size() { return m_size; }
+    public int getTick(int index) { return m_tick[index]; }
+    public int getTicks() { return m_ticks; }
+    public int getScore() { return m_score; }
+    public void setResult(int ticks, int score) //!< Records how far the game got, and its score there.
+    {
+        m_ticks = ticks;
+        m_score = score;
+    }
+
+    public void add(int tick, InputRingBuffer.Touch touch) //!< Appends a touch. Ticks must be added in order.
+    {
+        if (m_size == m_tick.length) { grow(); }
+
+        m_tick[m_size] = tick;
+        m_x[m_size] = touch.m_x;
+        m_y[m_size] = touch.m_y;
+        m_action[m_size] = touch.m_action;
+        m_pointer[m_size] = touch.m_pointer;
+        m_timeNanos[m_size] = touch.m_timeNanos;
+        m_size++;
+    }
+
+    public void get(int index, InputRingBuffer.Touch out) //!< Copies a touch into out, so replaying doesn't allocate.
+    {
+        out.m_x = m_x[index];
+        out.m_y = m_y[index];
+        out.m_action = m_action[index];
+        out.m_pointer = m_pointer[index];
+        out.m_timeNanos = m_timeNanos[index];
+    }
+
+    private void grow() {
+        int capacity = m_tick.length * 2;
+        m_tick = Arrays.copyOf(m_tick, capacity);
+        m_x = Arrays.copyOf(m_x, capacity);
+        m_y = Arrays.copyOf(m_y, capacity);
+        m_action = Arrays.copyOf(m_action, capacity);
+        m_pointer = Arrays.copyOf(m_pointer, capacity);
+        m_timeNanos = Arrays.copyOf(m_timeNanos, capacity);
+    }
+
+    public void write(File file) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(m_seed);
+            out.writeInt(m_screenWidth);
+            out.writeInt(m_screenHeight);
+            out.writeInt(m_ticks);
+            out.writeInt(m_score);
+            out.writeInt(m_size);
+            for (int i = 0; i < m_size; i++) {
+                out.writeInt(m_tick[i]);
+                out.writeFloat(m_x[i]);
+                out.writeFloat(m_y[i]);
+                out.writeByte(m_action[i]);
+                out.writeInt(m_pointer[i]);
+                out.writeLong(m_timeNanos[i]);
+            }
+        } finally { out.close(); }
+    }
+
+    public static InputRecording read(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) { throw new IOException(file + " isn't an input recording."); }
+            int version = in.readInt();
+            if (version != VERSION) { throw new IOException(file + " is recording version " + version + ", expected " + VERSION + "."); }
+
+            long seed = in.readLong();
+            int width = in.readInt();
+            int height = in.readInt();
+            int ticks = in.readInt();
+            int score = in.readInt();
+            int size = in.readInt();
+
+            InputRecording recording = new InputRecording(seed, width, height, size);
+            recording.setResult(ticks, score);
+            InputRingBuffer.Touch touch = new InputRingBuffer.Touch();
+            for (int i = 0; i < size; i++) {
+                int tick = in.readInt();
+                touch.m_x = in.readFloat();
+                touch.m_y = in.readFloat();
+                touch.m_action = in.readByte();
+                touch.m_pointer = in.readInt();
+                touch.m_timeNanos = in.readLong();
+                recording.add(tick, touch);
+            }
+            return recording;
+        } finally { in.close(); }
+    }
+}
@@ -0,0 +1,85 @@
+package net.stefancbauer.galactora.Controller;
+
+/**
+ * A fixed-size, lock-free queue of touch records, passed from the UI thread (the only producer) to the game thread (the only consumer).
+ * Records are stored in primitive arrays and copied out into a reusable Touch, so neither side allocates.
+ * If the game thread falls so far behind that the buffer fills, new records are dropped and counted rather than blocking the UI thread.
+ */
+
+public class InputRingBuffer {
+    public static final int DOWN = 0;
+    public static final int MOVE = 1;
+    public static final int UP = 2;
+
+    public static class Touch //!< A reusable holder for one record.
+    {
+        public float m_x; //!< Position, in screen pixels.
+        public float m_y;
+        public int m_action; //!< DOWN, MOVE or UP.
+        public int m_pointer; //!< ID of the pointer (finger) that made the touch, stable for as long as it's down.
+        public long m_timeNanos; //!< When the touch happened, on the System.nanoTime() clock.
+    }
+
+    private final int m_mask; //!< Capacity - 1. Capacity is a power of two, so indices wrap with a mask.
+    private final float[] m_x;
+    private final float[] m_y;
+    private final int[] m_action;
+    private final int[] m_pointer;
+    private final long[] m_timeNanos;
+
+    // Free-running counters; the slot is the counter masked. Each is only written by one thread, and volatile so the other sees records in order.
+    private volatile int m_head = 0; //!< Next record to read. Written by the consumer only.
+    private volatile int m_tail = 0; //!< Next record to write. Written by the producer only.
+    private volatile int m_dropped = 0; //!< Records discarded because the buffer was full. Written by the producer only.
+
+    public InputRingBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity) { size <<= 1; }
+
+        m_mask = size - 1;
+        m_x = new float[size];
+        m_y = new float[size];
+        m_action = new int[size];
+        m_pointer = new int[size];
+        m_timeNanos = new long[size];
+    }
+
+    public int getCapacity() { return m_mask + 1; }
+
+    public boolean offer(float x, float y, int action, int pointer, long timeNanos) //!< Producer only. Returns false if the buffer was full and the record was dropped.
+    {
+        int tail = m_tail;
+        if (tail - m_head > m_mask) {
+            m_dropped++;
+            return false;
+        }
+
+        int i = tail & m_mask;
+        m_x[i] = x;
+        m_y[i] = y;
+        m_action[i] = action;
+        m_pointer[i] = pointer;
+        m_timeNanos[i] = timeNanos;
+        m_tail = tail + 1; // Publishes the record.
+        return true;
+    }
+
+    public boolean poll(Touch out) //!< Consumer only. Copies the oldest record into out and removes it, or returns false if there are none.
+    {
+        int head = m_head;
+        if (head == m_tail) { return false; }
+
+        int i = head & m_mask;
+        out.m_x = m_x[i];
+        out.m_y = m_y[i];
+        out.m_action = m_action[i];
+        out.m_pointer = m_pointer[i];
+        out.m_timeNanos = m_timeNanos[i];
+        m_head = head + 1; // Frees the slot for the producer.
+        return true;
+    }
+
+    public boolean isEmpty() { return m_head == m_tail; }
+    public int size() { return m_tail - m_head; }
+    public int getDropped() { return m_dropped; }
+}
@@ -0,0 +1,86 @@
+package net.stefancbauer.galactora.Controller;
+
+import net.stefancbauer.galactora.Model.Background.ParticleLayer;
+import net.stefancbauer.galactora.Model.Button;
+import net.stefancbauer.galactora.Model.Render.Compositor;
+import net.stefancbauer.galactora.Model.Render.RenderTarget;
+import net.stefancbauer.galactora.Model.Sprite;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Vector;
+
+/**
+ * Semi-Singleton through which the model reaches everything platform-specific: assets, textures, offscreen caches and logging.
+ * Textures are opaque handles, as in RenderTarget, so the model never touches a graphics API and can run on a plain JVM.
+ */
+
+public abstract class Platform {
+    private static Platform instance = null;
+
+    public static boolean createInstance(Platform platform) //!< Installs the platform. Returns false, leaving the existing one, if one is already installed.
+    {
+        if (instance == null) {
+            instance = platform;
+            return true;
+        } else { return false; }
+    }
+
+    public static Platform getInstance() {
+        if (instance == null) { throw new IllegalStateException("Attempted to call Platform.getInstance() with no instance available!"); }
+        return instance;
+    }
+
+    public static boolean hasInstance() { return instance != null; }
+
+    // Assets
+    public abstract InputStream openAsset(String path) throws IOException; //!< Opens a file from the assets folder, eg. "Levels/level_01".
+
+    // Textures
+    public abstract Object getTexture(String name); //!< Returns the named spritesheet, or null if there isn't one.
+    public abstract int getTextureWidth(Object texture); //!< In pixels.
+    public abstract int getTextureHeight(Object texture);
+    public abstract Object createFrame(Object sheet, int left, int top, int width, int height, float xScale, float yScale); //!< Copies a section of a spritesheet into a new texture, scaled by the given factors.
+    public abstract Object createText(String text, String font, float textSize, int argb, int width, int height); //!< Renders a line of text, centred, into a new transparent texture. font is an asset path.
+
+    // Logging
+    public abstract void log(String tag, String message);
+
+    // Compositors. By default these draw directly, with no caching.
+    public Compositor createLayerCompositor(final ParticleLayer layer, float margin) //!< Draws a slow-moving layer, possibly from a cache extending margin GU above the view.
+    {
+        return new DirectCompositor() {
+            @Override
+            public void draw(RenderTarget target) { layer.draw(target); }
+        };
+    }
+
+    public Compositor createUICompositor(final Sprite panel, Collection<Button> buttons) //!< Draws the UI panel and its buttons, possibly from a cache.
+    {
+        final Vector<Button> uiButtons = new Vector<Button>(buttons);
+        return new DirectCompositor() {
+            @Override
+            public void draw(RenderTarget target) {
+                panel.draw(target);
+                for (Button button : uiButtons) {
+                    button.draw(target);
+                    button.markDrawn();
+                }
+            }
+        };
+    }
+
+    private abstract static class DirectCompositor implements Compositor {
+        private boolean m_enabled = true; // Only recorded, as there's no cache to turn off.
+
+        @Override
+        public int getCacheDrawCalls() { return 0; }
+        @Override
+        public boolean isEnabled() { return m_enabled; }
+        @Override
+        public void setEnabled(boolean enabled) { m_enabled = enabled; }
+        @Override
+        public void release() {}
+    }
+}
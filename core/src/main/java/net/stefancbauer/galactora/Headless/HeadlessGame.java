@@ -0,0 +1,89 @@
+package net.stefancbauer.galactora.Headless;
+
+import net.stefancbauer.galactora.Controller.InputRingBuffer;
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.LocalMaths.Vector2i;
+import net.stefancbauer.galactora.Model.EnemyTuning;
+import net.stefancbauer.galactora.Model.Game;
+
+import java.io.File;
+
+/**
+ * Runs the game with no display, ticking as fast as it can. Turns AUTO on, then sweeps a finger from side to side so the ship dodges and shoots.
+ * Usage: HeadlessGame [ticks] [seed] [assetsDir] [resDir]. Directories default to the app's, relative to the project root.
+ */
+
+public class HeadlessGame {
+    public static final int SCREEN_WIDTH = 1080; //!< A typical phone, in pixels.
+    public static final int SCREEN_HEIGHT = 1920;
+    public static final long TICK_MS = 1000 / 60; //!< Matches GameSurfaceView's tick length.
+
+    private static final int STEER_PERIOD = 120; //!< MAGIC: Ticks spent heading to each side of the screen.
+    private static final float STEER_X = 5.0f; //!< MAGIC: How far to either side to steer, in GU.
+    private static final float STEER_Y = 2.0f; //!< Just above the UI, which puts the ship at its starting height.
+
+    private final Game m_game;
+    private boolean m_steering;
+    private int m_tick = 0;
+
+    public static boolean install(File assetsDir, File resDir, boolean logging) //!< Installs a HeadlessPlatform. Returns false if a Platform was already installed.
+    {
+        HeadlessPlatform platform = new HeadlessPlatform(assetsDir, resDir);
+        platform.setLogging(logging);
+        return Platform.createInstance(platform);
+    }
+
+    public HeadlessGame(long seed, boolean steering) { this(seed, steering, Game.LEVEL_FILES); }
+
+    public HeadlessGame(long seed, boolean steering, String[] levelFiles) //!< Needs a Platform to be installed.
+    {
+        m_game = new Game(new Vector2i(SCREEN_WIDTH, SCREEN_HEIGHT), seed, EnemyTuning.DEFAULT, levelFiles);
+        m_steering = steering;
+
+        // Tap AUTO, pointer 0.
+        touch(0.0f, -1.4f, InputRingBuffer.DOWN, 0);
+        touch(0.0f, -1.4f, InputRingBuffer.UP, 0);
+    }
+
+    public Game getGame() { return m_game; }
+    public int getTick() { return m_tick; }
+
+    public void touch(float x, float y, int action, int pointer) //!< Queues a touch at a point in game-space.
+    {
+        Vector2i screen = m_game.getViewport().GUtoDP(new Vector2f(x, y));
+        m_game.addEvent(screen.x, screen.y, action, pointer, System.nanoTime());
+    }
+
+    public void step() //!< Runs one tick.
+    {
+        if (m_steering && m_tick % STEER_PERIOD == 0) {
+            float x = ((m_tick / STEER_PERIOD) % 2 == 0) ? -STEER_X : STEER_X;
+            touch(x, STEER_Y, m_tick == 0 ? InputRingBuffer.DOWN : InputRingBuffer.MOVE, 1);
+        }
+        m_game.update(TICK_MS);
+        m_tick++;
+    }
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 36000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0L;
+        File assetsDir = new File(args.length > 2 ? args[2] : "app/src/main/assets");
+        File resDir = new File(args.length > 3 ? args[3] : "app/src/main/res");
+
+        install(assetsDir, resDir, true);
+        HeadlessGame headless = new HeadlessGame(seed, true);
+        Game game = headless.getGame();
+
+        long start = System.nanoTime();
+        int maxEnemies = 0;
+        while (headless.getTick() < ticks && !game.m_gameOver) {
+            headless.step();
+            maxEnemies = Math.max(maxEnemies, game.m_enemies.size());
+        }
+        long elapsed = Math.max(System.nanoTime() - start, 1L);
+
+        System.out.println("Ran " + headless.getTick() + " ticks in " + (elapsed / 1000000) + "ms, " + String.format("%.0f", headless.getTick() * 1000000000.0 / elapsed) + " ticks/s.");
+        System.out.println("Seed " + seed + ": score " + game.m_score + ", level " + (game.getLevelIndex() + 1) + ", " + game.m_enemies.size() + " enemies (peak " + maxEnemies + ")" + (game.m_gameOver ? ", game over." : "."));
+    }
+}
@@ -0,0 +1,112 @@
+package net.stefancbauer.galactora.Headless;
+
+import net.stefancbauer.galactora.Controller.Platform;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Platform for running the game on a plain JVM, with nothing drawn. Assets are read straight from the app's source tree.
+ * Textures are just their sizes, read from the PNG headers, so sprites lay themselves out exactly as they would on a device.
+ */
+
+public class HeadlessPlatform extends Platform {
+    public static class Texture //!< A texture handle. Holds no pixels.
+    {
+        public final String m_name;
+        public final int m_width; //!< In pixels.
+        public final int m_height;
+
+        public Texture(String name, int width, int height) {
+            m_name = name;
+            m_width = width;
+            m_height = height;
+        }
+    }
+
+    private final File m_assetsDir; //!< eg. app/src/main/assets
+    private final File m_resDir; //!< eg. app/src/main/res. Searched for drawable*/<name>.png.
+    private final Map<String, Texture> m_textures = new HashMap<String, Texture>();
+    private final Map<String, byte[]> m_extraAssets = new HashMap<String, byte[]>(); //!< Assets that aren't on disk, eg. generated levels. Served in place of any file of the same path.
+    private boolean m_logging = true;
+
+    public HeadlessPlatform(File assetsDir, File resDir) {
+        m_assetsDir = assetsDir;
+        m_resDir = resDir;
+    }
+
+    public void setLogging(boolean logging) { m_logging = logging; }
+
+    public synchronized void addAsset(String path, byte[] contents) { m_extraAssets.put(path, contents); } //!< Serves contents as the asset at path from now on.
+
+    @Override
+    public InputStream openAsset(String path) throws IOException {
+        byte[] contents;
+        synchronized (this) { contents = m_extraAssets.get(path); }
+        if (contents != null) { return new ByteArrayInputStream(contents); }
+        return new FileInputStream(new File(m_assetsDir, path));
+    }
+
+    @Override
+    public synchronized Object getTexture(String name) //!< Synchronised, as games may be replayed on several threads at once.
+    {
+        Texture texture = m_textures.get(name);
+        if (texture == null) {
+            texture = loadTexture(name);
+            if (texture != null) { m_textures.put(name, texture); }
+        }
+        return texture;
+    }
+
+    private Texture loadTexture(String name) {
+        File[] dirs = m_resDir.listFiles();
+        if (dirs == null) { return null; }
+
+        for (File dir : dirs) {
+            if (!dir.isDirectory() || !dir.getName().startsWith("drawable")) { continue; }
+            File file = new File(dir, name + ".png");
+            if (!file.isFile()) { continue; }
+
+            // Width and height are the first fields of the IHDR chunk, straight after the 8-byte signature and the chunk's length and type.
+            DataInputStream in = null;
+            try {
+                in = new DataInputStream(new FileInputStream(file));
+                in.skipBytes(16);
+                int width = in.readInt();
+                int height = in.readInt();
+                return new Texture(name, width, height);
+            } catch (IOException e) {
+                log("ERROR", "Couldn't read " + file + ": " + e.getMessage());
+            } finally {
+                if (in != null) { try { in.close(); } catch (IOException e) {} }
+            }
+        }
+        log("ERROR", "No drawable named " + name + ".");
+        return null;
+    }
+
+    @Override
+    public int getTextureWidth(Object texture) { return ((Texture)texture).m_width; }
+
+    @Override
+    public int getTextureHeight(Object texture) { return ((Texture)texture).m_height; }
+
+    @Override
+    public Object createFrame(Object sheet, int left, int top, int width, int height, float xScale, float yScale) {
+        return new Texture(((Texture)sheet).m_name, Math.max(Math.round(width * xScale), 1), Math.max(Math.round(height * yScale), 1));
+    }
+
+    @Override
+    public Object createText(String text, String font, float textSize, int argb, int width, int height) { return new Texture(text, width, height); }
+
+    @Override
+    public void log(String tag, String message) {
+        if (m_logging) { System.out.println(tag + ": " + message); }
+    }
+}
@@ -0,0 +1,71 @@
+package net.stefancbauer.galactora.Headless;
+
+import net.stefancbauer.galactora.Model.Level.LevelFile;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Checks every level XML file in a directory and compiles each to LevelFile's binary form, for the game to load without parsing. Run by the compileLevels task.
+ * Each compiled level is read back and must compile to the same bytes, so a format bug fails the build rather than a level.
+ * Usage: LevelCompiler <levelsDir> <outputDir>. Exits with 1 if any level is invalid.
+ */
+
+public class LevelCompiler {
+    public static byte[] compile(File xml) throws IOException, XmlPullParserException //!< Throws if the level is invalid, or doesn't survive a round trip.
+    {
+        LevelFile level;
+        InputStream in = new FileInputStream(xml);
+        try { level = LevelFile.parse(in); }
+        finally { in.close(); }
+
+        byte[] compiled = level.toBytes();
+        if (!Arrays.equals(compiled, LevelFile.read(new ByteArrayInputStream(compiled)).toBytes())) { throw new IOException("Compiled level doesn't read back the same."); }
+        return compiled;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: LevelCompiler <levelsDir> <outputDir>");
+            return;
+        }
+
+        File[] levels = new File(args[0]).listFiles();
+        File outputDir = new File(args[1]);
+        if (levels == null) { throw new IOException(args[0] + " isn't a directory."); }
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) { throw new IOException("Couldn't create " + outputDir + "."); }
+        Arrays.sort(levels);
+
+        int failures = 0;
+        for (File level : levels) {
+            if (!level.isFile() || level.getName().startsWith(".") || level.getName().endsWith(LevelFile.COMPILED_SUFFIX)) { continue; }
+
+            try {
+                byte[] compiled = compile(level);
+                OutputStream out = new FileOutputStream(new File(outputDir, level.getName() + LevelFile.COMPILED_SUFFIX));
+                try { out.write(compiled); }
+                finally { out.close(); }
+                System.out.println("Compiled " + level.getName() + ", " + level.length() + " bytes to " + compiled.length + ".");
+            } catch (XmlPullParserException e) {
+                System.err.println(level + ": " + e.getMessage());
+                failures++;
+            } catch (IOException e) {
+                System.err.println(level + ": " + e.getMessage());
+                failures++;
+            }
+        }
+
+        if (failures > 0) {
+            System.err.println(failures + " level(s) failed to compile.");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package net.stefancbauer.galactora.Headless;
+
+import net.stefancbauer.galactora.Controller.InputRecording;
+import net.stefancbauer.galactora.LocalMaths.Vector2i;
+import net.stefancbauer.galactora.Model.Game;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Plays an InputRecording back, tick for tick, timing every update and counting what it allocates. A recording of a heavy level becomes a repeatable performance test.
+ * Usage: ReplayHarness <recording> [runs] [assetsDir] [resDir], or ReplayHarness record <recording> [ticks] [seed] to record a HeadlessGame run.
+ * Every run must end in the same state, or the replay has diverged and the timings mean nothing.
+ */
+
+public class ReplayHarness {
+    public static class Result //!< Statistics from one replay.
+    {
+        public int m_ticks;
+        public long[] m_tickNanos; //!< Time taken by each update, sorted.
+        public long m_allocatedBytes = -1; //!< Allocated by the replaying thread, or -1 if the JVM can't say.
+        public int m_gcCount = 0; //!< Collections during the replay, across all collectors.
+        public long m_gcMillis = 0;
+        public int m_score; //!< End state, for spotting divergence.
+        public int m_levelIndex;
+        public int m_enemies;
+
+        public long getPercentileNanos(float percentile) { return m_tickNanos[Math.min((int)(m_tickNanos.length * percentile / 100.0f), m_tickNanos.length - 1)]; }
+
+        public long getMeanNanos() {
+            long sum = 0;
+            for (long nanos : m_tickNanos) { sum += nanos; }
+            return sum / Math.max(m_tickNanos.length, 1);
+        }
+
+        public boolean sameEndState(Result other) { return m_ticks == other.m_ticks && m_score == other.m_score && m_levelIndex == other.m_levelIndex && m_enemies == other.m_enemies; }
+
+        @Override
+        public String toString() {
+            return m_ticks + " ticks: mean " + micros(getMeanNanos()) + ", p50 " + micros(getPercentileNanos(50.0f)) + ", p95 " + micros(getPercentileNanos(95.0f)) +
+                    ", p99 " + micros(getPercentileNanos(99.0f)) + ", max " + micros(m_tickNanos[m_tickNanos.length - 1]) + ". " +
+                    (m_allocatedBytes < 0 ? "Allocation unknown" : (m_allocatedBytes / 1024) + "KB allocated (" + (m_allocatedBytes / Math.max(m_ticks, 1)) + "B/tick)") +
+                    ", " + m_gcCount + " GCs (" + m_gcMillis + "ms). End: score " + m_score + ", level " + (m_levelIndex + 1) + ", " + m_enemies + " enemies.";
+        }
+
+        private static String micros(long nanos) { return String.format("%.1fus", nanos / 1000.0); }
+    }
+
+    public static Result replay(InputRecording recording) //!< Needs a Platform to be installed.
+    {
+        Game game = new Game(new Vector2i(recording.getScreenWidth(), recording.getScreenHeight()), recording.getSeed());
+        game.replay(recording);
+
+        Result result = new Result();
+        result.m_ticks = recording.getTicks();
+        result.m_tickNanos = new long[result.m_ticks];
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocation = (threads instanceof com.sun.management.ThreadMXBean) ? (com.sun.management.ThreadMXBean)threads : null;
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = allocation != null ? allocation.getThreadAllocatedBytes(threadId) : -1;
+        int gcCountBefore = getGcCount();
+        long gcMillisBefore = getGcMillis();
+
+        for (int i = 0; i < result.m_ticks; i++) {
+            long start = System.nanoTime();
+            game.update(HeadlessGame.TICK_MS);
+            result.m_tickNanos[i] = System.nanoTime() - start;
+        }
+
+        if (allocation != null) { result.m_allocatedBytes = allocation.getThreadAllocatedBytes(threadId) - allocatedBefore; }
+        result.m_gcCount = getGcCount() - gcCountBefore;
+        result.m_gcMillis = getGcMillis() - gcMillisBefore;
+        Arrays.sort(result.m_tickNanos);
+
+        result.m_score = game.m_score;
+        result.m_levelIndex = game.getLevelIndex();
+        result.m_enemies = game.m_enemies.size();
+        return result;
+    }
+
+    private static int getGcCount() {
+        int count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) { count += Math.max(gc.getCollectionCount(), 0); }
+        return count;
+    }
+
+    private static long getGcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) { millis += Math.max(gc.getCollectionTime(), 0); }
+        return millis;
+    }
+
+    public static InputRecording record(long seed, int ticks) //!< Records a steered HeadlessGame run. Needs a Platform to be installed.
+    {
+        HeadlessGame headless = new HeadlessGame(seed, true);
+        InputRecording recording = headless.getGame().startRecording();
+        while (headless.getTick() < ticks && !headless.getGame().m_gameOver) { headless.step(); }
+        return recording;
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean recording = args.length > 0 && args[0].equals("record");
+        if (args.length < (recording ? 2 : 1)) {
+            System.out.println("Usage: ReplayHarness <recording> [runs] [assetsDir] [resDir]");
+            System.out.println("       ReplayHarness record <recording> [ticks] [seed]");
+            return;
+        }
+
+        if (recording) {
+            File file = new File(args[1]);
+            int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 36000;
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+
+            HeadlessGame.install(new File("app/src/main/assets"), new File("app/src/main/res"), false);
+            InputRecording result = record(seed, ticks);
+            result.write(file);
+            System.out.println("Recorded " + result.getTicks() + " ticks, " + result.size() + " touches, seed " + seed + ", to " + file + ".");
+            return;
+        }
+
+        InputRecording input = InputRecording.read(new File(args[0]));
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        File assetsDir = new File(args.length > 2 ? args[2] : "app/src/main/assets");
+        File resDir = new File(args.length > 3 ? args[3] : "app/src/main/res");
+        HeadlessGame.install(assetsDir, resDir, false);
+
+        // Early runs double as JIT warm-up; the last is the one to compare across builds.
+        Result first = null;
+        for (int i = 0; i < runs; i++) {
+            Result result = replay(input);
+            System.out.println("Run " + (i + 1) + ": " + result);
+            if (result.m_score != input.getScore()) { System.out.println("Run " + (i + 1) + " scored " + result.m_score + ", but the recording scored " + input.getScore() + "!"); }
+            if (first == null) { first = result; }
+            else if (!result.sameEndState(first)) { System.out.println("Run " + (i + 1) + " diverged from run 1!"); }
+        }
+    }
+}
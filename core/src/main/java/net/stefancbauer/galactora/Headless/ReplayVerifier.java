@@ -0,0 +1,131 @@
+package net.stefancbauer.galactora.Headless;
+
+import net.stefancbauer.galactora.Controller.InputRecording;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks submitted scores by replaying their recordings, each in its own Game, spread across every core with a fork-join pool.
+ * A recording is verified if its replay ends on the score it claims. Anything else means the game diverged, or the claim was tampered with.
+ * Usage: ReplayVerifier <directory of .rec files> [threads] [assetsDir] [resDir]
+ */
+
+public class ReplayVerifier {
+    public static class Verdict //!< The outcome of replaying one recording.
+    {
+        public final File m_file;
+        public int m_claimedScore;
+        public int m_score; //!< What the replay scored.
+        public int m_ticks;
+        public long m_nanos; //!< Time spent replaying, on whichever thread ran it.
+        public String m_error = null; //!< Set if the recording couldn't be read or the replay failed.
+
+        Verdict(File file) { m_file = file; }
+
+        public boolean isVerified() { return m_error == null && m_score == m_claimedScore; }
+
+        @Override
+        public String toString() {
+            if (m_error != null) { return m_file.getName() + ": FAILED, " + m_error; }
+            return m_file.getName() + ": " + (isVerified() ? "verified " + m_score : "DIVERGED, claimed " + m_claimedScore + " but replayed " + m_score) +
+                    ", " + m_ticks + " ticks in " + (m_nanos / 1000000) + "ms (" + String.format("%.0f", m_ticks * 1000000000.0 / Math.max(m_nanos, 1L)) + " ticks/s).";
+        }
+    }
+
+    private static class VerifyTask extends RecursiveTask<Verdict> //!< Replays one recording. Never forks, so a game stays on one thread from start to finish.
+    {
+        private static final long serialVersionUID = 1L;
+        private final File m_file;
+
+        VerifyTask(File file) { m_file = file; }
+
+        @Override
+        protected Verdict compute() {
+            Verdict verdict = new Verdict(m_file);
+            long start = System.nanoTime();
+            try {
+                InputRecording recording = InputRecording.read(m_file);
+                verdict.m_claimedScore = recording.getScore();
+
+                ReplayHarness.Result result = ReplayHarness.replay(recording);
+                verdict.m_score = result.m_score;
+                verdict.m_ticks = result.m_ticks;
+            } catch (Exception e) {
+                verdict.m_error = e.toString();
+            }
+            verdict.m_nanos = System.nanoTime() - start;
+            return verdict;
+        }
+    }
+
+    private static class VerifyAllTask extends RecursiveTask<List<Verdict>> //!< Forks a VerifyTask per recording.
+    {
+        private static final long serialVersionUID = 1L;
+        private final List<File> mv_files;
+
+        VerifyAllTask(List<File> files) { mv_files = files; }
+
+        @Override
+        protected List<Verdict> compute() {
+            List<VerifyTask> tasks = new ArrayList<VerifyTask>();
+            for (File file : mv_files) { tasks.add(new VerifyTask(file)); }
+            invokeAll(tasks);
+
+            List<Verdict> verdicts = new ArrayList<Verdict>();
+            for (VerifyTask task : tasks) { verdicts.add(task.join()); }
+            return verdicts;
+        }
+    }
+
+    public static List<Verdict> verify(List<File> files, ForkJoinPool pool) //!< Replays every recording, in the order given. Needs a Platform to be installed.
+    { return pool.invoke(new VerifyAllTask(files)); }
+
+    public static List<File> findRecordings(File directory) //!< Every .rec file in the directory, by name.
+    {
+        File[] files = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) { return file.isFile() && file.getName().endsWith(".rec"); }
+        });
+        if (files == null) { return new ArrayList<File>(); }
+        Arrays.sort(files);
+        return new ArrayList<File>(Arrays.asList(files));
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: ReplayVerifier <directory> [threads] [assetsDir] [resDir]");
+            return;
+        }
+
+        List<File> files = findRecordings(new File(args[0]));
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        File assetsDir = new File(args.length > 2 ? args[2] : "app/src/main/assets");
+        File resDir = new File(args.length > 3 ? args[3] : "app/src/main/res");
+        HeadlessGame.install(assetsDir, resDir, false);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        List<Verdict> verdicts = verify(files, pool);
+        long elapsed = Math.max(System.nanoTime() - start, 1L);
+        pool.shutdown();
+
+        int verified = 0;
+        long ticks = 0;
+        long busyNanos = 0;
+        for (Verdict verdict : verdicts) {
+            System.out.println(verdict);
+            if (verdict.isVerified()) { verified++; }
+            ticks += verdict.m_ticks;
+            busyNanos += verdict.m_nanos;
+        }
+
+        System.out.println("Verified " + verified + " of " + verdicts.size() + " recordings on " + threads + " threads: " + ticks + " ticks in " + (elapsed / 1000000) + "ms, " +
+                String.format("%.0f", ticks * 1000000000.0 / elapsed) + " ticks/s overall, " + String.format("%.0f", ticks * 1000000000.0 / Math.max(busyNanos, 1L)) + " ticks/s per core.");
+    }
+}
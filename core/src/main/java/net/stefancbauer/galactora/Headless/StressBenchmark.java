@@ -0,0 +1,121 @@
+package net.stefancbauer.galactora.Headless;
+
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.Model.Game;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Plays generated stress levels headlessly and measures how tick time grows with the number of objects, split into update, collision and cleanup.
+ * Also counts how many timers the game's TimerWheel looked at each tick, against an estimate of the countdowns that would have been decremented had every object counted its own down.
+ * That estimate is worked out from the object counts, one per enemy, projectile and shield plus the player's two, not measured, so its column is headed estimated_countdowns.
+ * Ticks are binned by how many objects they started with, across every level, so the output is one curve per phase. Written as CSV, for plotting.
+ * Usage: StressBenchmark [ticks] [csvFile] [enemies...]
+ */
+
+public class StressBenchmark {
+    public static class Bins //!< Total phase times of every tick, binned by object count.
+    {
+        public final int m_width; //!< Objects per bin.
+        private long[] m_samples = new long[16];
+        private long[][] m_nanos = new long[Game.PHASE_COUNT][16];
+        private long[] m_countdowns = new long[16]; //!< Every enemy, projectile and shield's, and the player's two. Estimated from the object counts, not measured.
+        private long[] m_timerVisits = new long[16];
+
+        public Bins(int width) { m_width = Math.max(width, 1); }
+
+        public void add(int objects, Game game) //!< Adds the phase times of the game's last update(), which started with the given number of objects.
+        {
+            int bin = objects / m_width;
+            if (bin >= m_samples.length) {
+                int size = Math.max(bin + 1, m_samples.length * 2);
+                m_samples = Arrays.copyOf(m_samples, size);
+                for (int phase = 0; phase < Game.PHASE_COUNT; phase++) { m_nanos[phase] = Arrays.copyOf(m_nanos[phase], size); }
+                m_countdowns = Arrays.copyOf(m_countdowns, size);
+                m_timerVisits = Arrays.copyOf(m_timerVisits, size);
+            }
+
+            m_samples[bin]++;
+            for (int phase = 0; phase < Game.PHASE_COUNT; phase++) { m_nanos[phase][bin] += game.getPhaseNanos(phase); }
+            m_countdowns[bin] += 2 + game.m_enemies.size() + game.m_projectiles.size() + game.m_shields.size();
+            m_timerVisits[bin] += game.getTimers().getLastVisited();
+        }
+
+        public int size() { return m_samples.length; }
+        public long getSamples(int bin) { return m_samples[bin]; }
+        public double getMeanMicros(int bin, int phase) { return m_nanos[phase][bin] / (1000.0 * Math.max(m_samples[bin], 1L)); }
+        public double getMeanCountdowns(int bin) { return m_countdowns[bin] / (double)Math.max(m_samples[bin], 1L); }
+        public double getMeanTimerVisits(int bin) { return m_timerVisits[bin] / (double)Math.max(m_samples[bin], 1L); }
+
+        public void write(PrintWriter out) //!< As CSV, one row per bin with any ticks in it.
+        {
+            out.println("objects,ticks,update_us,collision_us,cleanup_us,total_us,estimated_countdowns,timer_visits");
+            for (int bin = 0; bin < m_samples.length; bin++) {
+                if (m_samples[bin] == 0) { continue; }
+
+                double total = 0.0;
+                StringBuilder row = new StringBuilder();
+                row.append(bin * m_width).append(',').append(m_samples[bin]);
+                for (int phase = 0; phase < Game.PHASE_COUNT; phase++) {
+                    double micros = getMeanMicros(bin, phase);
+                    total += micros;
+                    row.append(',').append(String.format("%.1f", micros));
+                }
+                row.append(',').append(String.format("%.1f", total));
+                row.append(',').append(String.format("%.1f", getMeanCountdowns(bin))).append(',').append(String.format("%.1f", getMeanTimerVisits(bin)));
+                out.println(row);
+            }
+            out.flush();
+        }
+    }
+
+    public static int run(StressLevelGenerator generator, int ticks, Bins bins) //!< Plays the generated level for up to the given ticks, adding every tick to bins. Returns the most objects seen. Needs a HeadlessPlatform to be installed.
+    {
+        String path = "Levels/stress_" + generator.getEnemies();
+        ((HeadlessPlatform)Platform.getInstance()).addAsset(path, generator.generateBytes());
+
+        HeadlessGame headless = new HeadlessGame(0L, true, new String[] { path });
+        Game game = headless.getGame();
+        int peak = 0;
+        while (headless.getTick() < ticks && !game.m_gameOver) {
+            int objects = game.getObjectCount();
+            peak = Math.max(peak, objects);
+            headless.step();
+            bins.add(objects, game);
+        }
+        return peak;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 3600;
+        File csv = args.length > 1 ? new File(args[1]) : null;
+        int[] counts = { 50, 100, 250, 500, 1000, 2000 };
+        if (args.length > 2) {
+            counts = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) { counts[i - 2] = Integer.parseInt(args[i]); }
+        }
+
+        HeadlessGame.install(new File("app/src/main/assets"), new File("app/src/main/res"), false);
+        run(new StressLevelGenerator(counts[0]), ticks / 4, new Bins(1)); // JIT warm-up, thrown away.
+
+        Bins bins = new Bins(Math.max(10, counts[counts.length - 1] / 25));
+        for (int count : counts) {
+            long start = System.nanoTime();
+            int peak = run(new StressLevelGenerator(count), ticks, bins);
+            System.out.println(count + " enemies: peak " + peak + " objects, " + ((System.nanoTime() - start) / 1000000) + "ms.");
+        }
+
+        PrintWriter out = new PrintWriter(System.out);
+        bins.write(out);
+        if (csv != null) {
+            PrintWriter file = new PrintWriter(new FileWriter(csv));
+            try { bins.write(file); }
+            finally { file.close(); }
+            System.out.println("Written to " + csv + ".");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package net.stefancbauer.galactora.Headless;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Writes level XML, in the format Level.parse() reads, with as many enemies as asked for, to find out where the engine falls over.
+ * Enemies come in waves from every direction, with a mix of types, and fill the grid in overlapping layers, so they stay on screen however many there are.
+ * Usage: StressLevelGenerator <outputDir> [enemies...], writing stress_<enemies> for each count.
+ */
+
+public class StressLevelGenerator {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final String[] DIRECTIONS = { "left", "right", "topleft", "topright" };
+
+    // Grid layout. The shipped levels use a half-GU lattice, from -6.5 to 6.5 across and -0.5 down.
+    private static final int GRID_COLUMNS = 14;
+    private static final int GRID_ROWS = 12; //!< MAGIC: Rows per layer, leaving room above the player.
+    private static final float LAYER_SHIFT = 0.25f; //!< Each layer sits a quarter of a cell off the last, so enemies overlap rather than stack exactly.
+
+    private final int m_enemies;
+    private final int m_waveSize; //!< Enemies per wave, at most.
+    private final int m_waveDelay; //!< Ticks between waves.
+    private final int m_flybys; //!< Flybys in the onmid phase.
+    private final long m_seed; //!< For the enemy type mix. The same seed always gives the same level.
+
+    public StressLevelGenerator(int enemies) { this(enemies, 50, 30, Math.max(4, enemies / 25), 0L); }
+
+    public StressLevelGenerator(int enemies, int waveSize, int waveDelay, int flybys, long seed) {
+        m_enemies = enemies;
+        m_waveSize = Math.max(waveSize, 1);
+        m_waveDelay = waveDelay;
+        m_flybys = flybys;
+        m_seed = seed;
+    }
+
+    public int getEnemies() { return m_enemies; }
+    public int getWaves() { return (m_enemies + m_waveSize - 1) / m_waveSize; }
+
+    public String generate() //!< The level, as XML, for LevelFile.parse(), which finds attributes by name.
+    {
+        Random rand = new Random(m_seed);
+        StringBuilder xml = new StringBuilder(m_enemies * 100 + 1024);
+
+        xml.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+        xml.append("<level difficulty_rating=\"1\">\n");
+        xml.append("    <onstart>\n    </onstart>\n");
+
+        int enemy = 0;
+        for (int wave = 0; enemy < m_enemies; wave++) {
+            xml.append("    <wave entry_direction=\"").append(DIRECTIONS[wave % DIRECTIONS.length]).append("\" delay=\"").append(wave == 0 ? 60 : m_waveDelay).append("\">\n");
+
+            int waveEnd = Math.min(enemy + m_waveSize, m_enemies);
+            for (int i = 0; enemy < waveEnd; i++, enemy++) {
+                int cell = enemy % (GRID_COLUMNS * GRID_ROWS);
+                int layer = enemy / (GRID_COLUMNS * GRID_ROWS);
+                float gridX = (cell % GRID_COLUMNS) - 6.5f + (LAYER_SHIFT * (layer % 2));
+                float gridY = -0.5f - (cell / GRID_COLUMNS) - (LAYER_SHIFT * ((layer / 2) % 2));
+
+                // Three abreast, in ranks 1.5GU apart, like the shipped waves.
+                float stackDepth = (i / 3) * 1.5f;
+                float offset = ((i % 3) - 1) * 0.5f;
+
+                xml.append("        <enemy type=\"").append(pickType(rand)).append('"')
+                        .append(" stack_depth=\"").append(format(stackDepth)).append('"')
+                        .append(" offset=\"").append(format(offset)).append('"')
+                        .append(" grid_x=\"").append(format(gridX)).append('"')
+                        .append(" grid_y=\"").append(format(gridY)).append("\"/>\n");
+            }
+            xml.append("    </wave>\n");
+        }
+
+        xml.append("    <onmid count=\"").append(m_flybys).append("\" delay=\"120\">\n");
+        xml.append("        <flyby type=\"trombone\" weight=\"1.0\" x_range=\"3\" y_range=\"1\"/>\n");
+        xml.append("        <flyby type=\"bicycle\" weight=\"1.0\" x_range=\"4\" y_range=\"2\"/>\n");
+        xml.append("    </onmid>\n");
+        xml.append("    <exit type=\"drift\" delay=\"150\" step=\"30\" group_size=\"").append(Math.max(2, m_enemies / 50)).append("\"/>\n");
+        xml.append("    <onend>\n");
+        xml.append("        <asset command=\"level_victory\" delay=\"0\"/>\n");
+        xml.append("    </onend>\n");
+        xml.append("</level>\n");
+        return xml.toString();
+    }
+
+    public byte[] generateBytes() { return generate().getBytes(UTF8); }
+
+    private static String pickType(Random rand) //!< Mostly drones and warriors, as in the shipped levels, with enough guardians and queens to bring their shields and armour.
+    {
+        float roll = rand.nextFloat();
+        if (roll < 0.6f) { return "drone"; } // MAGIC
+        if (roll < 0.85f) { return "warrior"; }
+        if (roll < 0.95f) { return "guardian"; }
+        return "queen";
+    }
+
+    private static String format(float value) { return String.format(Locale.ROOT, "%.2f", value); }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: StressLevelGenerator <outputDir> [enemies...]");
+            return;
+        }
+
+        File dir = new File(args[0]);
+        if (!dir.isDirectory() && !dir.mkdirs()) { throw new IOException("Couldn't create " + dir + "."); }
+
+        int[] counts = { 100, 250, 500, 1000, 2500 };
+        if (args.length > 1) {
+            counts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) { counts[i - 1] = Integer.parseInt(args[i]); }
+        }
+
+        for (int count : counts) {
+            StressLevelGenerator generator = new StressLevelGenerator(count);
+            File file = new File(dir, "stress_" + count);
+            OutputStream out = new FileOutputStream(file);
+            try { out.write(generator.generateBytes()); }
+            finally { out.close(); }
+            System.out.println("Wrote " + count + " enemies in " + generator.getWaves() + " waves to " + file + ".");
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package net.stefancbauer.galactora.Headless;
+
+import net.stefancbauer.galactora.Controller.InputRingBuffer;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.LocalMaths.Vector2i;
+import net.stefancbauer.galactora.Model.Button;
+import net.stefancbauer.galactora.Model.Enemy;
+import net.stefancbauer.galactora.Model.Engine.Viewport;
+import net.stefancbauer.galactora.Model.Game;
+import net.stefancbauer.galactora.Model.PlayerShip;
+import net.stefancbauer.galactora.Model.Projectile;
+
+import java.io.File;
+import java.util.Random;
+import java.util.Vector;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Many independent headless games, stepped in lockstep across a fork-join pool, for bots and soak tests.
+ * Each step takes one action per game from a flat float array, plays it as touches through the game's normal input path, runs one tick, and writes what happened into flat primitive buffers.
+ * A game that ended on the last step is replaced by a fresh one, with a new seed, at the start of the next.
+ * Usage: VecEnv [envs] [steps] [threads] [seed] [assetsDir] [resDir], which drives every game with random actions and reports env-steps per second.
+ */
+
+public class VecEnv {
+    // Action layout, ACTION_STRIDE floats per game.
+    public static final int ACTION_MOVE_X = 0; //!< Where to steer the ship, in GU. Kept above the UI, so steering never presses a button.
+    public static final int ACTION_MOVE_Y = 1;
+    public static final int ACTION_FIRE = 2; //!< Above 0.5 for AUTO on, otherwise off.
+    public static final int ACTION_BOMB = 3; //!< Above 0.5 to tap the bomb button.
+    public static final int ACTION_SHIELD = 4; //!< Above 0.5 to tap the shield button.
+    public static final int ACTION_STRIDE = 5;
+
+    // Player observation layout, PLAYER_STRIDE floats per game.
+    public static final int PLAYER_X = 0;
+    public static final int PLAYER_Y = 1;
+    public static final int PLAYER_SHIELD_CHARGES = 2;
+    public static final int PLAYER_BOMB_CHARGES = 3;
+    public static final int PLAYER_FIRING = 4; //!< 1 if AUTO is on.
+    public static final int PLAYER_STRIDE = 5;
+
+    public static final int ENEMY_STRIDE = 2; //!< x, y.
+    public static final int PROJECTILE_STRIDE = 3; //!< x, y, and 1 if fired by an enemy.
+
+    private static final float MIN_MOVE_Y = 0.0f; //!< The buttons all sit below this.
+
+    private final int m_size;
+    private final int m_maxEnemies; //!< Enemy slots per game. Any more are counted, but not written.
+    private final int m_maxProjectiles;
+    private final int m_maxEpisodeTicks; //!< Games are cut off after this many ticks, or never if 0.
+    private final ForkJoinPool m_pool;
+    private final int m_grain; //!< Games stepped by each leaf task.
+
+    private final Game[] m_games;
+    private final long[] m_seeds; //!< Seed of each current game. A replacement game takes the next seed in its slot, m_size on.
+    private final boolean[] m_steering; //!< Whether each game's steering finger is down.
+
+    // Observations, rewritten by every step.
+    public final float[] m_player;
+    public final float[] m_enemies;
+    public final int[] m_enemyCounts;
+    public final float[] m_projectiles;
+    public final int[] m_projectileCounts;
+    public final int[] m_scores;
+    public final int[] m_levels;
+    public final boolean[] m_done; //!< Whether each game ended on this step, by game over or by the episode limit.
+    public final int[] m_episodeTicks; //!< Ticks into each current game.
+
+    private long m_steps = 0; //!< Env-steps taken, ie. games times steps.
+    private long m_stepNanos = 0; //!< Wall time spent in step().
+    private int m_episodes = 0; //!< Games that have ended.
+
+    public VecEnv(int size, long seed, ForkJoinPool pool) { this(size, seed, pool, 64, 128, 0); }
+
+    public VecEnv(int size, long seed, ForkJoinPool pool, int maxEnemies, int maxProjectiles, int maxEpisodeTicks) //!< Needs a Platform to be installed. Game i starts with seed + i.
+    {
+        m_size = size;
+        m_maxEnemies = maxEnemies;
+        m_maxProjectiles = maxProjectiles;
+        m_maxEpisodeTicks = maxEpisodeTicks;
+        m_pool = pool;
+        m_grain = Math.max(1, size / (pool.getParallelism() * 4)); // A few leaves per thread, so a slow game doesn't hold the rest up.
+
+        m_games = new Game[size];
+        m_seeds = new long[size];
+        m_steering = new boolean[size];
+
+        m_player = new float[size * PLAYER_STRIDE];
+        m_enemies = new float[size * maxEnemies * ENEMY_STRIDE];
+        m_enemyCounts = new int[size];
+        m_projectiles = new float[size * maxProjectiles * PROJECTILE_STRIDE];
+        m_projectileCounts = new int[size];
+        m_scores = new int[size];
+        m_levels = new int[size];
+        m_done = new boolean[size];
+        m_episodeTicks = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            m_seeds[i] = seed + i;
+            m_games[i] = newGame(m_seeds[i]);
+            observe(i);
+        }
+    }
+
+    private static Game newGame(long seed) { return new Game(new Vector2i(HeadlessGame.SCREEN_WIDTH, HeadlessGame.SCREEN_HEIGHT), seed); }
+
+    public int size() { return m_size; }
+    public Game getGame(int index) { return m_games[index]; }
+    public long getSeed(int index) { return m_seeds[index]; }
+    public long getSteps() { return m_steps; }
+    public int getEpisodes() { return m_episodes; }
+    public double getStepsPerSecond() { return m_steps * 1000000000.0 / Math.max(m_stepNanos, 1L); } //!< Env-steps per second of step(), over the life of the VecEnv.
+
+    public void step(float[] actions) //!< Steps every game once, ACTION_STRIDE floats of actions each, then fills the observation buffers.
+    {
+        long start = System.nanoTime();
+
+        m_pool.invoke(new StepTask(actions, 0, m_size));
+
+        for (int i = 0; i < m_size; i++) { if (m_done[i]) { m_episodes++; } }
+        m_steps += m_size;
+        m_stepNanos += System.nanoTime() - start;
+    }
+
+    private void reset(int index) //!< Replaces a finished game. Loading a level is slow, so this is done in parallel along with the stepping.
+    {
+        m_seeds[index] += m_size;
+        m_games[index] = newGame(m_seeds[index]);
+        m_steering[index] = false;
+        m_episodeTicks[index] = 0;
+    }
+
+    private void act(int index, float[] actions, int offset) //!< Queues the touches for one game's action.
+    {
+        Game game = m_games[index];
+        Viewport view = game.getViewport();
+
+        float x = Math.min(Math.max(actions[offset + ACTION_MOVE_X], view.getLeft()), view.getRight());
+        float y = Math.min(Math.max(actions[offset + ACTION_MOVE_Y], MIN_MOVE_Y), view.getTop());
+        touch(game, x, y, m_steering[index] ? InputRingBuffer.MOVE : InputRingBuffer.DOWN, 0);
+        m_steering[index] = true;
+
+        Button auto = game.getButton("autobutton");
+        if ((actions[offset + ACTION_FIRE] > 0.5f) != auto.isTriggered()) { tap(game, auto); }
+        if (actions[offset + ACTION_BOMB] > 0.5f) { tap(game, game.getButton("bombbutton")); }
+        if (actions[offset + ACTION_SHIELD] > 0.5f) { tap(game, game.getButton("shieldbutton")); }
+    }
+
+    private void tap(Game game, Button button) //!< Presses and releases a button within one tick, with a second finger.
+    {
+        Vector2f centre = button.getPosition();
+        touch(game, centre.x, centre.y, InputRingBuffer.DOWN, 1);
+        touch(game, centre.x, centre.y, InputRingBuffer.UP, 1);
+    }
+
+    private void touch(Game game, float x, float y, int action, int pointer) {
+        Viewport view = game.getViewport();
+        game.addEvent((int)((x - view.mv_viewOrigin.x) * view.m_GUtoDP), (int)((y - view.mv_viewOrigin.y) * -view.m_GUtoDP), action, pointer, System.nanoTime()); // As GUtoDP(), without allocating.
+    }
+
+    private class StepTask extends RecursiveAction //!< Steps a range of games, splitting it in half until it's down to m_grain.
+    {
+        private static final long serialVersionUID = 1L;
+        private final float[] m_actions;
+        private final int m_from;
+        private final int m_to;
+
+        StepTask(float[] actions, int from, int to) {
+            m_actions = actions;
+            m_from = from;
+            m_to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (m_to - m_from <= m_grain) {
+                for (int i = m_from; i < m_to; i++) {
+                    if (m_done[i]) { reset(i); }
+                    act(i, m_actions, i * ACTION_STRIDE);
+                    m_games[i].update(HeadlessGame.TICK_MS);
+                    m_episodeTicks[i]++;
+                    observe(i);
+                }
+                return;
+            }
+
+            int middle = (m_from + m_to) >>> 1;
+            invokeAll(new StepTask(m_actions, m_from, middle), new StepTask(m_actions, middle, m_to));
+        }
+    }
+
+    private void observe(int index) //!< Writes one game's state into its slots of the observation buffers. Games only touch their own slots, so can be observed in parallel.
+    {
+        Game game = m_games[index];
+
+        PlayerShip player = game.m_player;
+        int p = index * PLAYER_STRIDE;
+        m_player[p + PLAYER_X] = player.getPosition().x;
+        m_player[p + PLAYER_Y] = player.getPosition().y;
+        m_player[p + PLAYER_SHIELD_CHARGES] = player.m_shieldCharges;
+        m_player[p + PLAYER_BOMB_CHARGES] = player.m_bombCharges;
+        m_player[p + PLAYER_FIRING] = game.getButton("autobutton").isTriggered() ? 1.0f : 0.0f;
+
+        Vector<Enemy> enemies = game.m_enemies;
+        int count = Math.min(enemies.size(), m_maxEnemies);
+        int e = index * m_maxEnemies * ENEMY_STRIDE;
+        for (int i = 0; i < count; i++) {
+            Vector2f position = enemies.get(i).getPosition();
+            m_enemies[e++] = position.x;
+            m_enemies[e++] = position.y;
+        }
+        m_enemyCounts[index] = enemies.size();
+
+        Vector<Projectile> projectiles = game.m_projectiles;
+        count = Math.min(projectiles.size(), m_maxProjectiles);
+        int q = index * m_maxProjectiles * PROJECTILE_STRIDE;
+        for (int i = 0; i < count; i++) {
+            Projectile projectile = projectiles.get(i);
+            m_projectiles[q++] = projectile.getPosition().x;
+            m_projectiles[q++] = projectile.getPosition().y;
+            m_projectiles[q++] = projectile.m_ownedByPlayer ? 0.0f : 1.0f;
+        }
+        m_projectileCounts[index] = projectiles.size();
+
+        m_scores[index] = game.m_score;
+        m_levels[index] = game.getLevelIndex();
+        m_done[index] = game.m_gameOver || (m_maxEpisodeTicks > 0 && m_episodeTicks[index] >= m_maxEpisodeTicks);
+    }
+
+    public static void main(String[] args) {
+        int envs = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 3600;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+        File assetsDir = new File(args.length > 4 ? args[4] : "app/src/main/assets");
+        File resDir = new File(args.length > 5 ? args[5] : "app/src/main/res");
+        HeadlessGame.install(assetsDir, resDir, false);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        VecEnv env = new VecEnv(envs, seed, pool, 64, 128, 36000);
+
+        // A bot that holds each random action for a second, firing all the while.
+        Random rand = new Random(seed);
+        float[] actions = new float[envs * ACTION_STRIDE];
+        for (int step = 0; step < steps; step++) {
+            for (int i = 0; i < envs; i++) {
+                int offset = i * ACTION_STRIDE;
+                if (step % 60 == 0) {
+                    actions[offset + ACTION_MOVE_X] = (rand.nextFloat() * 14.0f) - 7.0f; // MAGIC
+                    actions[offset + ACTION_MOVE_Y] = 1.0f + (rand.nextFloat() * 4.0f); // MAGIC
+                }
+                actions[offset + ACTION_FIRE] = 1.0f;
+                actions[offset + ACTION_BOMB] = rand.nextInt(600) == 0 ? 1.0f : 0.0f; // MAGIC
+                actions[offset + ACTION_SHIELD] = rand.nextInt(600) == 0 ? 1.0f : 0.0f;
+            }
+            env.step(actions);
+        }
+        pool.shutdown();
+
+        long scoreSum = 0;
+        for (int score : env.m_scores) { scoreSum += score; }
+        System.out.println("Stepped " + envs + " games " + steps + " times on " + threads + " threads: " + String.format("%.0f", env.getStepsPerSecond()) + " env-steps/s, " +
+                String.format("%.1f", env.getStepsPerSecond() / 3600.0) + " game-minutes/s. " + env.getEpisodes() + " games finished, mean current score " + (scoreSum / Math.max(envs, 1)) + ".");
+    }
+}
@@ -0,0 +1,93 @@
+package net.stefancbauer.galactora.LocalMaths;
+
+/**
+ * A 2D affine transform. Stands in for android.graphics.Matrix, with the same conventions: angles in degrees, and post- operations applied after the existing transform.
+ * Like Android's, sines and cosines within 1/4096 of zero are snapped to zero, so right-angle rotations map points exactly.
+ */
+
+public class Matrix2f {
+    private static final float NEARLY_ZERO = 1.0f / 4096.0f;
+
+    // x' = (m_scaleX * x) + (m_skewX * y) + m_transX, y' = (m_skewY * x) + (m_scaleY * y) + m_transY
+    private float m_scaleX = 1.0f;
+    private float m_skewX = 0.0f;
+    private float m_transX = 0.0f;
+    private float m_skewY = 0.0f;
+    private float m_scaleY = 1.0f;
+    private float m_transY = 0.0f;
+
+    public Matrix2f() {}
+
+    public Matrix2f(Matrix2f in) { set(in); }
+
+    public void set(Matrix2f in) {
+        m_scaleX = in.m_scaleX;
+        m_skewX = in.m_skewX;
+        m_transX = in.m_transX;
+        m_skewY = in.m_skewY;
+        m_scaleY = in.m_scaleY;
+        m_transY = in.m_transY;
+    }
+
+    public void reset() { setValues(1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f); }
+
+    public void setTranslate(float dx, float dy) { setValues(1.0f, 0.0f, dx, 0.0f, 1.0f, dy); }
+    public void setScale(float sx, float sy) { setValues(sx, 0.0f, 0.0f, 0.0f, sy, 0.0f); }
+
+    public void setRotate(float degrees) //!< Rotates counterclockwise in a y-up frame, or clockwise in a y-down one.
+    {
+        float sin = sin(degrees);
+        float cos = cos(degrees);
+        setValues(cos, -sin, 0.0f, sin, cos, 0.0f);
+    }
+
+    public void postTranslate(float dx, float dy) {
+        m_transX += dx;
+        m_transY += dy;
+    }
+
+    public void postScale(float sx, float sy) {
+        m_scaleX *= sx;
+        m_skewX *= sx;
+        m_transX *= sx;
+        m_skewY *= sy;
+        m_scaleY *= sy;
+        m_transY *= sy;
+    }
+
+    public void postRotate(float degrees) {
+        float sin = sin(degrees);
+        float cos = cos(degrees);
+        setValues((cos * m_scaleX) - (sin * m_skewY), (cos * m_skewX) - (sin * m_scaleY), (cos * m_transX) - (sin * m_transY),
+                (sin * m_scaleX) + (cos * m_skewY), (sin * m_skewX) + (cos * m_scaleY), (sin * m_transX) + (cos * m_transY));
+    }
+
+    public void mapPoints(float[] points) //!< Transforms pairs of x, y coordinates in place.
+    {
+        for (int i = 0; i + 1 < points.length; i += 2) {
+            float x = points[i];
+            float y = points[i + 1];
+            points[i] = (m_scaleX * x) + (m_skewX * y) + m_transX;
+            points[i + 1] = (m_skewY * x) + (m_scaleY * y) + m_transY;
+        }
+    }
+
+    private void setValues(float scaleX, float skewX, float transX, float skewY, float scaleY, float transY) {
+        m_scaleX = scaleX;
+        m_skewX = skewX;
+        m_transX = transX;
+        m_skewY = skewY;
+        m_scaleY = scaleY;
+        m_transY = transY;
+    }
+
+    private static float sin(float degrees) {
+        float value = (float)Math.sin(Math.toRadians(degrees));
+        return Math.abs(value) < NEARLY_ZERO ? 0.0f : value;
+    }
+
+    private static float cos(float degrees) {
+        float value = (float)Math.cos(Math.toRadians(degrees));
+        return Math.abs(value) < NEARLY_ZERO ? 0.0f : value;
+    }
+}
@@ -0,0 +1,15 @@
+package net.stefancbauer.galactora.LocalMaths;
+
+/**
+ * An immutable pair of values. Stands in for android.util.Pair, so the model can run without Android.
+ */
+
+public class Pair<F, S> {
+    public final F first;
+    public final S second;
+
+    public Pair(F first, S second) {
+        this.first = first;
+        this.second = second;
+    }
+}
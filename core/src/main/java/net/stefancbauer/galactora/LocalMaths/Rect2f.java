@@ -0,0 +1,34 @@
+package net.stefancbauer.galactora.LocalMaths;
+
+/**
+ * A float rectangle, given by its edges. Makes no assumption about which way y points, so game-space rectangles have top greater than bottom.
+ * Mirrors the parts of android.graphics.RectF the model used, so it can run without Android.
+ */
+
+public class Rect2f {
+    public float left;
+    public float top;
+    public float right;
+    public float bottom;
+
+    public Rect2f() {}
+
+    public Rect2f(float left, float top, float right, float bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public Rect2f(Rect2f in) { set(in.left, in.top, in.right, in.bottom); }
+
+    public void set(float left, float top, float right, float bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public float width() { return right - left; }
+    public float height() { return bottom - top; }
+}
@@ -0,0 +1,38 @@
+package net.stefancbauer.galactora.LocalMaths;
+
+/**
+ * An integer rectangle, given by its edges. Used for sections of spritesheets, in pixels with the origin in the top left, so top is less than bottom.
+ * Mirrors the parts of android.graphics.Rect the model used, so it can run without Android.
+ */
+
+public class Rect2i {
+    public int left;
+    public int top;
+    public int right;
+    public int bottom;
+
+    public Rect2i() {}
+
+    public Rect2i(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public Rect2i(Rect2i in) { set(in); }
+
+    public void set(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public void set(Rect2i in) { set(in.left, in.top, in.right, in.bottom); }
+
+    public int width() { return right - left; }
+    public int height() { return bottom - top; }
+
+    public static boolean intersects(Rect2i a, Rect2i b) { return a.left < b.right && b.left < a.right && a.top < b.bottom && b.top < a.bottom; }
+}
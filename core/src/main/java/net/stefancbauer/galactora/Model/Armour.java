@@ -1,9 +1,6 @@
 package net.stefancbauer.galactora.Model;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.Rect;
-
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
 import net.stefancbauer.galactora.Model.Engine.CollisionRectangle;
 
@@ -31,12 +28,12 @@ public class Armour extends GameObject {
         Armour returnArmour = new Armour(false, 2, false);
 
         if (isLeftArm) {
-            returnArmour.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(256, 128, 304, 208), 1, new Vector2f(0.75f, 1.25f), new Vector2f(1.0f));
+            returnArmour.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(256, 128, 304, 208), 1, new Vector2f(0.75f, 1.25f), new Vector2f(1.0f));
             returnArmour.m_typeName = "queenleft";
             returnArmour.addCollisionable(new CollisionRectangle(0.375f, 0.5f), new Vector2f(-0.625f, -0.5f), 0.0f);
         } else {
             // Is Right Arm.
-            returnArmour.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(336, 128, 384, 208), 1, new Vector2f(0.75f, 1.25f), new Vector2f(-0.25f, 1.0f));
+            returnArmour.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(336, 128, 384, 208), 1, new Vector2f(0.75f, 1.25f), new Vector2f(-0.25f, 1.0f));
             returnArmour.m_typeName = "queenright";
             returnArmour.addCollisionable(new CollisionRectangle(0.375f, 0.5f), new Vector2f(0.625f, -0.5f), 0.0f);
         }
@@ -54,9 +51,6 @@ public class Armour extends GameObject {
     @Override
     public void update() {}
 
-    @Override
-    public void draw(Canvas c, Paint p) { m_sprite.draw(c, p); }
-
     @Override
     public void delete(){
         super.delete();
@@ -0,0 +1,278 @@
+package net.stefancbauer.galactora.Model.Background;
+
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.LocalMaths.Pair;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Armour;
+import net.stefancbauer.galactora.Model.Engine.CullStats;
+import net.stefancbauer.galactora.Model.Engine.QualityTier;
+import net.stefancbauer.galactora.Model.Enemy;
+import net.stefancbauer.galactora.Model.Render.Compositor;
+import net.stefancbauer.galactora.Model.Render.RenderTarget;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * Handles all sprites not related to gameplay, notably the background, but also, confusingly, non-gameplay foreground effects such as explosions.
+ */
+
+public class BackgroundManager {
+    /*
+    * All sprites here are being taken from "game_background_spritesheet"
+    * For ease of reference, I've set out the Rects below.
+    *
+    * Intergalactic:
+    * intergalacticVortex -> "game_background_spritesheet", new Rect2i(320, 0, 640, 320)
+    * intergalacticGalaxy -> "game_background_spritesheet", new Rect2i(0, 640, 640, 1024)
+    *
+    * Interstellar
+    * interstellarBlue -> "game_background_spritesheet", new Rect2i(512, 1088, 640, 1216)
+    * interstellarViolet -> "game_background_spritesheet", new Rect2i(384, 1088, 512, 1216)
+    * interstellarMauve -> "game_background_spritesheet", new Rect2i(512, 1216, 640, 1344)
+    * interstellarRed -> "game_background_spritesheet", new Rect2i(384, 1216, 512, 1344)
+    *
+    * Planets:
+    * planetaryMoP -> "game_background_spritesheet", new Rect2i(0, 0, 320, 320)
+    * planetaryViolet -> "game_background_spritesheet", new Rect2i(0, 320, 320, 640)
+    * planetaryMagenta -> "game_background_spritesheet", new Rect2i(320, 320, 640, 640)
+    *
+    * Debris:
+    * debrisRed0 -> "game_background_spritesheet", new Rect2i(0, 1024, 64, 1088)
+    * debrisRed1 -> "game_background_spritesheet", new Rect2i(0, 1088, 64, 1152)
+    * debrisRed2 -> "game_background_spritesheet", new Rect2i(0, 1152, 64, 1216)
+    * debrisRed3 -> "game_background_spritesheet", new Rect2i(0, 1216, 64, 1280)
+    * debrisRed4 -> "game_background_spritesheet", new Rect2i(0, 1280, 64, 1344)
+    * debrisRed5 -> "game_background_spritesheet", new Rect2i(64, 1024, 128, 1088)
+    * debrisRed6 -> "game_background_spritesheet", new Rect2i(64, 1088, 128, 1152)
+    * debrisRed7 -> "game_background_spritesheet", new Rect2i(64, 1152, 128, 1216)
+    * debrisRed8 -> "game_background_spritesheet", new Rect2i(64, 1216, 128, 1280)
+    * debrisRed9 -> "game_background_spritesheet", new Rect2i(64, 1280, 128, 1344)
+    * debrisPink0 -> "game_background_spritesheet", new Rect2i(128, 1024, 192, 1088)
+    * debrisPink1 -> "game_background_spritesheet", new Rect2i(128, 1088, 192, 1152)
+    * debrisPink2 -> "game_background_spritesheet", new Rect2i(128, 1152, 192, 1216)
+    * debrisPink3 -> "game_background_spritesheet", new Rect2i(128, 1216, 192, 1280)
+    * debrisPink4 -> "game_background_spritesheet", new Rect2i(128, 1280, 192, 1344)
+    * debrisPink5 -> "game_background_spritesheet", new Rect2i(192, 1024, 256, 1088)
+    * debrisPink6 -> "game_background_spritesheet", new Rect2i(192, 1088, 256, 1152)
+    * debrisPink7 -> "game_background_spritesheet", new Rect2i(192, 1152, 256, 1216)
+    * debrisPink8 -> "game_background_spritesheet", new Rect2i(192, 1216, 256, 1280)
+    * debrisPink9 -> "game_background_spritesheet", new Rect2i(192, 1280, 256, 1344)
+    * debrisViolet0 -> "game_background_spritesheet", new Rect2i(256, 1024, 320, 1088)
+    * debrisViolet1 -> "game_background_spritesheet", new Rect2i(256, 1088, 320, 1152)
+    * debrisViolet2 -> "game_background_spritesheet", new Rect2i(256, 1152, 320, 1216)
+    * debrisViolet3 -> "game_background_spritesheet", new Rect2i(256, 1216, 320, 1280)
+    * debrisViolet4 -> "game_background_spritesheet", new Rect2i(256, 1280, 320, 1344)
+    * debrisViolet5 -> "game_background_spritesheet", new Rect2i(320, 1024, 384, 1088)
+    * debrisViolet6 -> "game_background_spritesheet", new Rect2i(320, 1088, 384, 1152)
+    * debrisViolet7 -> "game_background_spritesheet", new Rect2i(320, 1152, 384, 1216)
+    * debrisViolet8 -> "game_background_spritesheet", new Rect2i(320, 1216, 384, 1280)
+    * debrisViolet9 -> "game_background_spritesheet", new Rect2i(320, 1280, 384, 1344)
+    */
+
+    final Random m_rand; //!< The background's own random numbers, kept apart from Game.m_rand so that nothing cosmetic, such as the quality tier, can change the game.
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L; //!< MAGIC: Mixed into the game's seed, so the background doesn't draw the same numbers as the game.
+
+    // Particle Layers
+    private final ParticleAtlas m_atlas = new ParticleAtlas(); //!< Shared frames for all layers.
+    private final ParticleLayer m_intergalactic = new ParticleLayer("Intergalactic", m_atlas, 16); //!< All current intergalactic-type background objects.
+    private final ParticleLayer m_interstellar = new ParticleLayer("Interstellar", m_atlas, 128); //!< All current interstellar-type background objects.
+    private final ParticleLayer m_planetary = new ParticleLayer("Planetary", m_atlas, 16); //!< All current planetary-type background objects.
+    private final ParticleLayer m_debris = new ParticleLayer("Debris", m_atlas, 256); //!< All current debris-type background objects, including gibs.
+    private final ParticleLayer m_foreground = new ParticleLayer("Foreground", m_atlas, 256); //!< All current foreground objects, such as explosions, etc.
+
+    // Compositors for the slowest layers, which the platform may draw from cached bitmaps.
+    private final Compositor m_intergalacticCompositor = Platform.getInstance().createLayerCompositor(m_intergalactic, 4.0f); //!< MAGIC: Margin is roughly the height of a galaxy.
+    private final Compositor m_planetaryCompositor = Platform.getInstance().createLayerCompositor(m_planetary, 4.0f); //!< MAGIC: Margin is roughly the height of a planet.
+
+    private Map<String, Object[]> m_preparedText = new HashMap<String, Object[]>(); //!< Level text rendered ahead of time, by lower-case command. See setPreparedText().
+
+    private QualityTier m_quality = QualityTier.getDefaults()[0]; //!< Current cosmetic fidelity, set by the QualityGovernor.
+
+    // ConstellationFactory Vectors
+    private Vector<ConstellationFactory> mv_intergalacticFactories = new Vector<ConstellationFactory>(); //!< The current ConstellationFactories making intergalactic-type background assets.
+    private Vector<ConstellationFactory> mv_interstellarFactories = new Vector<ConstellationFactory>(); //!< The current ConstellationFactories making interstellar-type background assets.
+    private Vector<ConstellationFactory> mv_planetaryFactories = new Vector<ConstellationFactory>(); //!< The current ConstellationFactories making planetary-type background assets.
+    private Vector<ConstellationFactory> mv_debrisFactories = new Vector<ConstellationFactory>(); //!< The current ConstellationFactories making debris-type background assets.
+
+    private final Pair<Float, Float> intergalacticRange = new Pair<Float, Float>(200.0f, 1200.0f); //!< MAGIC: Used to determine weighted random length between intergalactic ConstellationFactory spawns.
+    private final float intergalacticRangeCentre = 800.0f; //!< MAGIC: Used to determine weighted random length between intergalactic ConstellationFactory spawns.
+    private int ticksToIntergalactic; //!< How many update ticks until another intergalactic ConstellationFactory should be spawned.
+
+    private final Pair<Float, Float> interstellarRange = new Pair<Float, Float>(75.0f, 200.0f); //!< MAGIC: Used to determine weighted random length between interstellar ConstellationFactory spawns.
+    private final float interstellarRangeCentre = 125.0f; //!< MAGIC: Used to determine weighted random length between interstellar ConstellationFactory spawns.
+    private int ticksToInterstellar; //!< How many update ticks until another interstellar ConstellationFactory should be spawned.
+
+    private final Pair<Float, Float> planetaryRange = new Pair<Float, Float>(200.0f, 800.0f); //!< MAGIC: Used to determine weighted random length between planetary ConstellationFactory spawns.
+    private final float planetaryRangeCentre = 500.0f; //!< MAGIC: Used to determine weighted random length between planetary ConstellationFactory spawns.
+    private int ticksToPlanetary; //!< How many update ticks until another planetary ConstellationFactory should be spawned.
+
+    private final Pair<Float, Float> debrisRange = new Pair<Float, Float>(50.0f, 400.0f); //!< MAGIC: Used to determine weighted random length between debris ConstellationFactory spawns.
+    private final float debrisRangeCentre = 150.0f; //!< MAGIC: Used to determine weighted random length between debris ConstellationFactory spawns.
+    private int ticksToDebris; //!< How many update ticks until another debris ConstellationFactory should be spawned.
+
+    public BackgroundManager(long seed) //!< Seed with the game's seed, so a game's background replays with it.
+    {
+        m_rand = new Random(seed ^ SEED_MIX);
+
+        ticksToIntergalactic = m_rand.nextInt(100);
+        ticksToInterstellar = m_rand.nextInt(100);
+        ticksToPlanetary = m_rand.nextInt(100);
+        ticksToDebris = m_rand.nextInt(100);
+    }
+
+    public void update() {
+        ticksToIntergalactic--;
+        ticksToInterstellar--;
+        ticksToPlanetary--;
+        ticksToDebris--;
+
+        // Update everything. Layers also clean up their own expired particles.
+        m_intergalactic.update();
+        m_interstellar.update();
+        m_planetary.update();
+        m_debris.update();
+        m_foreground.update();
+
+        for (ConstellationFactory fact: mv_intergalacticFactories) { fact.update(m_intergalactic); }
+        for (ConstellationFactory fact: mv_interstellarFactories) { fact.update(m_interstellar); }
+        for (ConstellationFactory fact: mv_planetaryFactories) { fact.update(m_planetary); }
+        for (ConstellationFactory fact: mv_debrisFactories) { fact.update(m_debris); }
+
+        // Spawn new constellations, if appropriate.
+
+        if (ticksToIntergalactic <= 0) {
+            mv_intergalacticFactories.addElement(ConstellationFactory.getIntergalacticFactory(m_rand, m_intergalactic, ""));
+            mv_intergalacticFactories.lastElement().setSpawnRate(m_quality.m_spawnRate);
+            ticksToIntergalactic = (int)(getWeightedValue(intergalacticRange, intergalacticRangeCentre, 0.5f) / m_quality.m_spawnRate);
+        }
+
+        if (ticksToInterstellar <= 0) {
+            mv_interstellarFactories.addElement(ConstellationFactory.getInterstellarFactory(m_rand, m_interstellar, ""));
+            mv_interstellarFactories.lastElement().setSpawnRate(m_quality.m_spawnRate);
+            ticksToInterstellar = (int)(getWeightedValue(interstellarRange, interstellarRangeCentre, 0.5f) / m_quality.m_spawnRate);
+        }
+
+        if (ticksToPlanetary <= 0) {
+            mv_planetaryFactories.addElement(ConstellationFactory.getPlanetaryFactory(m_rand, m_planetary, ""));
+            mv_planetaryFactories.lastElement().setSpawnRate(m_quality.m_spawnRate);
+            ticksToPlanetary = (int)(getWeightedValue(planetaryRange, planetaryRangeCentre, 0.5f) / m_quality.m_spawnRate);
+        }
+
+        if (ticksToDebris <= 0) {
+            mv_debrisFactories.addElement(ConstellationFactory.getDebrisFactory(m_rand, m_debris, ""));
+            mv_debrisFactories.lastElement().setSpawnRate(m_quality.m_spawnRate);
+            ticksToDebris = (int)(getWeightedValue(debrisRange, debrisRangeCentre, 0.5f) / m_quality.m_spawnRate);
+        }
+
+
+        // Finished factories have nothing left to spawn.
+        removeFinished(mv_intergalacticFactories);
+        removeFinished(mv_interstellarFactories);
+        removeFinished(mv_planetaryFactories);
+        removeFinished(mv_debrisFactories);
+    }
+
+    private void removeFinished(Vector<ConstellationFactory> factories) {
+        for (int i = factories.size() - 1; i >= 0; i--) {
+            if (factories.get(i).m_toBeDestroyed) { factories.remove(i); }
+        }
+    }
+
+    public void collectCullStats(Vector<CullStats> dest) //!< Adds the drawn/culled counts of every layer, back to front, to dest. Composited layers report the counts from their last cache render.
+    {
+        dest.addElement(m_intergalactic.getStats());
+        dest.addElement(m_interstellar.getStats());
+        dest.addElement(m_planetary.getStats());
+        dest.addElement(m_debris.getStats());
+        dest.addElement(m_foreground.getStats());
+    }
+
+    public QualityTier getQualityTier() { return m_quality; }
+    public void setQualityTier(QualityTier tier) //!< Changes how much cosmetic work is done. Existing particles are left alone; only new spawns are affected.
+    {
+        m_quality = tier;
+        setSpawnRate(mv_intergalacticFactories, tier.m_spawnRate);
+        setSpawnRate(mv_interstellarFactories, tier.m_spawnRate);
+        setSpawnRate(mv_planetaryFactories, tier.m_spawnRate);
+        setSpawnRate(mv_debrisFactories, tier.m_spawnRate);
+
+        m_intergalactic.setSkipFading(tier.m_skipFading);
+        m_interstellar.setSkipFading(tier.m_skipFading);
+        m_planetary.setSkipFading(tier.m_skipFading);
+        m_debris.setSkipFading(tier.m_skipFading);
+        m_foreground.setSkipFading(tier.m_skipFading);
+    }
+
+    private void setSpawnRate(Vector<ConstellationFactory> factories, float spawnRate) {
+        for (ConstellationFactory fact: factories) { fact.setSpawnRate(spawnRate); }
+    }
+
+    public boolean isCompositing() { return m_intergalacticCompositor.isEnabled(); }
+    public void setCompositing(boolean enabled) //!< Toggles drawing the slow layers from cached bitmaps, rather than particle by particle.
+    {
+        m_intergalacticCompositor.setEnabled(enabled);
+        m_planetaryCompositor.setEnabled(enabled);
+    }
+
+    public int getCacheDrawCalls() //!< Canvas draw calls made into the compositors' caches by the last drawBackground().
+    { return m_intergalacticCompositor.getCacheDrawCalls() + m_planetaryCompositor.getCacheDrawCalls(); }
+
+    public void drawBackground(RenderTarget target) {
+        m_intergalacticCompositor.draw(target);
+        target.endLayer("Intergalactic");
+        m_interstellar.draw(target);
+        target.endLayer("Interstellar");
+        m_planetaryCompositor.draw(target);
+        target.endLayer("Planetary");
+        m_debris.draw(target);
+        target.endLayer("Debris");
+    }
+
+    public void drawForeground(RenderTarget target) {
+        m_foreground.draw(target);
+        target.endLayer("Foreground");
+    }
+
+    private float getWeightedValue(Pair<Float, Float> range, float centre, float weightingFactor) //!< Used to get a value from a range with weighted randomness. Weighting factor determines the split between fully random (0.0f) and bell-curve random (1.0f), recommend 0.5f.
+    {
+        float pointOnDistribution = m_rand.nextFloat();
+        pointOnDistribution = ((1.0f - weightingFactor) * pointOnDistribution) + (weightingFactor * (pointOnDistribution * pointOnDistribution));
+        float rangeOnSide;
+        if (m_rand.nextBoolean()) { rangeOnSide = range.first - centre; }
+        else { rangeOnSide = range.second - centre; }
+        return ((pointOnDistribution * rangeOnSide) + centre);
+    }
+
+    public void addEffect(String effectType, Vector2f position) //!< Adds effect to foreground.
+    {
+        BackgroundObject.getEffect(m_rand, m_foreground, effectType, position);
+    }
+
+    public void addEnemyGibs(Enemy enemy) //!< Adds enemy gibs to debris layer.
+    {
+        BackgroundObject.getEnemyGibs(m_rand, m_debris, enemy, m_quality.m_maxGibs);
+    }
+
+    public void addArmourGibs(Armour armour) //!< Adds armour gibs to debris layer.
+    {
+        m_debris.beginBurst(m_quality.m_maxGibs);
+        BackgroundObject.getArmourGibs(m_rand, m_debris, armour);
+        m_debris.endBurst();
+    }
+
+    public void addLevelEffect(String command, String parameters) //!< Adds level effect to debris layer.
+    {
+        if (command.equalsIgnoreCase("add_score")) { BackgroundObject.getLevelEffects(m_rand, m_interstellar, command, parameters); }
+        else if (command.equalsIgnoreCase("subtract_score")) { BackgroundObject.getLevelEffects(m_rand, m_interstellar, command, parameters); }
+        else { BackgroundObject.getLevelEffects(m_rand, m_debris, command, parameters, m_preparedText.get(command.toLowerCase(Locale.ROOT))); }
+    }
+
+    public void setPreparedText(Map<String, Object[]> text) //!< Replaces the level text rendered ahead of time, eg. by a LevelPrefetcher. Effects with no prepared text are rendered when they're added.
+    {
+        m_preparedText = text;
+    }
+}
@@ -0,0 +1,675 @@
+package net.stefancbauer.galactora.Model.Background;
+
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.LocalMaths.LocalMaths;
+import net.stefancbauer.galactora.LocalMaths.Matrix2f;
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Armour;
+import net.stefancbauer.galactora.Model.Enemy;
+import net.stefancbauer.galactora.Model.EnemyType;
+import net.stefancbauer.galactora.Model.Engine.Viewport;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * BackgroundObjects describe non-interacting objects that scroll from the bottom of the screen to the top, then despawn, at a set speed.
+ * They are only spawn descriptions: adding one to a ParticleLayer copies its state into the layer, which handles all updating and drawing.
+ */
+
+public class BackgroundObject {
+    // Level text, rendered by the Platform. Many thanks to android--examples.blogspot.co.uk for the original Canvas version.
+    private static final String HEAVY_FONT = "fonts/franklin_gothic_heavy_regular.ttf";
+    private static final String SCORE_FONT = "fonts/franklin_gothic_medium_cond_regular.ttf";
+    private static final int TEXT_WIDTH = 1024; //!< MAGIC: Size of level text textures, in pixels.
+    private static final int TEXT_HEIGHT = 126;
+
+    private final String m_textureName; //!< Spritesheet to take the frame from. Null for custom textures.
+    private final Rect2i m_textureRect; //!< Section of the spritesheet to use as the frame, in pixels.
+    private final Object m_customTexture; //!< One-off texture to use as the frame, if not taken from a spritesheet. A Platform texture handle.
+
+    public Vector2f m_size = new Vector2f(); //!< The dimensions of the object, in game units.
+    public Vector2f m_origin = new Vector2f(); //!< The coordinates of the local origin, relative to the bottom-left corner, in game units.
+    public Vector2f m_position = new Vector2f(); //!< The position of the local origin in world-space.
+    public float m_rotation; //!< Rotation of the object, counterclockwise, in degrees.
+    public Vector2f m_velocity = new Vector2f(); //!< The m_velocity of the object, in game units per tick.
+    public float m_rotVelocity; //!< The rotational m_velocity of the object, in degrees per tick.
+    public int m_alpha = 255; //!< The starting alpha of the object.
+
+    public boolean m_fadeOut = false; //!< Whether or not sprite should fade into transparency (eg. for explosions). If true, object will be destroyed when fully transparent.
+    public int m_fadeOutFactor = 1; //!< The amount to reduce alpha by each tick, if m_fadeOut is true.
+
+    public BackgroundObject(String textureName, Rect2i baseTextureRect, Vector2f size, Vector2f position, float rotation, float yVelocity) //!< Partial Constructor, chains full Constructor with some default values.
+    { this(textureName, baseTextureRect, size, new Vector2f(size).multiply(0.5f), position, rotation, yVelocity, 0.0f ); }
+
+    public BackgroundObject(String textureName, Rect2i baseTextureRect, Vector2f size, Vector2f position, float rotation, float yVelocity, float rotVelocity) //!< Partial Constructor, chains full Constructor with some default values.
+    { this(textureName, baseTextureRect, size, new Vector2f(size).multiply(0.5f), position, rotation, yVelocity, rotVelocity ); }
+
+    public BackgroundObject(String textureName, Rect2i baseTextureRect, Vector2f size, Vector2f origin, Vector2f position, float rotation, float yVelocity, float rotVelocity) //!< Full Constructor
+    {
+        m_textureName = textureName;
+        m_textureRect = baseTextureRect;
+        m_customTexture = null;
+
+        m_size.set(size);
+        m_origin.set(origin);
+        m_position.set(position);
+        m_rotation = rotation;
+        m_velocity.y = yVelocity;
+        m_rotVelocity = rotVelocity;
+    }
+
+    public BackgroundObject(Object texture, Vector2f position, float rotation, float yVelocity, float rotVelocity) //!< Creates a custom BackgroundObject from a texture, sized to display the texture pixel-for-pixel.
+    {
+        m_textureName = null;
+        m_textureRect = null;
+        m_customTexture = texture;
+
+        float DPtoGU = Viewport.getCurrent().m_DPtoGU;
+        float width = DPtoGU * Platform.getInstance().getTextureWidth(texture);
+        float height = DPtoGU * Platform.getInstance().getTextureHeight(texture);
+        m_size.set(width, height);
+        m_origin.set(0.5f * width, 0.5f * height);
+        m_position.set(position);
+        m_rotation = rotation;
+
+        m_velocity.y = yVelocity;
+        m_rotVelocity = rotVelocity;
+    }
+
+    int resolveFrame(ParticleAtlas atlas) //!< Returns the atlas frame this object should be drawn with, registering custom textures as needed.
+    {
+        if (m_customTexture != null) { return atlas.addCustomFrame(m_customTexture); }
+        return atlas.getFrame(m_textureName, m_textureRect);
+    }
+
+    public static void getEffect(Random rand, ParticleLayer destVec, String effectName, Vector2f position) //!< Factory function to create various in-game visual effects, eg. projectile explosions.
+    {
+        BackgroundObject temp;
+        int explNum;
+        int selector;
+
+        switch (effectName)
+        {
+            case "redbolt":
+                // Add blast.
+                selector = rand.nextInt(4);
+                if (selector < 1) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 384, 576,448), new Vector2f(1.0f), new Vector2f(0.5f), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 4.0f) - 2.0f));
+                } else if (selector < 2) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 448, 576,512), new Vector2f(1.0f), new Vector2f(0.5f), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 4.0f) - 2.0f));
+                } else if (selector < 3) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 512, 576,576), new Vector2f(1.0f), new Vector2f(0.5f), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 4.0f) - 2.0f));
+                } else {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 576, 576,640), new Vector2f(1.0f), new Vector2f(0.5f), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 4.0f) - 2.0f));
+                }
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 8;
+                destVec.addElement(temp);
+                break;
+            case "greenbolt":
+                // Add blast.
+                temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(576, 384, 640,448), new Vector2f(1.0f), new Vector2f(0.5f), position, 0.0f, -0.05f, 0.0f);
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+                break;
+            case "redbomb":
+                // Add main bomb blast.
+                temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 0, 896,384), new Vector2f(6.0f), new Vector2f(3.0f), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+
+                // Add between 5 and 8 smaller explosions.
+                explNum = rand.nextInt(4) + 5;
+                for (int i = 0; i < explNum; i++) {
+                    float scalar = 0.75f + (rand.nextFloat() * 0.5f);
+                    Vector2f subPosition = Vector2f.add(position, LocalMaths.getPointInCircle(rand, 3.0f));
+
+                    selector = rand.nextInt(4);
+                    if (selector < 1) {
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 384, 576,448), new Vector2f(1.0f).multiply(scalar), new Vector2f(0.5f).multiply(scalar), subPosition, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selector < 2) {
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 448, 576,512), new Vector2f(1.0f).multiply(scalar), new Vector2f(0.5f).multiply(scalar), subPosition, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selector < 3) {
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 512, 576,576), new Vector2f(1.0f).multiply(scalar), new Vector2f(0.5f).multiply(scalar), subPosition, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else {
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(512, 576, 576,640), new Vector2f(1.0f).multiply(scalar), new Vector2f(0.5f).multiply(scalar), subPosition, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 4.0f) - 2.0f));
+                    }
+                    temp.m_fadeOut = true;
+                    temp.m_fadeOutFactor = 8;
+                    destVec.addElement(temp);
+                }
+                break;
+            case "yellowbomb":
+                // Add main bomb blast.
+                temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(640, 384, 896,640), new Vector2f(4.0f), new Vector2f(2.0f), position, 0.0f, -0.05f, 0.0f);
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+
+                // Add between 4 and 6 smaller explosions.
+                explNum = rand.nextInt(3) + 4;
+                for (int i = 0; i < explNum; i++) {
+                    float scalar = 0.75f + (rand.nextFloat() * 0.5f);
+                    Vector2f subPosition = Vector2f.add(position, LocalMaths.getPointInCircle(rand, 2.0f));
+
+                    selector = rand.nextInt(4);
+                    if (selector < 1) {
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(576, 448, 608,480), new Vector2f(0.5f).multiply(scalar), new Vector2f(0.25f).multiply(scalar), subPosition, 0.0f, -0.05f, 0.0f);
+                    } else if (selector < 2) {
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(608, 448, 640,480), new Vector2f(0.5f).multiply(scalar), new Vector2f(0.25f).multiply(scalar), subPosition, 0.0f, -0.05f, 0.0f);
+                    } else if (selector < 3) {
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(576, 480, 608,512), new Vector2f(0.5f).multiply(scalar), new Vector2f(0.25f).multiply(scalar), subPosition, 0.0f, -0.05f, 0.0f);
+                    } else {
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(608, 480, 640,512), new Vector2f(0.5f).multiply(scalar), new Vector2f(0.25f).multiply(scalar), subPosition, 0.0f, -0.05f, 0.0f);
+                    }
+                    temp.m_fadeOut = true;
+                    temp.m_fadeOutFactor = 8;
+                    destVec.addElement(temp);
+                }
+                break;
+        }
+    }
+
+    public static void getEnemyGibs(Random rand, ParticleLayer destVec, Enemy enemy, int maxGibs) //!< Factory function to create enemy-death visual effects, eg. Gibs. At most maxGibs gibs are added, or any number if -1.
+    {
+        float rotation = enemy.getRotation();
+        Vector2f position = enemy.getPosition();
+        EnemyType type = enemy.m_type;
+
+        BackgroundObject temp;
+        Matrix2f matrix = new Matrix2f();
+        int selector;
+        Vector<Integer> selectorOptions = new Vector<Integer>();
+        float[] point = new float[2];
+        int randomInt;
+        float randomFloat;
+
+        switch (type) {
+            case DRONE:
+                // Gibs, 6 possibilities, get 3 - 4 thereof.
+                selectorOptions.clear(); // Probably unnecessary.
+                for (int i = 0; i < 6; i++) { selectorOptions.addElement(i); }
+                randomInt = 3 + rand.nextInt(2);
+
+                destVec.beginBurst(maxGibs); // Only the gibs are capped, never the splatter.
+                for (int i = 0; i < randomInt; i ++) {
+                    selector = rand.nextInt(selectorOptions.size());
+                    if (selectorOptions.get(selector) < 1) {
+                        // Left Eye
+                        matrix.setRotate(rotation);
+                        point[0] = -0.125f;
+                        point[1] = 0.375f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 128, 96,144), new Vector2f(0.25f), new Vector2f(0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 2) {
+                        // Right Eye
+                        matrix.setRotate(rotation);
+                        point[0] = 0.125f;
+                        point[1] = 0.375f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(96, 128, 112,144), new Vector2f(0.25f), new Vector2f(0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 3) {
+                        // Left Antenna
+                        matrix.setRotate(rotation);
+                        point[0] = -0.25f;
+                        point[1] = 0.25f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 144, 96,176), new Vector2f(0.25f, 0.5f), new Vector2f(0.125f, 0.25f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 4) {
+                        // Right Antenna
+                        matrix.setRotate(rotation);
+                        point[0] = 0.25f;
+                        point[1] = 0.25f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(96, 144, 112,176), new Vector2f(0.25f, 0.5f), new Vector2f(0.125f, 0.25f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 5) {
+                        // Left Wing
+                        matrix.setRotate(rotation);
+                        point[0] = -0.25f;
+                        point[1] = 0.0f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 176, 112,240), new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else {
+                        // Right Wing
+                        matrix.setRotate(rotation);
+                        point[0] = 0.25f;
+                        point[1] = 0.0f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 240, 112,304), new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    }
+
+                    temp.m_velocity.x = -0.01f + (rand.nextFloat() * 0.02f);
+                    destVec.addElement(temp);
+                    selectorOptions.remove(selector);
+                }
+                destVec.endBurst();
+
+                // Splatter
+                selector = rand.nextInt(4);
+                randomFloat = 1.0f + (rand.nextFloat() * 0.5f);
+                if (selector < 1) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 128, 80,208), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 2) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 208, 80,288), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 3) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 400, 80,480), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 480, 80,560), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                }
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+                break;
+            case WARRIOR:
+                // Gibs, 6 possibilities, get 3 - 4 thereof.
+                selectorOptions.clear(); // Probably unnecessary.
+                for (int i = 0; i < 6; i++) { selectorOptions.addElement(i); }
+                randomInt = 3 + rand.nextInt(2);
+
+                destVec.beginBurst(maxGibs); // Only the gibs are capped, never the splatter.
+                for (int i = 0; i < randomInt; i ++) {
+                    selector = rand.nextInt(selectorOptions.size());
+                    if (selectorOptions.get(selector) < 1) {
+                        // Left Small Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = -0.375f;
+                        point[1] = 0.25f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(48, 304, 80,336), new Vector2f(0.5f), new Vector2f(0.25f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 2) {
+                        // Right Small Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = 0.375f;
+                        point[1] = 0.25f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 304, 112,336), new Vector2f(0.5f), new Vector2f(0.25f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 3) {
+                        // Left Medium Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = -0.125f;
+                        point[1] = -0.0625f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 304, 24,352), new Vector2f(0.375f, 0.75f), new Vector2f(0.25f, 0.5f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 4) {
+                        // Right Medium Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = 0.125f;
+                        point[1] = -0.0625f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(24, 304, 48,352), new Vector2f(0.375f, 0.75f), new Vector2f(0.125f, 0.5f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 5) {
+                        // Left Large Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = -0.25f;
+                        point[1] = -0.125f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(48, 336, 80,400), new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else {
+                        // Right Large Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = 0.25f;
+                        point[1] = -0.125f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 336, 112,400), new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    }
+
+                    temp.m_velocity.x = -0.01f + (rand.nextFloat() * 0.02f);
+                    destVec.addElement(temp);
+                    selectorOptions.remove(selector);
+                }
+                destVec.endBurst();
+
+                // Splatter
+                selector = rand.nextInt(4);
+                randomFloat = 1.0f + (rand.nextFloat() * 0.5f);
+                if (selector < 1) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(240, 272, 320,352), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 2) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(240, 352, 320,432), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 3) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(240, 432, 320,512), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(240, 512, 320,592), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                }
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+                break;
+            case GUARDIAN:
+                // Gibs, 6 possibilities, get 3 - 4 thereof.
+                selectorOptions.clear(); // Probably unnecessary.
+                for (int i = 0; i < 6; i++) { selectorOptions.addElement(i); }
+                randomInt = 3 + rand.nextInt(2);
+
+                destVec.beginBurst(maxGibs); // Only the gibs are capped, never the splatter.
+                for (int i = 0; i < randomInt; i ++) {
+                    selector = rand.nextInt(selectorOptions.size());
+                    if (selectorOptions.get(selector) < 1) {
+                        // Left Small Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = -0.25f;
+                        point[1] = 0.375f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 400, 96,416), new Vector2f(0.25f), new Vector2f(0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 2) {
+                        // Right Small Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = 0.25f;
+                        point[1] = 0.375f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(96, 400, 112,416), new Vector2f(0.25f), new Vector2f(0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 3) {
+                        // Left Medium Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = -0.375f;
+                        point[1] = 0.25f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 416, 96,448), new Vector2f(0.25f, 0.5f), new Vector2f(0.125f, 0.25f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 4) {
+                        // Right Medium Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = 0.375f;
+                        point[1] = 0.25f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(96, 416, 112,448), new Vector2f(0.25f, 0.5f), new Vector2f(0.125f, 0.25f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 5) {
+                        // Small Body-Ring
+                        matrix.setRotate(rotation);
+                        point[0] = 0.0f;
+                        point[1] = 0.25f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 448, 112,464), new Vector2f(0.5f, 0.25f), new Vector2f(0.25f, 0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else {
+                        // Large Body-Ring
+                        matrix.setRotate(rotation);
+                        point[0] = 0.0f;
+                        point[1] = 0.0625f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 464, 112,480), new Vector2f(0.5f, 0.25f), new Vector2f(0.25f, 0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    }
+
+                    temp.m_velocity.x = -0.01f + (rand.nextFloat() * 0.02f);
+                    destVec.addElement(temp);
+                    selectorOptions.remove(selector);
+                }
+                destVec.endBurst();
+
+                // Splatter
+                selector = rand.nextInt(4);
+                randomFloat = 1.0f + (rand.nextFloat() * 0.5f);
+                if (selector < 1) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(320, 512, 400,592), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 2) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(400, 512, 480,592), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 3) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(240, 592, 320,672), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(320, 592, 400,672), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                }
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+                break;
+            case QUEEN:
+                // Gibs, 10 possibilities, get 4 - 6 thereof.
+                selectorOptions.clear(); // Probably unnecessary.
+                for (int i = 0; i < 10; i++) { selectorOptions.addElement(i); }
+                randomInt = 4 + rand.nextInt(3);
+
+                destVec.beginBurst(maxGibs); // Only the gibs are capped, never the splatter.
+                for (int i = 0; i < randomInt; i ++) {
+                    selector = rand.nextInt(selectorOptions.size());
+                    if (selectorOptions.get(selector) < 1) {
+                        // Left Small Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = -0.375f;
+                        point[1] = 0.875f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 480, 96,512), new Vector2f(0.25f, 0.5f), new Vector2f(0.125f, 0.25f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 2) {
+                        // Right Small Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = 0.375f;
+                        point[1] = 0.875f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(96, 480, 112,512), new Vector2f(0.25f, 0.5f), new Vector2f(0.125f, 0.25f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 3) {
+                        // Left Medium Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = -0.625f;
+                        point[1] = 0.75f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 512, 112,560), new Vector2f(0.5f, 0.75f), new Vector2f(0.25f, 0.375f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 4) {
+                        // Right Medium Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = 0.625f;
+                        point[1] = 0.75f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 560, 112,608), new Vector2f(0.5f, 0.75f), new Vector2f(0.25f, 0.375f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 5) {
+                        // Left Large Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = -0.875f;
+                        point[1] = 0.625f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(16, 560, 48,624), new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 6) {
+                        // Right Large Leg-Tentacle
+                        matrix.setRotate(rotation);
+                        point[0] = 0.875f;
+                        point[1] = 0.625f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(48, 560, 80,624), new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 7) {
+                        // Left Upper Eye
+                        matrix.setRotate(rotation);
+                        point[0] = -0.1875f;
+                        point[1] = -0.375f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 128, 96,144), new Vector2f(0.25f), new Vector2f(0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 8){
+                        // Left Lower Eye
+                        matrix.setRotate(rotation);
+                        point[0] = -0.125f;
+                        point[1] = -0.5f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(80, 128, 96,144), new Vector2f(0.25f), new Vector2f(0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else if (selectorOptions.get(selector) < 9) {
+                        // Right Upper Eye
+                        matrix.setRotate(rotation);
+                        point[0] = 0.1875f;
+                        point[1] = -0.375f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(96, 128, 112,144), new Vector2f(0.25f), new Vector2f(0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    } else {
+                        // Right Lower Eye
+                        matrix.setRotate(rotation);
+                        point[0] = 0.125f;
+                        point[1] = -0.5f;
+                        matrix.mapPoints(point);
+                        temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(96, 128, 112,144), new Vector2f(0.25f), new Vector2f(0.125f), Vector2f.add(position, new Vector2f(point[0], point[1])), rotation, (-0.06f + (rand.nextFloat() * 0.02f)), ((rand.nextFloat() * 4.0f) - 2.0f));
+                    }
+
+                    temp.m_velocity.x = -0.01f + (rand.nextFloat() * 0.02f);
+                    destVec.addElement(temp);
+                    selectorOptions.remove(selector);
+                }
+                destVec.endBurst();
+
+                // Splatter (x3)
+
+                selector = rand.nextInt(4);
+                randomFloat = 1.0f + (rand.nextFloat() * 0.5f);
+                matrix.setRotate(rotation);
+                point[0] = 0.0f;
+                point[1] = 0.75f;
+                matrix.mapPoints(point);
+                if (selector < 1) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 128, 80,208), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), Vector2f.add(position, new Vector2f(point[0], point[1])), (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 2) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 208, 80,288), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), Vector2f.add(position, new Vector2f(point[0], point[1])), (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 3) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 400, 80,480), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), Vector2f.add(position, new Vector2f(point[0], point[1])), (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 480, 80,560), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), Vector2f.add(position, new Vector2f(point[0], point[1])), (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                }
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+
+                selector = rand.nextInt(4);
+                randomFloat = 1.0f + (rand.nextFloat() * 0.5f);
+                matrix.setRotate(rotation);
+                point[0] = 0.0f;
+                point[1] = -0.75f;
+                matrix.mapPoints(point);
+                if (selector < 1) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 128, 80,208), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), Vector2f.add(position, new Vector2f(point[0], point[1])), (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 2) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 208, 80,288), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), Vector2f.add(position, new Vector2f(point[0], point[1])), (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 3) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 400, 80,480), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), Vector2f.add(position, new Vector2f(point[0], point[1])), (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 480, 80,560), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), Vector2f.add(position, new Vector2f(point[0], point[1])), (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                }
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+
+                selector = rand.nextInt(4);
+                randomFloat = 1.0f + (rand.nextFloat() * 0.5f);
+                if (selector < 1) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 128, 80,208), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 2) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 208, 80,288), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else if (selector < 3) {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 400, 80,480), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                } else {
+                    temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(0, 480, 80,560), new Vector2f(1.25f).multiply(randomFloat), new Vector2f(0.625f).multiply(randomFloat), position, (rand.nextFloat() * 360.0f), -0.05f, ((rand.nextFloat() * 2.0f) - 1.0f));
+                }
+                temp.m_fadeOut = true;
+                temp.m_fadeOutFactor = 4;
+                destVec.addElement(temp);
+                break;
+        }
+    }
+
+    public static void getArmourGibs(Random rand, ParticleLayer destVec, Armour armour) //!< Factory function to create destroyed armour visual effects.
+    {
+        BackgroundObject temp;
+        Vector2f position = armour.getPosition();
+        float rotation = armour.getRotation();
+        String armourName = armour.m_typeName;
+
+        switch (armourName) {
+            case "queenleft":
+                // Queen Left Arm
+                temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(256, 128, 304, 208), new Vector2f(0.75f, 1.25f), new Vector2f(1.0f), position, rotation, -0.06f + (rand.nextFloat() * 0.02f), ((rand.nextFloat() * 2.0f) - 1.0f));
+                temp.m_velocity.x = -0.01f + (rand.nextFloat() * 0.02f);
+                destVec.addElement(temp);
+                break;
+            case "queenright":
+                // Queen Right Arm
+                temp = new BackgroundObject("game_foreground_spritesheet", new Rect2i(336, 128, 384, 208), new Vector2f(0.75f, 1.25f), new Vector2f(-0.25f, 1.0f), position, rotation, -0.06f + (rand.nextFloat() * 0.02f), ((rand.nextFloat() * 2.0f) - 1.0f));
+                temp.m_velocity.x = -0.01f + (rand.nextFloat() * 0.02f);
+                destVec.addElement(temp);
+                break;
+        }
+    }
+
+    private static class TextLine //!< One line of a level effect's fixed text.
+    {
+        final String m_text;
+        final boolean m_large; //!< Large or small print.
+        final int m_argb;
+        final float m_y; //!< Where it starts, in GU, above the top of the screen.
+
+        TextLine(String text, boolean large, int argb, float y) {
+            m_text = text;
+            m_large = large;
+            m_argb = argb;
+            m_y = y;
+        }
+    }
+
+    private static final float LEVEL_TEXT_VELOCITY = -0.06f;
+    private static final int SMALL_TEXT_SIZE = 45;
+    private static final int LARGE_TEXT_SIZE = 90;
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final Map<String, TextLine[]> LEVEL_TEXT = new HashMap<String, TextLine[]>(); //!< Level effects that are only fixed text, by lower-case command.
+
+    static {
+        LEVEL_TEXT.put("level_victory", new TextLine[] { new TextLine("LEVEL COMPLETE!", true, WHITE, 21.0f) });
+        LEVEL_TEXT.put("game_over", new TextLine[] { new TextLine("GAME OVER", true, 0xFFFF0000, 21.0f) });
+        LEVEL_TEXT.put("level_01_start", new TextLine[] {
+                new TextLine("Activate AUTO to shoot.", false, WHITE, 21.0f),
+                new TextLine("Bomb and shield are limited!", false, WHITE, 23.0f),
+                new TextLine("Clear all enemies!", false, WHITE, 25.0f),
+                new TextLine("LEVEL 1", true, WHITE, 28.0f) });
+        LEVEL_TEXT.put("level_02_start", new TextLine[] {
+                new TextLine("Being hit costs you score.", false, WHITE, 21.0f),
+                new TextLine("Don't get hit!", false, WHITE, 23.0f),
+                new TextLine("LEVEL 2", true, WHITE, 25.0f) });
+        LEVEL_TEXT.put("level_03_start", new TextLine[] {
+                new TextLine("Get more charges every 500 points!", false, WHITE, 21.0f),
+                new TextLine("Kill all enemies for a perfection bonus!", false, WHITE, 23.0f),
+                new TextLine("LEVEL 3", true, WHITE, 25.0f) });
+        LEVEL_TEXT.put("add_charges", new TextLine[] { new TextLine("CHARGES ADDED!", false, 0xFF00FF00, 10.0f) });
+    }
+
+    public static Object[] renderLevelText(String command) //!< Renders the text of a level effect ahead of time, for getLevelEffects(). Null if the effect's text isn't fixed. Touches nothing but the Platform, so can run on any thread.
+    {
+        TextLine[] lines = LEVEL_TEXT.get(command.toLowerCase(Locale.ROOT));
+        if (lines == null) { return null; }
+
+        Object[] textures = new Object[lines.length];
+        for (int i = 0; i < lines.length; i++) { textures[i] = createText(lines[i].m_text, HEAVY_FONT, lines[i].m_large ? LARGE_TEXT_SIZE : SMALL_TEXT_SIZE, lines[i].m_argb); }
+        return textures;
+    }
+
+    public static void getLevelEffects(Random rand, ParticleLayer destVec, String command, String parameter) { getLevelEffects(rand, destVec, command, parameter, null); } //!< Factory function to create level-triggered visual effects.
+
+    public static void getLevelEffects(Random rand, ParticleLayer destVec, String command, String parameter, Object[] rendered) //!< As above, using text from renderLevelText() if given, rather than rendering it now.
+    {
+        // For reference:
+        // public BackgroundObject(Object texture, Vector2f position, float rotation, float yVelocity, float rotVelocity) //!< Creates a custom BackgroundObject from a texture.
+
+        TextLine[] lines = LEVEL_TEXT.get(command.toLowerCase(Locale.ROOT));
+        if (lines != null) {
+            if (rendered == null) { rendered = renderLevelText(command); }
+            for (int i = 0; i < lines.length; i++) { destVec.addElement(new BackgroundObject(rendered[i], new Vector2f(0.0f, lines[i].m_y), 0.0f, LEVEL_TEXT_VELOCITY, 0.0f)); }
+        }
+        else if (command.equalsIgnoreCase("scorecard")) {
+            destVec.addElement(new BackgroundObject(createText("SCORE: " + parameter, HEAVY_FONT, SMALL_TEXT_SIZE, WHITE), new Vector2f(0.0f, 21.0f), 0.0f, LEVEL_TEXT_VELOCITY, 0.0f));
+        }
+        else if (command.equalsIgnoreCase("victory")) {
+            destVec.addElement(new BackgroundObject(createText("VICTORY!", HEAVY_FONT, LARGE_TEXT_SIZE, WHITE), new Vector2f(0.0f, 27.0f), 0.0f, LEVEL_TEXT_VELOCITY, 0.0f));
+            destVec.addElement(new BackgroundObject(createText("FINAL SCORE: " + parameter, HEAVY_FONT, SMALL_TEXT_SIZE, WHITE), new Vector2f(0.0f, 29.0f), 0.0f, LEVEL_TEXT_VELOCITY, 0.0f));
+        }
+        else if (command.equalsIgnoreCase("add_score")) {
+            Object texture = Platform.getInstance().createText("+" + parameter, SCORE_FONT, SMALL_TEXT_SIZE, 0x5F00BF00, 256, TEXT_HEIGHT);
+
+            float xVal = (rand.nextFloat() * 10.0f) - 5.0f;
+            float rotation = rand.nextFloat() - 0.5f;
+            destVec.addElement(new BackgroundObject(texture, new Vector2f(xVal, 21.0f), 0.0f, -0.025f, 0.0f));
+        }
+        else if (command.equalsIgnoreCase("subtract_score")) {
+            Object texture = Platform.getInstance().createText("-" + parameter, SCORE_FONT, SMALL_TEXT_SIZE, 0x5FBF0000, 256, TEXT_HEIGHT);
+
+            float xVal = (rand.nextFloat() * 10.0f) - 5.0f;
+            float rotation = rand.nextFloat() - 0.5f;
+            destVec.addElement(new BackgroundObject(texture, new Vector2f(xVal, 21.0f), 0.0f, -0.025f, 0.0f));
+        }
+    }
+
+    private static Object createText(String text, String font, float textSize, int argb) //!< Renders a full-width line of level text.
+    { return Platform.getInstance().createText(text, font, textSize, argb, TEXT_WIDTH, TEXT_HEIGHT); }
+}
@@ -1,12 +1,11 @@
 package net.stefancbauer.galactora.Model.Background;
 
-import android.graphics.Rect;
-import android.util.Pair;
-
+import net.stefancbauer.galactora.LocalMaths.Pair;
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
-import net.stefancbauer.galactora.LocalMaths.Vector2i;
-import net.stefancbauer.galactora.View.GameSurfaceView;
+import net.stefancbauer.galactora.Model.Engine.Viewport;
 
+import java.util.Arrays;
 import java.util.Random;
 import java.util.Vector;
 
@@ -15,9 +14,10 @@ import java.util.Vector;
  */
 
 public class ConstellationFactory {
-    private Random m_rand; //!< Random generator used by the constellation.
+    private final Random m_rand; //!< Random generator used by the constellation.
 
     public boolean m_toBeDestroyed = false; //!< Flag for whether object has run its course and should be destroyed.
+    private float m_spawnRate = 1.0f; //!< Fraction of spawn attempts actually made, 0 - 1. Lowered to shed cosmetic load.
     private final Vector<Pair<BackgroundSpawnOption, Integer>> m_options; //!< Factories for spawn possibilities. Int determines spawn weight of each option.
     private final int m_totalWeight; //!< The total combined weights of all options.
     private final float m_spawnY; //!< Y-Value at which BackgroundObjects are spawned.
@@ -29,13 +29,16 @@ public class ConstellationFactory {
     private float m_xRangeCentre; //!< The centre of the range in which this constellation will spawn BackgroundObjects.
     private float m_xRangeDriftVel; //!< The rate at which the x range drifts, in GU per tick.
 
-    private final Vector<BackgroundObject> m_entries; //!< All previously-spawned entries. Used for getting distances to them.
+    private int m_entryCount = 0; //!< Number of previously-spawned entries.
+    private float[] m_entryX = new float[8]; //!< Positions of all previously-spawned entries, tracked alongside the ParticleLayer. Used for getting distances to them.
+    private float[] m_entryY = new float[8];
+    private float[] m_entryYVelocity = new float[8]; //!< Y-velocities of all previously-spawned entries, used to keep m_entryY in step with the ParticleLayer.
     private final Vector<Pair<Float, Float>> m_spawnChanceCurve; //!< Determines the probability of spawning at any given distance from another constellation entry. First in pair is distance from another entry, second is spawn-chance at that distance. Chance linearly-interpolates between points. First point should always be zero probability, last should always be 1 (100%) probability.
     private final Vector<Pair<Float, Float>> m_constellationEnd; //!< Determines the probability of finishing the constellation at any given size. First in pair is number of entries, second is end-chance at that size. Chance linearly-interpolates between points. First point should always be zero probability, last should always be 1 (100%) probability.
 
-    public ConstellationFactory(Vector<BackgroundObject> drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
+    public ConstellationFactory(Random rand, ParticleLayer drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
     {
-        m_rand = new Random();
+        m_rand = new Random(rand.nextLong()); // Its own stream, seeded from the game's so that runs with the same seed match.
 
         m_options = new Vector<Pair<BackgroundSpawnOption, Integer>>(options);
         int temp = 0;
@@ -50,7 +53,6 @@ public class ConstellationFactory {
         m_xRangeCentre = (m_rand.nextFloat() * 14.0f) - 7.0f;
         m_xRangeDriftVel = xRangeDriftVel;
 
-        m_entries = new Vector<BackgroundObject>();
         m_spawnChanceCurve = new Vector<Pair<Float, Float>>(spawnChanceCurve);
         m_constellationEnd = new Vector<Pair<Float, Float>>(constellationEnd);
 
@@ -58,11 +60,16 @@ public class ConstellationFactory {
         spawn(drawContainer, spawnPos);
     }
 
-    public void update(Vector<BackgroundObject> drawContainer) //!< Checks whether it's going to spawn anything, and, if it is, spawns it and puts it in the drawContainer.
+    public void setSpawnRate(float spawnRate) { m_spawnRate = spawnRate; }
+
+    public void update(ParticleLayer drawContainer) //!< Checks whether it's going to spawn anything, and, if it is, spawns it and puts it in the drawContainer.
     {
         // Update m_xRange.
         m_xRangeCentre += m_xRangeDriftVel;
 
+        // Keep entry positions in step with the particles the ParticleLayer has just moved.
+        for (int i = 0; i < m_entryCount; i++) { m_entryY[i] += m_entryYVelocity[i]; }
+
         // Gets a random float between 0 and 1, partially weighted towards being lower.
         float randomDist = m_rand.nextFloat();
         randomDist = (0.5f * randomDist) + (0.5f * (randomDist * randomDist));
@@ -71,6 +78,9 @@ public class ConstellationFactory {
         // Multiplies it by the half-range to get the relative x value, then shifts it to the range centre.
         float spawnX = (randomDist * m_xRange * 0.5f) + m_xRangeCentre;
 
+        // Skip a share of spawn attempts at reduced quality. The constellation just grows more sparsely.
+        if (m_spawnRate < 1.0f && m_rand.nextFloat() >= m_spawnRate) { return; }
+
         Vector2f spawnPos = new Vector2f(spawnX, m_spawnY);
         if (!m_toBeDestroyed && testX(spawnPos)) { spawn(drawContainer, spawnPos); }
     }
@@ -79,9 +89,10 @@ public class ConstellationFactory {
     {
         // Start by finding the distance from the closest object in the constellation.
         float minDistSquared = 1000000.0f;
-        for (BackgroundObject obj: m_entries) {
-            Vector2f tempV = Vector2f.subtract(obj.getPosition(), spawnPos);
-            float temp = tempV.getMagnitudeSquared();
+        for (int i = 0; i < m_entryCount; i++) {
+            float xDiff = m_entryX[i] - spawnPos.x;
+            float yDiff = m_entryY[i] - spawnPos.y;
+            float temp = (xDiff * xDiff) + (yDiff * yDiff);
             if (temp < minDistSquared) { minDistSquared = temp; }
         }
         float minDist = (float)Math.sqrt(minDistSquared);
@@ -117,7 +128,7 @@ public class ConstellationFactory {
         }
     }
 
-    private void spawn(Vector<BackgroundObject> drawContainer, Vector2f spawnPos) //!< Spawns a BackgroundObject at the specified coordinate (GU).
+    private void spawn(ParticleLayer drawContainer, Vector2f spawnPos) //!< Spawns a BackgroundObject at the specified coordinate (GU).
     {
         float spawnVelocity = m_yVelocity + (m_rand.nextFloat() * 2.0f * m_yVelocityVar) - m_yVelocityVar;
 
@@ -129,7 +140,7 @@ public class ConstellationFactory {
             if (selector < optionWeight) {
                 // Spawns a BackgroundObject
                 BackgroundObject spawn = m_options.get(i).first.getInstance(m_rand, spawnPos, spawnVelocity);
-                m_entries.addElement(spawn);
+                addEntry(spawn);
                 drawContainer.addElement(spawn);
                 gotSpawn = true;
 
@@ -140,9 +151,22 @@ public class ConstellationFactory {
         }
     }
 
+    private void addEntry(BackgroundObject spawn) //!< Records the position and velocity of a spawned entry.
+    {
+        if (m_entryCount == m_entryX.length) {
+            m_entryX = Arrays.copyOf(m_entryX, m_entryCount * 2);
+            m_entryY = Arrays.copyOf(m_entryY, m_entryCount * 2);
+            m_entryYVelocity = Arrays.copyOf(m_entryYVelocity, m_entryCount * 2);
+        }
+        m_entryX[m_entryCount] = spawn.m_position.x;
+        m_entryY[m_entryCount] = spawn.m_position.y;
+        m_entryYVelocity[m_entryCount] = spawn.m_velocity.y;
+        m_entryCount++;
+    }
+
     private void testConstellationEnd() //!< Decides whether to end the constellation, based on the number of entries created and m_constellationEnd.
     {
-        float entries = m_entries.size();
+        float entries = m_entryCount;
 
         // Time to work out the ending probability.
         // Note: this relies on m_constellationEnd having been set up correctly. If it isn't, you're hosed.
@@ -175,19 +199,19 @@ public class ConstellationFactory {
         }
     }
 
-    static ConstellationFactory getIntergalacticFactory(Random rand, Vector<BackgroundObject> drawContainer, String specialCommand) //!< A factory function to get a certain type of factory. Meta, but useful.
+    static ConstellationFactory getIntergalacticFactory(Random rand, ParticleLayer drawContainer, String specialCommand) //!< A factory function to get a certain type of factory. Meta, but useful.
     {
-        // ConstellationFactory(Vector<BackgroundObject> drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
-        // BackgroundSpawnOption(String baseTextureName, Rect baseTextureRect, Vector2f size, Vector2f origin, float sizeScalarVar, float rotation, float rotationVar, float rotationVel, float rotationVelVar) //!< Full Constructor
+        // ConstellationFactory(Random rand, ParticleLayer drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
+        // BackgroundSpawnOption(String baseTextureName, Rect2i baseTextureRect, Vector2f size, Vector2f origin, float sizeScalarVar, float rotation, float rotationVar, float rotationVel, float rotationVelVar) //!< Full Constructor
 
 
         // Set up normal SpawnOption Vectors, which can be edited if necessary.
         Vector<Pair<BackgroundSpawnOption, Integer>> options = new Vector<Pair<BackgroundSpawnOption, Integer>>();
-        /* Normal Galaxy    */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 640, 640, 1024), new Vector2f(7.0f, 4.2f), new Vector2f(3.5f, 2.1f), 0.5f, 0.0f, 180.0f), 18));
-        /* Small Wormhole   */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(320, 0, 640, 320), new Vector2f(4.0f), new Vector2f(2.0f), 0.5f, 0.0f, 180.0f, 0.4f, 0.3f), 1));
-        /* Large Wormhole   */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(320, 0, 640, 320), new Vector2f(8.0f), new Vector2f(4.0f), 0.5f, 0.0f, 180.0f, 0.4f, 0.3f), 1));
+        /* Normal Galaxy    */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 640, 640, 1024), new Vector2f(7.0f, 4.2f), new Vector2f(3.5f, 2.1f), 0.5f, 0.0f, 180.0f), 18));
+        /* Small Wormhole   */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(320, 0, 640, 320), new Vector2f(4.0f), new Vector2f(2.0f), 0.5f, 0.0f, 180.0f, 0.4f, 0.3f), 1));
+        /* Large Wormhole   */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(320, 0, 640, 320), new Vector2f(8.0f), new Vector2f(4.0f), 0.5f, 0.0f, 180.0f, 0.4f, 0.3f), 1));
 
-        float spawnY = GameSurfaceView.DPtoGU(new Vector2i(0, 0)).y + 15.0f;
+        float spawnY = Viewport.getCurrent().getTop() + 15.0f;
 
         if (!(specialCommand.equals("normal") ||
                 specialCommand.equals("supergalaxy"))) {
@@ -213,11 +237,11 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.1f) - 0.05f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, -0.02f, 0.0f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, -0.02f, 0.0f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         } else { //if (specialCommand.equals("supergalaxy")) {
             // Build a supergalaxy, with loads of intergalactics.
 
-            /* Tiny Galaxy    */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 640, 640, 1024), new Vector2f(3.5f, 2.1f), new Vector2f(1.75f, 1.05f), 0.5f, 0.0f, 180.0f), 30));
+            /* Tiny Galaxy    */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 640, 640, 1024), new Vector2f(3.5f, 2.1f), new Vector2f(1.75f, 1.05f), 0.5f, 0.0f, 180.0f), 30));
 
 
             Vector<Pair<Float, Float>> spawnChanceCurve = new Vector<Pair<Float, Float>>();
@@ -233,30 +257,30 @@ public class ConstellationFactory {
             float xRangeDriftVel = (rand.nextFloat() * 0.1f) - 0.05f;
             //float xRangeDriftVel = 0.0f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, -0.02f, 0.0f, 8.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, -0.02f, 0.0f, 8.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         }
 
         return returnConstellation;
     }
 
-    static ConstellationFactory getInterstellarFactory(Random rand, Vector<BackgroundObject> drawContainer, String specialCommand) //!< A factory function to get a certain type of factory. Meta, but useful.
+    static ConstellationFactory getInterstellarFactory(Random rand, ParticleLayer drawContainer, String specialCommand) //!< A factory function to get a certain type of factory. Meta, but useful.
     {
-        // ConstellationFactory(Vector<BackgroundObject> drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
-        // BackgroundSpawnOption(String baseTextureName, Rect baseTextureRect, Vector2f size, Vector2f origin, float sizeScalarVar, float rotation, float rotationVar, float rotationVel, float rotationVelVar) //!< Full Constructor
+        // ConstellationFactory(Random rand, ParticleLayer drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
+        // BackgroundSpawnOption(String baseTextureName, Rect2i baseTextureRect, Vector2f size, Vector2f origin, float sizeScalarVar, float rotation, float rotationVar, float rotationVel, float rotationVelVar) //!< Full Constructor
 
 
         // Set up normal SpawnOption Vectors, which can be edited if necessary.
         Vector<Pair<BackgroundSpawnOption, Integer>> options = new Vector<Pair<BackgroundSpawnOption, Integer>>();
-        /* Blue Star    */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(512, 1088, 640, 1216), new Vector2f(1.25f), 0.5f), 1));
-        /* Violet Star  */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(384, 1088, 512, 1216), new Vector2f(1.0f), 0.5f), 5));
-        /* Mauve Star   */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(512, 1216, 640, 1344), new Vector2f(0.8f), 0.5f), 5));
-        /* Red Star     */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(384, 1216, 512, 1344), new Vector2f(0.6f), 0.5f), 5));
+        /* Blue Star    */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(512, 1088, 640, 1216), new Vector2f(1.25f), 0.5f), 1));
+        /* Violet Star  */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(384, 1088, 512, 1216), new Vector2f(1.0f), 0.5f), 5));
+        /* Mauve Star   */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(512, 1216, 640, 1344), new Vector2f(0.8f), 0.5f), 5));
+        /* Red Star     */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(384, 1216, 512, 1344), new Vector2f(0.6f), 0.5f), 5));
 
         Vector<Pair<Float, Float>> spawnChanceCurve = new Vector<Pair<Float, Float>>();
         spawnChanceCurve.addElement(new Pair<Float, Float>(1.0f, 0.2f));
         spawnChanceCurve.addElement(new Pair<Float, Float>(5.0f, 1.0f));
 
-        float spawnY = GameSurfaceView.DPtoGU(new Vector2i(0, 0)).y + 15.0f;
+        float spawnY = Viewport.getCurrent().getTop() + 15.0f;
         float yVel = -0.025f + (rand.nextFloat() * 0.01f) - 0.005f; // Stars i a single constellation all move at the same speed, but different constellations may have slightly different speeds.
 
         if (!(specialCommand.equals("small") ||
@@ -284,7 +308,7 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.1f) - 0.05f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, yVel, 0.0f, 3.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, yVel, 0.0f, 3.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         } else if (specialCommand.equals("medium")) {
             // Build a medium intestellar constellation. 5-12 stars.
 
@@ -295,7 +319,7 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.1f) - 0.05f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, yVel, 0.0f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, yVel, 0.0f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         } else if (specialCommand.equals("large")) {
             // Build a large intestellar constellation. 10-15 stars.
 
@@ -305,7 +329,7 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.1f) - 0.05f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, yVel, 0.0f, 5.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, yVel, 0.0f, 5.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         } else { //if (specialCommand.equals("huge")) {
             // Build a huge intestellar constellation. 15-25 stars.
 
@@ -316,29 +340,29 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.1f) - 0.05f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, yVel, 0.0f, 6.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, yVel, 0.0f, 6.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         }
 
         return returnConstellation;
     }
 
-    static ConstellationFactory getPlanetaryFactory(Random rand, Vector<BackgroundObject> drawContainer, String specialCommand) //!< A factory function to get a certain type of factory. Meta, but useful.
+    static ConstellationFactory getPlanetaryFactory(Random rand, ParticleLayer drawContainer, String specialCommand) //!< A factory function to get a certain type of factory. Meta, but useful.
     {
-        // ConstellationFactory(Vector<BackgroundObject> drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
-        // BackgroundSpawnOption(String baseTextureName, Rect baseTextureRect, Vector2f size, Vector2f origin, float sizeScalarVar, float rotation, float rotationVar, float rotationVel, float rotationVelVar) //!< Full Constructor
+        // ConstellationFactory(Random rand, ParticleLayer drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
+        // BackgroundSpawnOption(String baseTextureName, Rect2i baseTextureRect, Vector2f size, Vector2f origin, float sizeScalarVar, float rotation, float rotationVar, float rotationVel, float rotationVelVar) //!< Full Constructor
 
 
         // Set up normal SpawnOption Vectors, which can be edited if necessary.
         Vector<Pair<BackgroundSpawnOption, Integer>> options = new Vector<Pair<BackgroundSpawnOption, Integer>>();
-        /* MoP Planet       */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 0, 320, 320), new Vector2f(4.0f), 0.5f), 1));
-        /* Violet Planet    */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 320, 320, 640), new Vector2f(4.0f), 0.5f), 1));
-        /* Mauve Planet     */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(320, 320, 640, 640), new Vector2f(4.0f), 0.5f), 1));
+        /* MoP Planet       */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 0, 320, 320), new Vector2f(4.0f), 0.5f), 1));
+        /* Violet Planet    */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 320, 320, 640), new Vector2f(4.0f), 0.5f), 1));
+        /* Mauve Planet     */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(320, 320, 640, 640), new Vector2f(4.0f), 0.5f), 1));
 
         Vector<Pair<Float, Float>> spawnChanceCurve = new Vector<Pair<Float, Float>>();
         spawnChanceCurve.addElement(new Pair<Float, Float>(4.0f, 0.0f));
         spawnChanceCurve.addElement(new Pair<Float, Float>(10.0f, 1.0f));
 
-        float spawnY = GameSurfaceView.DPtoGU(new Vector2i(0, 0)).y + 15.0f;
+        float spawnY = Viewport.getCurrent().getTop() + 15.0f;
 
         if (!(specialCommand.equals("single") ||
                 specialCommand.equals("cluster"))) {
@@ -360,7 +384,7 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.1f) - 0.05f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, -0.0325f, 0.0025f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, -0.0325f, 0.0025f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         } else { //if (specialCommand.equals("cluster")) {
             // Build a cluster of planets. 2 to 5.
 
@@ -370,57 +394,57 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.1f) - 0.05f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, -0.0325f, 0.0025f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, -0.0325f, 0.0025f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         }
 
         return returnConstellation;
     }
 
-    static ConstellationFactory getDebrisFactory(Random rand, Vector<BackgroundObject> drawContainer, String specialCommand) //!< A factory function to get a certain type of factory. Meta, but useful.
+    static ConstellationFactory getDebrisFactory(Random rand, ParticleLayer drawContainer, String specialCommand) //!< A factory function to get a certain type of factory. Meta, but useful.
     {
-        // ConstellationFactory(Vector<BackgroundObject> drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
-        // BackgroundSpawnOption(String baseTextureName, Rect baseTextureRect, Vector2f size, Vector2f origin, float sizeScalarVar, float rotation, float rotationVar, float rotationVel, float rotationVelVar) //!< Full Constructor
+        // ConstellationFactory(Random rand, ParticleLayer drawContainer, Vector<Pair<BackgroundSpawnOption, Integer>> options, float spawnY, float yVelocity, float yVelocityVar, float xRange, float xRangeDriftVel, Vector<Pair<Float, Float>> spawnChanceCurve, Vector<Pair<Float, Float>> constellationEnd) //!< Full Constructor
+        // BackgroundSpawnOption(String baseTextureName, Rect2i baseTextureRect, Vector2f size, Vector2f origin, float sizeScalarVar, float rotation, float rotationVar, float rotationVel, float rotationVelVar) //!< Full Constructor
 
 
         // Set up normal SpawnOption Vectors, which can be edited if necessary.
         Vector<Pair<BackgroundSpawnOption, Integer>> options = new Vector<Pair<BackgroundSpawnOption, Integer>>();
-        /* debrisRed0 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 1024, 64, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed1 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 1088, 64, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed2 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 1152, 64, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed3 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 1216, 64, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed4 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(0, 1280, 64, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed5 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(64, 1024, 128, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed6 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(64, 1088, 128, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed7 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(64, 1152, 128, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed8 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(64, 1216, 128, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisRed9 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(64, 1280, 128, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink0 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(128, 1024, 192, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink1 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(128, 1088, 192, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink2 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(128, 1152, 192, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink3 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(128, 1216, 192, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink4 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(128, 1280, 192, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink5 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(192, 1024, 256, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink6 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(192, 1088, 256, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink7 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(192, 1152, 256, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink8 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(192, 1216, 256, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisPink9 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(192, 1280, 256, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet0 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(256, 1024, 320, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet1 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(256, 1088, 320, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet2 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(256, 1152, 320, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet3 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(256, 1216, 320, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet4 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(256, 1280, 320, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet5 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(320, 1024, 384, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet6 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(320, 1088, 384, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet7 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(320, 1152, 384, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet8 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(320, 1216, 384, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
-        /* debrisViolet9 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect(320, 1280, 384, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed0 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 1024, 64, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed1 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 1088, 64, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed2 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 1152, 64, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed3 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 1216, 64, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed4 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(0, 1280, 64, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed5 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(64, 1024, 128, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed6 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(64, 1088, 128, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed7 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(64, 1152, 128, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed8 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(64, 1216, 128, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisRed9 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(64, 1280, 128, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink0 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(128, 1024, 192, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink1 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(128, 1088, 192, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink2 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(128, 1152, 192, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink3 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(128, 1216, 192, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink4 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(128, 1280, 192, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink5 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(192, 1024, 256, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink6 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(192, 1088, 256, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink7 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(192, 1152, 256, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink8 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(192, 1216, 256, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisPink9 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(192, 1280, 256, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet0 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(256, 1024, 320, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet1 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(256, 1088, 320, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet2 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(256, 1152, 320, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet3 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(256, 1216, 320, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet4 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(256, 1280, 320, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet5 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(320, 1024, 384, 1088), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet6 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(320, 1088, 384, 1152), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet7 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(320, 1152, 384, 1216), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet8 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(320, 1216, 384, 1280), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
+        /* debrisViolet9 */options.addElement(new Pair<BackgroundSpawnOption, Integer>(new BackgroundSpawnOption("game_background_spritesheet", new Rect2i(320, 1280, 384, 1344), new Vector2f(0.75f), new Vector2f(0.375f), 0.5f, 0.0f, 180.0f, 0.0f, 1.0f), 1));
 
         Vector<Pair<Float, Float>> spawnChanceCurve = new Vector<Pair<Float, Float>>();
         spawnChanceCurve.addElement(new Pair<Float, Float>(1.0f, 0.0f));
         spawnChanceCurve.addElement(new Pair<Float, Float>(3.0f, 0.75f));
         spawnChanceCurve.addElement(new Pair<Float, Float>(4.0f, 1.0f));
 
-        float spawnY = GameSurfaceView.DPtoGU(new Vector2i(0, 0)).y + 15.0f;
+        float spawnY = Viewport.getCurrent().getTop() + 15.0f;
 
         if (!(specialCommand.equals("small") ||
                 specialCommand.equals("medium") ||
@@ -444,7 +468,7 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.2f) - 0.01f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, -0.05f, 0.005f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, -0.05f, 0.005f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         } else if (specialCommand.equals("medium")) {
             // Build a medium debris field. 5-10
 
@@ -454,7 +478,7 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.2f) - 0.01f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, -0.05f, 0.005f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, -0.05f, 0.005f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         } else { //if (specialCommand.equals("large")) {
             // Build a large debris field. 10-15
 
@@ -464,7 +488,7 @@ public class ConstellationFactory {
 
             float xRangeDriftVel = (rand.nextFloat() * 0.2f) - 0.01f;
 
-            returnConstellation = new ConstellationFactory(drawContainer, options, spawnY, -0.05f, 0.005f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
+            returnConstellation = new ConstellationFactory(rand, drawContainer, options, spawnY, -0.05f, 0.005f, 4.0f, xRangeDriftVel, spawnChanceCurve, constellationEnd);
         }
 
         return returnConstellation;
@@ -0,0 +1,109 @@
+package net.stefancbauer.galactora.Model.Background;
+
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds every frame that background particles can be drawn with. Frames cut from a spritesheet are shared between all particles that use them, rather than every particle owning its own scaled copy.
+ */
+
+public class ParticleAtlas {
+    private final Map<String, Integer> m_frameIndices = new HashMap<String, Integer>(); //!< Maps a spritesheet frame key (see getFrameKey()) to its index.
+    private Object[] m_frames = new Object[64]; //!< All frames, indexed by frame ID. Unscaled, in pixels. Platform texture handles.
+    private Object[] m_sources = new Object[64]; //!< The spritesheet each frame was cut from, or the frame itself for custom frames. Used for batched drawing.
+    private Rect2i[] m_sourceRects = new Rect2i[64]; //!< The section of m_sources each frame covers, in pixels.
+    private boolean[] m_isCustom = new boolean[64]; //!< Whether each frame is a one-off custom texture (eg. level text), rather than a shared spritesheet frame.
+    private int[] m_freeCustomSlots = new int[16]; //!< Stack of released custom frame IDs, available for reuse.
+    private int m_freeCustomCount = 0;
+    private int m_frameCount = 0; //!< Number of frame slots in use, including released custom ones.
+
+    public ParticleAtlas() {}
+
+    public int getFrame(String textureName, Rect2i textureRect) //!< Returns the ID of the shared frame for the given section of a spritesheet, cutting it out on first use.
+    {
+        String key = getFrameKey(textureName, textureRect);
+        Integer index = m_frameIndices.get(key);
+        if (index != null) { return index; }
+
+        Platform platform = Platform.getInstance();
+        Object sheet = platform.getTexture(textureName);
+        if (sheet == null ||
+                textureRect.right > platform.getTextureWidth(sheet) ||
+                textureRect.bottom > platform.getTextureHeight(sheet)) {
+            platform.log("ERROR", "Size overflow when attempting to add particle frame " + key + ".");
+            return -1;
+        }
+
+        int newIndex = addFrame(platform.createFrame(sheet, textureRect.left, textureRect.top, textureRect.width(), textureRect.height(), 1.0f, 1.0f), false);
+        m_sources[newIndex] = sheet;
+        m_sourceRects[newIndex] = new Rect2i(textureRect);
+        m_frameIndices.put(key, newIndex);
+        return newIndex;
+    }
+
+    public int addCustomFrame(Object texture) //!< Registers a one-off texture (eg. rendered text) as a frame. Should be released with releaseFrame() once no particle uses it.
+    {
+        Platform platform = Platform.getInstance();
+        int width = platform.getTextureWidth(texture);
+        int height = platform.getTextureHeight(texture);
+
+        if (m_freeCustomCount > 0) {
+            int index = m_freeCustomSlots[--m_freeCustomCount];
+            m_frames[index] = texture;
+            m_sources[index] = texture;
+            m_sourceRects[index].set(0, 0, width, height);
+            return index;
+        }
+
+        int index = addFrame(texture, true);
+        m_sources[index] = texture;
+        m_sourceRects[index] = new Rect2i(0, 0, width, height);
+        return index;
+    }
+
+    public void releaseFrame(int frame) //!< Releases a custom frame for reuse. Shared spritesheet frames are never released.
+    {
+        if (frame < 0 || frame >= m_frameCount || !m_isCustom[frame] || m_frames[frame] == null) { return; }
+
+        m_frames[frame] = null;
+        m_sources[frame] = null;
+        if (m_freeCustomCount == m_freeCustomSlots.length) { m_freeCustomSlots = Arrays.copyOf(m_freeCustomSlots, m_freeCustomCount * 2); }
+        m_freeCustomSlots[m_freeCustomCount++] = frame;
+    }
+
+    public boolean isCustom(int frame) { return frame >= 0 && frame < m_frameCount && m_isCustom[frame]; }
+
+    public Object getTexture(int frame) //!< Returns the unscaled texture for a frame, or null if the frame is invalid.
+    {
+        if (frame < 0 || frame >= m_frameCount) { return null; }
+        return m_frames[frame];
+    }
+
+    public Object getSource(int frame) //!< Returns the spritesheet a frame was cut from, or null if the frame is invalid.
+    {
+        if (frame < 0 || frame >= m_frameCount) { return null; }
+        return m_sources[frame];
+    }
+
+    public Rect2i getSourceRect(int frame) { return m_sourceRects[frame]; } //!< The section of getSource() a frame covers. Not to be modified.
+
+    private int addFrame(Object texture, boolean custom) {
+        if (m_frameCount == m_frames.length) {
+            m_frames = Arrays.copyOf(m_frames, m_frameCount * 2);
+            m_sources = Arrays.copyOf(m_sources, m_frameCount * 2);
+            m_sourceRects = Arrays.copyOf(m_sourceRects, m_frameCount * 2);
+            m_isCustom = Arrays.copyOf(m_isCustom, m_frameCount * 2);
+        }
+        m_frames[m_frameCount] = texture;
+        m_isCustom[m_frameCount] = custom;
+        return m_frameCount++;
+    }
+
+    private static String getFrameKey(String textureName, Rect2i textureRect) {
+        return textureName + ":" + textureRect.left + "," + textureRect.top + "," + textureRect.right + "," + textureRect.bottom;
+    }
+}
@@ -0,0 +1,206 @@
+package net.stefancbauer.galactora.Model.Background;
+
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
+import net.stefancbauer.galactora.Model.Engine.CullStats;
+import net.stefancbauer.galactora.Model.Engine.Viewport;
+import net.stefancbauer.galactora.Model.Render.RenderTarget;
+
+import java.util.Arrays;
+
+/**
+ * A single layer of background particles, stored as parallel primitive arrays rather than as individual objects.
+ * Particles scroll at a set velocity, may spin and fade out, and are removed once they pass m_yCutoff or become fully transparent.
+ * Dead particles are compacted with swap-removal, so the order of particles within a layer is not preserved.
+ */
+
+public class ParticleLayer {
+    private final ParticleAtlas p_atlas; //!< Source of all frames drawn by this layer.
+    private final float m_yCutoff = -21.0f; //!< MAGIC: The y-value below which particles are removed.
+
+    private int m_count = 0; //!< Number of live particles.
+    private int m_modCount = 0; //!< Incremented whenever a particle is added or removed, so caches of this layer know when to re-render.
+    private int m_tick = 0; //!< Number of update() calls so far.
+    private boolean m_skipFading = false; //!< If true, particles that would fade out are not added.
+    private int m_burstRemaining = -1; //!< Particles the current burst may still add, or -1 if unlimited.
+
+    // Per-particle data. Only the first m_count entries of each array are live.
+    private int[] m_frame; //!< Atlas frame ID.
+    private float[] m_x; //!< Position of local origin, in GU.
+    private float[] m_y;
+    private float[] m_vx; //!< Velocity, in GU per tick.
+    private float[] m_vy;
+    private float[] m_rotation; //!< Rotation, counterclockwise, in degrees.
+    private float[] m_rotVelocity; //!< Rotational velocity, in degrees per tick.
+    private float[] m_width; //!< Size, in GU.
+    private float[] m_height;
+    private float[] m_originX; //!< Local origin relative to the bottom-left corner, in GU.
+    private float[] m_originY;
+    private int[] m_alpha; //!< Current alpha, 0 - 255.
+    private int[] m_fadeOutFactor; //!< Amount alpha is reduced by each tick. Zero means the particle doesn't fade.
+
+    private final CullStats m_stats; //!< Drawn/culled counts from the last draw().
+
+    public ParticleLayer(String name, ParticleAtlas atlas) { this(name, atlas, 64); }
+
+    public ParticleLayer(String name, ParticleAtlas atlas, int initialCapacity) {
+        p_atlas = atlas;
+        m_stats = new CullStats(name);
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    private void allocate(int capacity) {
+        m_frame = m_frame == null ? new int[capacity] : Arrays.copyOf(m_frame, capacity);
+        m_x = m_x == null ? new float[capacity] : Arrays.copyOf(m_x, capacity);
+        m_y = m_y == null ? new float[capacity] : Arrays.copyOf(m_y, capacity);
+        m_vx = m_vx == null ? new float[capacity] : Arrays.copyOf(m_vx, capacity);
+        m_vy = m_vy == null ? new float[capacity] : Arrays.copyOf(m_vy, capacity);
+        m_rotation = m_rotation == null ? new float[capacity] : Arrays.copyOf(m_rotation, capacity);
+        m_rotVelocity = m_rotVelocity == null ? new float[capacity] : Arrays.copyOf(m_rotVelocity, capacity);
+        m_width = m_width == null ? new float[capacity] : Arrays.copyOf(m_width, capacity);
+        m_height = m_height == null ? new float[capacity] : Arrays.copyOf(m_height, capacity);
+        m_originX = m_originX == null ? new float[capacity] : Arrays.copyOf(m_originX, capacity);
+        m_originY = m_originY == null ? new float[capacity] : Arrays.copyOf(m_originY, capacity);
+        m_alpha = m_alpha == null ? new int[capacity] : Arrays.copyOf(m_alpha, capacity);
+        m_fadeOutFactor = m_fadeOutFactor == null ? new int[capacity] : Arrays.copyOf(m_fadeOutFactor, capacity);
+    }
+
+    public ParticleAtlas getAtlas() { return p_atlas; }
+    public int size() { return m_count; }
+    public CullStats getStats() { return m_stats; }
+    public int getModCount() { return m_modCount; }
+    public int getTick() { return m_tick; }
+
+    public void setSkipFading(boolean skipFading) { m_skipFading = skipFading; }
+
+    public void beginBurst(int maxParticles) { m_burstRemaining = maxParticles; } //!< Limits how many particles may be added until endBurst(), eg. by a single effect. -1 means no limit.
+    public void endBurst() { m_burstRemaining = -1; }
+
+    public float getMeanYVelocity() //!< Average y-velocity of all particles, in GU per tick.
+    {
+        if (m_count == 0) { return 0.0f; }
+
+        float total = 0.0f;
+        for (int i = 0; i < m_count; i++) { total += m_vy[i]; }
+        return total / m_count;
+    }
+
+    public float getMaxDriftRate(float refVx, float refVy) //!< The furthest any part of any particle moves per tick relative to a frame scrolling at (refVx, refVy), in GU. Fading particles change every tick, so return Float.MAX_VALUE.
+    {
+        float maxDrift = 0.0f;
+        for (int i = 0; i < m_count; i++) {
+            if (m_fadeOutFactor[i] != 0) { return Float.MAX_VALUE; }
+
+            float drift = Math.abs(m_vx[i] - refVx) + Math.abs(m_vy[i] - refVy);
+            if (m_rotVelocity[i] != 0.0f) {
+                // Arc length travelled per tick by the corner furthest from the origin.
+                float dx = Math.max(m_originX[i], m_width[i] - m_originX[i]);
+                float dy = Math.max(m_originY[i], m_height[i] - m_originY[i]);
+                drift += Math.abs(m_rotVelocity[i]) * ((float)Math.PI / 180.0f) * (float)Math.sqrt((dx * dx) + (dy * dy));
+            }
+            if (drift > maxDrift) { maxDrift = drift; }
+        }
+        return maxDrift;
+    }
+
+    public void addElement(BackgroundObject obj) //!< Copies a spawn description into the layer. The BackgroundObject is not retained.
+    {
+        if (m_skipFading && obj.m_fadeOut) { return; }
+        if (m_burstRemaining == 0) { return; }
+
+        int frame = obj.resolveFrame(p_atlas);
+        if (frame < 0) { return; }
+
+        if (m_count == m_frame.length) { allocate(m_count * 2); }
+        if (m_burstRemaining > 0) { m_burstRemaining--; }
+
+        int i = m_count++;
+        m_modCount++;
+        m_frame[i] = frame;
+        m_x[i] = obj.m_position.x;
+        m_y[i] = obj.m_position.y;
+        m_vx[i] = obj.m_velocity.x;
+        m_vy[i] = obj.m_velocity.y;
+        m_rotation[i] = obj.m_rotation;
+        m_rotVelocity[i] = obj.m_rotVelocity;
+        m_width[i] = obj.m_size.x;
+        m_height[i] = obj.m_size.y;
+        m_originX[i] = obj.m_origin.x;
+        m_originY[i] = obj.m_origin.y;
+        m_alpha[i] = obj.m_alpha;
+        m_fadeOutFactor[i] = obj.m_fadeOut ? obj.m_fadeOutFactor : 0;
+    }
+
+    public void update() //!< Moves, spins and fades all particles, then compacts out any that have died.
+    {
+        m_tick++;
+        int i = 0;
+        while (i < m_count) {
+            if (m_fadeOutFactor[i] != 0) { m_alpha[i] -= m_fadeOutFactor[i]; }
+
+            m_x[i] += m_vx[i];
+            m_y[i] += m_vy[i];
+            m_rotation[i] = (m_rotation[i] + m_rotVelocity[i]) % 360;
+
+            if (m_y[i] < m_yCutoff || (m_fadeOutFactor[i] != 0 && m_alpha[i] <= 0)) { remove(i); } // Don't advance, slot i now holds the old last particle, which still needs updating.
+            else { i++; }
+        }
+    }
+
+    private void remove(int i) //!< Swap-removes particle i, releasing its frame if it was a one-off.
+    {
+        if (p_atlas.isCustom(m_frame[i])) { p_atlas.releaseFrame(m_frame[i]); }
+
+        int last = --m_count;
+        m_modCount++;
+        if (i != last) {
+            m_frame[i] = m_frame[last];
+            m_x[i] = m_x[last];
+            m_y[i] = m_y[last];
+            m_vx[i] = m_vx[last];
+            m_vy[i] = m_vy[last];
+            m_rotation[i] = m_rotation[last];
+            m_rotVelocity[i] = m_rotVelocity[last];
+            m_width[i] = m_width[last];
+            m_height[i] = m_height[last];
+            m_originX[i] = m_originX[last];
+            m_originY[i] = m_originY[last];
+            m_alpha[i] = m_alpha[last];
+            m_fadeOutFactor[i] = m_fadeOutFactor[last];
+        }
+    }
+
+    public void clear() {
+        for (int i = m_count - 1; i >= 0; i--) { remove(i); }
+    }
+
+    public void draw(RenderTarget target) //!< Draws every visible particle into a RenderTarget.
+    {
+        Viewport view = Viewport.getCurrent();
+        draw(target, view.mv_viewOrigin.x, view.mv_viewOrigin.y, view.mv_viewSize.x, view.mv_viewSize.y);
+    }
+
+    public void draw(RenderTarget target, float viewX, float viewY, float viewWidth, float viewHeight) //!< Draws the layer as seen from a view whose top-left corner is at (viewX, viewY), in GU. Used to render into offscreen caches.
+    {
+        float scale = Viewport.getCurrent().m_GUtoDP;
+        m_stats.reset();
+
+        for (int i = 0; i < m_count; i++) {
+            if (!Viewport.isVisible(m_x[i], m_y[i], m_width[i], m_height[i], m_originX[i], m_originY[i], m_rotation[i], viewX, viewY - viewHeight, viewX + viewWidth, viewY)) {
+                m_stats.addCulled();
+                continue;
+            }
+
+            Object source = p_atlas.getSource(m_frame[i]);
+            if (source == null) { continue; }
+            Rect2i rect = p_atlas.getSourceRect(m_frame[i]);
+
+            float width = m_width[i] * scale;
+            float height = m_height[i] * scale;
+            target.drawSprite(source, rect.left, rect.top, rect.right, rect.bottom, p_atlas.getTexture(m_frame[i]),
+                    (m_x[i] - viewX) * scale, (m_y[i] - viewY) * -scale, width, height,
+                    (m_originX[i] / m_width[i]) * width, ((m_height[i] - m_originY[i]) / m_height[i]) * height,
+                    -m_rotation[i], Math.max(m_alpha[i], 0));
+            m_stats.addDrawn();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package net.stefancbauer.galactora.Model;
 
-import android.graphics.Rect;
-
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
 
 /**
@@ -19,17 +18,23 @@ public class Button extends Sprite {
 
     private boolean m_active = true; //!< Whether or not button can be interacted with.
 
+    // Appearance as last drawn into a UICompositor cache, used to tell when the button needs redrawing.
+    private boolean m_dirty = true; //!< Forces a redraw regardless of the below.
+    private int m_drawnFrame = -1;
+    private int m_drawnAlpha = -1;
+    private boolean m_drawnVisible = false;
+
     public ButtonBehaviour m_behaviour; //!< The behaviour preset of this button.
 
     private Object m_pointer;
 
-    public Button(String textureName, Rect baseTextureRect, Vector2f bottomLeft, Vector2f topRight) //!< Constructor, chains with assumption of only two frames, no pointer, and ONPRESS behaviour.
+    public Button(String textureName, Rect2i baseTextureRect, Vector2f bottomLeft, Vector2f topRight) //!< Constructor, chains with assumption of only two frames, no pointer, and ONPRESS behaviour.
     { this(textureName, baseTextureRect, 2, bottomLeft, topRight, null, ButtonBehaviour.ONPRESS); }
 
-    public Button(String textureName, Rect baseTextureRect, Vector2f bottomLeft, Vector2f topRight, ButtonBehaviour behaviour) //!< Constructor, chains with assumption of only two frames and no pointer.
+    public Button(String textureName, Rect2i baseTextureRect, Vector2f bottomLeft, Vector2f topRight, ButtonBehaviour behaviour) //!< Constructor, chains with assumption of only two frames and no pointer.
     { this(textureName, baseTextureRect, 2, bottomLeft, topRight, null, behaviour); }
 
-    public Button(String textureName, Rect baseTextureRect, int frameCount, Vector2f bottomLeft, Vector2f topRight, Object object, ButtonBehaviour behaviour) //!< Full Constructor. baseTextureRect is in pixels, bottomLeft and topRight are in GU.
+    public Button(String textureName, Rect2i baseTextureRect, int frameCount, Vector2f bottomLeft, Vector2f topRight, Object object, ButtonBehaviour behaviour) //!< Full Constructor. baseTextureRect is in pixels, bottomLeft and topRight are in GU.
     {
         super(textureName, baseTextureRect, frameCount, Vector2f.subtract(topRight, bottomLeft), new Vector2f((topRight.x - bottomLeft.x)/2.0f, (topRight.y - bottomLeft.y)/2.0f), Vector2f.getMidpoint(bottomLeft, topRight));
         m_currentFrame = m_frameCount - 1;
@@ -144,8 +149,23 @@ public class Button extends Sprite {
     @Override
     public void setRotation(float m_rotation) {}
 
+    public Vector2f getBottomLeft() { return m_bottomLeft; }
+    public Vector2f getTopRight() { return m_topRight; }
+
+    public boolean isDirty() //!< Whether the button's appearance has changed since markDrawn() was last called.
+    { return m_dirty || m_currentFrame != m_drawnFrame || m_alpha != m_drawnAlpha || m_visible != m_drawnVisible; }
+
+    public void markDrawn() //!< Records the button's current appearance as drawn.
+    {
+        m_dirty = false;
+        m_drawnFrame = m_currentFrame;
+        m_drawnAlpha = m_alpha;
+        m_drawnVisible = m_visible;
+    }
+
     public boolean isActive() { return m_active; }
     public void setActive(boolean active) {
+        if (m_active != active) { m_dirty = true; }
         m_active = active;
 
         if (!m_active) {
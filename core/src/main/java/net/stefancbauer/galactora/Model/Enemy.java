@@ -1,13 +1,11 @@
 package net.stefancbauer.galactora.Model;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.Rect;
-
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
 import net.stefancbauer.galactora.Model.Background.BackgroundManager;
 import net.stefancbauer.galactora.Model.Engine.CollisionCircle;
 import net.stefancbauer.galactora.Model.Engine.CollisionRectangle;
+import net.stefancbauer.galactora.Model.Engine.TimerWheel;
 import net.stefancbauer.galactora.Model.Engine.Weld;
 import net.stefancbauer.galactora.Model.Pathing.Path;
 import net.stefancbauer.galactora.Model.Pathing.PathNode;
@@ -22,50 +20,45 @@ import java.util.Vector;
 public class Enemy extends GameObject {
     public EnemyType m_type; //!< The type of enemy any instance is.
     private int m_HP; //!< How many hit points this enemy has.
-    private int m_fireCooldown; //!< How long until this enemy will fire again.
+    private boolean m_fireReady = false; //!< Whether this enemy's fire cooldown has run out, so it will fire once lined up.
+    private final TimerWheel.Timer m_fireTimer = new TimerWheel.Timer() { //!< Wakes the enemy when its fire cooldown runs out.
+        @Override
+        protected void expire() { m_fireReady = true; }
+    };
     private int m_bulletsFiredThisBurst = 0; //!< Used by warriors to determine how many projectiles they've fired in this burst.
 
     public Vector<Projectile> pvLink = null; //!< Where spawned projectiles get put.
     public Random m_rand = null; //!< Random number generator.
 
-    // Magic numbers and global difficulty changeables:
-    public static float moveSpeed = 0.1f; //!< The maximum (and default) move speed of enemies.
-    public static float rotateSpeed = 5.0f; //!< The maximum (and default) rotate speed of enemies.
-
-    public static int droneFireCooldown = 640; //!< Minimum cooldown period between firing for drones.
-    public static int warriorFireCooldown = 480; //!< Minimum cooldown period between firing bursts for warriors.
-    public static int warriorBurstFireCooldown = 10; //!< Cooldown period between individual shots in a burst for warriors.
-    public static int warriorBurstFireShots = 3; //!< Number of individual shots in a burst for warriors.
-    public static int queenFireCooldown = 640; //!< Minimum cooldown period between firing for queens.
-
-    public static int droneScore = 20;
-    public static int warriorScore = 50;
-    public static int guardianScore = 75;
-    public static int queenScore = 100;
+    private final EnemyTuning m_tuning; //!< Speeds, fire rates and scores, from the game.
 
     // Behaviour Data
-    public boolean inGridMode = true; //!< Whether enemy is is grid mode.
+    private EnemyState m_state = EnemyState.IN_GRID; //!< What the enemy is doing. Set through setState(), to keep Game's EnemyIndex up to date.
+    private boolean m_inGridMode = true; //!< Whether enemy is is grid mode. True in IN_GRID, and for an EXITING enemy that has reached the end of its path, just before it's deleted.
+    EnemyIndex p_index = null; //!< The index this enemy is in, if any.
+    int m_indexSequence = 0; //!< Spawn order, given by p_index.
     public Vector2f unmodifiedGridPos = new Vector2f(0.0f, 16.0f); //!< The grid position of the enemy, before being modified by grid behaviours, relative to the grid centre.
     public Vector2f gridPos = new Vector2f(0.0f, 16.0f); //!< The desired grid position of the enemy, in game units.
     public boolean m_atStartPoint = false; //!< Whether the enemy has reached the start point of the path.
     public boolean m_mayFollowPath = false; //!< Whether all enemies in a pathgroup have reached their start points, and therefore path may be followed.
     public Path m_path = null; //!< The path the enemy is supposed to follow.
     public int m_pathNode = 1; //!< The next node of the path to head for.
-    public boolean m_exiting = false; //!< Whether the enemy is exiting the level.
 
     private Enemy(Game game, EnemyType type) //!< Private Constructor, use Factories
     {
         super(game);
         m_rand = game.m_rand;
-        m_fireCooldown = m_rand.nextInt(120) + 120;
+        m_tuning = game.m_enemyTuning;
+        int fireCooldown = m_rand.nextInt(120) + 120;
         m_type = type;
+        if (m_type != EnemyType.GUARDIAN) { game.getTimers().schedule(m_fireTimer, fireCooldown - 1); } // Spawned enemies are updated this tick, before the timers next advance.
     }
 
     public static Enemy getDrone(Game game, BackgroundManager bm, Vector<Projectile> pv, Vector2f position, float rotation) //!< Returns a properly set up Drone-type enemy at the position and rotation specified.
     {
         Enemy returnEnemy = new Enemy(game, EnemyType.DRONE);
 
-        returnEnemy.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(128, 0, 192, 64), 1, new Vector2f(1.0f), new Vector2f(0.5f));
+        returnEnemy.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(128, 0, 192, 64), 1, new Vector2f(1.0f), new Vector2f(0.5f));
         returnEnemy.addCollisionable(new CollisionRectangle(0.5f, 0.25f), new Vector2f(0.0f, -0.25f), 0.0f);
         returnEnemy.addCollisionable(new CollisionCircle(0.4375f), new Vector2f(0.0f, -0.0625f), 0.0f);
         returnEnemy.m_HP = 1;
@@ -82,7 +75,7 @@ public class Enemy extends GameObject {
     {
         Enemy returnEnemy = new Enemy(game, EnemyType.WARRIOR);
 
-        returnEnemy.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(128, 64, 192, 128), 1, new Vector2f(1.0f), new Vector2f(0.5f));
+        returnEnemy.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(128, 64, 192, 128), 1, new Vector2f(1.0f), new Vector2f(0.5f));
         returnEnemy.addCollisionable(new CollisionCircle(0.5f), new Vector2f(), 0.0f);
         returnEnemy.m_HP = 2;
 
@@ -98,7 +91,7 @@ public class Enemy extends GameObject {
     {
         Enemy returnEnemy = new Enemy(game, EnemyType.GUARDIAN);
 
-        returnEnemy.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(192, 64, 256, 128), 1, new Vector2f(1.0f), new Vector2f(0.5f));
+        returnEnemy.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(192, 64, 256, 128), 1, new Vector2f(1.0f), new Vector2f(0.5f));
         returnEnemy.addCollisionable(new CollisionCircle(0.5f), new Vector2f(0.0f, 0.125f), 0.0f);
         returnEnemy.m_HP = 1;
 
@@ -119,7 +112,7 @@ public class Enemy extends GameObject {
     {
         Enemy returnEnemy = new Enemy(game, EnemyType.QUEEN);
 
-        returnEnemy.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(256, 0, 384, 128), 1, new Vector2f(2.0f), new Vector2f(1.0f));
+        returnEnemy.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(256, 0, 384, 128), 1, new Vector2f(2.0f), new Vector2f(1.0f));
         returnEnemy.addCollisionable(new CollisionRectangle(0.375f, 0.375f), new Vector2f(0.0f, 0.5f), 45.0f);
         returnEnemy.addCollisionable(new CollisionCircle(0.625f), new Vector2f(0.0f, 0.125f), 0.0f);
         returnEnemy.addCollisionable(new CollisionCircle(0.3125f), new Vector2f(0.0f, -0.5f), 0.0f);
@@ -142,6 +135,16 @@ public class Enemy extends GameObject {
         return returnEnemy;
     }
 
+    public EnemyState getState() { return m_state; }
+    public boolean isInGridMode() { return m_inGridMode; }
+    public boolean isExiting() { return m_state == EnemyState.EXITING; }
+    public void setState(EnemyState state) //!< Puts the enemy into or out of grid mode. Give it a path first, if it's leaving the grid.
+    {
+        if (p_index != null && state != m_state) { p_index.move(this, m_state, state); }
+        m_state = state;
+        m_inGridMode = (state == EnemyState.IN_GRID);
+    }
+
     public int getHP() { return m_HP; }
     public void addHP(int HP) {
         if (m_HP > -1) {
@@ -154,22 +157,22 @@ public class Enemy extends GameObject {
     @Override
     public void update() {
         // Handle Movement
-        if (inGridMode) {
+        if (m_inGridMode) {
             // In grid mode
 
             // Handle rotation
             float relativeAngle = sanitiseAngle(0.0f - getRotation()); // When in grid mode, enemies should try to be at zero rotation.
             float newAngle = 0.0f;
-            if (Math.abs(relativeAngle) < rotateSpeed) { newAngle = 0.0f; }
-            else if (relativeAngle < 0.0f ) { newAngle = sanitiseAngle(getRotation() - rotateSpeed, true); }
-            else if (relativeAngle > 0.0f ) { newAngle = sanitiseAngle(getRotation() + rotateSpeed, true); }
+            if (Math.abs(relativeAngle) < m_tuning.m_rotateSpeed) { newAngle = 0.0f; }
+            else if (relativeAngle < 0.0f ) { newAngle = sanitiseAngle(getRotation() - m_tuning.m_rotateSpeed, true); }
+            else if (relativeAngle > 0.0f ) { newAngle = sanitiseAngle(getRotation() + m_tuning.m_rotateSpeed, true); }
 
             // Handle movement and pathing.
             Vector2f newPos = new Vector2f(gridPos);
             if (!Vector2f.areEqual(getPosition(), gridPos)) {
                 Vector2f relativePos = Vector2f.subtract(gridPos, getPosition());
-                if (relativePos.getMagnitudeSquared() <= (moveSpeed * moveSpeed)) { newPos.set(gridPos); }
-                else { newPos.set(Vector2f.add(getPosition(), relativePos.getUnitVector().multiply(moveSpeed))); }
+                if (relativePos.getMagnitudeSquared() <= (m_tuning.m_moveSpeed * m_tuning.m_moveSpeed)) { newPos.set(gridPos); }
+                else { newPos.set(Vector2f.add(getPosition(), relativePos.getUnitVector().multiply(m_tuning.m_moveSpeed))); }
             }
 
             // Apply the data
@@ -179,7 +182,7 @@ public class Enemy extends GameObject {
 
             boolean reachedEndOfPath = false;
             if (!m_atStartPoint) {
-                if (moveTowards(m_path.nodes.get(0).coords, moveSpeed, 1.0f) > 0.0f) { m_atStartPoint = true; }
+                if (moveTowards(m_path.nodes.get(0).coords, m_tuning.m_moveSpeed, 1.0f) > 0.0f) { m_atStartPoint = true; }
             } else if (m_mayFollowPath) {
                 // Path from node to node.
                 float proportionLeft = 1.0f;
@@ -199,17 +202,19 @@ public class Enemy extends GameObject {
                 m_pathNode = 1;
                 m_atStartPoint = false;
                 m_mayFollowPath = false;
-                inGridMode = true;
 
-                if (m_exiting) { delete(); }
+                if (m_state == EnemyState.EXITING) {
+                    m_inGridMode = true;
+                    delete();
+                }
+                else { setState(EnemyState.IN_GRID); }
             }
         }
 
         // Handle firing
-        if (m_fireCooldown > 0) { m_fireCooldown--; }
-        if (m_fireCooldown == 0  && m_type != EnemyType.GUARDIAN) {
+        if (m_fireReady && m_type != EnemyType.GUARDIAN) {
             // Out of cooldown! Fire at will!
-            if (inGridMode) {
+            if (m_inGridMode) {
                 // Check if player is within 1GU of x coord. If yes, is an aimed shot. If not, it's a bombardment shot.
                 float playerX = gameLink.m_player.getPosition().x;
                 if (getPosition().x + 2.0f > playerX && getPosition().x - 2.0f < playerX) { fireProjectile(false); }
@@ -231,7 +236,7 @@ public class Enemy extends GameObject {
     {
         float returnFloat = 0.0f;
         if (!Vector2f.areEqual(getPosition(), destPoint)) {
-            float speed = Math.min(inp_speed, moveSpeed); // Limit to max movespeed.
+            float speed = Math.min(inp_speed, m_tuning.m_moveSpeed); // Limit to max movespeed.
             float dist = speed * inp_proportionLeft;
 
             Vector2f relative = Vector2f.subtract(destPoint, getPosition());
@@ -241,12 +246,12 @@ public class Enemy extends GameObject {
             float actualAngle = getRotation() - 90.0f;
             float evenMoreRelativeAngle = sanitiseAngle(relativeAngle - actualAngle); // When in grid mode, enemies should try to be at zero rotation.
             float newAngle = getRotation();
-            if (Math.abs(evenMoreRelativeAngle) < rotateSpeed) {
+            if (Math.abs(evenMoreRelativeAngle) < m_tuning.m_rotateSpeed) {
                 newAngle = relativeAngle + 90;
             } else if (evenMoreRelativeAngle < 0.0f) {
-                newAngle = sanitiseAngle(getRotation() - rotateSpeed, true);
+                newAngle = sanitiseAngle(getRotation() - m_tuning.m_rotateSpeed, true);
             } else if (evenMoreRelativeAngle > 0.0f) {
-                newAngle = sanitiseAngle(getRotation() + rotateSpeed, true);
+                newAngle = sanitiseAngle(getRotation() + m_tuning.m_rotateSpeed, true);
             }
 
             // Handle movement and pathing.
@@ -265,52 +270,45 @@ public class Enemy extends GameObject {
         return returnFloat;
     }
 
-    @Override
-    public void draw(Canvas c, Paint p) {
-        m_sprite.draw(c, p);
-
-        /*if (isWelded()){
-            Vector<GameObject> weldeds = Weld.getWelded(this);
-            for (GameObject obj: weldeds) {
-                if (obj instanceof Shield) { obj.draw(c, p); }
-            }
-        }*/ // Don't actually need to do this, now gets handled in Game.
-    }
-
     @Override
     public void delete(){
         super.delete();
+        gameLink.getTimers().cancel(m_fireTimer);
 
-        float temp = 0.0f;
-        if (this.m_type == EnemyType.DRONE) {temp = droneScore; }
-        else if (this.m_type == EnemyType.WARRIOR) {temp = warriorScore; }
-        else if (this.m_type == EnemyType.GUARDIAN) {temp = guardianScore; }
-        else if (this.m_type == EnemyType.QUEEN) {temp = queenScore; }
+        float temp = m_tuning.getScore(m_type);
 
         gameLink.addScore((int)(temp * gameLink.m_difficultyMultiplier));
 
         if (bmLink != null) { bmLink.addEnemyGibs(this); }
     }
 
+    private void setFireCooldown(int ticks) //!< Waits the given number of ticks before trying to fire again.
+    {
+        m_fireReady = false;
+        if (!isToBeDestroyed()) { gameLink.getTimers().schedule(m_fireTimer, ticks); }
+    }
+
     public void fireProjectile(boolean bombardmentShot) //!< Fires a bullet and resets countdown. If bullet is a bombardment, it means player is not in line of fire, so add double the cooldown.
     {
         switch (m_type) {
             case DRONE:
                 pvLink.addElement(Projectile.getGreenBolt(getPosition(), getRotation() + 180.0f));
                 pvLink.lastElement().bmLink = bmLink;
+                pvLink.lastElement().startLifespan(gameLink.getTimers());
 
-                if (!bombardmentShot) { m_fireCooldown = (int)((m_rand.nextFloat() + 1.0f) * Enemy.droneFireCooldown); }
-                else { m_fireCooldown = (int)((m_rand.nextFloat() + 2.0f) * Enemy.droneFireCooldown); }
+                if (!bombardmentShot) { setFireCooldown((int)((m_rand.nextFloat() + 1.0f) * m_tuning.m_droneFireCooldown)); }
+                else { setFireCooldown((int)((m_rand.nextFloat() + 2.0f) * m_tuning.m_droneFireCooldown)); }
                 break;
             case WARRIOR:
                 pvLink.addElement(Projectile.getGreenBolt(getPosition(), getRotation() + 180.0f));
                 pvLink.lastElement().bmLink = bmLink;
+                pvLink.lastElement().startLifespan(gameLink.getTimers());
 
                 m_bulletsFiredThisBurst++;
-                if (m_bulletsFiredThisBurst < Enemy.warriorBurstFireShots) { m_fireCooldown = Enemy.warriorBurstFireCooldown; }
+                if (m_bulletsFiredThisBurst < m_tuning.m_warriorBurstFireShots) { setFireCooldown(m_tuning.m_warriorBurstFireCooldown); }
                 else {
-                    if (!bombardmentShot) { m_fireCooldown = (int)((m_rand.nextFloat() + 1.0f) * Enemy.warriorFireCooldown); }
-                    else { m_fireCooldown = (int)((m_rand.nextFloat() + 2.0f) * Enemy.warriorFireCooldown); }
+                    if (!bombardmentShot) { setFireCooldown((int)((m_rand.nextFloat() + 1.0f) * m_tuning.m_warriorFireCooldown)); }
+                    else { setFireCooldown((int)((m_rand.nextFloat() + 2.0f) * m_tuning.m_warriorFireCooldown)); }
                     m_bulletsFiredThisBurst = 0;
                 }
                 break;
@@ -323,7 +321,8 @@ public class Enemy extends GameObject {
                     float distance = Vector2f.subtract(gameLink.m_player.getPosition(), getPosition()).getMagnitude();
                     pvLink.addElement(Projectile.getYellowBomb(getPosition(), getRotation() + 180.0f, distance));
                     pvLink.lastElement().bmLink = bmLink;
-                    m_fireCooldown = (int)((m_rand.nextFloat() + 1.0f) * Enemy.queenFireCooldown);
+                    pvLink.lastElement().startLifespan(gameLink.getTimers());
+                    setFireCooldown((int)((m_rand.nextFloat() + 1.0f) * m_tuning.m_queenFireCooldown));
                 }
                 break;
         }
@@ -0,0 +1,113 @@
+package net.stefancbauer.galactora.Model;
+
+import java.util.Arrays;
+
+/**
+ * Game's enemies, in a set for each EnemyState, so the level can ask for just the enemies it wants without scanning the rest.
+ * Each set is an array kept in spawn order, the same order as Game.m_enemies, so picking the i-th enemy of a state is O(1)
+ * and a seeded game picks the same enemies as it did when it scanned m_enemies. Enemies move between sets as their state changes.
+ */
+
+public class EnemyIndex {
+    private static final EnemyState[] STATES = EnemyState.values();
+
+    private final Enemy[][] m_sets = new Enemy[STATES.length][];
+    private final int[] m_sizes = new int[STATES.length];
+    private int m_nextSequence = 0; //!< Given to the next enemy added. Restarts whenever the index empties.
+    private final FormationIndex m_formation = new FormationIndex(); //!< Where the IN_GRID enemies are.
+
+    private float m_minGridY = 0.0f; //!< The lowest unmodified grid row of any enemy, or 0.
+    private boolean m_minGridYDirty = false;
+
+    public EnemyIndex() {
+        for (int i = 0; i < STATES.length; i++) { m_sets[i] = new Enemy[16]; }
+    }
+
+    public int size() //!< Every enemy, in any state.
+    {
+        int size = 0;
+        for (int i = 0; i < STATES.length; i++) { size += m_sizes[i]; }
+        return size;
+    }
+
+    public FormationIndex getFormation() { return m_formation; }
+    public int size(EnemyState state) { return m_sizes[state.ordinal()]; }
+    public Enemy get(EnemyState state, int index) { return m_sets[state.ordinal()][index]; } //!< The index-th enemy in the state, in spawn order.
+
+    public float getMinGridY() //!< The lowest unmodifiedGridPos.y of any enemy, or 0 if none are below the centre.
+    {
+        if (m_minGridYDirty) {
+            m_minGridY = 0.0f;
+            for (int i = 0; i < STATES.length; i++) {
+                for (int j = 0; j < m_sizes[i]; j++) {
+                    float y = m_sets[i][j].unmodifiedGridPos.y;
+                    if (y < m_minGridY) { m_minGridY = y; }
+                }
+            }
+            m_minGridYDirty = false;
+        }
+        return m_minGridY;
+    }
+
+    public void add(Enemy enemy) //!< Call as the enemy joins Game.m_enemies, after its grid position is set.
+    {
+        if (size() == 0) { m_nextSequence = 0; }
+        enemy.m_indexSequence = m_nextSequence++;
+        enemy.p_index = this;
+        insert(enemy.getState(), enemy); // Newest, so always at the end.
+        m_minGridYDirty = true;
+    }
+
+    public void remove(Enemy enemy) //!< Call as the enemy leaves Game.m_enemies.
+    {
+        if (enemy.p_index != this) { return; }
+        erase(enemy.getState(), enemy);
+        enemy.p_index = null;
+        m_minGridYDirty = true;
+    }
+
+    void move(Enemy enemy, EnemyState from, EnemyState to) //!< Called by Enemy.setState().
+    {
+        erase(from, enemy);
+        insert(to, enemy);
+    }
+
+    private void insert(EnemyState state, Enemy enemy) {
+        int set = state.ordinal();
+        int size = m_sizes[set];
+        if (size == m_sets[set].length) { m_sets[set] = Arrays.copyOf(m_sets[set], size * 2); }
+
+        int at = find(set, enemy.m_indexSequence);
+        at = at < 0 ? -(at + 1) : at;
+        System.arraycopy(m_sets[set], at, m_sets[set], at + 1, size - at);
+        m_sets[set][at] = enemy;
+        m_sizes[set]++;
+        if (state == EnemyState.IN_GRID) { m_formation.add(enemy.unmodifiedGridPos); }
+    }
+
+    private void erase(EnemyState state, Enemy enemy) {
+        int set = state.ordinal();
+        int at = find(set, enemy.m_indexSequence);
+        if (at < 0) { return; }
+
+        m_sizes[set]--;
+        System.arraycopy(m_sets[set], at + 1, m_sets[set], at, m_sizes[set] - at);
+        m_sets[set][m_sizes[set]] = null;
+        if (state == EnemyState.IN_GRID) { m_formation.remove(enemy.unmodifiedGridPos); }
+    }
+
+    private int find(int set, int sequence) //!< Binary search by spawn order. As Arrays.binarySearch, -(insertion point + 1) if absent.
+    {
+        Enemy[] enemies = m_sets[set];
+        int low = 0;
+        int high = m_sizes[set] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midSequence = enemies[mid].m_indexSequence;
+            if (midSequence < sequence) { low = mid + 1; }
+            else if (midSequence > sequence) { high = mid - 1; }
+            else { return mid; }
+        }
+        return -(low + 1);
+    }
+}
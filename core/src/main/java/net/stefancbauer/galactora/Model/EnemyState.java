@@ -0,0 +1,12 @@
+package net.stefancbauer.galactora.Model;
+
+/**
+ * What an enemy is doing, as far as the level's choreography is concerned. Game keeps its enemies in an EnemyIndex by state.
+ */
+
+public enum EnemyState {
+    ENTERING, // Following its entrance path to the grid.
+    IN_GRID, // Holding its place in the grid. The only state flybys and exits are chosen from.
+    FLYBY, // Following a flyby path out of the grid and back.
+    EXITING // Leaving the level for good.
+}
@@ -0,0 +1,52 @@
+package net.stefancbauer.galactora.Model;
+
+/**
+ * Enemy speeds, fire rates and score values: the global difficulty changeables. Each Game has its own, and they can't change once made, so games running side by side can't affect each other.
+ */
+
+public class EnemyTuning {
+    public static final EnemyTuning DEFAULT = new EnemyTuning(0.1f, 5.0f, 640, 480, 10, 3, 640, 20, 50, 75, 100);
+
+    public final float m_moveSpeed; //!< The maximum (and default) move speed of enemies, in GU per tick.
+    public final float m_rotateSpeed; //!< The maximum (and default) rotate speed of enemies, in degrees per tick.
+
+    public final int m_droneFireCooldown; //!< Minimum cooldown period between firing for drones.
+    public final int m_warriorFireCooldown; //!< Minimum cooldown period between firing bursts for warriors.
+    public final int m_warriorBurstFireCooldown; //!< Cooldown period between individual shots in a burst for warriors.
+    public final int m_warriorBurstFireShots; //!< Number of individual shots in a burst for warriors.
+    public final int m_queenFireCooldown; //!< Minimum cooldown period between firing for queens.
+
+    public final int m_droneScore;
+    public final int m_warriorScore;
+    public final int m_guardianScore;
+    public final int m_queenScore;
+
+    public EnemyTuning(float moveSpeed, float rotateSpeed, int droneFireCooldown, int warriorFireCooldown, int warriorBurstFireCooldown, int warriorBurstFireShots, int queenFireCooldown,
+                       int droneScore, int warriorScore, int guardianScore, int queenScore) //!< Full Constructor
+    {
+        m_moveSpeed = moveSpeed;
+        m_rotateSpeed = rotateSpeed;
+
+        m_droneFireCooldown = droneFireCooldown;
+        m_warriorFireCooldown = warriorFireCooldown;
+        m_warriorBurstFireCooldown = warriorBurstFireCooldown;
+        m_warriorBurstFireShots = warriorBurstFireShots;
+        m_queenFireCooldown = queenFireCooldown;
+
+        m_droneScore = droneScore;
+        m_warriorScore = warriorScore;
+        m_guardianScore = guardianScore;
+        m_queenScore = queenScore;
+    }
+
+    public int getScore(EnemyType type) //!< Base score for destroying an enemy of the given type.
+    {
+        switch (type) {
+            case DRONE: return m_droneScore;
+            case WARRIOR: return m_warriorScore;
+            case GUARDIAN: return m_guardianScore;
+            case QUEEN: return m_queenScore;
+            default: return 0;
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package net.stefancbauer.galactora.Model.Engine;
 
-import android.graphics.Matrix;
-import android.graphics.RectF;
-
+import net.stefancbauer.galactora.LocalMaths.Matrix2f;
+import net.stefancbauer.galactora.LocalMaths.Rect2f;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
 
 /**
@@ -10,14 +9,14 @@ import net.stefancbauer.galactora.LocalMaths.Vector2f;
  */
 
 public class CollisionRectangle extends Collisionable {
-    public final RectF m_rectangle; //!< Defines the rectangle collider, centred on a local origin. Cannot be changed once set.
+    public final Rect2f m_rectangle; //!< Defines the rectangle collider, centred on a local origin. Cannot be changed once set.
 
     public CollisionRectangle(float xHalfExtent, float yHalfExtent) //!< Full Constructor.
     {
         super(CollisionableType.RECTANGLE, (float)Math.sqrt((xHalfExtent * xHalfExtent) + (yHalfExtent * yHalfExtent)));
         xHalfExtent = Math.abs(xHalfExtent);
         yHalfExtent = Math.abs(yHalfExtent);
-        m_rectangle = new RectF(-xHalfExtent, yHalfExtent, xHalfExtent, -yHalfExtent);
+        m_rectangle = new Rect2f(-xHalfExtent, yHalfExtent, xHalfExtent, -yHalfExtent);
     }
 
     public boolean checkCollision(Collisionable other, Vector2f r_collisionNormal) //!< Double dispatch function.
@@ -36,7 +35,7 @@ public class CollisionRectangle extends Collisionable {
             // Is within proximity, requires checking.
 
             // Make circle relative to rectangle.
-            Matrix matrix = new Matrix();
+            Matrix2f matrix = new Matrix2f();
             matrix.setRotate(-m_rotation);
             float[] circleCentre = new float[2];
             circleCentre[0] = relativeVec.x;
@@ -108,7 +107,7 @@ public class CollisionRectangle extends Collisionable {
             rect2[6] = other.m_rectangle.right;
             rect2[7] = other.m_rectangle.bottom;
 
-            Matrix matrix = new Matrix();
+            Matrix2f matrix = new Matrix2f();
             matrix.setRotate(other.m_rotation);
             matrix.postTranslate(relativeVec.x, relativeVec.y);
             matrix.postRotate(-m_rotation);
@@ -212,7 +211,7 @@ public class CollisionRectangle extends Collisionable {
 
         // Get rotation of axis and build matrix.
         float axisRot = (float)Math.toDegrees(Math.atan2(axis.y, axis.x)) - 90.0f;
-        Matrix matrix = new Matrix();
+        Matrix2f matrix = new Matrix2f();
         matrix.setRotate(-axisRot);
 
         // Apply matrix and find min/max of each rectangle
@@ -0,0 +1,29 @@
+package net.stefancbauer.galactora.Model.Engine;
+
+/**
+ * Per-layer counters of how many objects were drawn and how many were skipped for being off-screen, over the last frame.
+ */
+
+public class CullStats {
+    public final String m_name; //!< The name of the layer these stats belong to.
+    private int m_drawn = 0;
+    private int m_culled = 0;
+
+    public CullStats(String name) { m_name = name; }
+
+    public void reset() //!< Should be called at the start of each frame's draw pass.
+    {
+        m_drawn = 0;
+        m_culled = 0;
+    }
+
+    public void addDrawn() { m_drawn++; }
+    public void addCulled() { m_culled++; }
+
+    public int getDrawn() { return m_drawn; }
+    public int getCulled() { return m_culled; }
+    public int getTotal() { return m_drawn + m_culled; }
+
+    @Override
+    public String toString() { return m_name + ": " + m_drawn + " drawn, " + m_culled + " culled"; }
+}
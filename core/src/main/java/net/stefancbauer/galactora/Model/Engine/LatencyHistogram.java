@@ -0,0 +1,73 @@
+package net.stefancbauer.galactora.Model.Engine;
+
+import java.util.Locale;
+
+/**
+ * Counts latencies into power-of-two millisecond buckets: under 1ms, 1-2ms, 2-4ms and so on, with the last bucket catching everything longer.
+ * Recording doesn't allocate, so can be done every tick. Should only be recorded into from one thread.
+ */
+
+public class LatencyHistogram {
+    public static final int BUCKETS = 9; //!< Up to 128ms, then everything over.
+
+    public final String m_name;
+    private final int[] m_counts = new int[BUCKETS];
+    private int m_total = 0;
+    private long m_sumNanos = 0;
+    private long m_maxNanos = 0;
+
+    public LatencyHistogram(String name) { m_name = name; }
+
+    public void record(long nanos) {
+        if (nanos < 0) { nanos = 0; } // Clocks on different threads can disagree slightly.
+
+        long ms = nanos / 1000000L;
+        int bucket = 0;
+        while (ms > 0 && bucket < BUCKETS - 1) {
+            ms >>= 1;
+            bucket++;
+        }
+
+        m_counts[bucket]++;
+        m_total++;
+        m_sumNanos += nanos;
+        if (nanos > m_maxNanos) { m_maxNanos = nanos; }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) { m_counts[i] = 0; }
+        m_total = 0;
+        m_sumNanos = 0;
+        m_maxNanos = 0;
+    }
+
+    public int getCount() { return m_total; }
+    public int getBucketCount(int bucket) { return m_counts[bucket]; }
+    public static int getBucketLimitMs(int bucket) { return bucket < BUCKETS - 1 ? 1 << bucket : Integer.MAX_VALUE; } //!< Exclusive upper bound of a bucket, in ms.
+    public float getMeanMs() { return m_total == 0 ? 0.0f : (m_sumNanos / (float)m_total) / 1000000.0f; }
+    public float getMaxMs() { return m_maxNanos / 1000000.0f; }
+
+    public int getPercentileLimitMs(float percentile) //!< Upper bound of the bucket containing the given percentile (0 - 100), in ms. Only as precise as the buckets.
+    {
+        if (m_total == 0) { return 0; }
+
+        int target = (int)Math.ceil(m_total * (percentile / 100.0f));
+        int seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += m_counts[i];
+            if (seen >= target) { return getBucketLimitMs(i); }
+        }
+        return getBucketLimitMs(BUCKETS - 1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(m_name).append(": ").append(m_total).append(" samples, mean ").append(String.format(Locale.US, "%.1f", getMeanMs())).append("ms, max ").append(String.format(Locale.US, "%.1f", getMaxMs())).append("ms [");
+        for (int i = 0; i < BUCKETS; i++) {
+            if (i > 0) { builder.append(", "); }
+            builder.append(i < BUCKETS - 1 ? "<" + getBucketLimitMs(i) : ">=" + getBucketLimitMs(BUCKETS - 2)).append("ms: ").append(m_counts[i]);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,145 @@
+package net.stefancbauer.galactora.Model.Engine;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Vector;
+
+/**
+ * Watches rolling frame-time percentiles and picks a QualityTier, shedding cosmetic work while frames run over budget rather than falling back on skipped frames.
+ * Steps down a tier quickly once the 95th percentile is over budget, and only steps back up after a sustained run of headroom, so it doesn't flicker between tiers.
+ * Doesn't use any Android classes, so decisions can be tested on the JVM.
+ */
+
+public class QualityGovernor {
+    private final QualityTier[] m_tiers; //!< Best first.
+    private long m_budgetNanos; //!< Target time for a frame's work, excluding sleep.
+
+    // MAGIC: Tuned so that a sustained slowdown is acted on within a second, and recovery takes a few seconds of clear headroom.
+    private final int m_windowSize = 60; //!< Number of recent frames the percentiles are taken over.
+    private final int m_evaluatePeriod = 30; //!< Frames between evaluations.
+    private final int m_stepDownAfter = 2; //!< Consecutive over-budget evaluations needed to step down a tier.
+    private final int m_stepUpAfter = 6; //!< Consecutive evaluations with headroom needed to step up a tier.
+    private final float m_headroom = 0.7f; //!< Fraction of the budget the 95th percentile must stay under to count as headroom.
+
+    private final long[] m_samples; //!< Ring buffer of frame times, in nanoseconds.
+    private final long[] m_sorted; //!< Scratch copy for taking percentiles.
+    private int m_sampleCount = 0; //!< Number of valid samples, up to m_windowSize.
+    private int m_nextSample = 0;
+    private int m_framesToEvaluate;
+
+    private int m_tierIndex = 0;
+    private int m_overBudgetRun = 0;
+    private int m_headroomRun = 0;
+    private long m_frame = 0; //!< Total frames recorded.
+    private long m_p50 = 0; //!< Percentiles from the last evaluation, in nanoseconds.
+    private long m_p95 = 0;
+
+    private final int m_maxDecisions = 32; //!< Oldest decisions are dropped beyond this.
+    private final Vector<Decision> mv_decisions = new Vector<Decision>();
+
+    public static class Decision //!< Telemetry for a single tier change.
+    {
+        public final long m_frame; //!< Frame count when the change was made.
+        public final QualityTier m_from;
+        public final QualityTier m_to;
+        public final long m_p50; //!< Percentiles that prompted the change, in nanoseconds.
+        public final long m_p95;
+
+        Decision(long frame, QualityTier from, QualityTier to, long p50, long p95) {
+            m_frame = frame;
+            m_from = from;
+            m_to = to;
+            m_p50 = p50;
+            m_p95 = p95;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "Frame %d: %s -> %s (p50 %.1fms, p95 %.1fms)", m_frame, m_from, m_to, m_p50 / 1000000.0, m_p95 / 1000000.0);
+        }
+    }
+
+    public QualityGovernor(float budgetMs) { this(QualityTier.getDefaults(), budgetMs); }
+
+    public QualityGovernor(QualityTier[] tiers, float budgetMs) {
+        if (tiers.length == 0) { throw new IllegalArgumentException("QualityGovernor needs at least one tier."); }
+        m_tiers = Arrays.copyOf(tiers, tiers.length);
+        m_budgetNanos = (long)(budgetMs * 1000000.0f);
+        m_samples = new long[m_windowSize];
+        m_sorted = new long[m_windowSize];
+        m_framesToEvaluate = m_evaluatePeriod;
+    }
+
+    public void setBudgetMs(float budgetMs) //!< Changes the budget, eg. when the target frame rate changes. Evidence gathered against the old budget is discarded.
+    {
+        m_budgetNanos = (long)(budgetMs * 1000000.0f);
+        m_overBudgetRun = 0;
+        m_headroomRun = 0;
+        m_sampleCount = 0;
+        m_nextSample = 0;
+        m_framesToEvaluate = m_evaluatePeriod;
+    }
+
+    public boolean addFrame(long frameNanos) //!< Records the work time of one frame. Returns true if this caused a change of tier.
+    {
+        m_frame++;
+        m_samples[m_nextSample] = frameNanos;
+        m_nextSample = (m_nextSample + 1) % m_windowSize;
+        if (m_sampleCount < m_windowSize) { m_sampleCount++; }
+
+        if (--m_framesToEvaluate > 0) { return false; }
+        m_framesToEvaluate = m_evaluatePeriod;
+        return evaluate();
+    }
+
+    private boolean evaluate() {
+        System.arraycopy(m_samples, 0, m_sorted, 0, m_sampleCount);
+        Arrays.sort(m_sorted, 0, m_sampleCount);
+        m_p50 = m_sorted[(m_sampleCount - 1) / 2];
+        m_p95 = m_sorted[((m_sampleCount - 1) * 95) / 100];
+
+        if (m_p95 > m_budgetNanos) {
+            m_overBudgetRun++;
+            m_headroomRun = 0;
+        } else if (m_p95 < m_budgetNanos * m_headroom) {
+            m_headroomRun++;
+            m_overBudgetRun = 0;
+        } else {
+            // Within budget but without headroom: hold the current tier.
+            m_overBudgetRun = 0;
+            m_headroomRun = 0;
+        }
+
+        if (m_overBudgetRun >= m_stepDownAfter && m_tierIndex < m_tiers.length - 1) {
+            setTierIndex(m_tierIndex + 1);
+            return true;
+        }
+        if (m_headroomRun >= m_stepUpAfter && m_tierIndex > 0) {
+            setTierIndex(m_tierIndex - 1);
+            return true;
+        }
+        return false;
+    }
+
+    private void setTierIndex(int index) {
+        Decision decision = new Decision(m_frame, m_tiers[m_tierIndex], m_tiers[index], m_p50, m_p95);
+        if (mv_decisions.size() >= m_maxDecisions) { mv_decisions.remove(0); }
+        mv_decisions.addElement(decision);
+
+        m_tierIndex = index;
+        m_overBudgetRun = 0;
+        m_headroomRun = 0;
+
+        // Frames from the old tier say nothing about the new one.
+        m_sampleCount = 0;
+        m_nextSample = 0;
+    }
+
+    public QualityTier getTier() { return m_tiers[m_tierIndex]; }
+    public int getTierIndex() { return m_tierIndex; }
+    public long getFrameCount() { return m_frame; }
+    public float getP50Ms() { return m_p50 / 1000000.0f; } //!< 50th percentile frame time at the last evaluation, in ms.
+    public float getP95Ms() { return m_p95 / 1000000.0f; } //!< 95th percentile frame time at the last evaluation, in ms.
+    public Vector<Decision> getDecisions() { return mv_decisions; } //!< Recent tier changes, oldest first.
+    public Decision getLastDecision() { return mv_decisions.isEmpty() ? null : mv_decisions.lastElement(); }
+}
@@ -0,0 +1,31 @@
+package net.stefancbauer.galactora.Model.Engine;
+
+/**
+ * One level of cosmetic fidelity the QualityGovernor can choose between. Only affects non-gameplay effects, never the simulation, as the background draws from its own random numbers.
+ */
+
+public class QualityTier {
+    public final String m_name;
+    public final float m_spawnRate; //!< Fraction of the usual background ConstellationFactory spawn rate to use, 0 - 1.
+    public final int m_maxGibs; //!< Most gibs a single death may add, or -1 for no limit. The death's splatter or explosion isn't counted.
+    public final boolean m_skipFading; //!< If true, effects that fade out, such as explosions and splatters, aren't spawned at all.
+
+    public QualityTier(String name, float spawnRate, int maxGibs, boolean skipFading) {
+        m_name = name;
+        m_spawnRate = Math.min(Math.max(spawnRate, 0.01f), 1.0f);
+        m_maxGibs = maxGibs;
+        m_skipFading = skipFading;
+    }
+
+    public static QualityTier[] getDefaults() //!< Full, reduced and minimal tiers, best first.
+    {
+        return new QualityTier[] {
+                new QualityTier("Full", 1.0f, -1, false),
+                new QualityTier("Reduced", 0.6f, 3, false), // MAGIC
+                new QualityTier("Minimal", 0.3f, 1, true) // MAGIC
+        };
+    }
+
+    @Override
+    public String toString() { return m_name; }
+}
@@ -0,0 +1,117 @@
+package net.stefancbauer.galactora.Model.Engine;
+
+/**
+ * A hashed timer wheel, for one-shot countdowns measured in game ticks.
+ * Each timer sits in the slot for the tick it's due, in a linked list threaded through the timers themselves, so scheduling and cancelling are O(1) and never allocate.
+ * Advancing a tick only looks at one slot, rather than at every countdown in the game. Timers due more than a lap of the wheel away wait in their slot until their lap comes round.
+ */
+
+public class TimerWheel {
+    public static abstract class Timer //!< Extend to say what happens when the countdown runs out. A timer can be scheduled on one wheel at a time.
+    {
+        private Timer m_prev = null;
+        private Timer m_next = null;
+        private Timer m_nextDue = null; //!< In advance(), the next timer due this tick.
+        private int m_due = 0; //!< The wheel tick this timer expires on.
+        private boolean m_scheduled = false;
+        private boolean m_pending = false; //!< Due this tick, but not yet expired.
+
+        public boolean isScheduled() { return m_scheduled; }
+
+        protected abstract void expire(); //!< Called once, from advance() on the tick the timer is due, or from schedule() if it's due at once.
+    }
+
+    private final Timer[] m_slots; //!< The head of each slot's list, or null.
+    private final int m_mask; //!< Slots - 1. Slots are a power of two, so ticks wrap with a mask.
+    private int m_tick = 0; //!< Calls to advance() so far.
+    private int m_size = 0;
+
+    private long m_expired = 0; //!< Timers expired so far, ie. callbacks made.
+    private long m_visited = 0; //!< Timers looked at by advance() so far, due or not.
+    private int m_lastVisited = 0; //!< Timers looked at by the last advance().
+
+    public TimerWheel() { this(256); } //!< MAGIC: Covers most cooldowns in one lap.
+
+    public TimerWheel(int slots) {
+        int size = 1;
+        while (size < slots) { size <<= 1; }
+
+        m_mask = size - 1;
+        m_slots = new Timer[size];
+    }
+
+    public int getTick() { return m_tick; }
+    public int size() { return m_size; } //!< Timers waiting to expire.
+    public long getExpired() { return m_expired; }
+    public long getVisited() { return m_visited; }
+    public int getLastVisited() { return m_lastVisited; }
+    public int getRemaining(Timer timer) { return timer.m_scheduled ? timer.m_due - m_tick : 0; } //!< Ticks until the timer expires, or 0 if it isn't scheduled.
+
+    public void schedule(Timer timer, int ticks) //!< (Re)schedules a timer to expire on the given number of advance()s from now. At zero or less, it expires at once.
+    {
+        cancel(timer);
+        if (ticks <= 0) {
+            m_expired++;
+            timer.expire();
+            return;
+        }
+
+        timer.m_due = m_tick + ticks;
+        timer.m_scheduled = true;
+        int slot = timer.m_due & m_mask;
+        timer.m_prev = null;
+        timer.m_next = m_slots[slot];
+        if (timer.m_next != null) { timer.m_next.m_prev = timer; }
+        m_slots[slot] = timer;
+        m_size++;
+    }
+
+    public void cancel(Timer timer) //!< Stops a timer from expiring. Does nothing if it isn't scheduled.
+    {
+        timer.m_pending = false;
+        if (!timer.m_scheduled) { return; }
+
+        if (timer.m_prev != null) { timer.m_prev.m_next = timer.m_next; }
+        else { m_slots[timer.m_due & m_mask] = timer.m_next; }
+        if (timer.m_next != null) { timer.m_next.m_prev = timer.m_prev; }
+
+        timer.m_prev = null;
+        timer.m_next = null;
+        timer.m_scheduled = false;
+        m_size--;
+    }
+
+    public void advance() //!< Moves on a tick, expiring every timer due on it.
+    {
+        m_tick++;
+        m_lastVisited = 0;
+
+        // Unhook everything due first, so callbacks can schedule and cancel freely. One that's rescheduled or cancelled by an earlier callback is skipped.
+        Timer due = null;
+        Timer timer = m_slots[m_tick & m_mask];
+        while (timer != null) {
+            Timer next = timer.m_next;
+            m_lastVisited++;
+            if (timer.m_due == m_tick) {
+                cancel(timer);
+                timer.m_pending = true;
+                timer.m_nextDue = due;
+                due = timer;
+            }
+            timer = next;
+        }
+
+        m_visited += m_lastVisited;
+
+        while (due != null) {
+            Timer next = due.m_nextDue;
+            due.m_nextDue = null;
+            if (due.m_pending) {
+                due.m_pending = false;
+                m_expired++;
+                due.expire();
+            }
+            due = next;
+        }
+    }
+}
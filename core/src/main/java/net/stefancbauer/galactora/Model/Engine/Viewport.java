@@ -0,0 +1,96 @@
+package net.stefancbauer.galactora.Model.Engine;
+
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.LocalMaths.Vector2i;
+
+/**
+ * The mapping between game-space, in GU, and the screen, in pixels, and the visible area of game-space. Used to place sprites and touches, and to skip drawing anything off-screen.
+ * Each Game has its own, made current on whichever thread is updating or drawing it. Sprites, particles and other code with no link to their Game use the current one.
+ */
+
+public class Viewport {
+    private static final ThreadLocal<Viewport> s_current = new ThreadLocal<Viewport>(); //!< Per thread, so games on different threads can have different screens.
+
+    public float m_GUtoDP; //!< The factor by which a game unit measure must be multiplied to get the same quantity in dp.
+    public float m_DPtoGU; //!< The factor by which a dp measure must be multiplied to get the same quantity in GU.
+    public final Vector2f mv_viewOrigin = new Vector2f(); //!< The current 0,0 point of the view, in Game Units. Game Unit origin is in the centre of the screen, at the top of the UI, just below the player's ship.
+    public final Vector2f mv_viewSize = new Vector2f(); //!< The dimensions of the view, in Game Units.
+
+    public Viewport(int width, int height) { setScreenSize(width, height); }
+
+    public static Viewport getCurrent() //!< The viewport of the Game this thread is working on. Throws if there isn't one.
+    {
+        Viewport current = s_current.get();
+        if (current == null) { throw new IllegalStateException("No Viewport is current on this thread."); }
+        return current;
+    }
+
+    public void makeCurrent() { s_current.set(this); } //!< Makes this the viewport for everything this thread does from now on.
+
+    public void setScreenSize(int width, int height) //!< Fits the view to a screen of the given size, in pixels.
+    {
+        // Desired horizontal span is 14gu.
+        // Minimum vertical span is 21gu.
+        // 5gu of that vertical span are UI
+        // Game Unit origin is in the x-Axis centre of the screen, at the top of the UI, just below the player's ship at start.
+        // All game action will take place within the bounds of -7 to 7 x, 0 to 16 y, even if the available playing field is larger.
+        if ((float)height < (float)width * 1.5) {
+            // Screen is somehow not able to achieve a 2:3 aspect ratio.
+            m_GUtoDP = (float)height / 21.0f; // MAGIC
+            m_DPtoGU = 1 / m_GUtoDP;
+
+            float screenWidthGU = width * m_DPtoGU;
+            mv_viewOrigin.set((screenWidthGU * -0.5f), 16.0f); // MAGIC
+        } else {
+            // Screen is a sensible aspect ratio.
+            m_GUtoDP = (float)width / 14.0f; // MAGIC
+            m_DPtoGU = 1 / m_GUtoDP;
+
+            float screenHeightGU = height * m_DPtoGU;
+            mv_viewOrigin.set(-7.0f, (screenHeightGU - 5f)); // MAGIC
+        }
+        mv_viewSize.set(width * m_DPtoGU, height * m_DPtoGU);
+    }
+
+    public Vector2i GUtoDP(Vector2f gameUnits) //!< Translates a point in Game-Space to a point in screenspace, correctly translating the origin and scale.
+    {
+        Vector2f fromScreenOrigin = Vector2f.subtract(gameUnits, mv_viewOrigin);
+        fromScreenOrigin.x *= m_GUtoDP;
+        fromScreenOrigin.y *= -m_GUtoDP;
+        return fromScreenOrigin.toInteger();
+    }
+
+    public Vector2f DPtoGU(Vector2i screenPoint) //!< Translates a point in screenspace to a point in Game-Space, correctly translating the origin and scale.
+    {
+        Vector2f fromScreenOrigin = screenPoint.toFloat();
+        fromScreenOrigin.x *= m_DPtoGU;
+        fromScreenOrigin.y *= -m_DPtoGU;
+        return Vector2f.add(fromScreenOrigin, mv_viewOrigin);
+    }
+
+    public float getLeft() { return mv_viewOrigin.x; }
+    public float getRight() { return mv_viewOrigin.x + mv_viewSize.x; }
+    public float getTop() { return mv_viewOrigin.y; } //!< mv_viewOrigin is the top-left corner of the screen.
+    public float getBottom() { return mv_viewOrigin.y - mv_viewSize.y; }
+
+    public boolean isVisible(float left, float bottom, float right, float top) //!< Whether an axis-aligned box in game-space overlaps the view at all.
+    { return overlaps(left, bottom, right, top, getLeft(), getBottom(), getRight(), getTop()); }
+
+    public boolean isVisible(float x, float y, float width, float height, float originX, float originY, float rotation) //!< Whether a box of the given size, with its local origin at (x, y), could overlap the view. Rotated boxes are tested using the circle they sweep out around their origin.
+    { return isVisible(x, y, width, height, originX, originY, rotation, getLeft(), getBottom(), getRight(), getTop()); }
+
+    public static boolean isVisible(float x, float y, float width, float height, float originX, float originY, float rotation, float viewLeft, float viewBottom, float viewRight, float viewTop) //!< As above, but against an arbitrary view rectangle, eg. an offscreen cache.
+    {
+        if (rotation == 0.0f) {
+            return overlaps(x - originX, y - originY, x - originX + width, y - originY + height, viewLeft, viewBottom, viewRight, viewTop);
+        }
+
+        float dx = Math.max(originX, width - originX);
+        float dy = Math.max(originY, height - originY);
+        float radius = (float)Math.sqrt((dx * dx) + (dy * dy));
+        return overlaps(x - radius, y - radius, x + radius, y + radius, viewLeft, viewBottom, viewRight, viewTop);
+    }
+
+    public static boolean overlaps(float left, float bottom, float right, float top, float viewLeft, float viewBottom, float viewRight, float viewTop) //!< Whether two axis-aligned boxes in game-space overlap.
+    { return right >= viewLeft && left <= viewRight && top >= viewBottom && bottom <= viewTop; }
+}
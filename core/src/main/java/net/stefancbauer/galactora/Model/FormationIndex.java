@@ -0,0 +1,147 @@
+package net.stefancbauer.galactora.Model;
+
+import net.stefancbauer.galactora.LocalMaths.Rect2f;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+
+/**
+ * How many enemies hold each cell of the grid, by unmodifiedGridPos, which levels give on a half game unit lattice.
+ * A summed-area table over the cells counts the enemies in any rectangle of the grid with a couple of binary searches and four lookups, however full the grid is.
+ * EnemyIndex keeps it up to date as enemies join and leave the grid, and the table is only rebuilt when one has.
+ */
+
+public class FormationIndex {
+    private int m_minColumn = 0; //!< Lattice column of m_counts' first column, ie. unmodifiedGridPos.x * 2.
+    private int m_minRow = 0;
+    private int m_columns = 0;
+    private int m_rows = 0;
+    private int[] m_counts = new int[0]; //!< Enemies in each cell, row by row.
+    private int m_size = 0;
+    private int m_offLattice = 0; //!< Enemies between lattice cells. Added to every count, so counts are never too low.
+
+    private int[] m_table = new int[0]; //!< (m_rows + 1) rows of (m_columns + 1). Entry (c, r) holds the enemies in columns below c and rows below r.
+    private boolean m_tableDirty = false;
+
+    private float[] mv_columnX = new float[0]; //!< Where each column sits on screen, at m_multiplier and mv_centre.
+    private float[] mv_rowY = new float[0];
+    private float m_multiplier = Float.NaN;
+    private Vector2f mv_centre = new Vector2f(Float.NaN, Float.NaN);
+    private boolean m_positionsDirty = true;
+
+    public int size() { return m_size; }
+
+    public int count(Rect2f area, float multiplier, Vector2f centre) //!< Enemies in the grid whose grid position lies within area, edges included, with the grid spread and centred as Game.updateGrid() places it.
+    {
+        if (m_columns == 0) { return m_offLattice; }
+        update(multiplier, centre);
+
+        int firstColumn = firstAtLeast(mv_columnX, m_columns, area.left);
+        int lastColumn = firstAtLeast(mv_columnX, m_columns, Math.nextUp(area.right)) - 1;
+        int firstRow = firstAtLeast(mv_rowY, m_rows, area.bottom);
+        int lastRow = firstAtLeast(mv_rowY, m_rows, Math.nextUp(area.top)) - 1;
+        if (firstColumn > lastColumn || firstRow > lastRow) { return m_offLattice; }
+
+        int stride = m_columns + 1;
+        return m_table[(lastRow + 1) * stride + lastColumn + 1] - m_table[firstRow * stride + lastColumn + 1]
+                - m_table[(lastRow + 1) * stride + firstColumn] + m_table[firstRow * stride + firstColumn] + m_offLattice;
+    }
+
+    public void add(Vector2f unmodifiedGridPos) //!< Called by EnemyIndex as an enemy joins the grid.
+    {
+        m_size++;
+        int column = Math.round(unmodifiedGridPos.x * 2.0f);
+        int row = Math.round(unmodifiedGridPos.y * 2.0f);
+        if (column * 0.5f != unmodifiedGridPos.x || row * 0.5f != unmodifiedGridPos.y) {
+            m_offLattice++;
+            return;
+        }
+
+        include(column, row);
+        m_counts[(row - m_minRow) * m_columns + column - m_minColumn]++;
+        m_tableDirty = true;
+    }
+
+    public void remove(Vector2f unmodifiedGridPos) //!< Called by EnemyIndex as an enemy leaves the grid. Its unmodifiedGridPos must not have changed since it was added.
+    {
+        m_size--;
+        int column = Math.round(unmodifiedGridPos.x * 2.0f);
+        int row = Math.round(unmodifiedGridPos.y * 2.0f);
+        if (column * 0.5f != unmodifiedGridPos.x || row * 0.5f != unmodifiedGridPos.y) {
+            m_offLattice--;
+            return;
+        }
+
+        m_counts[(row - m_minRow) * m_columns + column - m_minColumn]--;
+        m_tableDirty = true;
+    }
+
+    private void include(int column, int row) //!< Grows the lattice to cover the cell. Levels use the same few cells throughout, so this rarely does anything.
+    {
+        if (m_columns == 0) {
+            m_minColumn = column;
+            m_minRow = row;
+            m_columns = 1;
+            m_rows = 1;
+            m_counts = new int[1];
+            m_positionsDirty = true;
+            return;
+        }
+        if (column >= m_minColumn && column < m_minColumn + m_columns && row >= m_minRow && row < m_minRow + m_rows) { return; }
+
+        int minColumn = Math.min(m_minColumn, column);
+        int minRow = Math.min(m_minRow, row);
+        int columns = Math.max(m_minColumn + m_columns, column + 1) - minColumn;
+        int rows = Math.max(m_minRow + m_rows, row + 1) - minRow;
+
+        int[] counts = new int[columns * rows];
+        for (int r = 0; r < m_rows; r++) {
+            System.arraycopy(m_counts, r * m_columns, counts, (r + m_minRow - minRow) * columns + m_minColumn - minColumn, m_columns);
+        }
+
+        m_minColumn = minColumn;
+        m_minRow = minRow;
+        m_columns = columns;
+        m_rows = rows;
+        m_counts = counts;
+        m_positionsDirty = true;
+    }
+
+    private void update(float multiplier, Vector2f centre) {
+        if (m_tableDirty || m_table.length != (m_columns + 1) * (m_rows + 1)) {
+            int stride = m_columns + 1;
+            if (m_table.length != stride * (m_rows + 1)) { m_table = new int[stride * (m_rows + 1)]; }
+            for (int r = 0; r < m_rows; r++) {
+                int rowSum = 0;
+                for (int c = 0; c < m_columns; c++) {
+                    rowSum += m_counts[r * m_columns + c];
+                    m_table[(r + 1) * stride + c + 1] = m_table[r * stride + c + 1] + rowSum;
+                }
+            }
+            m_tableDirty = false;
+        }
+
+        if (m_positionsDirty || multiplier != m_multiplier || !Vector2f.areEqual(centre, mv_centre)) {
+            if (mv_columnX.length != m_columns) { mv_columnX = new float[m_columns]; }
+            if (mv_rowY.length != m_rows) { mv_rowY = new float[m_rows]; }
+
+            // The same sums as updateGrid(), so a cell is counted exactly when its enemies' gridPos would pass the rectangle test.
+            for (int c = 0; c < m_columns; c++) { mv_columnX[c] = ((m_minColumn + c) * 0.5f * multiplier) + centre.x; }
+            for (int r = 0; r < m_rows; r++) { mv_rowY[r] = ((m_minRow + r) * 0.5f) + centre.y; }
+
+            m_multiplier = multiplier;
+            mv_centre.set(centre);
+            m_positionsDirty = false;
+        }
+    }
+
+    private static int firstAtLeast(float[] positions, int size, float value) //!< The first index whose position is at least value, or size. Positions must be ascending.
+    {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (positions[mid] < value) { low = mid + 1; }
+            else { high = mid; }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,643 @@
+package net.stefancbauer.galactora.Model;
+
+import net.stefancbauer.galactora.Controller.InputRecording;
+import net.stefancbauer.galactora.Controller.InputRingBuffer;
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.LocalMaths.Vector2i;
+import net.stefancbauer.galactora.Model.Background.BackgroundManager;
+import net.stefancbauer.galactora.Model.Engine.CullStats;
+import net.stefancbauer.galactora.Model.Engine.LatencyHistogram;
+import net.stefancbauer.galactora.Model.Engine.QualityTier;
+import net.stefancbauer.galactora.Model.Engine.TimerWheel;
+import net.stefancbauer.galactora.Model.Engine.Viewport;
+import net.stefancbauer.galactora.Model.Engine.Weld;
+import net.stefancbauer.galactora.Model.Level.Level;
+import net.stefancbauer.galactora.Model.Level.LevelPrefetcher;
+import net.stefancbauer.galactora.Model.Render.Compositor;
+import net.stefancbauer.galactora.Model.Render.RenderTarget;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * Handles Game Logic.
+ */
+
+public class Game {
+    public static final String[] LEVEL_FILES = { "Levels/level_01", "Levels/level_02", "Levels/level_03" }; //!< The shipped levels, in order.
+
+    // Phases of update(), for getPhaseNanos().
+    public static final int PHASE_UPDATE = 0; //!< Input, background, level and every object's update.
+    public static final int PHASE_COLLISION = 1;
+    public static final int PHASE_CLEANUP = 2; //!< Deleting welds and removing destroyed objects.
+    public static final int PHASE_COUNT = 3;
+
+    private final Viewport m_viewport; //!< Maps this game's space onto its surface. Made current on whichever thread updates or draws the game.
+    private final Vector2i screenSize; //!< The size of the surface buffer, in PIXELS! F***! WHY THE F*** IS ANDROID SUCH AN INCONSISTENT P**** OF ****?!! USE DP OR PX, BUT PICK ONE AND ONLY ONE!
+    private float m_inputScale = 1.0f; //!< Converts touch positions, in display pixels, into surface buffer pixels. Below 1 when rendering at reduced resolution.
+    public final Random m_rand; //!< The one true holy source of random numbers.
+    public final EnemyTuning m_enemyTuning;
+    private final long m_seed; //!< m_rand's seed. With the input, all that's needed to play the game again exactly.
+    private int m_tick = 0; //!< Calls to update() so far.
+    private final long[] m_phaseNanos = new long[PHASE_COUNT]; //!< Time spent in each phase by the last update().
+    private final TimerWheel m_timers = new TimerWheel(); //!< Cooldowns and lifespans of every object. Advanced once per tick, after every object's update, so only while unpaused.
+
+    public PlayerShip m_player;
+
+    private final InputRingBuffer m_input = new InputRingBuffer(512); //!< Touches queued by the UI thread, to be handled in update(). MAGIC: Room for every historical sample of several fingers over many ticks.
+    private final InputRingBuffer.Touch m_inputTouch = new InputRingBuffer.Touch(); //!< Reused while draining m_input.
+    private final Vector2f m_touchPoint = new Vector2f(); //!< Reused while draining m_input, in GU.
+    private final LatencyHistogram m_inputLatency = new LatencyHistogram("Input to tick");
+    private final Vector2f m_lastMovePosition = new Vector2f(0.0f, 3.0f); //!< The last indicated move m_position, eg. the destination point for the player's ship. In GU.
+    private long m_steerTime = Long.MIN_VALUE; //!< Time of the touch m_lastMovePosition came from.
+    private InputRecording m_recording = null; //!< If set, every touch handled is added to it.
+    private InputRecording m_replay = null; //!< If set, touches come from it rather than the input queue.
+    private int m_replayIndex = 0; //!< Next touch in m_replay.
+
+    // Per-pointer state.
+    private static final int MAX_POINTERS = 10; //!< MAGIC: Pointer IDs at or above this are ignored. Far more fingers than the controls have use for.
+    private final boolean[] m_pointerDown = new boolean[MAX_POINTERS];
+    private final int[] m_buttonOwner; //!< For each of m_buttonArray, the ID of the pointer holding it, or -1. Other fingers can't press or release a held button.
+    private boolean m_hasNewInput = false;
+    private long m_newestInputTime = 0;
+    private final Sprite m_uiPanel;
+    private final Map<String, Button> m_buttons = new HashMap<>(); //!< All on-screen UI m_buttons
+    private final Button[] m_buttonArray; //!< The same buttons as m_buttons, for iterating without allocating.
+    private final Compositor m_uiCompositor; //!< Draws m_uiPanel and m_buttons, possibly from a cached bitmap.
+
+    // Texture references
+    private BackgroundManager m_backgroundManager;
+
+    private final CullStats m_gameplayStats = new CullStats("Gameplay"); //!< Drawn/culled counts for projectiles, ships, armour and shields.
+    private final Vector<CullStats> mv_cullStats = new Vector<CullStats>(); //!< Every layer's drawn/culled counts, back to front.
+
+    public boolean m_paused = false;
+
+    public boolean m_gameOver = false;
+    private boolean m_sceneChanged = true; //!< Whether anything other than the UI may have changed since the last draw.
+
+    private Vector<String> m_levelFiles = new Vector<String>();
+    private int m_levelIndex;
+    private Level m_level;
+    private LevelPrefetcher m_prefetch = null; //!< Preparing the next level, once the current one is ending.
+    private int m_prefetchedLevels = 0; //!< Levels started from a prefetch, rather than loaded when they began.
+
+    public int m_score = 0;
+    public int m_refillCounter = 0;
+    public float m_difficultyMultiplier = 1.0f;
+
+    public Vector<Enemy> m_enemies = new Vector<Enemy>();
+    private final EnemyIndex m_enemyIndex = new EnemyIndex(); //!< m_enemies again, by state.
+    public Vector<Shield> m_shields = new Vector<Shield>();
+    public Vector<Armour> m_armours = new Vector<Armour>();
+    public Vector<Projectile> m_projectiles = new Vector<Projectile>();
+    public Vector<Explosion> m_explosions = new Vector<Explosion>();
+
+    // Grid-behaviour variables.
+    private boolean m_finishedManouevre = true;
+    private boolean m_movingLeft = false;
+    private boolean m_gettingLarger = false;
+    public float m_gridOffset = 0.0f;
+    public float m_spacingMult = 0.0f;
+    public float m_gridYMin = 0.0f; // Goes well into the negatives.
+
+
+    public Game(Vector2i screenSize) { this(screenSize, System.nanoTime()); }
+
+    public Game(Vector2i screenSize, long seed) { this(screenSize, seed, EnemyTuning.DEFAULT); }
+
+    public Game(Vector2i screenSize, long seed, EnemyTuning enemyTuning) { this(screenSize, seed, enemyTuning, LEVEL_FILES); }
+
+    public Game(Vector2i screenSize, long seed, EnemyTuning enemyTuning, String[] levelFiles) //!< Needs a Platform to be installed. Screen size is that of the surface buffer, in pixels. Levels are asset paths, played in order. Games with the same seed, size, tuning, levels and input play out identically.
+    {
+        this.screenSize = new Vector2i(screenSize);
+        m_viewport = new Viewport(screenSize.x, screenSize.y);
+        m_viewport.makeCurrent(); // Before anything with a sprite is made.
+        this.m_seed = seed;
+        this.m_rand = new Random(seed);
+        this.m_enemyTuning = enemyTuning;
+
+        m_player = new PlayerShip(this, new Vector2f(0.0f, -5.0f));
+
+        m_backgroundManager = new BackgroundManager(seed);
+        m_backgroundManager.collectCullStats(mv_cullStats);
+        mv_cullStats.insertElementAt(m_gameplayStats, mv_cullStats.size() - 1); // Gameplay sits between the background and the foreground.
+
+        // Make UI
+        //public Button(String textureName, Rect2i baseTextureRect, int frameCount, Vector2f bottomLeft, Vector2f topRight, Object object, ButtonBehaviour behaviour)
+        m_uiPanel = new Sprite("game_ui_control_panel", new Rect2i(0, 1536, 1280, 1856), 1, new Vector2f(20.0f, 5.0f), new Vector2f(10.0f, 2.5f), new Vector2f(0.0f, -2.5f));
+        m_buttons.put("bombbutton", new Button("game_ui_control_panel", new Rect2i(0, 0, 304, 256), 6, new Vector2f(-6.75f, -4.75f), new Vector2f(-2.0f, -0.75f), null, ButtonBehaviour.ONRELEASE));
+        m_buttons.put("autobutton", new Button("game_ui_control_panel", new Rect2i(304, 816, 560, 960), 5, new Vector2f(-2.0f, -2.5f), new Vector2f(2.0f, -0.25f), null, ButtonBehaviour.TOGGLE));
+        m_buttons.put("pausebutton", new Button("game_ui_control_panel", new Rect2i(864, 656, 1120, 832), 5, new Vector2f(-2.0f, -5.25f), new Vector2f(2.0f, -2.5f), null, ButtonBehaviour.TOGGLE));
+        m_buttons.put("shieldbutton", new Button("game_ui_control_panel", new Rect2i(560, 0, 864, 256), 6, new Vector2f(2.0f, -4.75f), new Vector2f(6.75f, -0.75f), null, ButtonBehaviour.ONRELEASE));
+        m_buttonArray = m_buttons.values().toArray(new Button[m_buttons.size()]);
+        m_buttonOwner = new int[m_buttonArray.length];
+        Arrays.fill(m_buttonOwner, -1);
+        m_uiCompositor = Platform.getInstance().createUICompositor(m_uiPanel, m_buttons.values());
+
+        for (String levelFile : levelFiles) { m_levelFiles.addElement(levelFile); }
+        loadLevel(0);
+    }
+
+    public void update (long timeDiff) {
+        long phaseStart = System.nanoTime();
+        int phase = PHASE_UPDATE; // Collisions are skipped while paused.
+        m_phaseNanos[PHASE_COLLISION] = 0;
+        m_viewport.makeCurrent(); // This thread may have been working on another game.
+
+        // Update Buttons.
+        for (Button button: m_buttons.values()) { button.update(); }
+        handleEventStack();
+
+        // Handle Button Input
+        if (m_buttons.get("shieldbutton").poll()) { m_player.triggerShield(m_shields); }
+        if (m_buttons.get("bombbutton").poll() && m_player.canFireBomb()) {
+            m_player.m_bombCharges--;
+            m_player.startBombCooldown();
+            m_projectiles.addElement(Projectile.getRedBomb(m_player.getPosition(), m_player.getRotation(), m_buttons.get("bombbutton").getPressedLength()));
+            m_projectiles.lastElement().bmLink = m_backgroundManager;
+            m_projectiles.lastElement().startLifespan(m_timers);
+        }
+        if (m_buttons.get("autobutton").poll() && m_player.canFireBolt()) {
+            m_player.startBoltCooldown();
+            m_projectiles.addElement(Projectile.getRedBolt(m_player.getPosition(), m_player.getRotation()));
+            m_projectiles.lastElement().bmLink = m_backgroundManager;
+            m_projectiles.lastElement().startLifespan(m_timers);
+        }
+        m_paused = m_buttons.get("pausebutton").poll();
+        //for (Button button: m_buttons.values()) { boolean temp = button.poll(); } // Remove this line once all buttons are being used correctly!
+
+        if (!m_paused) {
+            m_sceneChanged = true;
+
+            // Update background
+            m_backgroundManager.update();
+
+            // Check for level progression, preparing the next level while this one plays out.
+            if (m_prefetch == null && !m_gameOver && m_level.isEnding() && m_levelIndex + 1 < m_levelFiles.size()) {
+                m_prefetch = new LevelPrefetcher(m_levelFiles.get(m_levelIndex + 1));
+            }
+            if (m_level.m_levelComplete) {
+                loadLevel(m_levelIndex + 1);
+            }
+
+            // Game object updates
+            if (!m_gameOver) {
+
+                updateGrid();
+                m_level.update();
+                m_player.update(m_lastMovePosition);
+
+                for (Enemy enemy : m_enemies) {
+                    enemy.update();
+                }
+
+                //for (Armour armour: m_armours) { armour.update(); } // No point at present.
+                for (Shield shield : m_shields) {
+                    shield.update();
+                }
+                for (Projectile projectile : m_projectiles) {
+                    projectile.update();
+                    if (projectile.isReadyToDetonate()) {
+                        projectile.explode(m_explosions);
+                    }
+                }
+                m_timers.advance(); // Wakes whatever's due next tick.
+
+                // Collisions
+                long collisionStart = System.nanoTime();
+                m_phaseNanos[PHASE_UPDATE] = collisionStart - phaseStart;
+                phaseStart = collisionStart;
+                phase = PHASE_COLLISION;
+
+                Vector2f collisionNormalHolder = new Vector2f();
+                Vector2f oldVelocityHolder = new Vector2f();
+                Vector2f newVelocityHolder;
+
+                // Projectile Shield Reflections
+                for (Shield shield : m_shields) {
+                    for (Projectile projectile : m_projectiles) {
+                        if (projectile.m_ownedByPlayer != shield.m_ownedByPlayer &&
+                                !projectile.m_reflected &&
+                                !projectile.m_detonated &&
+                                projectile.checkCollision(shield, collisionNormalHolder)) {
+                            oldVelocityHolder.set(projectile.m_velocity);
+                            collisionNormalHolder.multiply(((collisionNormalHolder.x * oldVelocityHolder.x) + (collisionNormalHolder.y * oldVelocityHolder.y)) * -2.0f);
+                            newVelocityHolder = Vector2f.add(oldVelocityHolder, collisionNormalHolder);
+                            projectile.m_velocity.set(newVelocityHolder);
+                            projectile.m_reflected = true;
+                            projectile.m_ownedByPlayer = !projectile.m_ownedByPlayer;
+                        }
+                    }
+                }
+                // Projectile vs Armour
+                for (Armour armour : m_armours) {
+                    for (Projectile projectile : m_projectiles) {
+                        if (projectile.m_ownedByPlayer != armour.m_ownedByPlayer &&
+                                !projectile.m_reflected &&
+                                !projectile.m_detonated &&
+                                !armour.isToBeDestroyed() &&
+                                projectile.checkCollision(armour, collisionNormalHolder)) {
+                            if (projectile.getExplosionRadius() > 0.0f) {
+                                projectile.explode(m_explosions);
+                            } else {
+                                armour.addHP(-projectile.getDamage());
+                                projectile.explode(m_explosions);
+                            }
+                        }
+                    }
+                }
+                // Projectile vs Enemies
+                for (Enemy enemy : m_enemies) {
+                    for (Projectile projectile : m_projectiles) {
+                        if (projectile.m_ownedByPlayer &&
+                                !projectile.m_reflected &&
+                                !projectile.m_detonated &&
+                                !enemy.isToBeDestroyed() &&
+                                projectile.checkCollision(enemy, collisionNormalHolder)) {
+                            if (projectile.getExplosionRadius() > 0.0f) {
+                                projectile.explode(m_explosions);
+                            } else {
+                                enemy.addHP(-projectile.getDamage());
+                                projectile.explode(m_explosions);
+                            }
+                        }
+                    }
+                }
+                // Projectile vs Player
+                for (Projectile projectile : m_projectiles) {
+                    if (!projectile.m_ownedByPlayer &&
+                            !projectile.m_reflected &&
+                            !projectile.m_detonated &&
+                            !m_player.isToBeDestroyed() &&
+                            projectile.checkCollision(m_player, collisionNormalHolder)) {
+                        if (projectile.getExplosionRadius() > 0.0f) {
+                            projectile.explode(m_explosions);
+                        } else {
+                            m_player.takeDamage(m_shields);
+                            projectile.explode(m_explosions);
+                        }
+                    }
+                }
+                // Explosions vs Enemies & Armour & Player
+                for (Explosion explosion : m_explosions) {
+                    for (Enemy enemy : m_enemies) {
+                        if (!enemy.isToBeDestroyed() && enemy.checkCollision(explosion, collisionNormalHolder)) {
+                            enemy.addHP(-explosion.m_damage);
+                        }
+                    }
+                    for (Armour armour : m_armours) {
+                        if (!armour.isToBeDestroyed() && armour.checkCollision(explosion, collisionNormalHolder)) {
+                            armour.addHP(-explosion.m_damage);
+                        }
+                    }
+                    if (!m_player.isToBeDestroyed() && m_player.checkCollision(explosion, collisionNormalHolder)) {
+                        m_player.takeDamage(m_shields);
+                    }
+                }
+            }
+        }
+
+
+        // End update with cleanup of items marked for deletion.
+        long cleanupStart = System.nanoTime();
+        m_phaseNanos[phase] = cleanupStart - phaseStart;
+        Weld.deleteWelds(m_player); // Should go first.
+        Weld.deleteWelds(m_enemies);
+        Weld.deleteWelds(m_shields);
+        Weld.deleteWelds(m_armours);
+        for (int i = m_enemies.size() - 1; i >= 0; i--) {
+            if (m_enemies.get(i).isToBeDestroyed()) {
+                m_enemyIndex.remove(m_enemies.get(i));
+                m_enemies.remove(i);
+            }
+        }
+        for (int i = m_shields.size() - 1; i >= 0; i--) { if (m_shields.get(i).isToBeDestroyed()) { m_shields.remove(i); } }
+        for (int i = m_armours.size() - 1; i >= 0; i--) { if (m_armours.get(i).isToBeDestroyed()) { m_armours.remove(i); } }
+        for (int i = m_projectiles.size() - 1; i >= 0; i--) { if (m_projectiles.get(i).isToBeDestroyed()) { m_projectiles.remove(i); } }
+        m_explosions.clear();
+        // TODO: Delete Collisionables?
+        m_phaseNanos[PHASE_CLEANUP] = System.nanoTime() - cleanupStart;
+
+        m_tick++;
+        if (m_recording != null) { m_recording.setResult(m_tick, m_score); }
+    }
+
+    public void draw (RenderTarget target) //!< Draws everything, back to front, into any RenderTarget.
+    {
+        m_viewport.makeCurrent();
+
+        // Background
+        m_backgroundManager.drawBackground(target);
+
+        // Gameplay
+        m_gameplayStats.reset();
+        for (Projectile projectile : m_projectiles) { projectile.draw(target, m_gameplayStats); }
+        target.endLayer("Projectiles");
+        m_player.draw(target, m_gameplayStats);
+        target.endLayer("Player");
+        for (Enemy enemy : m_enemies) { enemy.draw(target, m_gameplayStats); }
+        target.endLayer("Enemies");
+        for (Armour armour: m_armours) { armour.draw(target, m_gameplayStats); }
+        target.endLayer("Armour");
+        for (Shield shield: m_shields) { shield.draw(target, m_gameplayStats); }
+        target.endLayer("Shields");
+
+        // Foreground
+        m_backgroundManager.drawForeground(target);
+
+        // UI
+        m_uiCompositor.draw(target);
+        target.endLayer("UI");
+
+        m_sceneChanged = false;
+    }
+
+    public boolean hasUndrawnChanges() //!< Whether the next draw could look any different from the last, eg. because the game is running, input is waiting or a button is animating.
+    {
+        if (m_sceneChanged || !m_input.isEmpty()) { return true; }
+        for (Button button : m_buttonArray) {
+            if (button.isDirty()) { return true; }
+        }
+        return false;
+    }
+
+    public int getCacheDrawCalls() //!< Draw calls made into offscreen caches by the last draw(). Calls into the target itself are counted by the target.
+    { return m_backgroundManager.getCacheDrawCalls() + m_uiCompositor.getCacheDrawCalls(); }
+
+    public void setBackgroundCompositing(boolean enabled) { m_backgroundManager.setCompositing(enabled); } //!< Toggles drawing the slow background layers from cached bitmaps.
+    public boolean isBackgroundCompositing() { return m_backgroundManager.isCompositing(); }
+
+    public void setQualityTier(QualityTier tier) { m_backgroundManager.setQualityTier(tier); } //!< Scales back cosmetic effects. The background draws from its own random numbers, so gameplay is unaffected.
+    public QualityTier getQualityTier() { return m_backgroundManager.getQualityTier(); }
+
+    public int getLevelIndex() { return m_levelIndex; }
+    public int getPrefetchedLevels() { return m_prefetchedLevels; } //!< How many levels were prepared in the background, during the previous level's outro.
+    public Button getButton(String name) { return m_buttons.get(name); } //!< "bombbutton", "autobutton", "pausebutton" or "shieldbutton". Null for any other name.
+    public Viewport getViewport() { return m_viewport; }
+    public long getSeed() { return m_seed; }
+    public int getTick() { return m_tick; } //!< Calls to update() so far.
+    public TimerWheel getTimers() { return m_timers; }
+    public float getGridMultiplier() { return 1.0f + m_spacingMult; } //!< How far the grid is spread. Enemies in it sit at their unmodifiedGridPos.x times this, about getGridCentre().
+    public Vector2f getGridCentre() { return new Vector2f(m_gridOffset, 16.0f); }
+    public EnemyIndex getEnemyIndex() { return m_enemyIndex; } //!< Add enemies to it as they're added to m_enemies. Game removes them.
+    public long getPhaseNanos(int phase) { return m_phaseNanos[phase]; } //!< Time the last update() spent in a PHASE_*.
+    public int getObjectCount() { return 1 + m_enemies.size() + m_shields.size() + m_armours.size() + m_projectiles.size() + m_explosions.size(); } //!< Every gameplay object, the player included.
+
+    public Vector<CullStats> getCullStats() { return mv_cullStats; } //!< Drawn/culled counts of every layer from the last draw(), back to front. The UI is never culled, so isn't included.
+
+    private void loadLevel(int inp_newLevelIndex) {
+        LevelPrefetcher prefetch = m_prefetch;
+        m_prefetch = null;
+
+        // Full Reset
+        if (!m_gameOver) {
+            for (int i = 0; i < m_enemies.size(); i++) {
+                m_enemies.get(i).delete();
+            }
+            for (int i = 0; i < m_projectiles.size(); i++) {
+                m_projectiles.get(i).delete();
+            }
+
+            if (inp_newLevelIndex != 0) {
+                if (!m_level.m_hasAnEnemyEscaped) {
+                    addScore(1000);
+                }
+            }
+
+            if (inp_newLevelIndex < m_levelFiles.size()) {
+                m_levelIndex = inp_newLevelIndex;
+                String path = m_levelFiles.get(m_levelIndex);
+                LevelPrefetcher.PreparedLevel prepared = (prefetch != null && prefetch.getPath().equals(path)) ? prefetch.take() : null;
+                if (prepared != null) {
+                    m_backgroundManager.setPreparedText(prepared.m_text);
+                    m_level = new Level(prepared.m_file, path, this, m_backgroundManager);
+                    m_prefetchedLevels++;
+                } else {
+                    m_level = new Level(path, this, m_backgroundManager);
+                }
+
+                m_difficultyMultiplier = 1.0f + (0.1f * (m_level.m_difficultyRating - 1.0f));
+            } else {
+                // End of game.
+                m_buttons.get("shieldbutton").setActive(false);
+                m_buttons.get("bombbutton").setActive(false);
+                m_gameOver = true;
+                m_backgroundManager.addLevelEffect("victory", Integer.toString(m_score));
+            }
+        }
+    }
+
+    private void updateGrid() {
+        float deltaMult = 0.005f;
+        float deltaOffset = 0.025f;
+
+        // Grid behaviour
+        if (m_finishedManouevre) {
+            // Pick a new behaviour.
+            int choice = m_rand.nextInt(3);
+            if (choice == 0) {
+                // Spread out
+                m_gettingLarger = true;
+                m_spacingMult += deltaMult;
+            }
+            else if (choice == 1) {
+                // Go right
+                m_gridOffset += deltaOffset;
+                m_movingLeft = false;
+            }
+            else if (choice == 2) {
+                // Go left
+                m_gridOffset -= deltaOffset;
+                m_movingLeft = true;
+            }
+
+            m_finishedManouevre = false;
+        }
+        else if (m_spacingMult != 0.0f) {
+            // Spreading out/in.
+            if (m_gettingLarger) {
+                m_spacingMult += deltaMult;
+                if (m_spacingMult >= 0.4f) {
+                    m_spacingMult = 0.4f;
+                    m_gettingLarger = false;
+                }
+            } else {
+                m_spacingMult -= deltaMult;
+                if (m_spacingMult <= 0.0f) {
+                    m_spacingMult = 0.0f;
+                    m_finishedManouevre = true;
+                }
+            }
+        }
+        else if (m_gridOffset > 0.0f) {
+            // Moving right and back.
+            if (!m_movingLeft) {
+                m_gridOffset += deltaOffset;
+                if (m_gridOffset >= 2.0f) {
+                    m_gridOffset = 2.0f;
+                    m_movingLeft = true;
+                }
+            } else {
+                m_gridOffset -= deltaOffset;
+                if (m_gridOffset <= 0.0f) {
+                    m_gridOffset = 0.0f;
+                    m_finishedManouevre = true;
+                }
+            }
+        }
+        else if (m_gridOffset < 0.0f) {
+            // Moving left and back.
+            if (m_movingLeft) {
+                m_gridOffset -= deltaOffset;
+                if (m_gridOffset <= -2.0f) {
+                    m_gridOffset = -2.0f;
+                    m_movingLeft = false;
+                }
+            } else {
+                m_gridOffset += deltaOffset;
+                if (m_gridOffset >= 0.0f) {
+                    m_gridOffset = 0.0f;
+                    m_finishedManouevre = true;
+                }
+            }
+        }
+
+        // Updating enemies. Only those in the grid use their grid position, so only theirs need moving.
+        m_gridYMin = m_enemyIndex.getMinGridY();
+        Vector2f gridCentre = getGridCentre();
+        float multiplier = getGridMultiplier();
+        for (int i = 0; i < m_enemyIndex.size(EnemyState.IN_GRID); i++) {
+            Enemy enemy = m_enemyIndex.get(EnemyState.IN_GRID, i);
+            Vector2f unmod = enemy.unmodifiedGridPos;
+            enemy.gridPos.set((unmod.x * multiplier) + gridCentre.x, unmod.y  + gridCentre.y);
+        }
+    }
+
+    public void addScore(int addition) {
+        m_score += addition;
+        m_refillCounter += addition;
+
+        if (addition > 0) { m_backgroundManager.addLevelEffect("add_score", Integer.toString(addition)); }
+        else if (addition < 0) { m_backgroundManager.addLevelEffect("subtract_score", Integer.toString(Math.abs(addition))); }
+
+        m_refillCounter = Math.max(m_refillCounter, 0);
+
+        if (m_refillCounter > 500) {
+            m_player.m_bombCharges = Math.min(m_player.m_bombCharges + 1, m_player.m_bombChargesMax);
+            m_player.m_shieldCharges = Math.min(m_player.m_shieldCharges + 1, m_player.m_shieldChargesMax);
+            m_refillCounter = m_refillCounter % 500;
+            m_backgroundManager.addLevelEffect("add_charges", "");
+        }
+    }
+
+    public void setInputScale(float inputScale) { m_inputScale = inputScale; }
+
+    public boolean addEvent(float x, float y, int action, int pointer, long timeNanos) //!< Queues a touch, from the UI thread. Position is in display pixels, action is an InputRingBuffer action, and time is on the System.nanoTime() clock. Returns false if the queue was full.
+    { return m_input.offer(x * m_inputScale, y * m_inputScale, action, pointer, timeNanos); }
+
+    public InputRecording startRecording() //!< Records every touch from here on. Must be called before the first update(), so that a replay starts from the same state.
+    {
+        if (m_tick != 0) { throw new IllegalStateException("Recording must start before the first update."); }
+        m_recording = new InputRecording(m_seed, screenSize.x, screenSize.y);
+        return m_recording;
+    }
+
+    public InputRecording getRecording() { return m_recording; } //!< Null if not recording.
+
+    public void replay(InputRecording recording) //!< Takes touches from the recording, rather than the input queue, from the next update() on. Must be called before the first update(), on a Game made with the recording's seed and screen size.
+    {
+        if (m_tick != 0) { throw new IllegalStateException("Replay must start before the first update."); }
+        if (recording.getSeed() != m_seed || recording.getScreenWidth() != screenSize.x || recording.getScreenHeight() != screenSize.y) {
+            throw new IllegalArgumentException("Recording was made with a different seed or screen size.");
+        }
+        m_replay = recording;
+        m_replayIndex = 0;
+    }
+
+    public boolean isReplayFinished() { return m_replay != null && m_replayIndex >= m_replay.size(); } //!< Whether every recorded touch has been handled.
+
+    public void handleEventStack() //!< Drains the input queue, pressing and releasing buttons and updating the move position. Doesn't allocate.
+    {
+        if (m_replay != null) {
+            while (m_input.poll(m_inputTouch)) {} // Live input would make the replay diverge.
+            while (m_replayIndex < m_replay.size() && m_replay.getTick(m_replayIndex) <= m_tick) {
+                m_replay.get(m_replayIndex++, m_inputTouch);
+                handleTouch(m_inputTouch);
+            }
+        } else {
+            long now = System.nanoTime();
+            while (m_input.poll(m_inputTouch)) {
+                m_inputLatency.record(now - m_inputTouch.m_timeNanos);
+                if (!m_hasNewInput || m_inputTouch.m_timeNanos > m_newestInputTime) { m_newestInputTime = m_inputTouch.m_timeNanos; }
+                m_hasNewInput = true;
+
+                if (m_recording != null) { m_recording.add(m_tick, m_inputTouch); }
+                handleTouch(m_inputTouch);
+            }
+        }
+
+        if (m_lastMovePosition.y < 1.0f) { m_lastMovePosition.y = 1.0f; }
+    }
+
+    private void handleTouch(InputRingBuffer.Touch touch) //!< Applies one touch to the buttons and move position.
+    {
+        int pointer = touch.m_pointer;
+        if (pointer < 0 || pointer >= MAX_POINTERS) { return; }
+
+        // Clamp to the buffer, truncate to whole pixels and convert to GU.
+        int screenX = (int)Math.min(Math.max(touch.m_x, 0.0f), (float)screenSize.x);
+        int screenY = (int)Math.min(Math.max(touch.m_y, 0.0f), (float)screenSize.y);
+        m_touchPoint.set((screenX * m_viewport.m_DPtoGU) + m_viewport.mv_viewOrigin.x, (screenY * -m_viewport.m_DPtoGU) + m_viewport.mv_viewOrigin.y);
+
+        if (touch.m_action == InputRingBuffer.UP) {
+            // Only the buttons this pointer is holding are released.
+            for (int i = 0; i < m_buttonArray.length; i++) {
+                if (m_buttonOwner[i] == pointer) {
+                    m_buttonArray[i].release(m_touchPoint);
+                    m_buttonOwner[i] = -1;
+                }
+            }
+            m_pointerDown[pointer] = false;
+            return;
+        }
+
+        m_pointerDown[pointer] = true;
+        boolean onButton = false;
+        for (int i = 0; i < m_buttonArray.length; i++) {
+            Button button = m_buttonArray[i];
+            if (m_buttonOwner[i] != -1 && m_buttonOwner[i] != pointer) {
+                // Held by another finger, so this one can't press it, but mustn't steer from it either.
+                if (button.checkBounds(m_touchPoint)) { onButton = true; }
+                continue;
+            }
+
+            if (button.press(m_touchPoint)) { onButton = true; }
+            if (button.isPressed()) { m_buttonOwner[i] = pointer; }
+            else if (m_buttonOwner[i] == pointer) { m_buttonOwner[i] = -1; } // Dragged off the button.
+        }
+
+        // Any finger not on a button steers, and the most recent sample from any of them wins.
+        if (!onButton && touch.m_timeNanos >= m_steerTime) {
+            m_lastMovePosition.set(m_touchPoint.x, m_touchPoint.y + 1.0f);
+            m_steerTime = touch.m_timeNanos;
+        }
+    }
+
+    public boolean isPointerDown(int pointer) { return pointer >= 0 && pointer < MAX_POINTERS && m_pointerDown[pointer]; }
+
+    public boolean hasNewInput() { return m_hasNewInput; } //!< Whether any input has been handled since the last takeNewestInputTime().
+    public long takeNewestInputTime() //!< The time of the newest touch handled since this was last called, on the System.nanoTime() clock, eg. for measuring touch-to-photon latency.
+    {
+        m_hasNewInput = false;
+        return m_newestInputTime;
+    }
+
+    public LatencyHistogram getInputLatency() { return m_inputLatency; } //!< Time from each touch happening to the tick that handled it.
+    public int getDroppedInput() { return m_input.getDropped(); }
+}
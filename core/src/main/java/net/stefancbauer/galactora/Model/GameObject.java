@@ -1,13 +1,12 @@
 package net.stefancbauer.galactora.Model;
 
-import android.graphics.Canvas;
-import android.graphics.Matrix;
-import android.graphics.Paint;
-import android.util.Pair;
-
+import net.stefancbauer.galactora.LocalMaths.Matrix2f;
+import net.stefancbauer.galactora.LocalMaths.Pair;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
 import net.stefancbauer.galactora.Model.Background.BackgroundManager;
 import net.stefancbauer.galactora.Model.Engine.Collisionable;
+import net.stefancbauer.galactora.Model.Engine.CullStats;
+import net.stefancbauer.galactora.Model.Render.RenderTarget;
 import net.stefancbauer.galactora.Model.Engine.Weld;
 
 import java.util.Vector;
@@ -27,8 +26,8 @@ public abstract class GameObject {
     public BackgroundManager bmLink = null; //!< A pointer to the BackgroundManager that should be used for effects. Also a gross violation of scope.
 
     public Sprite m_sprite = null; //!< The sprite tied to this GameObject.
-    protected final Vector<Pair<Collisionable, Matrix>> m_collisionables = new Vector<Pair<Collisionable, Matrix>>(); //!< All collision-boxes for this object. Matrix is to define the relative transform of the Collisionable relative to the local origin. (Remember, rotate then translate!)
-    private boolean m_isWelded = false; //!< Used to check whether or not this object is welded to any others.
+    protected final Vector<Pair<Collisionable, Matrix2f>> m_collisionables = new Vector<Pair<Collisionable, Matrix2f>>(); //!< All collision-boxes for this object. Matrix2f is to define the relative transform of the Collisionable relative to the local origin. (Remember, rotate then translate!)
+    private final Vector<Weld> m_welds = new Vector<Weld>(); //!< Every weld this object is part of, including those marked for deletion but not yet cleaned up.
     public boolean m_chainsDeletion = true; //!< Whether or not, when deleted, will delete all objects welded to it.
 
     // Constructors. Thank heavens Java doesn't implement anything as useful or friendly as default arguments.
@@ -47,7 +46,11 @@ public abstract class GameObject {
     }
 
     public abstract void update();
-    public abstract void draw(Canvas c, Paint p);
+
+    public void draw(RenderTarget target, CullStats stats) //!< Draws the object into a RenderTarget if its sprite is on-screen, recording the result. Every GameObject so far is drawn entirely by its sprite, so subclasses needn't override this unless that changes.
+    {
+        if (m_sprite != null) { m_sprite.draw(target, stats); }
+    }
 
     public void updateState(Vector2f inp_position, float inp_rotation, Vector<GameObject> alreadyTriggered) //!< This is the correct way to handle updates of state. Chains to attached Collisionables and welds. alreadyTriggered stops mutual weld targets from cycling.
     {
@@ -61,9 +64,9 @@ public abstract class GameObject {
             m_sprite.setRotation(m_rotation);
         }
 
-        for (Pair<Collisionable, Matrix> collisionable: m_collisionables) {
+        for (Pair<Collisionable, Matrix2f> collisionable: m_collisionables) {
             float[] state = new float[]{0.0f, 0.0f, 1.0f, 0.0f}; // Build an upwards-pointing normal vector to apply a matrix to.
-            Matrix matrix = new Matrix(collisionable.second);
+            Matrix2f matrix = new Matrix2f(collisionable.second);
             matrix.postRotate(m_rotation);
             matrix.postTranslate(m_position.x, m_position.y);
             matrix.mapPoints(state);
@@ -72,18 +75,18 @@ public abstract class GameObject {
             collisionable.first.m_rotation = (float)Math.toDegrees(Math.atan2((state[3] - state[1]), (state[2] - state[0])));
         }
 
-        if (m_isWelded) {
+        if (!m_welds.isEmpty()) {
             Weld.chainUpdate(this, alreadyTriggered, m_position, m_rotation);
         }
     }
 
     public void addCollisionable(Collisionable inp_obj, Vector2f relativePosition, float relativeRotation) //!< Handles the setting up of m_collisionables entries.
     {
-        Matrix matrix = new Matrix();
+        Matrix2f matrix = new Matrix2f();
         matrix.setRotate(relativeRotation);
         matrix.postTranslate(relativePosition.x, relativePosition.y);
 
-        m_collisionables.addElement(new Pair<Collisionable, Matrix>(inp_obj, matrix));
+        m_collisionables.addElement(new Pair<Collisionable, Matrix2f>(inp_obj, matrix));
     }
 
     public boolean checkCollision(GameObject other, Vector2f r_collisionNormal) //!< Cycles through all Collisionables in two GameObjects, checking all pairs for collision.
@@ -119,8 +122,8 @@ public abstract class GameObject {
     public float getRotation() { return m_rotation; }
     public void setRotation(float rotation) { updateState(m_position, rotation, new Vector<GameObject>()); }
 
-    public boolean isWelded() { return m_isWelded; }
-    public void setIsWelded(boolean isWelded) { m_isWelded = isWelded; }
+    public boolean isWelded() { return !m_welds.isEmpty(); }
+    public Vector<Weld> getWelds() { return m_welds; } //!< For Weld's use.
 
     public static float sanitiseAngle(float inp_angle) { return sanitiseAngle(inp_angle, false); }
     public static float sanitiseAngle(float inp_angle, boolean to360) //!< Cleans up a rotation, in degrees, to either -180 to 180 (default), or 0 to 360.
@@ -0,0 +1,363 @@
+package net.stefancbauer.galactora.Model.Level;
+
+import net.stefancbauer.galactora.LocalMaths.Rect2f;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Armour;
+import net.stefancbauer.galactora.Model.Background.BackgroundManager;
+import net.stefancbauer.galactora.Model.Enemy;
+import net.stefancbauer.galactora.Model.EnemyIndex;
+import net.stefancbauer.galactora.Model.EnemyState;
+import net.stefancbauer.galactora.Model.EnemyType;
+import net.stefancbauer.galactora.Model.FormationIndex;
+import net.stefancbauer.galactora.Model.Game;
+import net.stefancbauer.galactora.Model.Pathing.Path;
+import net.stefancbauer.galactora.Model.Pathing.PathFactory;
+import net.stefancbauer.galactora.Model.Pathing.PathGroup;
+import net.stefancbauer.galactora.Model.Projectile;
+import net.stefancbauer.galactora.Model.Shield;
+
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.Vector;
+
+/**
+ * Handles the sequencing and choreography of a level.
+ */
+
+public class Level {
+    // All my sins have caught up to me. Turns out, abusing scope causes issues. It also turns out that Factory objects are better that static factory methods.
+    private final Game p_game;
+    private final Random p_rand;
+    private final BackgroundManager p_bm;
+    private final Vector<Enemy> p_enemies;
+    private final Vector<Projectile> p_projectiles;
+    private final Vector<Shield> p_shields;
+    private final Vector<Armour> p_armours;
+
+    public boolean m_levelComplete = false;
+
+
+    public String m_fileName; //!< Asset path of the level, eg. "Levels/level_01".
+
+    public int m_difficultyRating;
+
+    private int m_tick = -1; //!< The current tick, counted from the level's first update().
+
+    public Vector<assetTrigger> m_onStart = new Vector<assetTrigger>(); //!< Effects to be called on level start.
+    private final Timeline m_onStartTimeline = new Timeline(); //!< Indices into m_onStart.
+    private boolean m_finishedOnStart = false;
+
+    public Vector<assetTrigger> m_onEnd = new Vector<assetTrigger>(); //!< Effects to be called on level end.
+    private final Timeline m_onEndTimeline = new Timeline(); //!< Indices into m_onEnd.
+    private boolean m_finishedOnEnd = false;
+
+    public Vector<PathGroup> m_groups = new Vector<PathGroup>();
+    public Vector<Wave> m_waves  = new Vector<Wave>();
+    private final Timeline m_wavesTimeline = new Timeline(); //!< Indices into m_waves.
+
+    public boolean m_finishedStart = false;
+
+    public int m_midCount; //!< How many flybys to trigger.
+    public int m_midDelay; //!< Ticks before the first flyby, between each one, and after the last.
+    private final Timeline m_midTimeline = new Timeline(); //!< Numbers each flyby.
+    public Vector<FlybyTemplate> m_midOptions = new Vector<FlybyTemplate>();
+    public float m_totalMidWeight = 0.0f;
+    public boolean m_finishedMid = false;
+
+    public PathFactory.exitType m_exitType; //!< What path type to give escaping enemies.
+    public int m_exitDelay; //!< How long to wait after the last entrance or flyby behaviour before enemies start exiting.
+    private final Timeline m_exitTimeline = new Timeline(); //!< When to next send a group of enemies out.
+    public int m_exitStep; //!< How long between triggering new groups of exiting enemies.
+    public int m_exitGroupSize; //!< How many enemies should exit in each group.
+    public boolean m_hasAnEnemyEscaped = false; //!< Whether or not an enemy has escaped; If one has then it's not a perfect level.
+    public boolean m_finishedEnd = false;
+
+    public Level(String inp_filename, Game dest_game, BackgroundManager dest_bm) {
+        this(dest_game, dest_bm, inp_filename);
+
+        // Load the compiled level, or parse its xml.
+        try {
+            apply(LevelFile.load(inp_filename));
+        } catch (XmlPullParserException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public Level(LevelFile file, String inp_filename, Game dest_game, BackgroundManager dest_bm) //!< From a file that's already loaded, eg. by a LevelPrefetcher.
+    {
+        this(dest_game, dest_bm, inp_filename);
+        apply(file);
+    }
+
+    private Level(Game dest_game, BackgroundManager dest_bm, String inp_filename) {
+        p_game = dest_game;
+        p_rand = p_game.m_rand;
+        p_bm = dest_bm;
+        p_enemies = p_game.m_enemies;
+        p_projectiles = p_game.m_projectiles;
+        p_shields = p_game.m_shields;
+        p_armours = p_game.m_armours;
+
+        m_fileName = inp_filename;
+    }
+
+    public boolean isEnding() { return m_finishedMid; } //!< Whether the level has moved on to its exit phase and onEnd effects, so nothing more will enter.
+
+    public void update() {
+        m_tick++;
+
+        // Do onStart stuff.
+        if (!m_finishedOnStart) {
+            if (!m_onStartTimeline.isStarted()) { m_onStartTimeline.start(m_tick); }
+            for (int i = m_onStartTimeline.poll(m_tick); i >= 0; i = m_onStartTimeline.poll(m_tick)) { parseCommand(m_onStart.get(i).command); }
+
+            if (m_onStartTimeline.isFinished(m_tick)) { m_finishedOnStart = true; }
+        }
+        else if (!m_finishedStart) {
+            // If there are waves to spawn, do that.
+            if (!m_wavesTimeline.isStarted()) { m_wavesTimeline.start(m_tick); }
+            for (int i = m_wavesTimeline.poll(m_tick); i >= 0; i = m_wavesTimeline.poll(m_tick)) { spawnWave(m_waves.get(i)); }
+
+            if (m_wavesTimeline.isFinished(m_tick)) { m_finishedStart = true; }
+        }
+        else if (!m_finishedMid) {
+            if (!m_midTimeline.isStarted()) { m_midTimeline.start(m_tick); }
+            for (int flyby = m_midTimeline.poll(m_tick); flyby >= 0; flyby = m_midTimeline.poll(m_tick)) {
+                // Try to trigger a flyby.
+                boolean[] possible = findPossibleFlybys();
+                boolean done = false;
+                for (int i = 0; i < 10 && !done; i++) {
+                    // Get a template
+                    float chooser = p_rand.nextFloat() * m_totalMidWeight;
+                    int choice = 0;
+                    float weightSoFar = 0.0f;
+                    boolean foundChoice = false;
+                    for (int j = 0; j < m_midOptions.size() && !foundChoice; j++) {
+                        weightSoFar += m_midOptions.get(j).weight;
+                        if (chooser < weightSoFar) {
+                            choice = j;
+                            foundChoice = true;
+                        }
+                    }
+
+                    // We have a template, now try to spawn it.
+                    for (int j = 0; j < 5 && !done; j++) { done = trySpawnFlyby(m_midOptions.get(choice), possible[choice]); }
+                }
+            }
+
+            if (m_midTimeline.isFinished(m_tick)) { m_finishedMid = true; }
+        }
+        else if (!m_finishedEnd) {
+            // Enemy exits
+            if (!m_exitTimeline.isStarted()) {
+                m_exitTimeline.start(m_tick);
+                m_exitTimeline.schedule(m_tick, 0);
+            }
+            if (m_exitTimeline.poll(m_tick) >= 0) {
+                if (p_enemies.size() > 0) {
+                    EnemyIndex index = p_game.getEnemyIndex();
+                    for (int i = 0; i < index.size(EnemyState.EXITING); i++) {
+                        Enemy enemy = index.get(EnemyState.EXITING, i);
+                        if (enemy.isInGridMode()) {
+                            enemy.delete();
+                            m_hasAnEnemyEscaped = true;
+                        }
+                    }
+
+                    if (index.size(EnemyState.IN_GRID) > 0) {
+                        int numToDo = Math.min(m_exitGroupSize, index.size(EnemyState.IN_GRID));
+
+                        for (int i = 0; i < numToDo; i++) {
+                            // Each enemy chosen leaves the grid, so isn't a candidate for the next.
+                            int choice = p_rand.nextInt(index.size(EnemyState.IN_GRID));
+                            Enemy enemy = index.get(EnemyState.IN_GRID, choice);
+
+                            enemy.m_path = PathFactory.getExit(PathFactory.exitType.DRIFT, enemy.gridPos);
+                            enemy.setState(EnemyState.EXITING);
+                            enemy.m_atStartPoint = false;
+                            enemy.m_mayFollowPath = true;
+                        }
+
+                        m_exitTimeline.schedule(m_tick + m_exitStep + 1, 0);
+                    }
+                    else { m_exitTimeline.schedule(m_tick + 1, 0); } // Nobody's ready yet, so try again next tick.
+                } else {
+                    m_finishedEnd = true;
+                }
+            }
+        }
+        else if (!m_finishedOnEnd) {
+            if (!m_onEndTimeline.isStarted()) { m_onEndTimeline.start(m_tick); }
+            for (int i = m_onEndTimeline.poll(m_tick); i >= 0; i = m_onEndTimeline.poll(m_tick)) { parseCommand(m_onEnd.get(i).command); }
+
+            if (m_onEndTimeline.isFinished(m_tick)) { m_finishedOnEnd = true; }
+        }
+        else { m_levelComplete = true; }
+
+        // Rebalance and clean up path groups.
+        for (int i = m_groups.size() - 1; i >= 0 ; i--) {
+            m_groups.get(i).update();
+            if (m_groups.get(i).m_toBeDestroyed) { m_groups.remove(i); }
+        }
+    }
+
+    private void parseCommand(String command) {
+        String parameters = "";
+
+        if (command.equalsIgnoreCase("scorecard")) { parameters = Integer.toString(p_game.m_score); }
+        else if (command.equalsIgnoreCase("victory")) { parameters = Integer.toString(p_game.m_score); }
+
+        p_bm.addLevelEffect(command, parameters);
+    }
+
+    private void spawnWave(Wave wave) {
+        PathGroup group = new PathGroup();
+        for (int i = 0; i < wave.m_spawns.size(); i++) {
+            EnemySpawnData template = wave.m_spawns.get(i);
+
+            Path path = PathFactory.getEntrance(wave.m_entryDirection, template.m_stackDepth, template.m_offset);
+            Vector2f startCoords = path.nodes.get(0).coords;
+            Vector2f relative = Vector2f.subtract(path.nodes.get(1).coords, startCoords);
+            float startAngle = (float)Math.toDegrees(Math.atan2(relative.y, relative.x));
+
+            Enemy enemy;
+            if (template.m_type == EnemyType.WARRIOR) { enemy = Enemy.getWarrior(p_game, p_bm, p_projectiles, startCoords, startAngle); }
+            else if (template.m_type == EnemyType.GUARDIAN) { enemy = Enemy.getGuardian(p_game, p_bm, p_projectiles, startCoords, startAngle, p_shields); }
+            else if (template.m_type == EnemyType.QUEEN) { enemy = Enemy.getQueen(p_game, p_bm, p_projectiles, startCoords, startAngle, p_armours); }
+            else { enemy = Enemy.getDrone(p_game, p_bm, p_projectiles, startCoords, startAngle); }
+
+            enemy.m_path = path;
+            enemy.setState(EnemyState.ENTERING);
+            enemy.unmodifiedGridPos.set(template.m_gridPos);
+            group.add(path, enemy);
+            p_enemies.addElement(enemy);
+            p_game.getEnemyIndex().add(enemy);
+        }
+
+        group.balancePaths();
+        m_groups.addElement(group);
+    }
+
+    private boolean[] findPossibleFlybys() //!< For each of m_midOptions, whether any rectangle trySpawnFlyby() could pick for it holds at least two enemies.
+    {
+        FormationIndex formation = p_game.getEnemyIndex().getFormation();
+        float multiplier = p_game.getGridMultiplier();
+        Vector2f centre = p_game.getGridCentre();
+
+        boolean[] possible = new boolean[m_midOptions.size()];
+        if (formation.size() < 2) { return possible; }
+
+        for (int i = 0; i < m_midOptions.size(); i++) {
+            FlybyTemplate template = m_midOptions.get(i);
+
+            // Every centre trySpawnFlyby() can round to, and one more either side in case of float error. Trying extra rectangles can only make this say yes more often.
+            float xRange = 7.0f - template.range.x;
+            float yRange = p_game.m_gridYMin + template.range.y;
+            long xLow = Math.round(2.0f * (Math.min(0.0f, xRange) + 3.5 - (0.5f * xRange))) - 1;
+            long xHigh = Math.round(2.0f * (Math.max(0.0f, xRange) + 3.5 - (0.5f * xRange))) + 1;
+            long yLow = Math.round(2.0f * (Math.min(0.0f, yRange) + (0.5f * p_game.m_gridYMin) - (0.5f * yRange))) - 1;
+            long yHigh = Math.round(2.0f * (Math.max(0.0f, yRange) + (0.5f * p_game.m_gridYMin) - (0.5f * yRange))) + 1;
+
+            for (int side = 0; side < 2 && !possible[i]; side++) {
+                for (long x = xLow; x <= xHigh && !possible[i]; x++) {
+                    float xCentre = x * 0.5f;
+                    if (side == 1) { xCentre *= -1.0f; }
+                    for (long y = yLow; y <= yHigh && !possible[i]; y++) {
+                        possible[i] = formation.count(getFlybyArea(template, xCentre, y * 0.5f), multiplier, centre) >= 2;
+                    }
+                }
+            }
+        }
+        return possible;
+    }
+
+    private static Rect2f getFlybyArea(FlybyTemplate template, float xCentre, float yCentre) {
+        return new Rect2f(xCentre - (0.5f * template.range.x),
+                yCentre + (0.5f * template.range.y) + 16.0f,
+                xCentre + (0.5f * template.range.x),
+                yCentre - (0.5f * template.range.y) + 16.0f);
+    }
+
+    private boolean trySpawnFlyby(FlybyTemplate template, boolean possible) //!< If it isn't possible, the random draws are still made, so games replay the same.
+    {
+        boolean onLeft = p_rand.nextBoolean(); // Whether to choose from left or right side.
+
+        float xRange = 7.0f - template.range.x;
+        float yRange = p_game.m_gridYMin + template.range.y;
+        float xCentre = Math.round(2.0f * ((p_rand.nextFloat() * xRange) + 3.5 - (0.5f * xRange))) * 0.5f;
+        if (onLeft) { xCentre *= -1.0f; }
+        float yCentre = Math.round(2.0f * ((p_rand.nextFloat() * yRange) + (0.5f * p_game.m_gridYMin) - (0.5f * yRange))) * 0.5f;
+        if (!possible) { return false; }
+
+        Rect2f selectionArea = getFlybyArea(template, xCentre, yCentre);
+        EnemyIndex index = p_game.getEnemyIndex();
+        if (index.getFormation().count(selectionArea, p_game.getGridMultiplier(), p_game.getGridCentre()) < 2) { return false; }
+
+        Vector<Enemy> inRange = new Vector<Enemy>();
+
+        for (int i = 0; i < index.size(EnemyState.IN_GRID); i++) {
+            Enemy current = index.get(EnemyState.IN_GRID, i);
+            if (current.gridPos.x >= selectionArea.left &&
+                    current.gridPos.x <= selectionArea.right &&
+                    current.gridPos.y >= selectionArea.bottom &&
+                    current.gridPos.y <= selectionArea.top) {
+                inRange.addElement(current);
+            }
+        }
+
+        if (inRange.size() < 2) { return false; }
+        else {
+            PathGroup group = new PathGroup();
+            for (int i = 0; i < inRange.size(); i++) {
+                Enemy current = inRange.get(i);
+
+                float offset = (current.gridPos.y - (yCentre + 16.0f));
+                Path path = PathFactory.getFlyby(template.type, current.gridPos, offset);
+
+                current.m_path = path;
+                current.setState(EnemyState.FLYBY);
+                current.m_atStartPoint = false;
+                current.m_mayFollowPath = false;
+                group.add(path, current);
+            }
+
+            group.balancePaths();
+            m_groups.addElement(group);
+
+            return true;
+        }
+    }
+
+    public void parse (InputStream is) throws XmlPullParserException, IOException { apply(LevelFile.parse(is)); } //!< Takes the level from XML.
+
+    public void apply(LevelFile file) //!< Takes the level's contents from a loaded file, and lays them out on timelines. Must only be applied once. The file itself is left as it was.
+    {
+        m_difficultyRating = file.m_difficultyRating;
+        m_onStart.addAll(file.m_onStart);
+        m_onEnd.addAll(file.m_onEnd);
+        m_waves.addAll(file.m_waves);
+        for (int i = 0; i < m_onStart.size(); i++) { m_onStartTimeline.add(m_onStart.get(i).delay, i); }
+        for (int i = 0; i < m_onEnd.size(); i++) { m_onEndTimeline.add(m_onEnd.get(i).delay, i); }
+        for (int i = 0; i < m_waves.size(); i++) { m_wavesTimeline.add(m_waves.get(i).m_delay, i); }
+
+        // A flyby after the delay, then one every delay + 1 ticks, then the delay again before the exits start.
+        m_midCount = file.m_midCount;
+        m_midDelay = file.m_midDelay;
+        for (int i = 0; i < m_midCount; i++) { m_midTimeline.add(i == 0 ? m_midDelay : m_midDelay + 1, i); }
+        m_midTimeline.hold(m_midDelay);
+        for (FlybyTemplate option : file.m_midOptions) {
+            m_midOptions.addElement(option);
+            m_totalMidWeight += option.weight;
+        }
+
+        m_exitType = file.m_exitType;
+        m_exitDelay = file.m_exitDelay;
+        m_exitStep = file.m_exitStep;
+        m_exitGroupSize = file.m_exitGroupSize;
+    }
+}
@@ -0,0 +1,315 @@
+package net.stefancbauer.galactora.Model.Level;
+
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.Model.EnemyType;
+import net.stefancbauer.galactora.Model.Pathing.PathFactory;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+import org.xmlpull.v1.XmlPullParserFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Vector;
+
+/**
+ * The contents of a level file, before a Level starts playing it. Read from level XML, which is checked thoroughly, or from the compiled binary form, which isn't parsed at all.
+ * Levels are compiled at build time by the compileLevels task, to "<level>.bin" beside the XML. load() takes the binary when there is one, and the XML when there isn't.
+ *
+ * Binary format, big-endian: magic, version, difficulty, onstart and onend triggers, then the waves, each with its spawns as parallel arrays, then the onmid flybys and the exit.
+ * Enums are stored as ordinals, so the format version must change if any of EnemyType, PathFactory.direction, flybyType or exitType is reordered.
+ */
+
+public class LevelFile {
+    public static final String COMPILED_SUFFIX = ".bin"; //!< Appended to a level's asset path to find its compiled form.
+    private static final int MAGIC = 0x47414C56; //!< "GALV"
+    private static final int VERSION = 1;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    public int m_difficultyRating;
+    public final Vector<assetTrigger> m_onStart = new Vector<assetTrigger>();
+    public final Vector<assetTrigger> m_onEnd = new Vector<assetTrigger>();
+    public final Vector<Wave> m_waves = new Vector<Wave>();
+    public int m_midCount = 0;
+    public int m_midDelay = 0;
+    public final Vector<FlybyTemplate> m_midOptions = new Vector<FlybyTemplate>();
+    public PathFactory.exitType m_exitType;
+    public int m_exitDelay;
+    public int m_exitStep;
+    public int m_exitGroupSize;
+
+    public static LevelFile load(String path) throws IOException, XmlPullParserException //!< Loads a level asset, eg. "Levels/level_01", from its compiled form if it has one. Needs a Platform to be installed.
+    {
+        InputStream in;
+        try {
+            in = Platform.getInstance().openAsset(path + COMPILED_SUFFIX);
+        } catch (FileNotFoundException e) {
+            in = Platform.getInstance().openAsset(path);
+            try { return parse(in); }
+            finally { in.close(); }
+        }
+
+        try { return read(in); }
+        finally { in.close(); }
+    }
+
+    // XML
+
+    public static LevelFile parse(InputStream is) throws XmlPullParserException, IOException //!< Reads and checks level XML. Attributes are found by name, and anything missing, malformed or unknown is an error, giving its line.
+    {
+        XmlPullParserFactory factory = XmlPullParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        XmlPullParser parser = factory.newPullParser();
+        parser.setInput(is, null);
+
+        LevelFile file = new LevelFile();
+        boolean inOnStart = false;
+        boolean inOnEnd = false;
+        boolean sawLevel = false;
+        boolean sawExit = false;
+        Wave wave = null;
+
+        int eventType = parser.getEventType();
+        while (eventType != XmlPullParser.END_DOCUMENT) {
+            String tagName = parser.getName();
+            if (eventType == XmlPullParser.START_TAG) {
+                if (tagName.equalsIgnoreCase("level")) {
+                    file.m_difficultyRating = getInt(parser, "difficulty_rating");
+                    sawLevel = true;
+                }
+                else if (tagName.equalsIgnoreCase("onstart")) { inOnStart = true; }
+                else if (tagName.equalsIgnoreCase("onend")) { inOnEnd = true; }
+                else if (tagName.equalsIgnoreCase("asset")) {
+                    assetTrigger trigger = new assetTrigger(getDelay(parser, "delay"), getString(parser, "command"));
+                    if (inOnStart) { file.m_onStart.addElement(trigger); }
+                    else if (inOnEnd) { file.m_onEnd.addElement(trigger); }
+                    else { throw new XmlPullParserException("<asset> must be inside <onstart> or <onend>.", parser, null); }
+                }
+                else if (tagName.equalsIgnoreCase("wave")) {
+                    wave = new Wave(getEnum(parser, "entry_direction", PathFactory.direction.values()), getDelay(parser, "delay"));
+                }
+                else if (tagName.equalsIgnoreCase("enemy")) {
+                    if (wave == null) { throw new XmlPullParserException("<enemy> must be inside a <wave>.", parser, null); }
+                    wave.addEnemySpawn(getEnum(parser, "type", EnemyType.values()), getFloat(parser, "stack_depth"), getFloat(parser, "offset"), getFloat(parser, "grid_x"), getFloat(parser, "grid_y"));
+                }
+                else if (tagName.equalsIgnoreCase("onmid")) {
+                    file.m_midCount = getDelay(parser, "count");
+                    file.m_midDelay = getDelay(parser, "delay");
+                }
+                else if (tagName.equalsIgnoreCase("flyby")) {
+                    float weight = getFloat(parser, "weight");
+                    if (weight <= 0.0f) { throw new XmlPullParserException("Flyby weight must be positive.", parser, null); }
+                    file.m_midOptions.addElement(new FlybyTemplate(getEnum(parser, "type", PathFactory.flybyType.values()), weight, getFloat(parser, "x_range"), getFloat(parser, "y_range")));
+                }
+                else if (tagName.equalsIgnoreCase("exit")) {
+                    file.m_exitType = getEnum(parser, "type", PathFactory.exitType.values());
+                    file.m_exitDelay = getDelay(parser, "delay");
+                    file.m_exitStep = getDelay(parser, "step");
+                    file.m_exitGroupSize = getInt(parser, "group_size");
+                    if (file.m_exitGroupSize < 1) { throw new XmlPullParserException("Exit group_size must be at least 1, or enemies never leave.", parser, null); }
+                    sawExit = true;
+                }
+                else { throw new XmlPullParserException("Unknown element <" + tagName + ">.", parser, null); }
+            }
+            else if (eventType == XmlPullParser.END_TAG) {
+                if (tagName.equalsIgnoreCase("onstart")) { inOnStart = false; }
+                else if (tagName.equalsIgnoreCase("onend")) { inOnEnd = false; }
+                else if (tagName.equalsIgnoreCase("wave")) {
+                    if (wave.m_spawns.size() > 0) { file.m_waves.addElement(wave); } // Empty waves are skipped.
+                    wave = null;
+                }
+            }
+            eventType = parser.next();
+        }
+
+        if (!sawLevel) { throw new XmlPullParserException("No <level> element."); }
+        if (!sawExit) { throw new XmlPullParserException("No <exit> element, so enemies would never leave."); }
+        if (file.m_midCount > 0 && file.m_midOptions.isEmpty()) { throw new XmlPullParserException("<onmid> has a count, but no <flyby> options."); }
+        return file;
+    }
+
+    private static String getString(XmlPullParser parser, String name) throws XmlPullParserException {
+        String value = parser.getAttributeValue(null, name);
+        if (value == null) { throw new XmlPullParserException("<" + parser.getName() + "> is missing " + name + ".", parser, null); }
+        return value;
+    }
+
+    private static int getInt(XmlPullParser parser, String name) throws XmlPullParserException {
+        String value = getString(parser, name);
+        try { return Integer.parseInt(value.trim()); }
+        catch (NumberFormatException e) { throw new XmlPullParserException("<" + parser.getName() + "> " + name + " isn't a whole number: \"" + value + "\".", parser, e); }
+    }
+
+    private static int getDelay(XmlPullParser parser, String name) throws XmlPullParserException //!< An int that mustn't be negative.
+    {
+        int value = getInt(parser, name);
+        if (value < 0) { throw new XmlPullParserException("<" + parser.getName() + "> " + name + " can't be negative.", parser, null); }
+        return value;
+    }
+
+    private static float getFloat(XmlPullParser parser, String name) throws XmlPullParserException {
+        String value = getString(parser, name);
+        try {
+            float result = Float.parseFloat(value.trim());
+            if (Float.isNaN(result) || Float.isInfinite(result)) { throw new NumberFormatException(); }
+            return result;
+        }
+        catch (NumberFormatException e) { throw new XmlPullParserException("<" + parser.getName() + "> " + name + " isn't a number: \"" + value + "\".", parser, e); }
+    }
+
+    private static <E extends Enum<E>> E getEnum(XmlPullParser parser, String name, E[] values) throws XmlPullParserException {
+        String value = getString(parser, name);
+        for (E e : values) { if (e.name().equalsIgnoreCase(value)) { return e; } }
+        throw new XmlPullParserException("<" + parser.getName() + "> " + name + " \"" + value + "\" should be one of " + Arrays.toString(values).toLowerCase(Locale.ROOT) + ".", parser, null);
+    }
+
+    // Binary
+
+    public void write(OutputStream stream) throws IOException //!< Writes the compiled form.
+    {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(m_difficultyRating);
+        writeTriggers(out, m_onStart);
+        writeTriggers(out, m_onEnd);
+
+        out.writeInt(m_waves.size());
+        for (Wave wave : m_waves) {
+            int count = wave.m_spawns.size();
+            out.writeByte(wave.m_entryDirection.ordinal());
+            out.writeInt(wave.m_delay);
+            out.writeInt(count);
+            for (EnemySpawnData spawn : wave.m_spawns) { out.writeByte(spawn.m_type.ordinal()); }
+            for (EnemySpawnData spawn : wave.m_spawns) { out.writeFloat(spawn.m_stackDepth); }
+            for (EnemySpawnData spawn : wave.m_spawns) { out.writeFloat(spawn.m_offset); }
+            for (EnemySpawnData spawn : wave.m_spawns) { out.writeFloat(spawn.m_gridPos.x); }
+            for (EnemySpawnData spawn : wave.m_spawns) { out.writeFloat(spawn.m_gridPos.y); }
+        }
+
+        out.writeInt(m_midCount);
+        out.writeInt(m_midDelay);
+        out.writeInt(m_midOptions.size());
+        for (FlybyTemplate option : m_midOptions) {
+            out.writeByte(option.type.ordinal());
+            out.writeFloat(option.weight);
+            out.writeFloat(option.range.x);
+            out.writeFloat(option.range.y);
+        }
+
+        out.writeByte(m_exitType.ordinal());
+        out.writeInt(m_exitDelay);
+        out.writeInt(m_exitStep);
+        out.writeInt(m_exitGroupSize);
+        out.flush();
+    }
+
+    private static void writeTriggers(DataOutputStream out, Vector<assetTrigger> triggers) throws IOException {
+        out.writeInt(triggers.size());
+        for (assetTrigger trigger : triggers) {
+            byte[] command = trigger.command.getBytes(UTF8);
+            out.writeShort(command.length);
+            out.write(command);
+            out.writeInt(trigger.delay);
+        }
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try { write(out); }
+        catch (IOException e) { throw new IllegalStateException(e); } // Can't happen, writing to memory.
+        return out.toByteArray();
+    }
+
+    public static LevelFile read(InputStream in) throws IOException //!< Reads the compiled form. Trusts its values, as they were checked when it was compiled, but throws IOException if it's truncated or corrupt.
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) { bytes.write(buffer, 0, read); }
+        return read(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    public static LevelFile read(ByteBuffer in) throws IOException {
+        try {
+            if (in.getInt() != MAGIC) { throw new IOException("Not a compiled level."); }
+            int version = in.getInt();
+            if (version != VERSION) { throw new IOException("Compiled level is version " + version + ", expected " + VERSION + ". Run compileLevels again."); }
+
+            EnemyType[] types = EnemyType.values();
+            PathFactory.direction[] directions = PathFactory.direction.values();
+            PathFactory.flybyType[] flybyTypes = PathFactory.flybyType.values();
+
+            LevelFile file = new LevelFile();
+            file.m_difficultyRating = in.getInt();
+            readTriggers(in, file.m_onStart);
+            readTriggers(in, file.m_onEnd);
+
+            int waves = getCount(in, 9); // Direction, delay and spawn count.
+            file.m_waves.ensureCapacity(waves);
+            for (int i = 0; i < waves; i++) {
+                Wave wave = new Wave(directions[in.get()], in.getInt());
+                int count = getCount(in, 17); // A type and four floats.
+                int typeStart = in.position();
+                int floatStart = typeStart + count;
+                int stride = count * 4; // Bytes in each of the four float arrays.
+                wave.m_spawns.ensureCapacity(count);
+                for (int j = 0; j < count; j++) {
+                    int at = floatStart + (j * 4);
+                    wave.addEnemySpawn(types[in.get(typeStart + j)], in.getFloat(at), in.getFloat(at + stride), in.getFloat(at + (2 * stride)), in.getFloat(at + (3 * stride)));
+                }
+                in.position(floatStart + (4 * stride));
+                file.m_waves.addElement(wave);
+            }
+
+            file.m_midCount = in.getInt();
+            file.m_midDelay = in.getInt();
+            int options = getCount(in, 13); // A type and three floats.
+            for (int i = 0; i < options; i++) {
+                PathFactory.flybyType type = flybyTypes[in.get()];
+                file.m_midOptions.addElement(new FlybyTemplate(type, in.getFloat(), in.getFloat(), in.getFloat()));
+            }
+
+            file.m_exitType = PathFactory.exitType.values()[in.get()];
+            file.m_exitDelay = in.getInt();
+            file.m_exitStep = in.getInt();
+            file.m_exitGroupSize = in.getInt();
+            return file;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Compiled level is truncated.", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Compiled level is corrupt.", e); // A bad position.
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Compiled level is corrupt.", e); // A bad ordinal.
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Compiled level is truncated.", e); // An absolute read past the end.
+        }
+    }
+
+    private static int getCount(ByteBuffer in, int minBytesEach) throws IOException //!< Reads a count, refusing one that's negative or would need more bytes than are left.
+    {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining() / minBytesEach) { throw new IOException("Compiled level is corrupt, with a count of " + count + "."); }
+        return count;
+    }
+
+    private static void readTriggers(ByteBuffer in, Vector<assetTrigger> triggers) throws IOException {
+        int count = getCount(in, 6); // A command length and a delay.
+        for (int i = 0; i < count; i++) {
+            int length = in.getShort();
+            if (length < 0 || length > in.remaining()) { throw new IOException("Compiled level is corrupt, with a command " + length + " bytes long."); }
+            byte[] command = new byte[length];
+            in.get(command);
+            triggers.addElement(new assetTrigger(in.getInt(), new String(command, UTF8)));
+        }
+    }
+}
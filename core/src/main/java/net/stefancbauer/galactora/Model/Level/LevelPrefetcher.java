@@ -0,0 +1,98 @@
+package net.stefancbauer.galactora.Model.Level;
+
+import net.stefancbauer.galactora.Model.Background.BackgroundObject;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Loads a level, and renders its start and end banners, on a background thread, so the switch to it needs no disk access or text rendering.
+ * Only touches the Platform, never the Game or its Random, so prefetching doesn't change how a seeded game plays out.
+ */
+
+public class LevelPrefetcher {
+    public static class PreparedLevel //!< A level ready to play.
+    {
+        public final String m_path;
+        public final LevelFile m_file;
+        public final Map<String, Object[]> m_text = new HashMap<String, Object[]>(); //!< Banner textures from BackgroundObject.renderLevelText(), by lower-case command.
+
+        private PreparedLevel(String path, LevelFile file) {
+            m_path = path;
+            m_file = file;
+        }
+    }
+
+    private static ExecutorService s_executor; //!< One thread, shared by every game. A game only prefetches one level at a time, but many games at once, eg. in VecEnv or ReplayVerifier, queue their prefetches on it one after another. take() prepares inline any that haven't started.
+
+    private final String m_path;
+    private final Future<PreparedLevel> m_future;
+
+    public LevelPrefetcher(String path) //!< Starts preparing the level at the given asset path. Needs a Platform to be installed.
+    {
+        m_path = path;
+        m_future = getExecutor().submit(new Callable<PreparedLevel>() {
+            @Override
+            public PreparedLevel call() throws Exception { return prepare(m_path); }
+        });
+    }
+
+    public String getPath() { return m_path; }
+    public boolean isDone() { return m_future.isDone(); }
+
+    public PreparedLevel take() //!< The prepared level, waiting for it if need be. If the work hasn't started yet, it's done here instead. Null if it couldn't be loaded, in which case the caller should load it as usual, to report the error.
+    {
+        if (m_future.cancel(false)) {
+            try { return prepare(m_path); }
+            catch (Exception e) { return null; }
+        }
+
+        try { return m_future.get(); }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        catch (ExecutionException e) { return null; }
+    }
+
+    public static PreparedLevel prepare(String path) throws Exception //!< Loads the level and renders its banners, on the calling thread.
+    {
+        PreparedLevel prepared = new PreparedLevel(path, LevelFile.load(path));
+        addText(prepared, prepared.m_file.m_onStart);
+        addText(prepared, prepared.m_file.m_onEnd);
+        return prepared;
+    }
+
+    private static void addText(PreparedLevel prepared, Vector<assetTrigger> triggers) {
+        for (int i = 0; i < triggers.size(); i++) {
+            String command = triggers.get(i).command.toLowerCase(Locale.ROOT);
+            if (prepared.m_text.containsKey(command)) { continue; }
+
+            Object[] rendered = BackgroundObject.renderLevelText(command);
+            if (rendered != null) { prepared.m_text.put(command, rendered); }
+        }
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (s_executor == null) {
+            s_executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "LevelPrefetch");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+        }
+        return s_executor;
+    }
+}
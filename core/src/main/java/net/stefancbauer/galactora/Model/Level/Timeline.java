@@ -0,0 +1,65 @@
+package net.stefancbauer.galactora.Model.Level;
+
+import java.util.Arrays;
+
+/**
+ * Schedules numbered events at absolute ticks, and plays them back in order with a cursor.
+ * Nothing is counted down or shifted as time passes, so checking for due events costs the same however many are left.
+ * Event numbers are up to the owner, eg. indices into a Vector of triggers.
+ */
+
+public class Timeline {
+    private int[] m_ticks = new int[8]; //!< When each event is due, relative to m_start. Never decreasing.
+    private int[] m_events = new int[8];
+    private int m_size = 0;
+    private int m_cursor = 0; //!< The next event to be dispatched.
+    private int m_end = 0; //!< When the timeline finishes, relative to m_start. At or after the last event.
+    private int m_start = 0;
+    private boolean m_started = false;
+
+    public void add(int delay, int event) //!< Schedules an event delay ticks after the previous one, or after the start if it's the first. The timeline then finishes with it.
+    {
+        int tick = (m_size > 0 ? m_ticks[m_size - 1] : 0) + delay;
+        append(tick, event);
+        m_end = tick;
+    }
+
+    public void hold(int delay) { m_end += delay; } //!< Keeps the timeline running for delay ticks more after its last event.
+
+    public void start(int tick) //!< Starts playback, with every event's time counted from the given tick.
+    {
+        m_start = tick;
+        m_started = true;
+    }
+
+    public void schedule(int tick, int event) //!< Once started, adds an event at an absolute tick, no earlier than any still to come.
+    {
+        if (m_cursor == m_size) {
+            // Nothing left to play, so reuse the space.
+            m_size = 0;
+            m_cursor = 0;
+        }
+        append(tick - m_start, event);
+        m_end = Math.max(m_end, tick - m_start);
+    }
+
+    public int poll(int tick) //!< The next event due at or before the given tick, or -1 if none is due yet. Call until -1 to dispatch everything due.
+    {
+        if (!m_started || m_cursor == m_size || m_ticks[m_cursor] > tick - m_start) { return -1; }
+        return m_events[m_cursor++];
+    }
+
+    public boolean isStarted() { return m_started; }
+    public boolean isFinished(int tick) { return m_started && m_cursor == m_size && tick - m_start >= m_end; } //!< Whether every event has been dispatched, and any hold has passed.
+    public int getRemaining() { return m_size - m_cursor; } //!< Events not yet dispatched.
+
+    private void append(int tick, int event) {
+        if (m_size == m_ticks.length) {
+            m_ticks = Arrays.copyOf(m_ticks, m_size * 2);
+            m_events = Arrays.copyOf(m_events, m_size * 2);
+        }
+        m_ticks[m_size] = tick;
+        m_events[m_size] = event;
+        m_size++;
+    }
+}
@@ -1,10 +1,11 @@
 package net.stefancbauer.galactora.Model.Pathing;
 
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
-import net.stefancbauer.galactora.Model.Enemy;
+import net.stefancbauer.galactora.Model.EnemyTuning;
 
 /**
  * A simple data container used for pathing.
+ * Travel times start out at the default enemy speed. Enemies still cap their speed at their own game's tuning.
  */
 
 public class PathNode {
@@ -18,32 +19,32 @@ public class PathNode {
     public PathNode(Vector2f inp_coords) {
         coords = new Vector2f(inp_coords);
         length = -1.0f;
-        setTravelTime(length / Enemy.moveSpeed);
+        setTravelTime(length / EnemyTuning.DEFAULT.m_moveSpeed);
     }
 
     public PathNode(Vector2f inp_coords, boolean inp_sync) {
         coords = new Vector2f(inp_coords);
         length = -1.0f;
-        setTravelTime(length / Enemy.moveSpeed);
+        setTravelTime(length / EnemyTuning.DEFAULT.m_moveSpeed);
         sync = inp_sync;
     }
 
     public PathNode(Vector2f inp_coords, float inp_length) {
         coords = new Vector2f(inp_coords);
         length = inp_length;
-        setTravelTime(length / Enemy.moveSpeed);
+        setTravelTime(length / EnemyTuning.DEFAULT.m_moveSpeed);
     }
 
     public PathNode(Vector2f inp_coords, Vector2f inp_lastCoords) {
         coords = new Vector2f(inp_coords);
         length = Vector2f.subtract(inp_coords, inp_lastCoords).getMagnitude();
-        setTravelTime(length / Enemy.moveSpeed);
+        setTravelTime(length / EnemyTuning.DEFAULT.m_moveSpeed);
     }
 
     public PathNode(Vector2f inp_coords, Vector2f inp_lastCoords, boolean inp_sync) {
         coords = new Vector2f(inp_coords);
         length = Vector2f.subtract(inp_coords, inp_lastCoords).getMagnitude();
-        setTravelTime(length / Enemy.moveSpeed);
+        setTravelTime(length / EnemyTuning.DEFAULT.m_moveSpeed);
         sync = inp_sync;
     }
 
@@ -1,12 +1,10 @@
 package net.stefancbauer.galactora.Model;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.Rect;
-
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
 import net.stefancbauer.galactora.Model.Engine.CollisionCircle;
 import net.stefancbauer.galactora.Model.Engine.CollisionRectangle;
+import net.stefancbauer.galactora.Model.Engine.TimerWheel;
 import net.stefancbauer.galactora.Model.Engine.Weld;
 
 import java.util.Vector;
@@ -20,7 +18,11 @@ public class PlayerShip extends GameObject {
     public float m_maxMoveSpeed; //!< The maximum speed at which the player ship will move towards its indicated destination
 
     public int m_boltCooldownMax = 30; //!< The minimum length between firing bolts.
-    public int m_boltCooldown = 0; //!< The cooldown before firing the next bolt.
+    private boolean m_boltReady = true; //!< Whether the bolt cooldown has run out.
+    private final TimerWheel.Timer m_boltTimer = new TimerWheel.Timer() {
+        @Override
+        protected void expire() { m_boltReady = true; }
+    };
 
     public final int m_shieldChargesMax = 3; //!< The maximum number of shield charges the player can store.
     public int m_shieldCharges = 3; //!< The current number of shield charges available to the player.
@@ -30,13 +32,17 @@ public class PlayerShip extends GameObject {
     public final int m_bombChargesMax = 3; //!< The maximum number of bomb charges the player can store.
     public int m_bombCharges = 3; //!< The current number of bomb charges available to the player.
     public int m_bombCooldownMax = 60; //!< The minimum length between firing bombs.
-    public int m_bombCooldown = 0; //!< The cooldown before firing the next bomb.
+    private boolean m_bombReady = true; //!< Whether the bomb cooldown has run out.
+    private final TimerWheel.Timer m_bombTimer = new TimerWheel.Timer() {
+        @Override
+        protected void expire() { m_bombReady = true; }
+    };
 
     public PlayerShip(Game inp_game, Vector2f position) //!< Full constructor.
     {
         gameLink = inp_game;
 
-        m_sprite = new Sprite("game_foreground_spritesheet", new Rect(0, 0, 128, 128), 1, new Vector2f(2.0f), new Vector2f(1.0f));
+        m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(0, 0, 128, 128), 1, new Vector2f(2.0f), new Vector2f(1.0f));
         addCollisionable(new CollisionCircle(0.25f), new Vector2f(0.0f, 0.5f), 0.0f);
         addCollisionable(new CollisionRectangle(0.625f, 0.5f), new Vector2f(0.0f, -0.25f), 0.0f);
         setPosition(new Vector2f(0.0f, -5.0f));
@@ -52,9 +58,6 @@ public class PlayerShip extends GameObject {
         float relativeDistanceSquared = relativePos.getMagnitudeSquared();
         Vector2f newPos = new Vector2f(getPosition());
 
-        if (m_boltCooldown > 0) { m_boltCooldown--; }
-        if (m_bombCooldown > 0) { m_bombCooldown--; }
-
         if (relativeDistanceSquared > 0.0f) {
             if (relativeDistanceSquared < (m_maxMoveSpeed * m_maxMoveSpeed)) { setPosition(destPos); }
             else {
@@ -66,11 +69,6 @@ public class PlayerShip extends GameObject {
         setPosition(newPos);
     }
 
-    @Override
-    public void draw(Canvas c, Paint p) {
-        m_sprite.draw(c, p);
-    }
-
     @Override
     public void delete(){
         super.delete();
@@ -82,6 +80,7 @@ public class PlayerShip extends GameObject {
         gameLink.addScore(-500);
 
         m_shield = Shield.getPlayerShield(m_shieldLifespan);
+        m_shield.startLifespan(gameLink.getTimers());
         Weld.weldObjects(this, m_shield);
         shields.addElement(m_shield);
     }
@@ -90,6 +89,7 @@ public class PlayerShip extends GameObject {
     public void triggerShield(Vector<Shield> shields) {
         if (m_shield == null && m_shieldCharges > 0) {
             m_shield = Shield.getPlayerShield(m_shieldLifespan);
+            m_shield.startLifespan(gameLink.getTimers());
             m_shieldCharges--;
             Weld.weldObjects(this, m_shield);
             shields.addElement(m_shield);
@@ -97,7 +97,19 @@ public class PlayerShip extends GameObject {
     }
     public void addBombCharge() { if (m_bombCharges < m_bombChargesMax) { m_bombCharges++; } }
     public boolean canFireBomb() {
-        if (m_bombCharges > 0 && m_bombCooldown == 0) { return true; }
+        if (m_bombCharges > 0 && m_bombReady) { return true; }
         else {return false; }
     }
+    public void startBombCooldown() //!< Call on firing a bomb. Ready again m_bombCooldownMax updates later.
+    {
+        m_bombReady = false;
+        gameLink.getTimers().schedule(m_bombTimer, m_bombCooldownMax);
+    }
+
+    public boolean canFireBolt() { return m_boltReady; }
+    public void startBoltCooldown() //!< Call on firing a bolt. Ready again m_boltCooldownMax updates later.
+    {
+        m_boltReady = false;
+        gameLink.getTimers().schedule(m_boltTimer, m_boltCooldownMax);
+    }
 }
@@ -1,12 +1,10 @@
 package net.stefancbauer.galactora.Model;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.Rect;
-
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
 import net.stefancbauer.galactora.Model.Engine.CollisionCircle;
 import net.stefancbauer.galactora.Model.Engine.CollisionRectangle;
+import net.stefancbauer.galactora.Model.Engine.TimerWheel;
 
 import java.util.Vector;
 
@@ -17,6 +15,12 @@ import java.util.Vector;
 public class Projectile extends GameObject {
     private float m_acceleration; //!< How much the projectile speeds up / slows down by in GU per tick squared.
     private int m_lifespan; //!< Lifespan in ticks. If -1, dies once it gets further than 40 units away from the origin.
+    private boolean m_expired = false; //!< Whether the lifespan has run out.
+    private TimerWheel p_timers = null; //!< Counting down the lifespan, once started.
+    private final TimerWheel.Timer m_lifespanTimer = new TimerWheel.Timer() {
+        @Override
+        protected void expire() { m_expired = true; }
+    };
     private int m_damage; //!< How much damage this projectile deals.
     private float m_explosionRadius; //!< How large a radius explosion to create for detonation. If zero or less, do not detonate.
     private String m_explosionEffect; //!< Name of explosion effect to call.
@@ -26,7 +30,7 @@ public class Projectile extends GameObject {
     public boolean m_detonated = false; //!< Whether this projectile has detonated.
 
     /*private Bitmap m_explosionTextureBase = null; //!< Base Texture source for detonation explosion particles.
-    private Vector<Rect> m_explosionTextureRect = new Vector<Rect>(); //!< Texture rects for detonation explosion particles.
+    private Vector<Rect2i> m_explosionTextureRect = new Vector<Rect2i>(); //!< Texture rects for detonation explosion particles.
     private Vector2f m_explosionSize = new Vector2f(); //!< Base size of detonation explosion particles.
     private Vector2f m_explosionSizeVar = new Vector2f(); //!< Variance in size of detonation explosion particles.*/
 
@@ -57,7 +61,7 @@ public class Projectile extends GameObject {
         Vector2f velocity = new Vector2f((float)Math.cos(Math.toRadians(altRot)), (float)Math.sin(Math.toRadians(altRot))).multiply(speed);
         Projectile returnProjectile = new Projectile(velocity, acceleration, lifespan, damage, explosionRadius, explosionEffect, ownedByPlayer);
 
-        returnProjectile.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(256, 208, 288, 272), 1, new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), rotation);
+        returnProjectile.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(256, 208, 288, 272), 1, new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), rotation);
         //returnProjectile.addCollisionable(new CollisionCircle(0.25f), new Vector2f(0.0f, 0.25f), 45.0f);
         returnProjectile.addCollisionable(new CollisionRectangle(0.17678f, 0.17678f), new Vector2f(0.0f, 0.25f), 45.0f);
         returnProjectile.updateState(position, rotation, new Vector<GameObject>());
@@ -80,7 +84,7 @@ public class Projectile extends GameObject {
         Vector2f velocity = new Vector2f((float)Math.cos(Math.toRadians(altRot)), (float)Math.sin(Math.toRadians(altRot))).multiply(speed);
         Projectile returnProjectile = new Projectile(velocity, acceleration, lifespan, damage, explosionRadius, explosionEffect, ownedByPlayer);
 
-        returnProjectile.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(288, 208, 320, 272), 1, new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), rotation);
+        returnProjectile.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(288, 208, 320, 272), 1, new Vector2f(0.5f, 1.0f), new Vector2f(0.25f, 0.5f), rotation);
         returnProjectile.addCollisionable(new CollisionCircle(0.25f), new Vector2f(0.0f, 0.25f), 0.0f);
         returnProjectile.updateState(position, rotation, new Vector<GameObject>());
 
@@ -102,7 +106,7 @@ public class Projectile extends GameObject {
         Vector2f velocity = new Vector2f((float)Math.cos(Math.toRadians(altRot)), (float)Math.sin(Math.toRadians(altRot))).multiply(speed);
         Projectile returnProjectile = new Projectile(velocity, acceleration, lifespan, damage, explosionRadius, explosionEffect, ownedByPlayer);
 
-        returnProjectile.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(320, 208, 336, 248), 1, new Vector2f(0.25f, 0.625f), new Vector2f(0.125f, 0.5f), rotation);
+        returnProjectile.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(320, 208, 336, 248), 1, new Vector2f(0.25f, 0.625f), new Vector2f(0.125f, 0.5f), rotation);
         returnProjectile.addCollisionable(new CollisionCircle(0.125f), new Vector2f(0.0f), 0.0f);
         returnProjectile.addCollisionable(new CollisionRectangle(0.125f, 0.25f), new Vector2f(0.0f, -0.25f), 0.0f);
         returnProjectile.updateState(position, rotation, new Vector<GameObject>());
@@ -125,7 +129,7 @@ public class Projectile extends GameObject {
         Vector2f velocity = new Vector2f((float)Math.cos(Math.toRadians(altRot)), (float)Math.sin(Math.toRadians(altRot))).multiply(speed);
         Projectile returnProjectile = new Projectile(velocity, acceleration, lifespan, damage, explosionRadius, explosionEffect, ownedByPlayer);
 
-        returnProjectile.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(336, 208, 368, 288), 1, new Vector2f(0.5f, 1.25f), new Vector2f(0.25f, 0.875f), rotation);
+        returnProjectile.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(336, 208, 368, 288), 1, new Vector2f(0.5f, 1.25f), new Vector2f(0.25f, 0.875f), rotation);
         returnProjectile.addCollisionable(new CollisionCircle(0.25f), new Vector2f(0.0f), 0.0f);
         returnProjectile.updateState(position, rotation, new Vector<GameObject>());
 
@@ -147,20 +151,37 @@ public class Projectile extends GameObject {
             m_velocity.setMagnitude(speed);
         }
 
-        if (m_lifespan > 0) { m_lifespan--; }
         m_sprite.incrementCurrentFrame(true);
 
         // TODO: create trail particles.
     }
 
-    public int getLifespan() { return m_lifespan; }
+    public void startLifespan(TimerWheel timers) //!< Starts counting down the lifespan on the game's timers. The projectile is ready to detonate after its lifespan-th update.
+    {
+        p_timers = timers;
+        setLifespan(m_lifespan);
+    }
+
+    public int getLifespan() //!< Updates left, or -1 if it has no lifespan.
+    {
+        if (m_lifespan == -1 || p_timers == null) { return m_lifespan; }
+        return m_expired ? 0 : p_timers.getRemaining(m_lifespanTimer) + 1;
+    }
     public void addLifespan(int lifespan) {
         if (m_lifespan > -1) {
-            m_lifespan += lifespan;
-            if (m_lifespan <= 0) { m_lifespan = 0; delete(); }
+            int remaining = getLifespan() + lifespan;
+            if (remaining <= 0) { setLifespan(0); delete(); }
+            else { setLifespan(remaining); }
+        }
+    }
+    public void setLifespan(int lifespan) {
+        m_lifespan = lifespan;
+        m_expired = false;
+        if (p_timers != null) {
+            p_timers.cancel(m_lifespanTimer);
+            if (m_lifespan > -1) { p_timers.schedule(m_lifespanTimer, m_lifespan - 1); } // The game's timers advance after every update, so they must wake the projectile a tick early.
         }
     }
-    public void setLifespan(int lifespan) { m_lifespan = lifespan; }
 
     public void updateRotation() //!< Sets the rotation to be pointed towards the direction of m_velocity.
     {
@@ -170,11 +191,8 @@ public class Projectile extends GameObject {
     public int getDamage() { return m_damage; }
     public float getExplosionRadius() { return m_explosionRadius; }
 
-    @Override
-    public void draw(Canvas c, Paint p) { if (m_sprite != null) { m_sprite.draw(c, p); } }
-
     public boolean isReadyToDetonate() {
-        return ((m_lifespan == 0 || getPosition().getMagnitudeSquared() > 1600.0f) && !m_detonated);
+        return ((m_expired || getPosition().getMagnitudeSquared() > 1600.0f) && !m_detonated);
     }
 
     public int explode(Vector<Explosion> destVec)
@@ -188,9 +206,9 @@ public class Projectile extends GameObject {
         return m_damage;
     }
 
-    /*@Override
+    @Override
     public void delete(){
         super.delete();
-
-    }*/
+        if (p_timers != null) { p_timers.cancel(m_lifespanTimer); }
+    }
 }
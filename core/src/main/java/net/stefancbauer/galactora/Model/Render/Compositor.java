@@ -0,0 +1,16 @@
+package net.stefancbauer.galactora.Model.Render;
+
+/**
+ * Draws part of the scene into a RenderTarget, possibly by way of an offscreen cache that only the platform knows how to make.
+ * Obtained from the Platform, so the model can ask for caching without depending on any graphics API.
+ */
+
+public interface Compositor {
+    void draw(RenderTarget target);
+    int getCacheDrawCalls(); //!< Draw calls made into the cache by the last draw(). Zero if nothing is cached.
+
+    boolean isEnabled();
+    void setEnabled(boolean enabled); //!< If false, contents are drawn directly every frame.
+
+    void release(); //!< Frees any cache.
+}
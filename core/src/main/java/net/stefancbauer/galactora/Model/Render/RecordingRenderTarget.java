@@ -0,0 +1,157 @@
+package net.stefancbauer.galactora.Model.Render;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * A headless RenderTarget that draws nothing, but records every command and counts sprites, state changes and overdraw.
+ * Doesn't use any Android classes, so can be used in plain JVM tests and benchmarks.
+ */
+
+public class RecordingRenderTarget implements RenderTarget {
+    private final int m_width; //!< Size of the imaginary screen, in pixels.
+    private final int m_height;
+    private boolean m_recording = true; //!< If false, only the counters are kept, which avoids allocating per command.
+
+    private final Vector<RenderCommand> mv_commands = new Vector<RenderCommand>();
+    private final Map<Object, Integer> m_textureIds = new IdentityHashMap<Object, Integer>(); //!< Texture handles, numbered in the order they were first seen.
+
+    // Counters, cleared by reset().
+    private int m_sprites = 0;
+    private int m_images = 0;
+    private int m_layers = 0;
+    private int m_textureChanges = 0; //!< Number of draws using a different texture to the draw before.
+    private int m_alphaChanges = 0; //!< Number of sprites drawn with a different alpha to the sprite before.
+    private double m_coveredPixels = 0.0; //!< Total on-screen area of everything drawn, counting overlaps repeatedly.
+
+    private int m_lastTexture = -1;
+    private int m_lastAlpha = -1;
+
+    public RecordingRenderTarget(int width, int height) {
+        m_width = width;
+        m_height = height;
+    }
+
+    public void setRecording(boolean recording) { m_recording = recording; }
+
+    public void reset() //!< Clears all commands and counters, eg. between frames. Texture IDs are kept, so they stay consistent across frames.
+    {
+        mv_commands.clear();
+        m_sprites = 0;
+        m_images = 0;
+        m_layers = 0;
+        m_textureChanges = 0;
+        m_alphaChanges = 0;
+        m_coveredPixels = 0.0;
+        m_lastTexture = -1;
+        m_lastAlpha = -1;
+    }
+
+    @Override
+    public void drawSprite(Object sheet, int srcLeft, int srcTop, int srcRight, int srcBottom, Object frame, float x, float y, float width, float height, float originX, float originY, float rotation, int alpha) {
+        int texture = getTextureId(sheet);
+        if (texture != m_lastTexture) { m_textureChanges++; }
+        if (alpha != m_lastAlpha) { m_alphaChanges++; }
+        m_lastTexture = texture;
+        m_lastAlpha = alpha;
+        m_sprites++;
+
+        // Axis-aligned bounds of the (possibly rotated) sprite.
+        float left = -originX;
+        float top = -originY;
+        float right = width - originX;
+        float bottom = height - originY;
+        if (rotation != 0.0f) {
+            double radians = Math.toRadians(rotation);
+            float cos = (float)Math.abs(Math.cos(radians));
+            float sin = (float)Math.abs(Math.sin(radians));
+            float halfWidth = ((width * cos) + (height * sin)) * 0.5f;
+            float halfHeight = ((width * sin) + (height * cos)) * 0.5f;
+
+            // Centre of the sprite, rotated about its origin.
+            float centreX = (left + right) * 0.5f;
+            float centreY = (top + bottom) * 0.5f;
+            float rotatedX = (float)((centreX * Math.cos(radians)) - (centreY * Math.sin(radians)));
+            float rotatedY = (float)((centreX * Math.sin(radians)) + (centreY * Math.cos(radians)));
+
+            left = rotatedX - halfWidth;
+            right = rotatedX + halfWidth;
+            top = rotatedY - halfHeight;
+            bottom = rotatedY + halfHeight;
+        }
+        addCoverage(x + left, y + top, x + right, y + bottom);
+
+        if (m_recording) {
+            mv_commands.addElement(new RenderCommand(RenderCommand.Type.SPRITE, texture, srcLeft, srcTop, srcRight, srcBottom, x, y, width, height, rotation, alpha, null));
+        }
+    }
+
+    @Override
+    public void drawImage(Object image, float x, float y, float width, float height) {
+        int texture = getTextureId(image);
+        if (texture != m_lastTexture) { m_textureChanges++; }
+        m_lastTexture = texture;
+        m_images++;
+
+        addCoverage(x, y, x + width, y + height);
+
+        if (m_recording) {
+            mv_commands.addElement(new RenderCommand(RenderCommand.Type.IMAGE, texture, 0, 0, 0, 0, x, y, width, height, 0.0f, 255, null));
+        }
+    }
+
+    @Override
+    public void drawDebugRect(float left, float top, float right, float bottom, int argb) {
+        if (m_recording) {
+            mv_commands.addElement(new RenderCommand(RenderCommand.Type.DEBUG_RECT, -1, 0, 0, 0, 0, left, top, right - left, bottom - top, 0.0f, argb, null));
+        }
+    }
+
+    @Override
+    public void endLayer(String name) {
+        m_layers++;
+        if (m_recording) {
+            mv_commands.addElement(new RenderCommand(RenderCommand.Type.END_LAYER, -1, 0, 0, 0, 0, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0, name));
+        }
+    }
+
+    @Override
+    public boolean isOffscreenCachingSupported() { return false; }
+
+    private void addCoverage(float left, float top, float right, float bottom) //!< Adds the on-screen part of a rectangle to the covered area.
+    {
+        float clippedWidth = Math.min(right, m_width) - Math.max(left, 0.0f);
+        float clippedHeight = Math.min(bottom, m_height) - Math.max(top, 0.0f);
+        if (clippedWidth > 0.0f && clippedHeight > 0.0f) { m_coveredPixels += (double)clippedWidth * clippedHeight; }
+    }
+
+    public int getTextureId(Object texture) //!< The ID given to a texture handle, assigning the next one if it's new. Null textures are -1.
+    {
+        if (texture == null) { return -1; }
+
+        Integer id = m_textureIds.get(texture);
+        if (id == null) {
+            id = m_textureIds.size();
+            m_textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    public Vector<RenderCommand> getCommands() { return mv_commands; }
+    public int getSprites() { return m_sprites; }
+    public int getImages() { return m_images; }
+    public int getLayers() { return m_layers; }
+    public int getTextureChanges() { return m_textureChanges; }
+    public int getAlphaChanges() { return m_alphaChanges; }
+    public int getStateChanges() { return m_textureChanges + m_alphaChanges; }
+    public double getCoveredPixels() { return m_coveredPixels; }
+    public double getOverdraw() { return m_coveredPixels / ((double)m_width * m_height); } //!< Average number of times each pixel was drawn. Bounding boxes are used, so transparent corners count.
+
+    public String getDrawList() //!< All recorded commands, one per line, for golden comparisons.
+    {
+        StringBuilder builder = new StringBuilder();
+        for (RenderCommand command : mv_commands) { builder.append(command).append('\n'); }
+        return builder.toString();
+    }
+}
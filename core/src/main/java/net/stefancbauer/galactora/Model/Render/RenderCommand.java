@@ -0,0 +1,51 @@
+package net.stefancbauer.galactora.Model.Render;
+
+import java.util.Locale;
+
+/**
+ * A single recorded call to a RenderTarget. Textures are identified by the order they were first seen in, so recordings can be compared between runs.
+ */
+
+public class RenderCommand {
+    public enum Type { SPRITE, IMAGE, DEBUG_RECT, END_LAYER }
+
+    public final Type m_type;
+    public final int m_textureId; //!< -1 for commands without a texture.
+    public final int m_srcLeft, m_srcTop, m_srcRight, m_srcBottom; //!< Sprites only.
+    public final float m_x, m_y, m_width, m_height; //!< Top-left corner and size for images and debug rects, origin position and size for sprites.
+    public final float m_rotation;
+    public final int m_alpha; //!< Alpha for sprites, colour for debug rects.
+    public final String m_layer; //!< END_LAYER only.
+
+    RenderCommand(Type type, int textureId, int srcLeft, int srcTop, int srcRight, int srcBottom, float x, float y, float width, float height, float rotation, int alpha, String layer) {
+        m_type = type;
+        m_textureId = textureId;
+        m_srcLeft = srcLeft;
+        m_srcTop = srcTop;
+        m_srcRight = srcRight;
+        m_srcBottom = srcBottom;
+        m_x = x;
+        m_y = y;
+        m_width = width;
+        m_height = height;
+        m_rotation = rotation;
+        m_alpha = alpha;
+        m_layer = layer;
+    }
+
+    @Override
+    public String toString() //!< Stable text form, for golden draw-list comparisons. Floats are rounded to a tenth of a pixel.
+    {
+        switch (m_type) {
+            case SPRITE:
+                return String.format(Locale.US, "sprite tex=%d src=(%d,%d,%d,%d) at=(%.1f,%.1f) size=(%.1f,%.1f) rot=%.1f alpha=%d",
+                        m_textureId, m_srcLeft, m_srcTop, m_srcRight, m_srcBottom, m_x, m_y, m_width, m_height, m_rotation, m_alpha);
+            case IMAGE:
+                return String.format(Locale.US, "image tex=%d at=(%.1f,%.1f) size=(%.1f,%.1f)", m_textureId, m_x, m_y, m_width, m_height);
+            case DEBUG_RECT:
+                return String.format(Locale.US, "debug at=(%.1f,%.1f) size=(%.1f,%.1f) color=%08x", m_x, m_y, m_width, m_height, m_alpha);
+            default:
+                return "end " + m_layer;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package net.stefancbauer.galactora.Model.Render;
+
+/**
+ * Something the model can draw into. Everything is described with plain numbers and opaque texture handles, so targets needn't touch the Android graphics API.
+ * All positions and sizes are in screen pixels, with the origin in the top-left.
+ */
+
+public interface RenderTarget {
+    void drawSprite(Object sheet, int srcLeft, int srcTop, int srcRight, int srcBottom, Object frame, float x, float y, float width, float height, float originX, float originY, float rotation, int alpha); //!< Draws a section of a spritesheet. frame is an optional handle to a bitmap holding just that section, at any scale. (x, y) is the screen position of the sprite's origin, which is (originX, originY) from its top-left corner. Rotation is clockwise, in degrees.
+    void drawImage(Object image, float x, float y, float width, float height); //!< Draws a whole image, unscaled and fully opaque, with its top-left corner at (x, y). Used for cached layers.
+    void drawDebugRect(float left, float top, float right, float bottom, int argb); //!< Outlines a rectangle, for debug views.
+    void endLayer(String name); //!< Marks the end of a named layer. Nothing drawn after this may be drawn below anything drawn before it.
+
+    boolean isOffscreenCachingSupported(); //!< Whether compositors may render into offscreen bitmaps and draw them with drawImage(). If not, they should draw their contents directly.
+}
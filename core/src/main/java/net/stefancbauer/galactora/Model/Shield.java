@@ -1,12 +1,10 @@
 package net.stefancbauer.galactora.Model;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.graphics.Rect;
-
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
 import net.stefancbauer.galactora.Model.Engine.CollisionCircle;
 import net.stefancbauer.galactora.Model.Engine.CollisionRectangle;
+import net.stefancbauer.galactora.Model.Engine.TimerWheel;
 import net.stefancbauer.galactora.Model.Engine.Weld;
 
 import java.util.Vector;
@@ -18,6 +16,12 @@ import java.util.Vector;
 public class Shield extends GameObject {
     private boolean m_isPlayers = false; //!< Whether or not this shield belongs to the player, rather than an enemy.
     private int m_lifespan; //!< Lifespan in ticks. If -1, lasts forever.
+    private boolean m_expired = false; //!< Whether the lifespan has run out.
+    private TimerWheel p_timers = null; //!< Counting down the lifespan, once started.
+    private final TimerWheel.Timer m_lifespanTimer = new TimerWheel.Timer() {
+        @Override
+        protected void expire() { m_expired = true; }
+    };
 
     public boolean m_ownedByPlayer; //!< Whether or not this piece of armour is owned by player or by enemies, disabling direct friendly fire accordingly (explosions deal damage to everyone).
 
@@ -34,7 +38,7 @@ public class Shield extends GameObject {
     {
         Shield returnShield = new Shield(true, lifespan, true);
 
-        returnShield.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(384, 0, 512, 128), 4, new Vector2f(2.0f), new Vector2f(1.0f));
+        returnShield.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(384, 0, 512, 128), 4, new Vector2f(2.0f), new Vector2f(1.0f));
         returnShield.addCollisionable(new CollisionCircle(1.0f), new Vector2f(), 0.0f);
 
         return returnShield;
@@ -44,34 +48,49 @@ public class Shield extends GameObject {
     {
         Shield returnShield = new Shield(false, -1, false);
 
-        returnShield.m_sprite = new Sprite("game_foreground_spritesheet", new Rect(112, 144, 240, 176), 16, new Vector2f(2.0f, 0.5f), new Vector2f(1.0f, 0.75f));
+        returnShield.m_sprite = new Sprite("game_foreground_spritesheet", new Rect2i(112, 144, 240, 176), 16, new Vector2f(2.0f, 0.5f), new Vector2f(1.0f, 0.75f));
         returnShield.addCollisionable(new CollisionRectangle(1.0f, 0.125f), new Vector2f(0.0f, -0.5f), 0.0f);
 
         return returnShield;
     }
 
+    public void startLifespan(TimerWheel timers) //!< Starts counting down the lifespan on the game's timers. The shield is deleted in its lifespan-th update.
+    {
+        p_timers = timers;
+        setLifespan(m_lifespan);
+    }
+
     @Override
     public void update() {
-        if (m_lifespan > 0) { m_lifespan--; }
-        if (m_lifespan == 0) { delete(); }
+        if (m_expired) { delete(); }
         m_sprite.incrementCurrentFrame(true);
     }
 
-    @Override
-    public void draw(Canvas c, Paint p) { m_sprite.draw(c, p); }
-
-    public int getLifespan() { return m_lifespan; }
+    public int getLifespan() //!< Updates left, or -1 if it lasts forever.
+    {
+        if (m_lifespan == -1 || p_timers == null) { return m_lifespan; }
+        return m_expired ? 0 : p_timers.getRemaining(m_lifespanTimer) + 1;
+    }
     public void addLifespan(int lifespan) {
         if (m_lifespan > -1) {
-            m_lifespan += lifespan;
-            if (m_lifespan <= 0) { m_lifespan = 0; delete(); }
+            int remaining = getLifespan() + lifespan;
+            if (remaining <= 0) { setLifespan(0); delete(); }
+            else { setLifespan(remaining); }
+        }
+    }
+    public void setLifespan(int lifespan) {
+        m_lifespan = lifespan;
+        m_expired = false;
+        if (p_timers != null) {
+            p_timers.cancel(m_lifespanTimer);
+            if (m_lifespan > -1) { p_timers.schedule(m_lifespanTimer, m_lifespan - 1); } // The game's timers advance after every update, so they must wake the shield a tick early.
         }
     }
-    public void setLifespan(int lifespan) { m_lifespan = lifespan; }
 
     @Override
     public void delete(){
         super.delete();
+        if (p_timers != null) { p_timers.cancel(m_lifespanTimer); }
         Vector<GameObject> weldeds = Weld.getWelded(this);
         for (GameObject obj: weldeds) {
             if (obj instanceof PlayerShip) { ((PlayerShip) obj).m_shield = null; }
@@ -1,15 +1,11 @@
 package net.stefancbauer.galactora.Model;
 
-import android.graphics.Bitmap;
-import android.graphics.Canvas;
-import android.graphics.Matrix;
-import android.graphics.Paint;
-import android.graphics.Rect;
-import android.util.Log;
-
-import net.stefancbauer.galactora.Controller.BitmapManager;
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.LocalMaths.Rect2i;
 import net.stefancbauer.galactora.LocalMaths.Vector2f;
-import net.stefancbauer.galactora.View.GameSurfaceView;
+import net.stefancbauer.galactora.Model.Engine.CullStats;
+import net.stefancbauer.galactora.Model.Engine.Viewport;
+import net.stefancbauer.galactora.Model.Render.RenderTarget;
 
 import java.util.Vector;
 
@@ -19,9 +15,9 @@ import java.util.Vector;
 
 public class Sprite {
     protected final String m_textureName;
-    protected final Bitmap m_baseTexture; //!< The Texture to display from.
-    protected final Rect m_baseTextureRect; //!< A Rect that defines the portion of the Texture to draw as the first frame, and the size of all following frames. In pixels, assumes origin in top left.
-    protected final Vector<Bitmap> m_textures = new Vector<Bitmap>(); //!< The textures currently used by this sprite (textures used by each frame, for animated sprites).
+    protected final Object m_baseTexture; //!< The Texture to display from. A Platform texture handle.
+    protected final Rect2i m_baseTextureRect; //!< A Rect2i that defines the portion of the Texture to draw as the first frame, and the size of all following frames. In pixels, assumes origin in top left.
+    protected final Vector<Object> m_textures = new Vector<Object>(); //!< The textures currently used by this sprite (textures used by each frame, for animated sprites).
     public final int m_frameCount;
     protected int m_currentFrame = 0;
     protected Vector2f m_size = new Vector2f(); //!< The dimensions of the sprite, in game units.
@@ -31,15 +27,16 @@ public class Sprite {
     protected int m_alpha = 255; //!< The degree of extra transparency to apply when drawing.
     protected boolean m_visible = true; //!< Whether or not to draw this sprite.
 
-    public Sprite(Bitmap bitmap) //!< Basic constructor, maps the given bitmap onto a single-frame proportional sprite.
+    public Sprite(Object texture) //!< Basic constructor, maps the given texture onto a single-frame proportional sprite.
     {
         m_textureName = "Custom";
-        m_baseTexture = bitmap;
-        m_baseTextureRect = new Rect(0, 0, m_baseTexture.getWidth(), m_baseTexture.getHeight());
+        m_baseTexture = texture;
+        m_baseTextureRect = new Rect2i(0, 0, Platform.getInstance().getTextureWidth(m_baseTexture), Platform.getInstance().getTextureHeight(m_baseTexture));
         m_frameCount = 1;
 
-        float width = GameSurfaceView.DPtoGU * m_baseTextureRect.right;
-        float height = GameSurfaceView.DPtoGU * m_baseTextureRect.bottom;
+        float DPtoGU = Viewport.getCurrent().m_DPtoGU;
+        float width = DPtoGU * m_baseTextureRect.right;
+        float height = DPtoGU * m_baseTextureRect.bottom;
 
         m_size.set(width, height);
         m_origin.set(0.5f * width, 0.5f * height);
@@ -52,8 +49,8 @@ public class Sprite {
     public Sprite(String textureName) //!< Basic constructor, maps the entire bitmap onto a single-frame 1x1GU sprite.
     {
         m_textureName = new String(textureName);
-        m_baseTexture = BitmapManager.getInstance().getBitmap(textureName);
-        m_baseTextureRect = new Rect(0, 0, m_baseTexture.getWidth(), m_baseTexture.getHeight());
+        m_baseTexture = Platform.getInstance().getTexture(textureName);
+        m_baseTextureRect = new Rect2i(0, 0, Platform.getInstance().getTextureWidth(m_baseTexture), Platform.getInstance().getTextureHeight(m_baseTexture));
         m_frameCount = 1;
         m_size.set(1.0f);
         m_origin.set(0.5f);
@@ -72,8 +69,8 @@ public class Sprite {
     public Sprite(String textureName, Vector2f size, Vector2f origin, Vector2f position, float rotation)  //!< Constructor, maps the entire bitmap onto single-frame sprite of the specified size, m_position, and rotation.
     {
         m_textureName = new String(textureName);
-        m_baseTexture = BitmapManager.getInstance().getBitmap(textureName);
-        m_baseTextureRect = new Rect(0, 0, m_baseTexture.getWidth(), m_baseTexture.getHeight());
+        m_baseTexture = Platform.getInstance().getTexture(textureName);
+        m_baseTextureRect = new Rect2i(0, 0, Platform.getInstance().getTextureWidth(m_baseTexture), Platform.getInstance().getTextureHeight(m_baseTexture));
         m_frameCount = 1;
         m_size.set(size);
         m_origin.set(origin);
@@ -83,23 +80,23 @@ public class Sprite {
         generateTextures();
     }
 
-    public Sprite(String textureName, Rect baseTextureRect, int frameCount, Vector2f size, Vector2f origin)  //!< Constructor, maps the specified section (and specified number of frames below it) of a bitmap onto multi-frame sprite of the specified size.
+    public Sprite(String textureName, Rect2i baseTextureRect, int frameCount, Vector2f size, Vector2f origin)  //!< Constructor, maps the specified section (and specified number of frames below it) of a bitmap onto multi-frame sprite of the specified size.
     { this(textureName, baseTextureRect, frameCount, size, origin, new Vector2f(0.0f, 0.0f), 0.0f); }
 
-    public Sprite(String textureName, Rect baseTextureRect, int frameCount, Vector2f size, Vector2f origin, Vector2f position)  //!< Constructor, maps the specified section (and specified number of frames below it) of a bitmap onto multi-frame sprite of the specified size and position.
+    public Sprite(String textureName, Rect2i baseTextureRect, int frameCount, Vector2f size, Vector2f origin, Vector2f position)  //!< Constructor, maps the specified section (and specified number of frames below it) of a bitmap onto multi-frame sprite of the specified size and position.
     { this(textureName, baseTextureRect, frameCount, size, origin, position, 0.0f); }
 
-    public Sprite(String textureName, Rect baseTextureRect, Vector2f size, Vector2f origin, Vector2f position, float rotation)  //!< Constructor, maps the specified section of a bitmap onto single-frame sprite of the specified size, position, and rotation.
+    public Sprite(String textureName, Rect2i baseTextureRect, Vector2f size, Vector2f origin, Vector2f position, float rotation)  //!< Constructor, maps the specified section of a bitmap onto single-frame sprite of the specified size, position, and rotation.
     { this(textureName, baseTextureRect, 1, size, origin, position, rotation); }
 
-    public Sprite(String textureName, Rect baseTextureRect, int frameCount, Vector2f size, Vector2f origin, float rotation)  //!< Constructor, maps the specified section of a bitmap (and specified number of frames below it) of a bitmap onto multi-frame sprite of the specified size and rotation.
+    public Sprite(String textureName, Rect2i baseTextureRect, int frameCount, Vector2f size, Vector2f origin, float rotation)  //!< Constructor, maps the specified section of a bitmap (and specified number of frames below it) of a bitmap onto multi-frame sprite of the specified size and rotation.
     { this(textureName, baseTextureRect, frameCount, size, origin, new Vector2f(), rotation); }
 
-    public Sprite(String textureName, Rect baseTextureRect, int frameCount, Vector2f size, Vector2f origin, Vector2f position, float rotation)  //!< Full constructor, maps the specified section (and specified number of frames below it) of a bitmap onto a multi-frame sprite of the specified size, m_position, and rotation.
+    public Sprite(String textureName, Rect2i baseTextureRect, int frameCount, Vector2f size, Vector2f origin, Vector2f position, float rotation)  //!< Full constructor, maps the specified section (and specified number of frames below it) of a bitmap onto a multi-frame sprite of the specified size, m_position, and rotation.
     {
         m_textureName = new String(textureName);
-        m_baseTexture = BitmapManager.getInstance().getBitmap(textureName);
-        m_baseTextureRect = new Rect(baseTextureRect);
+        m_baseTexture = Platform.getInstance().getTexture(textureName);
+        m_baseTextureRect = new Rect2i(baseTextureRect);
         m_frameCount = frameCount;
         m_size.set(size);
         m_origin.set(origin);
@@ -117,20 +114,20 @@ public class Sprite {
 
         // Each frame is the same size as the next, but offset on the spritesheet by its height. Putting in incorrect figures can therefore really fuck everything up.
 
-        // Building the transform matrix. Probably.
+        // Working out the scale. The platform builds the actual frames.
         int width = m_baseTextureRect.width();
         int height = m_baseTextureRect.height();
-        float xScale = (m_size.x * GameSurfaceView.GUtoDP) / (float)width;
-        float yScale = (m_size.y * GameSurfaceView.GUtoDP) / (float)height;
-        Matrix matrix = new Matrix(); // in pixel units, I think. Although with Android WHO THE F*** KNOWS?!!!
-        matrix.setScale(xScale, yScale);
+        float GUtoDP = Viewport.getCurrent().m_GUtoDP;
+        float xScale = (m_size.x * GUtoDP) / (float)width;
+        float yScale = (m_size.y * GUtoDP) / (float)height;
 
+        Platform platform = Platform.getInstance();
         for (int i = 0; i < m_frameCount; i++) {
             int offset = i * height;
-            if (offset + height <= m_baseTexture.getHeight()) {
-                m_textures.addElement(Bitmap.createBitmap(m_baseTexture, m_baseTextureRect.left, m_baseTextureRect.top + offset, width, height, matrix, false));
+            if (offset + height <= platform.getTextureHeight(m_baseTexture)) {
+                m_textures.addElement(platform.createFrame(m_baseTexture, m_baseTextureRect.left, m_baseTextureRect.top + offset, width, height, xScale, yScale));
             } else {
-                Log.d("ERROR", "Size overflow when attempting to add sprite " + i + " to " + m_textureName + ".");
+                platform.log("ERROR", "Size overflow when attempting to add sprite " + i + " to " + m_textureName + ".");
             }
         }
 
@@ -166,24 +163,39 @@ public class Sprite {
         else if (loop) { m_currentFrame = dest; }
     }
 
-    public void draw(Canvas c, Paint p) {
-        if (m_visible) {
-            Bitmap texture = m_textures.get(m_currentFrame);
-            p.setAlpha(m_alpha);
+    public void draw(RenderTarget target) //!< Draws the sprite into a RenderTarget, which may draw it from the spritesheet or from the pre-scaled texture.
+    {
+        if (!m_visible) { return; }
+        draw(target, Viewport.getCurrent());
+    }
 
-            float width = texture.getWidth();
-            float height = texture.getHeight();
+    private void draw(RenderTarget target, Viewport view) {
+        float scale = view.m_GUtoDP;
+        float width = m_size.x * scale;
+        float height = m_size.y * scale;
+        int frameTop = m_baseTextureRect.top + (m_currentFrame * m_baseTextureRect.height());
 
-            Matrix matrix = new Matrix();
-            matrix.setTranslate((m_origin.x / m_size.x) * -width , ((m_size.y - m_origin.y) / m_size.y) * -height); // Is that minus correct? WHO KNOWS! WHAT THE F*** IS A CONSISTENT FRAME OF F***ING REFERENCE ANYWAY?!!!
-            matrix.postRotate(-m_rotation); // m_rotation is reversed to account for left-to-right handedness switch.
-            Vector2f screenPosition = GameSurfaceView.GUtoDP(m_position).toFloat();
-            matrix.postTranslate(screenPosition.x, screenPosition.y);
+        target.drawSprite(m_baseTexture, m_baseTextureRect.left, frameTop, m_baseTextureRect.right, frameTop + m_baseTextureRect.height(), m_textures.get(m_currentFrame),
+                (m_position.x - view.mv_viewOrigin.x) * scale, (m_position.y - view.mv_viewOrigin.y) * -scale, width, height,
+                (m_origin.x / m_size.x) * width, ((m_size.y - m_origin.y) / m_size.y) * height,
+                -m_rotation, m_alpha); // m_rotation is reversed to account for left-to-right handedness switch.
+    }
 
-            c.drawBitmap(texture, matrix, p);
-        }
+    public void draw(RenderTarget target, CullStats stats) //!< As draw(target), but skips the sprite if it is entirely off-screen, recording the result.
+    {
+        if (!m_visible) { return; }
+
+        Viewport view = Viewport.getCurrent();
+        if (isOnScreen(view)) {
+            draw(target, view);
+            stats.addDrawn();
+        } else { stats.addCulled(); }
     }
 
+    public boolean isOnScreen() { return isOnScreen(Viewport.getCurrent()); } //!< Conservatively checks whether any part of the sprite lies within the current view.
+    private boolean isOnScreen(Viewport view)
+    { return view.isVisible(m_position.x, m_position.y, m_size.x, m_size.y, m_origin.x, m_origin.y, m_rotation); }
+
     public Vector2f getSize() {
         return m_size;
     }
@@ -0,0 +1,53 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Headless.HeadlessGame;
+import net.stefancbauer.galactora.Model.Enemy;
+import net.stefancbauer.galactora.Model.EnemyIndex;
+import net.stefancbauer.galactora.Model.EnemyState;
+import net.stefancbauer.galactora.Model.Game;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Vector;
+
+import static org.junit.Assert.*;
+
+/**
+ * Plays a seeded game, checking after every tick that the index holds exactly Game's enemies, each under its current state and in spawn order.
+ */
+public class EnemyIndexTest {
+    @BeforeClass
+    public static void installPlatform() {
+        TestPlatform.install();
+    }
+
+    @Test
+    public void tracksEveryState() throws Exception {
+        HeadlessGame headless = new HeadlessGame(0L, true);
+        boolean[] seen = new boolean[EnemyState.values().length];
+
+        for (int i = 0; i < 4000; i++) {
+            headless.step();
+            Game game = headless.getGame();
+            EnemyIndex index = game.getEnemyIndex();
+            assertEquals(game.m_enemies.size(), index.size());
+
+            float minGridY = 0.0f;
+            for (EnemyState state : EnemyState.values()) {
+                Vector<Enemy> expected = new Vector<Enemy>();
+                for (Enemy enemy : game.m_enemies) {
+                    if (enemy.getState() == state) { expected.addElement(enemy); }
+                    minGridY = Math.min(minGridY, enemy.unmodifiedGridPos.y);
+                }
+
+                assertEquals(expected.size(), index.size(state));
+                for (int j = 0; j < expected.size(); j++) { assertSame(expected.get(j), index.get(state, j)); }
+                if (expected.size() > 0) { seen[state.ordinal()] = true; }
+            }
+            assertEquals(minGridY, index.getMinGridY(), 0.0f);
+        }
+
+        for (int i = 0; i < seen.length; i++) { assertTrue(EnemyState.values()[i].toString(), seen[i]); }
+    }
+}
@@ -0,0 +1,61 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.LocalMaths.Rect2f;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.FormationIndex;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.Vector;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the formation's rectangle counts match testing every enemy's grid position, as flyby selection used to, however the grid is spread and shifted.
+ */
+public class FormationIndexTest {
+    @Test
+    public void matchesTestingEachEnemy() throws Exception {
+        Random rand = new Random(5L);
+        FormationIndex formation = new FormationIndex();
+        Vector<Vector2f> grid = new Vector<Vector2f>();
+
+        for (int round = 0; round < 2000; round++) {
+            if (grid.size() > 0 && rand.nextInt(3) == 0) { formation.remove(grid.remove(rand.nextInt(grid.size()))); }
+            else {
+                Vector2f pos = new Vector2f((rand.nextInt(29) - 14) * 0.5f, (rand.nextInt(16) - 15) * 0.5f);
+                grid.addElement(pos);
+                formation.add(pos);
+            }
+            assertEquals(grid.size(), formation.size());
+
+            float multiplier = 1.0f + (rand.nextInt(81) * 0.005f);
+            Vector2f centre = new Vector2f((rand.nextInt(161) - 80) * 0.025f, 16.0f);
+            float xCentre = (rand.nextInt(29) - 14) * 0.5f;
+            float yCentre = (rand.nextInt(16) - 15) * 0.5f;
+            float width = rand.nextInt(12) * 0.5f;
+            float height = rand.nextInt(8) * 0.5f;
+            Rect2f area = new Rect2f(xCentre - (0.5f * width), yCentre + (0.5f * height) + 16.0f, xCentre + (0.5f * width), yCentre - (0.5f * height) + 16.0f);
+
+            int expected = 0;
+            for (Vector2f unmod : grid) {
+                float x = (unmod.x * multiplier) + centre.x;
+                float y = unmod.y + centre.y;
+                if (x >= area.left && x <= area.right && y >= area.bottom && y <= area.top) { expected++; }
+            }
+            assertEquals(expected, formation.count(area, multiplier, centre));
+        }
+    }
+
+    @Test
+    public void neverUndercountsOffTheLattice() throws Exception {
+        FormationIndex formation = new FormationIndex();
+        formation.add(new Vector2f(0.25f, -1.0f));
+        formation.add(new Vector2f(3.0f, -1.0f));
+
+        Rect2f area = new Rect2f(-1.0f, 16.0f, 1.0f, 14.0f);
+        assertEquals(1, formation.count(area, 1.0f, new Vector2f(0.0f, 16.0f))); // Only the enemy between cells, which might be in it.
+        assertEquals(2, formation.count(new Rect2f(-1.0f, 16.0f, 4.0f, 14.0f), 1.0f, new Vector2f(0.0f, 16.0f)));
+    }
+}
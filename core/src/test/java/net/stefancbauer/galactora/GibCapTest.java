@@ -0,0 +1,44 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Headless.HeadlessGame;
+import net.stefancbauer.galactora.LocalMaths.Vector2f;
+import net.stefancbauer.galactora.Model.Background.BackgroundObject;
+import net.stefancbauer.galactora.Model.Background.ParticleAtlas;
+import net.stefancbauer.galactora.Model.Background.ParticleLayer;
+import net.stefancbauer.galactora.Model.Engine.QualityTier;
+import net.stefancbauer.galactora.Model.Enemy;
+import net.stefancbauer.galactora.Model.Projectile;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.Vector;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks a quality tier's gib cap limits only the gibs of a death, never its splatter.
+ */
+public class GibCapTest {
+    @BeforeClass
+    public static void installPlatform() {
+        TestPlatform.install();
+    }
+
+    @Test
+    public void reducedTierKeepsSplatter() throws Exception {
+        QualityTier reduced = QualityTier.getDefaults()[1];
+        assertFalse(reduced.m_skipFading);
+
+        HeadlessGame headless = new HeadlessGame(0L, true);
+        Enemy drone = Enemy.getDrone(headless.getGame(), null, new Vector<Projectile>(), new Vector2f(0.0f, 10.0f), 0.0f);
+
+        for (long seed = 0; seed < 20; seed++) {
+            ParticleLayer debris = new ParticleLayer("Debris", new ParticleAtlas());
+            BackgroundObject.getEnemyGibs(new Random(seed), debris, drone, reduced.m_maxGibs);
+
+            assertEquals(reduced.m_maxGibs + 1, debris.size()); // A drone drops 3 - 4 gibs, capped, then its splatter.
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Headless.HeadlessGame;
+import net.stefancbauer.galactora.Model.Engine.QualityTier;
+import net.stefancbauer.galactora.Model.Render.RecordingRenderTarget;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the game on a plain JVM for ten seconds of game time, checking the first level loads and plays, and that it can be drawn without a display.
+ */
+public class HeadlessGameTest {
+    @BeforeClass
+    public static void installPlatform() {
+        TestPlatform.install();
+    }
+
+    @Test
+    public void playsFirstLevel() throws Exception {
+        HeadlessGame headless = new HeadlessGame(1L, true);
+
+        int maxEnemies = 0;
+        for (int i = 0; i < 600; i++) {
+            headless.step();
+            maxEnemies = Math.max(maxEnemies, headless.getGame().m_enemies.size());
+        }
+
+        assertTrue(maxEnemies > 0);
+        assertFalse(headless.getGame().m_gameOver);
+    }
+
+    @Test
+    public void prefetchesNextLevel() throws Exception {
+        HeadlessGame headless = new HeadlessGame(0L, true);
+        while (headless.getGame().getLevelIndex() == 0 && headless.getTick() < 8000) { headless.step(); }
+
+        assertEquals(1, headless.getGame().getLevelIndex());
+        assertEquals(1, headless.getGame().getPrefetchedLevels());
+    }
+
+    @Test
+    public void qualityTierLeavesGameplayAlone() throws Exception {
+        for (long seed = 1; seed <= 2; seed++) {
+            HeadlessGame full = new HeadlessGame(seed, true);
+            HeadlessGame minimal = new HeadlessGame(seed, true);
+            for (int i = 0; i < 6000; i++) {
+                if (i == 300) { minimal.getGame().setQualityTier(QualityTier.getDefaults()[2]); }
+                full.step();
+                minimal.step();
+            }
+
+            assertEquals(full.getGame().m_score, minimal.getGame().m_score);
+            assertEquals(full.getGame().m_enemies.size(), minimal.getGame().m_enemies.size());
+            assertEquals(full.getGame().getLevelIndex(), minimal.getGame().getLevelIndex());
+        }
+    }
+
+    @Test
+    public void drawsWithoutADisplay() throws Exception {
+        HeadlessGame headless = new HeadlessGame(2L, false);
+        for (int i = 0; i < 300; i++) { headless.step(); }
+
+        RecordingRenderTarget target = new RecordingRenderTarget(HeadlessGame.SCREEN_WIDTH, HeadlessGame.SCREEN_HEIGHT);
+        headless.getGame().draw(target);
+
+        assertTrue(target.getSprites() > 0);
+        assertTrue(target.getOverdraw() > 0.0);
+    }
+}
@@ -0,0 +1,90 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Controller.InputRingBuffer;
+import net.stefancbauer.galactora.Model.Engine.LatencyHistogram;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the input ring buffer keeps records in order, drops rather than overwrites when full, and hands records between threads intact.
+ */
+public class InputRingBufferTest {
+    @Test
+    public void keepsOrderAndWraps() throws Exception {
+        InputRingBuffer buffer = new InputRingBuffer(4);
+        InputRingBuffer.Touch touch = new InputRingBuffer.Touch();
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 3; i++) { assertTrue(buffer.offer(i, -i, InputRingBuffer.MOVE, 0, (round * 10) + i)); }
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.poll(touch));
+                assertEquals(i, touch.m_x, 0.0f);
+                assertEquals(-i, touch.m_y, 0.0f);
+                assertEquals((round * 10) + i, touch.m_timeNanos);
+            }
+            assertFalse(buffer.poll(touch));
+        }
+    }
+
+    @Test
+    public void dropsWhenFull() throws Exception {
+        InputRingBuffer buffer = new InputRingBuffer(3); // Rounded up to 4.
+        InputRingBuffer.Touch touch = new InputRingBuffer.Touch();
+
+        assertEquals(4, buffer.getCapacity());
+        for (int i = 0; i < 6; i++) { buffer.offer(i, 0, InputRingBuffer.DOWN, i, i); }
+
+        assertEquals(4, buffer.size());
+        assertEquals(2, buffer.getDropped());
+        assertTrue(buffer.poll(touch));
+        assertEquals(0, touch.m_timeNanos); // Oldest records survive.
+        assertEquals(0, touch.m_pointer);
+    }
+
+    @Test
+    public void passesRecordsBetweenThreads() throws Exception {
+        final InputRingBuffer buffer = new InputRingBuffer(64);
+        final int count = 200000;
+
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    while (!buffer.offer(i, i * 2, InputRingBuffer.MOVE, i % 5, i)) { Thread.yield(); }
+                }
+            }
+        });
+        producer.start();
+
+        InputRingBuffer.Touch touch = new InputRingBuffer.Touch();
+        int expected = 0;
+        while (expected < count) {
+            if (buffer.poll(touch)) {
+                assertEquals(expected, touch.m_timeNanos);
+                assertEquals((float)expected * 2, touch.m_y, 0.0f);
+                assertEquals(expected % 5, touch.m_pointer);
+                expected++;
+            }
+        }
+        producer.join();
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void histogramBuckets() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram("Test");
+        histogram.record(500000L); // 0.5ms
+        histogram.record(3000000L); // 3ms
+        histogram.record(3500000L);
+        histogram.record(500000000L); // 500ms
+
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(2, histogram.getBucketCount(2));
+        assertEquals(1, histogram.getBucketCount(LatencyHistogram.BUCKETS - 1));
+        assertEquals(4, histogram.getPercentileLimitMs(50.0f));
+        assertEquals(Integer.MAX_VALUE, histogram.getPercentileLimitMs(100.0f));
+        assertEquals(500.0f, histogram.getMaxMs(), 0.001f);
+    }
+}
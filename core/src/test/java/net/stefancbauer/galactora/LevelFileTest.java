@@ -0,0 +1,154 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Headless.LevelCompiler;
+import net.stefancbauer.galactora.Model.Game;
+import net.stefancbauer.galactora.Model.Level.EnemySpawnData;
+import net.stefancbauer.galactora.Model.Level.FlybyTemplate;
+import net.stefancbauer.galactora.Model.Level.LevelFile;
+import net.stefancbauer.galactora.Model.Level.Wave;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compiles the shipped levels, and checks that what's read back matches the XML exactly, and that broken XML and damaged compiled levels are refused.
+ */
+public class LevelFileTest {
+    private static File s_levels;
+
+    @BeforeClass
+    public static void installPlatform() {
+        File main = TestPlatform.install();
+        s_levels = new File(main, "assets");
+    }
+
+    private static LevelFile parse(String xml) throws Exception { return LevelFile.parse(new ByteArrayInputStream(xml.getBytes("UTF-8"))); }
+
+    @Test
+    public void compiledLevelsMatchXml() throws Exception {
+        for (String path : Game.LEVEL_FILES) {
+            File xml = new File(s_levels, path);
+            LevelFile parsed;
+            InputStream in = new FileInputStream(xml);
+            try { parsed = LevelFile.parse(in); }
+            finally { in.close(); }
+
+            LevelFile compiled = LevelFile.read(new ByteArrayInputStream(LevelCompiler.compile(xml)));
+
+            assertEquals(parsed.m_difficultyRating, compiled.m_difficultyRating);
+            assertEquals(parsed.m_onStart.size(), compiled.m_onStart.size());
+            assertEquals(parsed.m_onEnd.size(), compiled.m_onEnd.size());
+            for (int i = 0; i < parsed.m_onEnd.size(); i++) {
+                assertEquals(parsed.m_onEnd.get(i).command, compiled.m_onEnd.get(i).command);
+                assertEquals(parsed.m_onEnd.get(i).delay, compiled.m_onEnd.get(i).delay);
+            }
+
+            assertTrue(parsed.m_waves.size() > 0);
+            assertEquals(parsed.m_waves.size(), compiled.m_waves.size());
+            for (int i = 0; i < parsed.m_waves.size(); i++) {
+                Wave a = parsed.m_waves.get(i);
+                Wave b = compiled.m_waves.get(i);
+                assertEquals(a.m_entryDirection, b.m_entryDirection);
+                assertEquals(a.m_delay, b.m_delay);
+                assertEquals(a.m_spawns.size(), b.m_spawns.size());
+                for (int j = 0; j < a.m_spawns.size(); j++) {
+                    EnemySpawnData x = a.m_spawns.get(j);
+                    EnemySpawnData y = b.m_spawns.get(j);
+                    assertEquals(x.m_type, y.m_type);
+                    assertEquals(x.m_stackDepth, y.m_stackDepth, 0.0f);
+                    assertEquals(x.m_offset, y.m_offset, 0.0f);
+                    assertEquals(x.m_gridPos.x, y.m_gridPos.x, 0.0f);
+                    assertEquals(x.m_gridPos.y, y.m_gridPos.y, 0.0f);
+                }
+            }
+
+            assertEquals(parsed.m_midCount, compiled.m_midCount);
+            assertEquals(parsed.m_midDelay, compiled.m_midDelay);
+            assertEquals(parsed.m_midOptions.size(), compiled.m_midOptions.size());
+            for (int i = 0; i < parsed.m_midOptions.size(); i++) {
+                FlybyTemplate a = parsed.m_midOptions.get(i);
+                FlybyTemplate b = compiled.m_midOptions.get(i);
+                assertEquals(a.type, b.type);
+                assertEquals(a.weight, b.weight, 0.0f);
+                assertEquals(a.range.x, b.range.x, 0.0f);
+                assertEquals(a.range.y, b.range.y, 0.0f);
+            }
+
+            assertEquals(parsed.m_exitType, compiled.m_exitType);
+            assertEquals(parsed.m_exitDelay, compiled.m_exitDelay);
+            assertEquals(parsed.m_exitStep, compiled.m_exitStep);
+            assertEquals(parsed.m_exitGroupSize, compiled.m_exitGroupSize);
+        }
+    }
+
+    @Test
+    public void attributesAreFoundByName() throws Exception {
+        LevelFile file = parse("<level difficulty_rating=\"2\"><wave delay=\"5\" entry_direction=\"TopLeft\">" +
+                "<enemy grid_y=\"-1.5\" grid_x=\"2.5\" offset=\"0.5\" stack_depth=\"1.0\" type=\"queen\"/></wave>" +
+                "<exit group_size=\"1\" step=\"10\" delay=\"20\" type=\"drift\"/></level>");
+
+        assertEquals(2, file.m_difficultyRating);
+        EnemySpawnData spawn = file.m_waves.get(0).m_spawns.get(0);
+        assertEquals(2.5f, spawn.m_gridPos.x, 0.0f);
+        assertEquals(-1.5f, spawn.m_gridPos.y, 0.0f);
+        assertEquals(1.0f, spawn.m_stackDepth, 0.0f);
+        assertEquals(20, file.m_exitDelay);
+    }
+
+    @Test
+    public void brokenLevelsAreRefused() throws Exception {
+        String exit = "<exit type=\"drift\" delay=\"0\" step=\"1\" group_size=\"1\"/>";
+        String[] broken = {
+                "<level difficulty_rating=\"1\"><wave entry_direction=\"up\" delay=\"0\"/>" + exit + "</level>", // Unknown direction.
+                "<level difficulty_rating=\"1\"><wave entry_direction=\"left\"><enemy type=\"drone\" stack_depth=\"0\" offset=\"0\" grid_x=\"0\" grid_y=\"0\"/></wave>" + exit + "</level>", // No delay.
+                "<level difficulty_rating=\"1\"><wave entry_direction=\"left\" delay=\"0\"><enemy type=\"drone\" stack_depth=\"x\" offset=\"0\" grid_x=\"0\" grid_y=\"0\"/></wave>" + exit + "</level>", // Not a number.
+                "<level difficulty_rating=\"1\"><onmid count=\"3\" delay=\"10\"/>" + exit + "</level>", // Flybys with nothing to choose from.
+                "<level difficulty_rating=\"1\"></level>", // No exit.
+                "<level difficulty_rating=\"1\"><exit type=\"drift\" delay=\"0\" step=\"1\" group_size=\"0\"/></level>", // Nobody ever leaves.
+        };
+
+        for (String xml : broken) {
+            try {
+                parse(xml);
+                fail("Accepted " + xml);
+            } catch (XmlPullParserException e) {
+                // Expected.
+            }
+        }
+    }
+
+    @Test
+    public void damagedCompiledLevelsAreRefused() throws Exception {
+        byte[] bytes = LevelCompiler.compile(new File(s_levels, Game.LEVEL_FILES[0]));
+
+        for (int length = 0; length < bytes.length; length++) {
+            try {
+                LevelFile.read(ByteBuffer.wrap(bytes, 0, length));
+                fail("Accepted the first " + length + " of " + bytes.length + " bytes.");
+            } catch (IOException e) {
+                // Expected.
+            }
+        }
+
+        // Any damaged byte must either still read, or be refused with an IOException, never anything else.
+        byte[] damaged = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            for (byte value : new byte[] { (byte)0x80, (byte)0x7F, (byte)0xFF }) {
+                System.arraycopy(bytes, 0, damaged, 0, bytes.length);
+                damaged[i] = value;
+                try { LevelFile.read(ByteBuffer.wrap(damaged)); }
+                catch (IOException e) { /* Expected. */ }
+            }
+        }
+    }
+}
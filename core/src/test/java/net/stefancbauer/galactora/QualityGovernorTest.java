@@ -0,0 +1,81 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Model.Engine.QualityGovernor;
+import net.stefancbauer.galactora.Model.Engine.QualityTier;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the QualityGovernor steps down quickly under sustained load, holds its tier through brief spikes, and steps back up only after lasting headroom.
+ */
+public class QualityGovernorTest {
+    private static final long SLOW = 20000000L; // Frame times, in nanoseconds, against a 10ms budget.
+    private static final long OK = 9000000L;
+    private static final long FAST = 4000000L;
+
+    private static void feed(QualityGovernor governor, long frameNanos, int frames) {
+        for (int i = 0; i < frames; i++) { governor.addFrame(frameNanos); }
+    }
+
+    @Test
+    public void stepsDownUnderSustainedLoad() throws Exception {
+        QualityGovernor governor = new QualityGovernor(10.0f);
+
+        feed(governor, SLOW, 60);
+
+        assertEquals(1, governor.getTierIndex());
+        assertEquals(1, governor.getDecisions().size());
+        assertEquals("Full", governor.getLastDecision().m_from.m_name);
+        assertEquals("Reduced", governor.getLastDecision().m_to.m_name);
+    }
+
+    @Test
+    public void ignoresBriefSpikes() throws Exception {
+        QualityGovernor governor = new QualityGovernor(10.0f);
+
+        for (int i = 0; i < 20; i++) {
+            feed(governor, FAST, 29);
+            feed(governor, SLOW, 1);
+        }
+
+        assertEquals(0, governor.getTierIndex());
+        assertTrue(governor.getDecisions().isEmpty());
+    }
+
+    @Test
+    public void holdsTierWithoutHeadroom() throws Exception {
+        QualityGovernor governor = new QualityGovernor(10.0f);
+        feed(governor, SLOW, 60);
+
+        feed(governor, OK, 600); // Within budget, but too close to it to risk stepping up.
+
+        assertEquals(1, governor.getTierIndex());
+    }
+
+    @Test
+    public void recoversWithHysteresis() throws Exception {
+        QualityGovernor governor = new QualityGovernor(10.0f);
+        feed(governor, SLOW, 120);
+        assertEquals(2, governor.getTierIndex());
+
+        feed(governor, FAST, 150);
+        assertEquals(2, governor.getTierIndex()); // Not yet enough headroom to trust.
+
+        feed(governor, FAST, 30);
+        assertEquals(1, governor.getTierIndex());
+        assertEquals(3, governor.getDecisions().size());
+    }
+
+    @Test
+    public void customTiers() throws Exception {
+        QualityTier[] tiers = { new QualityTier("Only", 1.0f, -1, false) };
+        QualityGovernor governor = new QualityGovernor(tiers, 10.0f);
+
+        feed(governor, SLOW, 300);
+
+        assertSame(tiers[0], governor.getTier());
+        assertTrue(governor.getDecisions().isEmpty());
+    }
+}
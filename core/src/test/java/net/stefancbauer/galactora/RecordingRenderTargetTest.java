@@ -0,0 +1,85 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Model.Render.RecordingRenderTarget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the headless RenderTarget's counters and draw lists, which other draw-side tests and benchmarks rely on.
+ */
+public class RecordingRenderTargetTest {
+    private final Object m_foreground = new Object(); // Stand-ins for spritesheets.
+    private final Object m_background = new Object();
+
+    @Test
+    public void countsSpritesAndStateChanges() throws Exception {
+        RecordingRenderTarget target = new RecordingRenderTarget(100, 100);
+
+        target.drawSprite(m_background, 0, 0, 64, 64, null, 10, 10, 10, 10, 5, 5, 0, 255);
+        target.drawSprite(m_background, 0, 0, 64, 64, null, 20, 20, 10, 10, 5, 5, 0, 255);
+        target.drawSprite(m_foreground, 0, 0, 64, 64, null, 30, 30, 10, 10, 5, 5, 0, 128);
+        target.endLayer("Test");
+
+        assertEquals(3, target.getSprites());
+        assertEquals(1, target.getLayers());
+        assertEquals(2, target.getTextureChanges());
+        assertEquals(2, target.getAlphaChanges());
+        assertEquals(0, target.getTextureId(m_background));
+        assertEquals(1, target.getTextureId(m_foreground));
+    }
+
+    @Test
+    public void overdrawIsClippedToTheScreen() throws Exception {
+        RecordingRenderTarget target = new RecordingRenderTarget(100, 100);
+
+        target.drawImage(m_background, 0, 0, 100, 100);
+        target.drawSprite(m_foreground, 0, 0, 64, 64, null, 0, 0, 100, 100, 50, 50, 0, 255); // Only the bottom-right quarter is on-screen.
+        target.drawSprite(m_foreground, 0, 0, 64, 64, null, -500, -500, 10, 10, 5, 5, 0, 255); // Entirely off-screen.
+
+        assertEquals(12500.0, target.getCoveredPixels(), 0.001);
+        assertEquals(1.25, target.getOverdraw(), 0.001);
+    }
+
+    @Test
+    public void rotatedSpritesCoverTheirBoundingBox() throws Exception {
+        RecordingRenderTarget target = new RecordingRenderTarget(100, 100);
+
+        target.drawSprite(m_foreground, 0, 0, 64, 64, null, 50, 50, 10, 10, 5, 5, 45, 255);
+
+        double diagonal = 10.0 * Math.sqrt(2.0);
+        assertEquals(diagonal * diagonal, target.getCoveredPixels(), 0.01);
+    }
+
+    @Test
+    public void drawListIsStable() throws Exception {
+        RecordingRenderTarget target = new RecordingRenderTarget(100, 100);
+
+        target.drawImage(m_background, 0, -12.5f, 100, 112);
+        target.endLayer("Background");
+        target.drawSprite(m_foreground, 0, 64, 64, 128, null, 50, 80, 12, 8, 6, 4, 90, 200);
+        target.endLayer("Player");
+
+        String expected =
+                "image tex=0 at=(0.0,-12.5) size=(100.0,112.0)\n" +
+                "end Background\n" +
+                "sprite tex=1 src=(0,64,64,128) at=(50.0,80.0) size=(12.0,8.0) rot=90.0 alpha=200\n" +
+                "end Player\n";
+        assertEquals(expected, target.getDrawList());
+    }
+
+    @Test
+    public void resetKeepsTextureIds() throws Exception {
+        RecordingRenderTarget target = new RecordingRenderTarget(100, 100);
+
+        target.drawSprite(m_foreground, 0, 0, 64, 64, null, 10, 10, 10, 10, 5, 5, 0, 255);
+        target.reset();
+        target.drawSprite(m_background, 0, 0, 64, 64, null, 10, 10, 10, 10, 5, 5, 0, 255);
+
+        assertEquals(1, target.getSprites());
+        assertEquals(1, target.getCommands().size());
+        assertEquals(0, target.getTextureId(m_foreground));
+        assertEquals(1, target.getTextureId(m_background));
+    }
+}
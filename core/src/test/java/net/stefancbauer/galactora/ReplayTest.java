@@ -0,0 +1,97 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Controller.InputRecording;
+import net.stefancbauer.galactora.Headless.HeadlessGame;
+import net.stefancbauer.galactora.Headless.ReplayHarness;
+import net.stefancbauer.galactora.Headless.ReplayVerifier;
+import net.stefancbauer.galactora.Model.Game;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Records a steered headless game, then checks that replaying it, straight away, after a round trip through a file, and alongside other games on other threads, ends in exactly the same state.
+ */
+public class ReplayTest {
+    private static final int TICKS = 1200; //!< Long enough for the score to move.
+
+    @BeforeClass
+    public static void installPlatform() {
+        TestPlatform.install();
+    }
+
+    @Test
+    public void replayMatchesRecordedGame() throws Exception {
+        HeadlessGame headless = new HeadlessGame(7L, true);
+        Game recorded = headless.getGame();
+        InputRecording recording = recorded.startRecording();
+        for (int i = 0; i < TICKS; i++) { headless.step(); }
+
+        assertEquals(TICKS, recording.getTicks());
+        assertEquals(recorded.m_score, recording.getScore());
+        assertTrue(recording.size() > 0);
+
+        ReplayHarness.Result result = ReplayHarness.replay(recording);
+        assertEquals(TICKS, result.m_ticks);
+        assertEquals(recorded.m_score, result.m_score);
+        assertEquals(recorded.getLevelIndex(), result.m_levelIndex);
+        assertEquals(recorded.m_enemies.size(), result.m_enemies);
+        assertTrue(result.m_score != 0); // Enemies have been shot or have escaped, so the comparison means something.
+    }
+
+    @Test
+    public void recordingSurvivesFile() throws Exception {
+        InputRecording recording = ReplayHarness.record(11L, 600);
+
+        File file = File.createTempFile("galactora", ".rec");
+        try {
+            recording.write(file);
+            InputRecording read = InputRecording.read(file);
+
+            assertEquals(recording.getSeed(), read.getSeed());
+            assertEquals(recording.getScreenWidth(), read.getScreenWidth());
+            assertEquals(recording.getScreenHeight(), read.getScreenHeight());
+            assertEquals(recording.getTicks(), read.getTicks());
+            assertEquals(recording.size(), read.size());
+
+            assertTrue(ReplayHarness.replay(recording).sameEndState(ReplayHarness.replay(read)));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void verifierCatchesTamperedScores() throws Exception {
+        // Replayed at once, on their own threads, so each game must keep its own viewport, welds and tuning.
+        InputRecording[] recordings = { ReplayHarness.record(3L, 600), ReplayHarness.record(5L, 600), ReplayHarness.record(9L, 600) };
+        recordings[1].setResult(recordings[1].getTicks(), recordings[1].getScore() + 1);
+
+        List<File> files = new ArrayList<File>();
+        try {
+            for (InputRecording recording : recordings) {
+                File file = File.createTempFile("galactora", ".rec");
+                files.add(file);
+                recording.write(file);
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(recordings.length);
+            List<ReplayVerifier.Verdict> verdicts = ReplayVerifier.verify(files, pool);
+            pool.shutdown();
+
+            assertEquals(recordings.length, verdicts.size());
+            assertTrue(verdicts.get(0).isVerified());
+            assertFalse(verdicts.get(1).isVerified());
+            assertNull(verdicts.get(1).m_error);
+            assertTrue(verdicts.get(2).isVerified());
+        } finally {
+            for (File file : files) { file.delete(); }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Controller.Platform;
+import net.stefancbauer.galactora.Headless.HeadlessGame;
+import net.stefancbauer.galactora.Headless.HeadlessPlatform;
+import net.stefancbauer.galactora.Headless.StressBenchmark;
+import net.stefancbauer.galactora.Headless.StressLevelGenerator;
+import net.stefancbauer.galactora.LocalMaths.Vector2i;
+import net.stefancbauer.galactora.Model.Background.BackgroundManager;
+import net.stefancbauer.galactora.Model.Game;
+import net.stefancbauer.galactora.Model.Level.Level;
+import net.stefancbauer.galactora.Model.Level.Wave;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that generated stress levels parse into what was asked for, and that they play.
+ */
+public class StressLevelTest {
+    @BeforeClass
+    public static void installPlatform() {
+        TestPlatform.install();
+    }
+
+    @Test
+    public void generatedLevelParses() {
+        StressLevelGenerator generator = new StressLevelGenerator(1234, 50, 30, 20, 5L);
+        ((HeadlessPlatform)Platform.getInstance()).addAsset("Levels/stress_test", generator.generateBytes());
+
+        Game game = new Game(new Vector2i(HeadlessGame.SCREEN_WIDTH, HeadlessGame.SCREEN_HEIGHT), 0L);
+        Level level = new Level("Levels/stress_test", game, new BackgroundManager(game.getSeed()));
+
+        assertEquals(generator.getWaves(), level.m_waves.size());
+        int enemies = 0;
+        for (Wave wave : level.m_waves) {
+            assertTrue(wave.m_spawns.size() <= 50);
+            enemies += wave.m_spawns.size();
+        }
+        assertEquals(1234, enemies);
+        assertEquals(20, level.m_midCount);
+        assertEquals(2, level.m_midOptions.size());
+        assertEquals(1234 / 50, level.m_exitGroupSize);
+        assertEquals(1, level.m_onEnd.size());
+
+        assertEquals(generator.generate(), new StressLevelGenerator(1234, 50, 30, 20, 5L).generate()); // Same seed, same level.
+    }
+
+    @Test
+    public void stressLevelPlays() {
+        StressBenchmark.Bins bins = new StressBenchmark.Bins(25);
+        int peak = StressBenchmark.run(new StressLevelGenerator(150), 600, bins);
+
+        assertTrue(peak > 150); // Every enemy, and the player.
+        long ticks = 0;
+        for (int bin = 0; bin < bins.size(); bin++) { ticks += bins.getSamples(bin); }
+        assertEquals(600, ticks);
+    }
+}
@@ -0,0 +1,19 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Headless.HeadlessGame;
+
+import java.io.File;
+
+/**
+ * Installs the headless platform over the app's assets and resources, for tests that need levels or textures.
+ */
+public class TestPlatform {
+    public static File install() //!< Call from each test class's @BeforeClass. Returns the app's main source directory.
+    {
+        // Gradle runs tests from the module directory, IDEs often from the project root.
+        File main = new File("../app/src/main");
+        if (!main.isDirectory()) { main = new File("app/src/main"); }
+        HeadlessGame.install(new File(main, "assets"), new File(main, "res"), false);
+        return main;
+    }
+}
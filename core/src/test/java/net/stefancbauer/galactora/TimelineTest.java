@@ -0,0 +1,77 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Model.Level.Timeline;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.Vector;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks a timeline dispatches events on the same ticks as counting each delay down in a queue, as levels used to, and reuses its space when scheduled as it plays.
+ */
+public class TimelineTest {
+    @Test
+    public void matchesCountingDown() throws Exception {
+        Random rand = new Random(3L);
+        for (int round = 0; round < 50; round++) {
+            int[] delays = new int[rand.nextInt(8)];
+            for (int i = 0; i < delays.length; i++) { delays[i] = rand.nextInt(3) == 0 ? 0 : rand.nextInt(20); }
+
+            // The old way: decrement the head each tick, and remove it once it reaches zero.
+            Vector<int[]> queue = new Vector<int[]>();
+            for (int i = 0; i < delays.length; i++) { queue.addElement(new int[] { delays[i], i }); }
+            Vector<String> expected = new Vector<String>();
+            int finished = -1;
+            for (int tick = 0; finished < 0; tick++) {
+                boolean done = false;
+                while (queue.size() > 0 && !done) {
+                    if (queue.get(0)[0] == 0) { expected.addElement(tick + ":" + queue.remove(0)[1]); }
+                    else {
+                        queue.get(0)[0]--;
+                        done = true;
+                    }
+                }
+                if (queue.size() == 0) { finished = tick; }
+            }
+
+            Timeline timeline = new Timeline();
+            for (int i = 0; i < delays.length; i++) { timeline.add(delays[i], i); }
+            int start = rand.nextInt(1000);
+            timeline.start(start);
+            Vector<String> actual = new Vector<String>();
+            int tick = start;
+            while (true) {
+                for (int event = timeline.poll(tick); event >= 0; event = timeline.poll(tick)) { actual.addElement((tick - start) + ":" + event); }
+                if (timeline.isFinished(tick)) { break; }
+                tick++;
+            }
+
+            assertEquals(expected, actual);
+            assertEquals(finished, tick - start);
+        }
+    }
+
+    @Test
+    public void holdsAndReschedules() throws Exception {
+        Timeline timeline = new Timeline();
+        timeline.add(2, 0);
+        timeline.hold(3);
+        assertEquals(-1, timeline.poll(0)); // Not started.
+
+        timeline.start(10);
+        assertEquals(-1, timeline.poll(11));
+        assertEquals(0, timeline.poll(12));
+        assertFalse(timeline.isFinished(14));
+        assertTrue(timeline.isFinished(15));
+
+        for (int i = 0; i < 100; i++) {
+            timeline.schedule(20 + i, i);
+            assertEquals(1, timeline.getRemaining());
+            assertEquals(-1, timeline.poll(19 + i));
+            assertEquals(i, timeline.poll(20 + i));
+        }
+    }
+}
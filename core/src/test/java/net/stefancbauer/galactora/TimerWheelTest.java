@@ -0,0 +1,73 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Model.Engine.TimerWheel;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks timers expire on exactly the tick they're due, however many laps of the wheel away, and that cancelling and rescheduling from callbacks is safe.
+ */
+public class TimerWheelTest {
+    private static class Countdown extends TimerWheel.Timer {
+        int m_expiredOn = -1;
+        final TimerWheel p_wheel;
+
+        Countdown(TimerWheel wheel) { p_wheel = wheel; }
+
+        @Override
+        protected void expire() { m_expiredOn = p_wheel.getTick(); }
+    }
+
+    @Test
+    public void expiresOnTime() throws Exception {
+        TimerWheel wheel = new TimerWheel(16);
+        Random rand = new Random(1L);
+        Countdown[] timers = new Countdown[200];
+        int[] due = new int[timers.length];
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new Countdown(wheel);
+            due[i] = rand.nextInt(100) + 1; // Up to six laps.
+            wheel.schedule(timers[i], due[i]);
+        }
+        assertEquals(timers.length, wheel.size());
+
+        wheel.cancel(timers[0]);
+        for (int tick = 0; tick < 100; tick++) { wheel.advance(); }
+
+        assertEquals(-1, timers[0].m_expiredOn);
+        for (int i = 1; i < timers.length; i++) { assertEquals(due[i], timers[i].m_expiredOn); }
+        assertEquals(0, wheel.size());
+        assertEquals(timers.length - 1, wheel.getExpired());
+    }
+
+    @Test
+    public void callbacksMayReschedule() throws Exception {
+        final TimerWheel wheel = new TimerWheel(4);
+        final Countdown other = new Countdown(wheel);
+        final int[] expiries = { 0 };
+        TimerWheel.Timer repeating = new TimerWheel.Timer() {
+            @Override
+            protected void expire() {
+                expiries[0]++;
+                wheel.schedule(this, 4); // Back into the same slot, a lap on.
+                wheel.schedule(other, 5);
+            }
+        };
+
+        wheel.schedule(repeating, 2);
+        wheel.schedule(other, 2); // Due alongside, but pushed back by the first callback before it expires.
+        wheel.schedule(new Countdown(wheel), 0); // Due at once, so never scheduled.
+        assertEquals(2, wheel.size());
+        assertEquals(1, wheel.getExpired());
+
+        for (int tick = 0; tick < 10; tick++) { wheel.advance(); }
+
+        assertEquals(3, expiries[0]); // Ticks 2, 6 and 10.
+        assertEquals(-1, other.m_expiredOn); // Always pushed back before it's due.
+        assertEquals(5, wheel.getRemaining(other));
+    }
+}
@@ -0,0 +1,77 @@
+package net.stefancbauer.galactora;
+
+import net.stefancbauer.galactora.Headless.VecEnv;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Steps the same games with the same actions on one thread and on several, which must agree exactly, and checks that finished games are replaced.
+ */
+public class VecEnvTest {
+    private static final int ENVS = 4;
+    private static final int STEPS = 300;
+
+    @BeforeClass
+    public static void installPlatform() {
+        TestPlatform.install();
+    }
+
+    private static VecEnv run(int threads, int maxEpisodeTicks) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        VecEnv env = new VecEnv(ENVS, 21L, pool, 64, 128, maxEpisodeTicks);
+
+        Random rand = new Random(3L);
+        float[] actions = new float[ENVS * VecEnv.ACTION_STRIDE];
+        for (int step = 0; step < STEPS; step++) {
+            for (int i = 0; i < ENVS; i++) {
+                int offset = i * VecEnv.ACTION_STRIDE;
+                actions[offset + VecEnv.ACTION_MOVE_X] = (rand.nextFloat() * 14.0f) - 7.0f;
+                actions[offset + VecEnv.ACTION_MOVE_Y] = 1.0f + (rand.nextFloat() * 4.0f);
+                actions[offset + VecEnv.ACTION_FIRE] = 1.0f;
+                actions[offset + VecEnv.ACTION_BOMB] = step == 100 ? 1.0f : 0.0f;
+                actions[offset + VecEnv.ACTION_SHIELD] = step == 150 ? 1.0f : 0.0f;
+            }
+            env.step(actions);
+        }
+        pool.shutdown();
+        return env;
+    }
+
+    @Test
+    public void threadsDontChangeTheOutcome() {
+        VecEnv serial = run(1, 0);
+        VecEnv parallel = run(3, 0);
+
+        assertEquals((long)ENVS * STEPS, parallel.getSteps());
+        assertArrayEquals(serial.m_scores, parallel.m_scores);
+        assertArrayEquals(serial.m_enemyCounts, parallel.m_enemyCounts);
+        assertArrayEquals(serial.m_projectileCounts, parallel.m_projectileCounts);
+        assertArrayEquals(serial.m_player, parallel.m_player, 0.0f);
+        assertArrayEquals(serial.m_enemies, parallel.m_enemies, 0.0f);
+        assertArrayEquals(serial.m_projectiles, parallel.m_projectiles, 0.0f);
+
+        for (int i = 0; i < ENVS; i++) {
+            assertEquals(1.0f, parallel.m_player[(i * VecEnv.PLAYER_STRIDE) + VecEnv.PLAYER_FIRING], 0.0f);
+            assertEquals(2.0f, parallel.m_player[(i * VecEnv.PLAYER_STRIDE) + VecEnv.PLAYER_BOMB_CHARGES], 0.0f); // The tapped bomb was fired.
+            assertEquals(STEPS, parallel.m_episodeTicks[i]);
+        }
+    }
+
+    @Test
+    public void finishedGamesAreReplaced() {
+        VecEnv env = run(2, 120);
+
+        assertEquals(ENVS * 2, env.getEpisodes()); // Games end on steps 120 and 240.
+        for (int i = 0; i < ENVS; i++) {
+            assertEquals(21L + i + (ENVS * 2), env.getSeed(i));
+            assertEquals(STEPS - 240, env.m_episodeTicks[i]);
+            assertFalse(env.m_done[i]);
+        }
+    }
+}